@@ -2,6 +2,13 @@ package dev.xerohero.filter;
 
 import dev.xerohero.filter.operators.*;
 import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -75,6 +82,46 @@ public class FilterBuilder {
         return new HasPropertyFiltre(key);
     }
 
+    public static Filter versionCompare(String key, String operator, String version) {
+        return new VersionCompareFilter(key, ComparisonOperator.fromSymbol(operator), version);
+    }
+
+    public static Filter compareFields(String leftKey, String operator, String rightKey) {
+        return new FieldComparisonFilter(leftKey, ComparisonOperator.fromSymbol(operator), rightKey);
+    }
+
+    public static Filter arithmetic(String left, String operator, String right) {
+        return new ArithmeticFilter(left, operator, right);
+    }
+
+    public static Filter fuzzyMatch(String key, String target, int maxEdits) {
+        return new FuzzyMatchFilter(key, target, maxEdits);
+    }
+
+    public static Filter startsWithAny(String key, String... prefixes) {
+        return new PrefixSetFilter(key, prefixes);
+    }
+
+    public static Filter containsAnyTerm(String key, String... terms) {
+        return new ContainsTermsFilter(key, ContainsTermsFilter.Mode.ANY, terms);
+    }
+
+    public static Filter containsAllTerms(String key, String... terms) {
+        return new ContainsTermsFilter(key, ContainsTermsFilter.Mode.ALL, terms);
+    }
+
+    public static Filter anyOf(String key, String... values) {
+        return new MultiValueFilter(key, MultiValueFilter.Mode.ANY, values);
+    }
+
+    public static Filter allOf(String key, String... values) {
+        return new MultiValueFilter(key, MultiValueFilter.Mode.ALL, values);
+    }
+
+    public static Filter inIntervals(String key, String... intervals) {
+        return new IntervalSetFilter(key, intervals);
+    }
+
     public static Filter not(Filter filter) {
         if (filter == null) {
             throw new NullPointerException("Filter cannot be null");
@@ -161,6 +208,56 @@ public class FilterBuilder {
         return this;
     }
 
+    public FilterBuilder withVersionCompare(String key, String operator, String version) {
+        filters.add(versionCompare(key, operator, version));
+        return this;
+    }
+
+    public FilterBuilder withCompareFields(String leftKey, String operator, String rightKey) {
+        filters.add(compareFields(leftKey, operator, rightKey));
+        return this;
+    }
+
+    public FilterBuilder withArithmetic(String left, String operator, String right) {
+        filters.add(arithmetic(left, operator, right));
+        return this;
+    }
+
+    public FilterBuilder withFuzzyMatch(String key, String target, int maxEdits) {
+        filters.add(fuzzyMatch(key, target, maxEdits));
+        return this;
+    }
+
+    public FilterBuilder withStartsWithAny(String key, String... prefixes) {
+        filters.add(startsWithAny(key, prefixes));
+        return this;
+    }
+
+    public FilterBuilder withContainsAnyTerm(String key, String... terms) {
+        filters.add(containsAnyTerm(key, terms));
+        return this;
+    }
+
+    public FilterBuilder withContainsAllTerms(String key, String... terms) {
+        filters.add(containsAllTerms(key, terms));
+        return this;
+    }
+
+    public FilterBuilder withAnyOf(String key, String... values) {
+        filters.add(anyOf(key, values));
+        return this;
+    }
+
+    public FilterBuilder withAllOf(String key, String... values) {
+        filters.add(allOf(key, values));
+        return this;
+    }
+
+    public FilterBuilder withInIntervals(String key, String... intervals) {
+        filters.add(inIntervals(key, intervals));
+        return this;
+    }
+
     public FilterBuilder and(Filter... additionalFilters) {
         if (additionalFilters != null && additionalFilters.length > 0) {
             filters.add(FilterBuilder.andFilter(additionalFilters));
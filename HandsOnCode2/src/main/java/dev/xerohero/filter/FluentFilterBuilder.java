@@ -2,6 +2,12 @@ package dev.xerohero.filter;
 
 import dev.xerohero.filter.operators.*;
 import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -163,14 +169,38 @@ public final class FluentFilterBuilder {
             return setCurrentFilter(new RegexFilter(property, ".*" + escapeRegex(substring) + ".*"));
         }
 
+        public PropertyFilterBuilder containsAnyTerm(String... terms) {
+            return setCurrentFilter(new ContainsTermsFilter(property, ContainsTermsFilter.Mode.ANY, terms));
+        }
+
+        public PropertyFilterBuilder containsAllTerms(String... terms) {
+            return setCurrentFilter(new ContainsTermsFilter(property, ContainsTermsFilter.Mode.ALL, terms));
+        }
+
         public PropertyFilterBuilder startsWith(String prefix) {
             return setCurrentFilter(new RegexFilter(property, "^" + escapeRegex(prefix) + ".*"));
         }
 
+        public PropertyFilterBuilder startsWithAny(String... prefixes) {
+            return setCurrentFilter(new PrefixSetFilter(property, prefixes));
+        }
+
         public PropertyFilterBuilder endsWith(String suffix) {
             return setCurrentFilter(new RegexFilter(property, ".*" + escapeRegex(suffix) + "$"));
         }
 
+        public PropertyFilterBuilder version(String operator, String version) {
+            return setCurrentFilter(new VersionCompareFilter(property, ComparisonOperator.fromSymbol(operator), version));
+        }
+
+        public PropertyFilterBuilder comparedTo(String operator, String otherProperty) {
+            return setCurrentFilter(new FieldComparisonFilter(property, ComparisonOperator.fromSymbol(operator), otherProperty));
+        }
+
+        public PropertyFilterBuilder fuzzyMatches(String target, int maxEdits) {
+            return setCurrentFilter(new FuzzyMatchFilter(property, target, maxEdits));
+        }
+
         @SafeVarargs
         public final PropertyFilterBuilder in(String... values) {
             return in(Arrays.asList(values));
@@ -212,6 +242,18 @@ public final class FluentFilterBuilder {
             ));
         }
 
+        public PropertyFilterBuilder includesAnyOf(String... values) {
+            return setCurrentFilter(new MultiValueFilter(property, MultiValueFilter.Mode.ANY, values));
+        }
+
+        public PropertyFilterBuilder includesAllOf(String... values) {
+            return setCurrentFilter(new MultiValueFilter(property, MultiValueFilter.Mode.ALL, values));
+        }
+
+        public PropertyFilterBuilder inIntervals(String... intervals) {
+            return setCurrentFilter(new IntervalSetFilter(property, intervals));
+        }
+
         public PropertyFilterBuilder negate() {
             this.negateNext = true;
             return this;
@@ -0,0 +1,118 @@
+package dev.xerohero.filter;
+
+/**
+ * Great-circle distances between coordinates in degrees, on a spherical Earth.
+ * <p>
+ * Besides the haversine distance, it computes the latitude and longitude extent of a circle,
+ * so callers can reject points outside the circle's bounding box before computing any distance.
+ * </p>
+ */
+public final class GeoDistance {
+    /** Mean Earth radius in meters. */
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private GeoDistance() {
+    }
+
+    /**
+     * Parses a coordinate written as a plain decimal number, optionally with an exponent.
+     * <p>
+     * Unlike {@link Double#parseDouble(String)}, it rejects the forms
+     * {@link ValueComparator#numericValue(String)} does not treat as numbers (such as
+     * {@code "NaN"}, {@code "Infinity"}, hexadecimal literals or a type suffix), so a coordinate
+     * is a number exactly when the comparison filters and the store's indexes treat it as one.
+     * </p>
+     *
+     * @param value the text to parse (may be null)
+     * @return the value in degrees, or NaN if it is null or not a plain number
+     */
+    public static double parseDegrees(String value) {
+        if (value == null) {
+            return Double.NaN;
+        }
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+            i++;
+        }
+        int digits = 0;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && value.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return Double.NaN;
+            }
+        }
+        return i == length ? Double.parseDouble(value) : Double.NaN;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Computes the great-circle distance between two points with the haversine formula.
+     *
+     * @param lat1 the latitude of the first point, in degrees
+     * @param lon1 the longitude of the first point, in degrees
+     * @param lat2 the latitude of the second point, in degrees
+     * @param lon2 the longitude of the second point, in degrees
+     * @return the distance in meters
+     */
+    public static double haversineMeters(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double sinDeltaPhi = Math.sin((phi2 - phi1) / 2);
+        double sinDeltaLambda = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        double a = sinDeltaPhi * sinDeltaPhi + Math.cos(phi1) * Math.cos(phi2) * sinDeltaLambda * sinDeltaLambda;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Computes how far a circle extends north and south of its center.
+     *
+     * @param radiusMeters the radius of the circle, in meters
+     * @return the latitude extent in degrees
+     */
+    public static double latitudeDelta(double radiusMeters) {
+        return Math.toDegrees(radiusMeters / EARTH_RADIUS_METERS);
+    }
+
+    /**
+     * Computes how far a circle extends east and west of its center, at its widest.
+     *
+     * @param latitude the latitude of the center, in degrees
+     * @param radiusMeters the radius of the circle, in meters
+     * @return the longitude extent in degrees, or 180 if the circle reaches every longitude
+     */
+    public static double longitudeDelta(double latitude, double radiusMeters) {
+        double angle = radiusMeters / EARTH_RADIUS_METERS;
+        if (Math.abs(latitude) + Math.toDegrees(angle) >= 90) {
+            // The circle contains a pole
+            return 180;
+        }
+        double sine = Math.sin(angle) / Math.cos(Math.toRadians(latitude));
+        return sine >= 1 ? 180 : Math.toDegrees(Math.asin(sine));
+    }
+}
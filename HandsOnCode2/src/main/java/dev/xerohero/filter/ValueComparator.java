@@ -145,6 +145,120 @@ public class ValueComparator {
         return compareStrings(value1, value2);
     }
 
+    /**
+     * Computes a canonical key for equality lookups, such that two values comparing as equal
+     * via {@link #compare(String, String)} produce the same key. Numbers are normalised
+     * ({@code "1.0"}, {@code "1"} and {@code "1e0"} share a key) and strings are case-folded
+     * the same way {@link String#compareToIgnoreCase(String)} does.
+     *
+     * @param value the value to normalise
+     * @return the canonical key, or null if the value is null or may be interpreted as a regex
+     *         pattern (starts or ends with {@code /}) and therefore cannot be looked up by key
+     */
+    public static String equalityKey(String value) {
+        if (value == null || value.startsWith("/") || value.endsWith("/")) {
+            return null;
+        }
+        try {
+            return new java.math.BigDecimal(value.trim()).stripTrailingZeros().toString();
+        } catch (NumberFormatException e) {
+            // Not a plain number, compared as a string
+        }
+        StringBuilder folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            folded.append(Character.toLowerCase(Character.toUpperCase(value.charAt(i))));
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Parses a value as a plain decimal number for range lookups. Values that {@link #compare}
+     * would not compare numerically (including padded or comma-separated numbers) yield NaN.
+     *
+     * @param value the value to parse
+     * @return the numeric value, or {@link Double#NaN} if the value is null or not a plain number
+     */
+    public static double numericValue(String value) {
+        if (value == null) {
+            return Double.NaN;
+        }
+        try {
+            return new java.math.BigDecimal(value).doubleValue();
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Compares two values read from resources, such as two fields of one resource.
+     * <p>
+     * Plain decimal numbers compare exactly by value, so {@code "1.50"} equals {@code "1.5"}, and
+     * sort before all other values, which compare as strings ignoring case. Unlike
+     * {@link #compare(String, String)}, neither value is ever taken as a regex pattern, since both
+     * are data. Integers of up to 18 digits are compared without allocating.
+     * </p>
+     *
+     * @param value1 First value to compare
+     * @param value2 Second value to compare
+     * @return Negative if value1 < value2, 0 if equal, positive if value1 > value2
+     * @throws NullPointerException if either value is null
+     */
+    public static int compareValues(String value1, String value2) {
+        if (value1 == null || value2 == null) {
+            throw new NullPointerException("Comparison value cannot be null");
+        }
+        long integer1 = smallInteger(value1);
+        long integer2 = smallInteger(value2);
+        if (integer1 != NOT_SMALL_INTEGER && integer2 != NOT_SMALL_INTEGER) {
+            return Long.compare(integer1, integer2);
+        }
+        java.math.BigDecimal decimal1 = integer1 != NOT_SMALL_INTEGER ? java.math.BigDecimal.valueOf(integer1) : decimal(value1);
+        java.math.BigDecimal decimal2 = integer2 != NOT_SMALL_INTEGER ? java.math.BigDecimal.valueOf(integer2) : decimal(value2);
+        if (decimal1 != null && decimal2 != null) {
+            return decimal1.compareTo(decimal2);
+        }
+        if (decimal1 != null || decimal2 != null) {
+            // Numbers sort before other values
+            return decimal1 != null ? -1 : 1;
+        }
+        return value1.compareToIgnoreCase(value2);
+    }
+
+    /** Marks a value that {@link #smallInteger(String)} does not parse; no such integer has 18 digits. */
+    public static final long NOT_SMALL_INTEGER = Long.MIN_VALUE;
+
+    /**
+     * Parses an optionally signed integer of 1 to 18 digits, which cannot overflow a long, without
+     * allocating.
+     *
+     * @param value the value to parse (must not be null)
+     * @return the integer, or {@link #NOT_SMALL_INTEGER} if the value is not such an integer
+     */
+    public static long smallInteger(String value) {
+        int length = value.length();
+        int start = length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+        if (length == start || length - start > 18) {
+            return NOT_SMALL_INTEGER;
+        }
+        long result = 0;
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_SMALL_INTEGER;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return value.charAt(0) == '-' ? -result : result;
+    }
+
+    private static java.math.BigDecimal decimal(String value) {
+        try {
+            return new java.math.BigDecimal(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     public static boolean isNumeric(String value) {
         if (value == null) {
             return false;
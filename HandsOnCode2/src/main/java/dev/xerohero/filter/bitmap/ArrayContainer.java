@@ -0,0 +1,171 @@
+package dev.xerohero.filter.bitmap;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Container storing its values as a sorted array, for chunks with at most
+ * {@link Container#MAX_ARRAY_SIZE} values.
+ */
+final class ArrayContainer extends Container {
+    char[] values;
+    int cardinality;
+
+    ArrayContainer() {
+        this(new char[4], 0);
+    }
+
+    ArrayContainer(char[] values, int cardinality) {
+        this.values = values;
+        this.cardinality = cardinality;
+    }
+
+    static ArrayContainer fromContainer(Container container, int cardinality) {
+        char[] values = new char[cardinality];
+        int[] position = {0};
+        container.forEach(0, value -> values[position[0]++] = (char) value);
+        return new ArrayContainer(values, cardinality);
+    }
+
+    @Override
+    Container add(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index >= 0) {
+            return this;
+        }
+        if (cardinality == MAX_ARRAY_SIZE) {
+            return toBitmap().add(value);
+        }
+        int insertAt = -index - 1;
+        if (cardinality == values.length) {
+            values = Arrays.copyOf(values, Math.min(MAX_ARRAY_SIZE, Math.max(8, cardinality * 2)));
+        }
+        System.arraycopy(values, insertAt, values, insertAt + 1, cardinality - insertAt);
+        values[insertAt] = value;
+        cardinality++;
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index >= 0) {
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+            cardinality--;
+        }
+        return this;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    int numberOfRuns() {
+        int runs = 0;
+        for (int i = 0; i < cardinality; i++) {
+            if (i == 0 || values[i] != values[i - 1] + 1) {
+                runs++;
+            }
+        }
+        return runs;
+    }
+
+    @Override
+    Container and(Container other) {
+        if (other instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) other;
+            char[] result = new char[Math.min(cardinality, array.cardinality)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < array.cardinality) {
+                if (values[i] < array.values[j]) {
+                    i++;
+                } else if (values[i] > array.values[j]) {
+                    j++;
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+        return filter(other, true);
+    }
+
+    @Override
+    Container or(Container other) {
+        if (!(other instanceof ArrayContainer)) {
+            return other.or(this);
+        }
+        ArrayContainer array = (ArrayContainer) other;
+        char[] result = new char[cardinality + array.cardinality];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < cardinality || j < array.cardinality) {
+            if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                result[count++] = values[i++];
+            } else if (i == cardinality || values[i] > array.values[j]) {
+                result[count++] = array.values[j++];
+            } else {
+                result[count++] = values[i];
+                i++;
+                j++;
+            }
+        }
+        ArrayContainer merged = new ArrayContainer(result, count);
+        return count > MAX_ARRAY_SIZE ? merged.toBitmap() : merged;
+    }
+
+    @Override
+    Container andNot(Container other) {
+        return filter(other, false);
+    }
+
+    private ArrayContainer filter(Container other, boolean keepContained) {
+        char[] result = new char[cardinality];
+        int count = 0;
+        for (int i = 0; i < cardinality; i++) {
+            if (other.contains(values[i]) == keepContained) {
+                result[count++] = values[i];
+            }
+        }
+        return new ArrayContainer(result, count);
+    }
+
+    @Override
+    void forEach(int high, IntConsumer consumer) {
+        for (int i = 0; i < cardinality; i++) {
+            consumer.accept(high | values[i]);
+        }
+    }
+
+    @Override
+    Container copy() {
+        return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+        BitmapContainer bitmap = new BitmapContainer();
+        for (int i = 0; i < cardinality; i++) {
+            bitmap.words[values[i] >>> 6] |= 1L << values[i];
+        }
+        bitmap.cardinality = cardinality;
+        return bitmap;
+    }
+
+    @Override
+    int sizeInBytes() {
+        return 2 * cardinality;
+    }
+}
@@ -0,0 +1,209 @@
+package dev.xerohero.filter.bitmap;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Container storing its values as a 65536-bit bitmap, for dense chunks.
+ */
+final class BitmapContainer extends Container {
+    static final int WORDS = 1024;
+
+    final long[] words;
+    int cardinality;
+
+    BitmapContainer() {
+        this(new long[WORDS], 0);
+    }
+
+    private BitmapContainer(long[] words, int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    Container add(char value) {
+        long mask = 1L << value;
+        int index = value >>> 6;
+        if ((words[index] & mask) == 0) {
+            words[index] |= mask;
+            cardinality++;
+        }
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        long mask = 1L << value;
+        int index = value >>> 6;
+        if ((words[index] & mask) != 0) {
+            words[index] &= ~mask;
+            cardinality--;
+            if (cardinality <= MAX_ARRAY_SIZE) {
+                return ArrayContainer.fromContainer(this, cardinality);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    int numberOfRuns() {
+        int runs = 0;
+        long previousTopBit = 0;
+        for (long word : words) {
+            // A run starts at every set bit whose lower neighbour is clear
+            runs += Long.bitCount(word & ~((word << 1) | previousTopBit));
+            previousTopBit = word >>> 63;
+        }
+        return runs;
+    }
+
+    @Override
+    Container and(Container other) {
+        if (other instanceof ArrayContainer) {
+            return other.and(this);
+        }
+        long[] theirs = other instanceof BitmapContainer ? ((BitmapContainer) other).words : other.toBitmap().words;
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & theirs[i];
+        }
+        return fromWords(result);
+    }
+
+    @Override
+    Container or(Container other) {
+        long[] result = words.clone();
+        if (other instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) other;
+            for (int i = 0; i < array.cardinality; i++) {
+                result[array.values[i] >>> 6] |= 1L << array.values[i];
+            }
+        } else if (other instanceof RunContainer) {
+            RunContainer run = (RunContainer) other;
+            for (int i = 0; i < run.runCount; i++) {
+                setRange(result, run.start(i), run.end(i) + 1);
+            }
+        } else {
+            long[] theirs = ((BitmapContainer) other).words;
+            for (int i = 0; i < WORDS; i++) {
+                result[i] |= theirs[i];
+            }
+        }
+        return new BitmapContainer(result, countBits(result));
+    }
+
+    @Override
+    Container andNot(Container other) {
+        long[] result = words.clone();
+        if (other instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) other;
+            for (int i = 0; i < array.cardinality; i++) {
+                result[array.values[i] >>> 6] &= ~(1L << array.values[i]);
+            }
+        } else if (other instanceof RunContainer) {
+            RunContainer run = (RunContainer) other;
+            for (int i = 0; i < run.runCount; i++) {
+                clearRange(result, run.start(i), run.end(i) + 1);
+            }
+        } else {
+            long[] theirs = ((BitmapContainer) other).words;
+            for (int i = 0; i < WORDS; i++) {
+                result[i] &= ~theirs[i];
+            }
+        }
+        return fromWords(result);
+    }
+
+    @Override
+    void forEach(int high, IntConsumer consumer) {
+        for (int i = 0; i < WORDS; i++) {
+            long word = words[i];
+            while (word != 0) {
+                consumer.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    Container copy() {
+        return new BitmapContainer(words.clone(), cardinality);
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+        return this;
+    }
+
+    @Override
+    int sizeInBytes() {
+        return BITMAP_BYTES;
+    }
+
+    /**
+     * Wraps the words in the appropriate container for their cardinality.
+     */
+    private static Container fromWords(long[] words) {
+        BitmapContainer bitmap = new BitmapContainer(words, countBits(words));
+        return bitmap.cardinality <= MAX_ARRAY_SIZE ? ArrayContainer.fromContainer(bitmap, bitmap.cardinality) : bitmap;
+    }
+
+    private static int countBits(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Sets the bits in {@code [from, to)}.
+     */
+    static void setRange(long[] words, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (first == last) {
+            words[first] |= firstMask & lastMask;
+            return;
+        }
+        words[first] |= firstMask;
+        Arrays.fill(words, first + 1, last, -1L);
+        words[last] |= lastMask;
+    }
+
+    /**
+     * Clears the bits in {@code [from, to)}.
+     */
+    static void clearRange(long[] words, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (first == last) {
+            words[first] &= ~(firstMask & lastMask);
+            return;
+        }
+        words[first] &= ~firstMask;
+        Arrays.fill(words, first + 1, last, 0L);
+        words[last] &= ~lastMask;
+    }
+}
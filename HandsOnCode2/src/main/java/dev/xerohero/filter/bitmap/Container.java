@@ -0,0 +1,79 @@
+package dev.xerohero.filter.bitmap;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A set of 16-bit values: the low halves of the row ids sharing one high half in a {@link RowBitmap}.
+ * <p>
+ * Containers come in three representations, chosen by {@link #optimize()} to minimise size:
+ * sorted arrays for sparse chunks, 65536-bit bitmaps for dense chunks and run-length encoded
+ * intervals for chunks made of long consecutive ranges. Operations may return a different
+ * container instance (or representation) than the receiver; callers must use the returned value.
+ * </p>
+ */
+abstract class Container {
+    /** Largest cardinality stored as an array; above this a bitmap is always smaller. */
+    static final int MAX_ARRAY_SIZE = 4096;
+    /** Size of a bitmap container in bytes. */
+    static final int BITMAP_BYTES = 8192;
+
+    abstract Container add(char value);
+
+    abstract Container remove(char value);
+
+    abstract boolean contains(char value);
+
+    abstract int cardinality();
+
+    abstract int numberOfRuns();
+
+    abstract Container and(Container other);
+
+    abstract Container or(Container other);
+
+    abstract Container andNot(Container other);
+
+    /**
+     * Calls the consumer with {@code high | value} for every value, in ascending order.
+     */
+    abstract void forEach(int high, IntConsumer consumer);
+
+    abstract Container copy();
+
+    abstract BitmapContainer toBitmap();
+
+    abstract int sizeInBytes();
+
+    /**
+     * Converts the container to its smallest representation.
+     */
+    Container optimize() {
+        int cardinality = cardinality();
+        int runs = numberOfRuns();
+        int arrayBytes = cardinality <= MAX_ARRAY_SIZE ? 2 * cardinality : Integer.MAX_VALUE;
+        int runBytes = RunContainer.sizeInBytes(runs);
+        if (runBytes < arrayBytes && runBytes < BITMAP_BYTES) {
+            return this instanceof RunContainer ? this : RunContainer.fromContainer(this, runs);
+        }
+        if (arrayBytes <= BITMAP_BYTES) {
+            return this instanceof ArrayContainer ? this : ArrayContainer.fromContainer(this, cardinality);
+        }
+        return this instanceof BitmapContainer ? this : toBitmap();
+    }
+
+    boolean isEmpty() {
+        return cardinality() == 0;
+    }
+
+    /**
+     * Compares the values of two containers regardless of their representation.
+     */
+    boolean sameValues(Container other) {
+        if (cardinality() != other.cardinality()) {
+            return false;
+        }
+        long[] mine = toBitmap().words;
+        long[] theirs = other.toBitmap().words;
+        return java.util.Arrays.equals(mine, theirs);
+    }
+}
@@ -0,0 +1,475 @@
+package dev.xerohero.filter.bitmap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compressed set of non-negative row ids.
+ * <p>
+ * Row ids are split into a 16-bit high half, which selects a chunk, and a 16-bit low half stored
+ * in that chunk's container. Each container picks the smallest of three representations: a
+ * sorted array for sparse chunks, a 65536-bit bitmap for dense chunks and a list of runs for
+ * chunks made of long consecutive ranges. Tiny and near-full row sets therefore both stay small,
+ * and set operations work container by container, skipping chunks that only one side has.
+ * </p>
+ * <p>
+ * {@link #and(RowBitmap, RowBitmap)}, {@link #or(RowBitmap, RowBitmap)} and
+ * {@link #andNot(RowBitmap, RowBitmap)} return new bitmaps and leave their arguments unchanged.
+ * Instances are not thread-safe.
+ * </p>
+ * <pre>
+ * RowBitmap active = RowBitmap.of(1, 5, 9);
+ * RowBitmap recent = RowBitmap.range(4, 100_000);
+ * RowBitmap both = RowBitmap.and(active, recent); // {5, 9}
+ * </pre>
+ */
+public final class RowBitmap {
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    /**
+     * Creates an empty bitmap.
+     */
+    public RowBitmap() {
+        this(new char[4], new Container[4], 0);
+    }
+
+    private RowBitmap(char[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    /**
+     * Creates a bitmap holding the given row ids.
+     *
+     * @param rowIds the row ids (must be non-negative)
+     * @return a new bitmap
+     * @throws IllegalArgumentException if a row id is negative
+     */
+    public static RowBitmap of(int... rowIds) {
+        RowBitmap bitmap = new RowBitmap();
+        for (int rowId : rowIds) {
+            bitmap.add(rowId);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Creates a bitmap holding every row id in {@code [from, to)}.
+     *
+     * @param from the first row id, inclusive (must be non-negative)
+     * @param to the last row id, exclusive
+     * @return a new bitmap
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    public static RowBitmap range(int from, int to) {
+        RowBitmap bitmap = new RowBitmap();
+        bitmap.addRange(from, to);
+        return bitmap;
+    }
+
+    /**
+     * Adds a row id.
+     *
+     * @param rowId the row id (must be non-negative)
+     * @throws IllegalArgumentException if the row id is negative
+     */
+    public void add(int rowId) {
+        checkRowId(rowId);
+        char key = highBits(rowId);
+        int index = indexOf(key);
+        if (index >= 0) {
+            containers[index] = containers[index].add(lowBits(rowId));
+        } else {
+            insert(-index - 1, key, new ArrayContainer().add(lowBits(rowId)));
+        }
+    }
+
+    /**
+     * Adds every row id in {@code [from, to)}.
+     *
+     * @param from the first row id, inclusive (must be non-negative)
+     * @param to the last row id, exclusive
+     * @throws IllegalArgumentException if from is negative or greater than to
+     */
+    public void addRange(int from, int to) {
+        if (from < 0 || from > to) {
+            throw new IllegalArgumentException("Invalid row range [" + from + ", " + to + ")");
+        }
+        long start = from;
+        while (start < to) {
+            char key = highBits((int) start);
+            long chunkEnd = Math.min(to, ((long) key + 1) * CHUNK_SIZE);
+            Container range = RunContainer.ofRange(lowBits((int) start), (int) (chunkEnd - ((long) key * CHUNK_SIZE)));
+            int index = indexOf(key);
+            if (index >= 0) {
+                containers[index] = containers[index].or(range);
+            } else {
+                insert(-index - 1, key, range.optimize());
+            }
+            start = chunkEnd;
+        }
+    }
+
+    /**
+     * Removes a row id.
+     *
+     * @param rowId the row id
+     * @return true if the row id was present
+     */
+    public boolean remove(int rowId) {
+        if (rowId < 0) {
+            return false;
+        }
+        int index = indexOf(highBits(rowId));
+        if (index < 0 || !containers[index].contains(lowBits(rowId))) {
+            return false;
+        }
+        Container container = containers[index].remove(lowBits(rowId));
+        if (container.isEmpty()) {
+            delete(index);
+        } else {
+            containers[index] = container;
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a row id is present.
+     *
+     * @param rowId the row id
+     * @return true if the bitmap contains the row id
+     */
+    public boolean contains(int rowId) {
+        if (rowId < 0) {
+            return false;
+        }
+        int index = indexOf(highBits(rowId));
+        return index >= 0 && containers[index].contains(lowBits(rowId));
+    }
+
+    /**
+     * Gets the number of row ids in the bitmap.
+     */
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * Checks whether the bitmap is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Computes the intersection of two bitmaps.
+     *
+     * @param left the first bitmap
+     * @param right the second bitmap
+     * @return a new bitmap with the row ids present in both
+     */
+    public static RowBitmap and(RowBitmap left, RowBitmap right) {
+        RowBitmap result = new RowBitmap(new char[Math.max(1, Math.min(left.size, right.size))],
+                new Container[Math.max(1, Math.min(left.size, right.size))], 0);
+        int i = 0;
+        int j = 0;
+        while (i < left.size && j < right.size) {
+            if (left.keys[i] < right.keys[j]) {
+                i++;
+            } else if (left.keys[i] > right.keys[j]) {
+                j++;
+            } else {
+                result.append(left.keys[i], left.containers[i].and(right.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the union of two bitmaps.
+     *
+     * @param left the first bitmap
+     * @param right the second bitmap
+     * @return a new bitmap with the row ids present in either
+     */
+    public static RowBitmap or(RowBitmap left, RowBitmap right) {
+        RowBitmap result = new RowBitmap(new char[Math.max(1, left.size + right.size)],
+                new Container[Math.max(1, left.size + right.size)], 0);
+        int i = 0;
+        int j = 0;
+        while (i < left.size || j < right.size) {
+            if (j == right.size || (i < left.size && left.keys[i] < right.keys[j])) {
+                result.append(left.keys[i], left.containers[i].copy());
+                i++;
+            } else if (i == left.size || left.keys[i] > right.keys[j]) {
+                result.append(right.keys[j], right.containers[j].copy());
+                j++;
+            } else {
+                result.append(left.keys[i], left.containers[i].or(right.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the difference of two bitmaps.
+     *
+     * @param left the bitmap to subtract from
+     * @param right the bitmap to subtract
+     * @return a new bitmap with the row ids present in {@code left} but not in {@code right}
+     */
+    public static RowBitmap andNot(RowBitmap left, RowBitmap right) {
+        RowBitmap result = new RowBitmap(new char[Math.max(1, left.size)], new Container[Math.max(1, left.size)], 0);
+        int j = 0;
+        for (int i = 0; i < left.size; i++) {
+            while (j < right.size && right.keys[j] < left.keys[i]) {
+                j++;
+            }
+            if (j < right.size && right.keys[j] == left.keys[i]) {
+                result.append(left.keys[i], left.containers[i].andNot(right.containers[j]));
+            } else {
+                result.append(left.keys[i], left.containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the number of row ids present in both bitmaps.
+     *
+     * @param left the first bitmap
+     * @param right the second bitmap
+     * @return the cardinality of the intersection
+     */
+    public static int andCardinality(RowBitmap left, RowBitmap right) {
+        int cardinality = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.size && j < right.size) {
+            if (left.keys[i] < right.keys[j]) {
+                i++;
+            } else if (left.keys[i] > right.keys[j]) {
+                j++;
+            } else {
+                cardinality += left.containers[i].and(right.containers[j]).cardinality();
+                i++;
+                j++;
+            }
+        }
+        return cardinality;
+    }
+
+    /**
+     * Creates an independent copy of the bitmap.
+     */
+    public RowBitmap copy() {
+        Container[] copies = new Container[Math.max(1, size)];
+        for (int i = 0; i < size; i++) {
+            copies[i] = containers[i].copy();
+        }
+        return new RowBitmap(Arrays.copyOf(keys, Math.max(1, size)), copies, size);
+    }
+
+    /**
+     * Converts every container to its smallest representation, typically turning long ranges
+     * of consecutive row ids into runs. Worth calling on long-lived bitmaps built one row at a time.
+     */
+    public void runOptimize() {
+        for (int i = 0; i < size; i++) {
+            containers[i] = containers[i].optimize();
+        }
+    }
+
+    /**
+     * Estimates the memory used by the containers, in bytes.
+     */
+    public long sizeInBytes() {
+        long bytes = 0;
+        for (int i = 0; i < size; i++) {
+            bytes += 2 + containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Calls the consumer for every row id in ascending order.
+     *
+     * @param consumer the consumer to call
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * Iterates over the row ids in ascending order.
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int containerIndex;
+            private int[] buffer = new int[0];
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                while (position == buffer.length && containerIndex < size) {
+                    Container container = containers[containerIndex];
+                    int[] values = new int[container.cardinality()];
+                    int[] count = {0};
+                    container.forEach(keys[containerIndex] << 16, rowId -> values[count[0]++] = rowId);
+                    buffer = values;
+                    position = 0;
+                    containerIndex++;
+                }
+                return position < buffer.length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return buffer[position++];
+            }
+        };
+    }
+
+    /**
+     * Streams the row ids in ascending order.
+     */
+    public IntStream stream() {
+        int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+        return StreamSupport.intStream(
+                () -> Spliterators.spliterator(iterator(), cardinality(), characteristics), characteristics, false);
+    }
+
+    /**
+     * Gets the row ids in ascending order.
+     */
+    public int[] toArray() {
+        int[] result = new int[cardinality()];
+        int[] position = {0};
+        forEach(rowId -> result[position[0]++] = rowId);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RowBitmap)) return false;
+        RowBitmap other = (RowBitmap) o;
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != other.keys[i] || !containers[i].sameValues(other.containers[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = {1};
+        forEach(rowId -> hash[0] = 31 * hash[0] + rowId);
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        PrimitiveIterator.OfInt iterator = iterator();
+        int shown = 0;
+        while (iterator.hasNext()) {
+            if (shown == 100) {
+                sb.append(", ...");
+                break;
+            }
+            if (shown > 0) {
+                sb.append(", ");
+            }
+            sb.append(iterator.nextInt());
+            shown++;
+        }
+        return sb.append('}').toString();
+    }
+
+    private static void checkRowId(int rowId) {
+        if (rowId < 0) {
+            throw new IllegalArgumentException("Row id cannot be negative: " + rowId);
+        }
+    }
+
+    private static char highBits(int rowId) {
+        return (char) (rowId >>> 16);
+    }
+
+    private static char lowBits(int rowId) {
+        return (char) rowId;
+    }
+
+    private int indexOf(char key) {
+        // Rows are usually added in ascending order, so check the last chunk first
+        if (size > 0 && keys[size - 1] == key) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insert(int index, char key, Container container) {
+        ensureCapacity(size + 1);
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    /**
+     * Appends a container with a key greater than every existing key, dropping empty containers.
+     */
+    private void append(char key, Container container) {
+        if (container.isEmpty()) {
+            return;
+        }
+        ensureCapacity(size + 1);
+        keys[size] = key;
+        containers[size] = container;
+        size++;
+    }
+
+    private void delete(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int newCapacity = Math.max(capacity, keys.length * 2);
+            keys = Arrays.copyOf(keys, newCapacity);
+            containers = Arrays.copyOf(containers, newCapacity);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package dev.xerohero.filter.bitmap;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Container storing its values as sorted, non-adjacent runs of consecutive values, for chunks that
+ * are (nearly) full or made of a few long ranges.
+ * <p>
+ * Run {@code i} is stored as its start at {@code runs[2 * i]} and its length minus one at
+ * {@code runs[2 * i + 1]}, so a full chunk is a single run.
+ * </p>
+ */
+final class RunContainer extends Container {
+    char[] runs;
+    int runCount;
+
+    private RunContainer(char[] runs, int runCount) {
+        this.runs = runs;
+        this.runCount = runCount;
+    }
+
+    /**
+     * Creates a container holding the values in {@code [from, to)}.
+     */
+    static RunContainer ofRange(int from, int to) {
+        Builder builder = new Builder(1);
+        builder.append(from, to - 1);
+        return builder.build();
+    }
+
+    static RunContainer fromContainer(Container container, int runCount) {
+        Builder builder = new Builder(runCount);
+        container.forEach(0, value -> builder.append(value, value));
+        return builder.build();
+    }
+
+    static int sizeInBytes(int runCount) {
+        return 2 + 4 * runCount;
+    }
+
+    int start(int run) {
+        return runs[2 * run];
+    }
+
+    int end(int run) {
+        return runs[2 * run] + runs[2 * run + 1];
+    }
+
+    @Override
+    Container add(char value) {
+        if (contains(value)) {
+            return this;
+        }
+        return union(this, ofRange(value, value + 1)).optimize();
+    }
+
+    @Override
+    Container remove(char value) {
+        if (!contains(value)) {
+            return this;
+        }
+        return difference(this, ofRange(value, value + 1)).optimize();
+    }
+
+    @Override
+    boolean contains(char value) {
+        int run = findRun(value);
+        return run >= 0 && value <= end(run);
+    }
+
+    /**
+     * Finds the last run starting at or before the value, or -1 if there is none.
+     */
+    private int findRun(int value) {
+        int low = 0;
+        int high = runCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (start(mid) <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    @Override
+    int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < runCount; i++) {
+            cardinality += runs[2 * i + 1] + 1;
+        }
+        return cardinality;
+    }
+
+    @Override
+    int numberOfRuns() {
+        return runCount;
+    }
+
+    @Override
+    Container and(Container other) {
+        if (other instanceof RunContainer) {
+            return intersection(this, (RunContainer) other).optimize();
+        }
+        return other.and(this);
+    }
+
+    @Override
+    Container or(Container other) {
+        if (other instanceof RunContainer) {
+            return union(this, (RunContainer) other).optimize();
+        }
+        if (other instanceof ArrayContainer) {
+            return union(this, fromContainer(other, other.numberOfRuns())).optimize();
+        }
+        return other.or(this);
+    }
+
+    @Override
+    Container andNot(Container other) {
+        if (other instanceof RunContainer) {
+            return difference(this, (RunContainer) other).optimize();
+        }
+        if (other instanceof ArrayContainer) {
+            return difference(this, fromContainer(other, other.numberOfRuns())).optimize();
+        }
+        return toBitmap().andNot(other).optimize();
+    }
+
+    @Override
+    void forEach(int high, IntConsumer consumer) {
+        for (int i = 0; i < runCount; i++) {
+            for (int value = start(i), end = end(i); value <= end; value++) {
+                consumer.accept(high | value);
+            }
+        }
+    }
+
+    @Override
+    Container copy() {
+        return new RunContainer(Arrays.copyOf(runs, Math.max(2 * runCount, 2)), runCount);
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+        BitmapContainer bitmap = new BitmapContainer();
+        for (int i = 0; i < runCount; i++) {
+            BitmapContainer.setRange(bitmap.words, start(i), end(i) + 1);
+        }
+        bitmap.cardinality = cardinality();
+        return bitmap;
+    }
+
+    @Override
+    int sizeInBytes() {
+        return sizeInBytes(runCount);
+    }
+
+    private static RunContainer union(RunContainer left, RunContainer right) {
+        Builder builder = new Builder(left.runCount + right.runCount);
+        int i = 0;
+        int j = 0;
+        while (i < left.runCount || j < right.runCount) {
+            if (j == right.runCount || (i < left.runCount && left.start(i) <= right.start(j))) {
+                builder.append(left.start(i), left.end(i));
+                i++;
+            } else {
+                builder.append(right.start(j), right.end(j));
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    private static RunContainer intersection(RunContainer left, RunContainer right) {
+        Builder builder = new Builder(Math.max(left.runCount, right.runCount));
+        int i = 0;
+        int j = 0;
+        while (i < left.runCount && j < right.runCount) {
+            int start = Math.max(left.start(i), right.start(j));
+            int end = Math.min(left.end(i), right.end(j));
+            if (start <= end) {
+                builder.append(start, end);
+            }
+            if (left.end(i) < right.end(j)) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    private static RunContainer difference(RunContainer left, RunContainer right) {
+        Builder builder = new Builder(left.runCount + right.runCount);
+        int j = 0;
+        for (int i = 0; i < left.runCount; i++) {
+            int start = left.start(i);
+            int end = left.end(i);
+            while (j < right.runCount && right.end(j) < start) {
+                j++;
+            }
+            int k = j;
+            while (start <= end && k < right.runCount && right.start(k) <= end) {
+                if (right.start(k) > start) {
+                    builder.append(start, right.start(k) - 1);
+                }
+                start = Math.max(start, right.end(k) + 1);
+                k++;
+            }
+            if (start <= end) {
+                builder.append(start, end);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Accumulates inclusive intervals appended in ascending order of their start, merging
+     * overlapping and adjacent ones.
+     */
+    private static final class Builder {
+        private char[] runs;
+        private int runCount;
+
+        Builder(int expectedRuns) {
+            runs = new char[2 * Math.max(expectedRuns, 1)];
+        }
+
+        void append(int start, int end) {
+            if (runCount > 0) {
+                int lastStart = runs[2 * runCount - 2];
+                int lastEnd = lastStart + runs[2 * runCount - 1];
+                if (start <= lastEnd + 1) {
+                    if (end > lastEnd) {
+                        runs[2 * runCount - 1] = (char) (end - lastStart);
+                    }
+                    return;
+                }
+            }
+            if (2 * runCount == runs.length) {
+                runs = Arrays.copyOf(runs, runs.length * 2);
+            }
+            runs[2 * runCount] = (char) start;
+            runs[2 * runCount + 1] = (char) (end - start);
+            runCount++;
+        }
+
+        RunContainer build() {
+            return new RunContainer(runs, runCount);
+        }
+    }
+}
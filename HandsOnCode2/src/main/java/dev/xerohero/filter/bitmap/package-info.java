@@ -0,0 +1,27 @@
+/**
+ * Compressed row id sets used as the result type of index lookups.
+ *
+ * <p>Index lookups over large stores produce row sets that are either tiny or nearly full.
+ * {@link dev.xerohero.filter.bitmap.RowBitmap} splits row ids into 65536-row chunks and stores
+ * each chunk in whichever container is smallest for it, so both extremes stay compact and set
+ * operations only touch chunks that are present.</p>
+ *
+ * <h2>Main Components</h2>
+ * <ul>
+ *   <li>{@link dev.xerohero.filter.bitmap.RowBitmap} - Compressed set of row ids with AND/OR/ANDNOT</li>
+ *   <li>{@code ArrayContainer} - Sorted array of up to 4096 values for sparse chunks</li>
+ *   <li>{@code BitmapContainer} - 65536-bit bitmap for dense chunks</li>
+ *   <li>{@code RunContainer} - Runs of consecutive values for ranges and near-full chunks</li>
+ * </ul>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>
+ * RowBitmap live = RowBitmap.range(0, 50_000_000);
+ * RowBitmap deleted = RowBitmap.of(17, 42);
+ * RowBitmap active = RowBitmap.andNot(live, deleted);
+ * active.runOptimize();
+ * </pre>
+ *
+ * @see dev.xerohero.filter.store.QueryExecutor For bitmaps as query results
+ */
+package dev.xerohero.filter.bitmap;
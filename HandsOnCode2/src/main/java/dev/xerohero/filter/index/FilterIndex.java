@@ -0,0 +1,329 @@
+package dev.xerohero.filter.index;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.index.PredicateDecomposer.Atom;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index for matching one resource (event) against many registered filters.
+ * <p>
+ * Each registered filter is decomposed into a disjunction of conjunctions of atomic predicates.
+ * Equality predicates are indexed by key and normalised value, range predicates by key in sorted
+ * bound maps. Matching an event looks up the predicates its values satisfy and counts, per
+ * conjunction, how many of its predicates were hit; only filters with a fully satisfied
+ * conjunction are evaluated with {@link Filter#matches(Map)}. Filters without any indexable
+ * predicate in one of their conjunctions are always evaluated.
+ * </p>
+ * <p>
+ * Registration and removal are incremental. The index is safe for concurrent use: matching
+ * runs under a shared lock, registration under an exclusive one.
+ * </p>
+ * <pre>
+ * FilterIndex index = new FilterIndex();
+ * index.add("sub-1", FilterParser.parse("topic = orders AND amount > 100"));
+ * index.add("sub-2", FluentFilterBuilder.where("region").in("eu", "us").build());
+ * List&lt;String&gt; subscribers = index.match(event);
+ * </pre>
+ */
+public class FilterIndex {
+
+    private final Map<String, Subscription> subscriptions = new HashMap<>();
+    private final Map<String, Map<String, List<Conjunction>>> equalityIndex = new HashMap<>();
+    private final Map<String, RangeIndex> rangeIndex = new HashMap<>();
+    private final Set<Subscription> unindexed = new LinkedHashSet<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int nextSlot;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Registers a filter, replacing any filter previously registered under the same id.
+     *
+     * @param id     the subscription id (must not be null)
+     * @param filter the filter to register (must not be null)
+     * @throws NullPointerException if the id or filter is null
+     */
+    public void add(String id, Filter filter) {
+        Objects.requireNonNull(id, "Id cannot be null");
+        Objects.requireNonNull(filter, "Filter cannot be null");
+        List<List<Atom>> dnf = filter.accept(new PredicateDecomposer());
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            Subscription subscription = new Subscription(id, filter);
+            subscriptions.put(id, subscription);
+            if (dnf == null || dnf.stream().anyMatch(List::isEmpty)) {
+                unindexed.add(subscription);
+                return;
+            }
+            for (List<Atom> atoms : dnf) {
+                Conjunction conjunction = new Conjunction(allocateSlot(), subscription, atoms);
+                subscription.conjunctions.add(conjunction);
+                for (Atom atom : atoms) {
+                    postings(atom).add(conjunction);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Unregisters a filter.
+     *
+     * @param id the subscription id
+     * @return true if a filter was registered under the id, false otherwise
+     */
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            return removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of registered filters.
+     *
+     * @return the number of registered filters
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return subscriptions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ids of all registered filters matching the given resource.
+     *
+     * @param resource the resource to match (must not be null)
+     * @return the ids of the matching filters, in no particular order
+     * @throws NullPointerException if the resource is null
+     */
+    public List<String> match(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        lock.readLock().lock();
+        try {
+            List<String> matches = new ArrayList<>();
+            for (Subscription subscription : collectCandidates(resource)) {
+                if (subscription.filter.matches(resource)) {
+                    matches.add(subscription.id);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ids of the filters that would be fully evaluated for the given resource.
+     * Exposed for diagnostics and tests.
+     */
+    Set<String> candidates(Map<String, String> resource) {
+        lock.readLock().lock();
+        try {
+            Set<String> ids = new HashSet<>();
+            for (Subscription subscription : collectCandidates(resource)) {
+                ids.add(subscription.id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Subscription> collectCandidates(Map<String, String> resource) {
+        Scratch state = scratch.get();
+        state.prepare(nextSlot);
+        Set<Subscription> candidates = new LinkedHashSet<>(unindexed);
+        try {
+            for (Map.Entry<String, String> entry : resource.entrySet()) {
+                String value = entry.getValue();
+                if (value == null) {
+                    continue;
+                }
+                Map<String, List<Conjunction>> byValue = equalityIndex.get(entry.getKey());
+                if (byValue != null) {
+                    String term = ValueComparator.equalityKey(value);
+                    if (term == null) {
+                        // Regex-like values may compare equal to anything
+                        for (List<Conjunction> postings : byValue.values()) {
+                            state.hitAll(postings, candidates);
+                        }
+                    } else {
+                        List<Conjunction> postings = byValue.get(term);
+                        if (postings != null) {
+                            state.hitAll(postings, candidates);
+                        }
+                    }
+                }
+                RangeIndex ranges = rangeIndex.get(entry.getKey());
+                if (ranges != null) {
+                    ranges.hit(ValueComparator.numericValue(value), state, candidates);
+                }
+            }
+        } finally {
+            state.reset();
+        }
+        return candidates;
+    }
+
+    private List<Conjunction> postings(Atom atom) {
+        switch (atom.kind()) {
+            case EQUALS:
+                return equalityIndex.computeIfAbsent(atom.key(), k -> new HashMap<>())
+                        .computeIfAbsent(atom.term(), t -> new ArrayList<>());
+            case LOWER_BOUND:
+                return rangeIndex.computeIfAbsent(atom.key(), k -> new RangeIndex())
+                        .lowerBounds.computeIfAbsent(atom.bound(), b -> new ArrayList<>());
+            default:
+                return rangeIndex.computeIfAbsent(atom.key(), k -> new RangeIndex())
+                        .upperBounds.computeIfAbsent(atom.bound(), b -> new ArrayList<>());
+        }
+    }
+
+    private boolean removeInternal(String id) {
+        Subscription subscription = subscriptions.remove(id);
+        if (subscription == null) {
+            return false;
+        }
+        unindexed.remove(subscription);
+        for (Conjunction conjunction : subscription.conjunctions) {
+            for (Atom atom : conjunction.atoms) {
+                removePosting(atom, conjunction);
+            }
+            freeSlots.push(conjunction.slot);
+        }
+        return true;
+    }
+
+    private void removePosting(Atom atom, Conjunction conjunction) {
+        if (atom.kind() == PredicateDecomposer.Kind.EQUALS) {
+            Map<String, List<Conjunction>> byValue = equalityIndex.get(atom.key());
+            List<Conjunction> postings = byValue.get(atom.term());
+            postings.remove(conjunction);
+            if (postings.isEmpty()) {
+                byValue.remove(atom.term());
+                if (byValue.isEmpty()) {
+                    equalityIndex.remove(atom.key());
+                }
+            }
+            return;
+        }
+        RangeIndex ranges = rangeIndex.get(atom.key());
+        TreeMap<Double, List<Conjunction>> bounds =
+                atom.kind() == PredicateDecomposer.Kind.LOWER_BOUND ? ranges.lowerBounds : ranges.upperBounds;
+        List<Conjunction> postings = bounds.get(atom.bound());
+        postings.remove(conjunction);
+        if (postings.isEmpty()) {
+            bounds.remove(atom.bound());
+            if (ranges.lowerBounds.isEmpty() && ranges.upperBounds.isEmpty()) {
+                rangeIndex.remove(atom.key());
+            }
+        }
+    }
+
+    private int allocateSlot() {
+        Integer slot = freeSlots.poll();
+        return slot != null ? slot : nextSlot++;
+    }
+
+    private static final class Subscription {
+        final String id;
+        final Filter filter;
+        final List<Conjunction> conjunctions = new ArrayList<>();
+
+        Subscription(String id, Filter filter) {
+            this.id = id;
+            this.filter = filter;
+        }
+    }
+
+    private static final class Conjunction {
+        final int slot;
+        final Subscription subscription;
+        final List<Atom> atoms;
+
+        Conjunction(int slot, Subscription subscription, List<Atom> atoms) {
+            this.slot = slot;
+            this.subscription = subscription;
+            this.atoms = atoms;
+        }
+    }
+
+    /**
+     * Range predicates of one key, sorted by bound.
+     * Bounds are matched inclusively: the index only needs to produce a superset of the matches.
+     */
+    private static final class RangeIndex {
+        final TreeMap<Double, List<Conjunction>> lowerBounds = new TreeMap<>();
+        final TreeMap<Double, List<Conjunction>> upperBounds = new TreeMap<>();
+
+        void hit(double value, Scratch state, Set<Subscription> candidates) {
+            if (Double.isNaN(value)) {
+                // Non-numeric values fall back to string comparison, which may satisfy any bound
+                for (List<Conjunction> postings : lowerBounds.values()) {
+                    state.hitAll(postings, candidates);
+                }
+                for (List<Conjunction> postings : upperBounds.values()) {
+                    state.hitAll(postings, candidates);
+                }
+                return;
+            }
+            for (List<Conjunction> postings : lowerBounds.headMap(value, true).values()) {
+                state.hitAll(postings, candidates);
+            }
+            for (List<Conjunction> postings : upperBounds.tailMap(value, true).values()) {
+                state.hitAll(postings, candidates);
+            }
+        }
+    }
+
+    /**
+     * Per-thread hit counters, indexed by conjunction slot and reset after each match.
+     */
+    private static final class Scratch {
+        int[] counts = new int[64];
+        int[] touched = new int[64];
+        int touchedCount;
+
+        void prepare(int slots) {
+            if (counts.length < slots) {
+                counts = new int[Math.max(slots, counts.length * 2)];
+            }
+        }
+
+        void hitAll(List<Conjunction> postings, Set<Subscription> candidates) {
+            for (Conjunction conjunction : postings) {
+                int count = ++counts[conjunction.slot];
+                if (count == 1) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = conjunction.slot;
+                }
+                if (count == conjunction.atoms.size()) {
+                    candidates.add(conjunction.subscription);
+                }
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                counts[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+}
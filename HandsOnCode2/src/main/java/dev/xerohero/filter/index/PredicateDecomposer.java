@@ -0,0 +1,269 @@
+package dev.xerohero.filter.index;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.GeoDistance;
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.operators.*;
+import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.geo.*;
+import dev.xerohero.filter.operators.network.IpInRangeFilter;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.time.*;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decomposes a filter into a disjunction of conjunctions of indexable atomic predicates.
+ * <p>
+ * The decomposition over-approximates the filter: every resource matching the filter satisfies
+ * all atoms of at least one conjunction, but not the other way round. Predicates that cannot be
+ * indexed (regexes, negations, presence checks, ...) are simply dropped from their conjunction,
+ * and the full filter is evaluated on the resulting candidates.
+ * </p>
+ * Returns null when the disjunctive form grows beyond {@link #MAX_CONJUNCTIONS}.
+ */
+class PredicateDecomposer implements FilterVisitor<List<List<PredicateDecomposer.Atom>>> {
+
+    /** Upper bound on the number of conjunctions produced for a single filter. */
+    static final int MAX_CONJUNCTIONS = 64;
+
+    /** Degrees geo bounds are widened by, to absorb rounding. */
+    private static final double GEO_MARGIN = 1e-9;
+
+    enum Kind {
+        /** Value equals {@code term} (by {@link ValueComparator#equalityKey(String)}). */
+        EQUALS,
+        /** Value is greater than (or equal to) {@code bound}. */
+        LOWER_BOUND,
+        /** Value is less than (or equal to) {@code bound}. */
+        UPPER_BOUND
+    }
+
+    /**
+     * An indexable atomic predicate.
+     */
+    record Atom(Kind kind, String key, String term, double bound) {
+    }
+
+    private static List<List<Atom>> always() {
+        List<List<Atom>> result = new ArrayList<>();
+        result.add(new ArrayList<>());
+        return result;
+    }
+
+    private static List<List<Atom>> single(Atom atom) {
+        List<Atom> conjunction = new ArrayList<>();
+        conjunction.add(atom);
+        List<List<Atom>> result = new ArrayList<>();
+        result.add(conjunction);
+        return result;
+    }
+
+    private static List<List<Atom>> bound(Kind kind, BaseComparisonFilter filter) {
+        double bound = ValueComparator.numericValue(filter.getValue());
+        if (Double.isNaN(bound)) {
+            return always();
+        }
+        return single(new Atom(kind, filter.getKey(), null, bound));
+    }
+
+    @Override
+    public List<List<Atom>> visit(AndFilter filter) {
+        List<List<Atom>> result = always();
+        for (Filter child : filter.filters()) {
+            List<List<Atom>> childDnf = child.accept(this);
+            if (childDnf == null || (long) result.size() * childDnf.size() > MAX_CONJUNCTIONS) {
+                return null;
+            }
+            List<List<Atom>> product = new ArrayList<>(result.size() * childDnf.size());
+            for (List<Atom> left : result) {
+                for (List<Atom> right : childDnf) {
+                    List<Atom> conjunction = new ArrayList<>(left.size() + right.size());
+                    conjunction.addAll(left);
+                    conjunction.addAll(right);
+                    product.add(conjunction);
+                }
+            }
+            result = product;
+        }
+        return result;
+    }
+
+    @Override
+    public List<List<Atom>> visit(OrFilter filter) {
+        List<List<Atom>> result = new ArrayList<>();
+        for (Filter child : filter.filters()) {
+            List<List<Atom>> childDnf = child.accept(this);
+            if (childDnf == null || result.size() + childDnf.size() > MAX_CONJUNCTIONS) {
+                return null;
+            }
+            result.addAll(childDnf);
+        }
+        return result;
+    }
+
+    @Override
+    public List<List<Atom>> visit(NotFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(TrueFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(FalseFilter filter) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<List<Atom>> visit(HasPropertyFiltre filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(EqualsFilter filter) {
+        String term = ValueComparator.equalityKey(filter.getValue());
+        if (term == null) {
+            return always();
+        }
+        return single(new Atom(Kind.EQUALS, filter.getKey(), term, Double.NaN));
+    }
+
+    @Override
+    public List<List<Atom>> visit(LessThanFilter filter) {
+        return bound(Kind.UPPER_BOUND, filter);
+    }
+
+    @Override
+    public List<List<Atom>> visit(GreaterThanFilter filter) {
+        return bound(Kind.LOWER_BOUND, filter);
+    }
+
+    @Override
+    public List<List<Atom>> visit(RegexFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(NotEqualsFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(GreaterThanOrEqualFilter filter) {
+        return bound(Kind.LOWER_BOUND, filter);
+    }
+
+    @Override
+    public List<List<Atom>> visit(LessThanOrEqualFilter filter) {
+        return bound(Kind.UPPER_BOUND, filter);
+    }
+
+    @Override
+    public List<List<Atom>> visit(GeoWithinFilter filter) {
+        // The bounding box of the circle, without longitudes if it reaches around the globe
+        double latitudeDelta = GeoDistance.latitudeDelta(filter.getRadiusMeters());
+        double longitudeDelta = GeoDistance.longitudeDelta(filter.getLatitude(), filter.getRadiusMeters());
+        double west = filter.getLongitude() - longitudeDelta;
+        double east = filter.getLongitude() + longitudeDelta;
+        boolean wraps = west < -180 || east > 180;
+        return box(filter, filter.getLatitude() - latitudeDelta, filter.getLatitude() + latitudeDelta,
+                wraps ? Double.NaN : west, wraps ? Double.NaN : east);
+    }
+
+    @Override
+    public List<List<Atom>> visit(GeoBoundingBoxFilter filter) {
+        boolean wraps = filter.crossesAntimeridian();
+        return box(filter, filter.getMinLatitude(), filter.getMaxLatitude(),
+                wraps ? Double.NaN : filter.getMinLongitude(), wraps ? Double.NaN : filter.getMaxLongitude());
+    }
+
+    @Override
+    public List<List<Atom>> visit(IpInRangeFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(BeforeFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(AfterFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(WithinLastFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(VersionCompareFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(FuzzyMatchFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(PrefixSetFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(ContainsTermsFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(IntervalSetFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(FieldComparisonFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(MultiValueFilter filter) {
+        return always();
+    }
+
+    @Override
+    public List<List<Atom>> visit(ArithmeticFilter filter) {
+        return always();
+    }
+
+    /**
+     * Bounds both keys of a geo filter; NaN longitude bounds leave the longitude unbounded. The
+     * bounds are widened slightly, since the filters do not compare coordinates exactly like the
+     * bounds.
+     */
+    private static List<List<Atom>> box(BaseGeoFilter filter, double minLatitude, double maxLatitude,
+                                        double minLongitude, double maxLongitude) {
+        List<Atom> conjunction = new ArrayList<>();
+        conjunction.add(new Atom(Kind.LOWER_BOUND, filter.getLatitudeKey(), null, minLatitude - GEO_MARGIN));
+        conjunction.add(new Atom(Kind.UPPER_BOUND, filter.getLatitudeKey(), null, maxLatitude + GEO_MARGIN));
+        if (!Double.isNaN(minLongitude)) {
+            conjunction.add(new Atom(Kind.LOWER_BOUND, filter.getLongitudeKey(), null, minLongitude - GEO_MARGIN));
+            conjunction.add(new Atom(Kind.UPPER_BOUND, filter.getLongitudeKey(), null, maxLongitude + GEO_MARGIN));
+        }
+        List<List<Atom>> result = new ArrayList<>();
+        result.add(conjunction);
+        return result;
+    }
+}
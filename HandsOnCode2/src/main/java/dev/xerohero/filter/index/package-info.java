@@ -0,0 +1,25 @@
+/**
+ * Indexes over registered filters, for matching one resource against many filters at once.
+ *
+ * <p>Evaluating every registered filter for every incoming resource is linear in the number of
+ * filters. The {@link dev.xerohero.filter.index.FilterIndex} decomposes filters into atomic
+ * predicates and indexes them, so that only filters whose predicates are satisfied by the
+ * resource are evaluated in full.</p>
+ *
+ * <h2>Main Components</h2>
+ * <ul>
+ *   <li>{@link dev.xerohero.filter.index.FilterIndex} - Inverted subscription index with incremental add/remove</li>
+ * </ul>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>
+ * FilterIndex index = new FilterIndex();
+ * index.add("large-orders", FilterParser.parse("topic = orders AND amount > 100"));
+ * index.add("eu-traffic", FluentFilterBuilder.where("region").in("eu", "uk").build());
+ *
+ * List&lt;String&gt; subscribers = index.match(Map.of("topic", "orders", "amount", "250", "region", "eu"));
+ * </pre>
+ *
+ * @see dev.xerohero.filter.Filter The base Filter interface
+ */
+package dev.xerohero.filter.index;
@@ -0,0 +1,68 @@
+package dev.xerohero.filter.operators.comparison;
+
+/**
+ * The comparison applied by the filters that compare two values of their own kind, such as
+ * versions, the values of two keys or arithmetic expressions.
+ */
+public enum ComparisonOperator {
+    EQUAL("="),
+    NOT_EQUAL("!="),
+    LESS_THAN("<"),
+    LESS_THAN_OR_EQUAL("<="),
+    GREATER_THAN(">"),
+    GREATER_THAN_OR_EQUAL(">=");
+
+    private final String symbol;
+
+    ComparisonOperator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * Gets the symbol of the operator.
+     *
+     * @return the symbol, such as {@code >=}
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Finds the operator with the given symbol.
+     *
+     * @param symbol the symbol, such as {@code >=}
+     * @return the operator
+     * @throws IllegalArgumentException if no operator has the symbol
+     */
+    public static ComparisonOperator fromSymbol(String symbol) {
+        for (ComparisonOperator operator : values()) {
+            if (operator.symbol.equals(symbol)) {
+                return operator;
+            }
+        }
+        throw new IllegalArgumentException("Unknown comparison operator: " + symbol);
+    }
+
+    /**
+     * Checks whether the result of a comparison satisfies the operator.
+     *
+     * @param comparison the result of comparing the left value with the right one
+     * @return true if the operator holds
+     */
+    public boolean test(int comparison) {
+        switch (this) {
+            case EQUAL:
+                return comparison == 0;
+            case NOT_EQUAL:
+                return comparison != 0;
+            case LESS_THAN:
+                return comparison < 0;
+            case LESS_THAN_OR_EQUAL:
+                return comparison <= 0;
+            case GREATER_THAN:
+                return comparison > 0;
+            default:
+                return comparison >= 0;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.xerohero.filter.operators.comparison;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A filter that compares the values of two keys of the same resource, such as
+ * {@code updated_at > created_at} or {@code used < quota}.
+ * <p>
+ * Both values come from the resource, so neither is parsed ahead of time: they are compared with
+ * {@link ValueComparator#compareValues(String, String)}, which compares plain numbers exactly by
+ * value, small integers without allocating, and other values as strings ignoring case. ISO-8601
+ * timestamps in the same format and time zone therefore compare chronologically. The filter
+ * never matches a resource missing either key, whatever the operator.
+ * </p>
+ */
+public class FieldComparisonFilter implements Filter {
+
+    private final String leftKey;
+    private final ComparisonOperator operator;
+    private final String rightKey;
+
+    /**
+     * Creates a new field comparison filter.
+     *
+     * @param leftKey the key holding the left operand
+     * @param operator how the left value compares with the right one
+     * @param rightKey the key holding the right operand
+     * @throws IllegalArgumentException if a key is null or empty
+     * @throws NullPointerException if the operator is null
+     */
+    public FieldComparisonFilter(String leftKey, ComparisonOperator operator, String rightKey) {
+        if (leftKey == null || leftKey.trim().isEmpty() || rightKey == null || rightKey.trim().isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+        this.leftKey = leftKey;
+        this.operator = Objects.requireNonNull(operator, "Operator cannot be null");
+        this.rightKey = rightKey;
+    }
+
+    /**
+     * Gets the key holding the left operand.
+     *
+     * @return the left key
+     */
+    public String getLeftKey() {
+        return leftKey;
+    }
+
+    /**
+     * Gets how the left value compares with the right one.
+     *
+     * @return the operator
+     */
+    public ComparisonOperator getOperator() {
+        return operator;
+    }
+
+    /**
+     * Gets the key holding the right operand.
+     *
+     * @return the right key
+     */
+    public String getRightKey() {
+        return rightKey;
+    }
+
+    @Override
+    public boolean matches(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        String left = resource.get(leftKey);
+        if (left == null) {
+            return false;
+        }
+        String right = resource.get(rightKey);
+        return right != null && operator.test(ValueComparator.compareValues(left, right));
+    }
+
+    @Override
+    public String toString() {
+        return "(" + leftKey + " " + operator.getSymbol() + " FIELD " + rightKey + ")";
+    }
+
+    @Override
+    public <T> T accept(FilterVisitor<T> visitor) {
+        return Objects.requireNonNull(visitor).visit(this);
+    }
+}
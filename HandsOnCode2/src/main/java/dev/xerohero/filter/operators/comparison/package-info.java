@@ -30,6 +30,12 @@
  *   
  *   <dt>{@link dev.xerohero.filter.operators.comparison.HasPropertyFiltre}</dt>
  *   <dd>Checks if a resource contains the specified property, regardless of its value.</dd>
+ *   
+ *   <dt>{@link dev.xerohero.filter.operators.comparison.FieldComparisonFilter}</dt>
+ *   <dd>Compares the values of two properties of the same resource, such as {@code used < quota}.</dd>
+ *   
+ *   <dt>{@link dev.xerohero.filter.operators.comparison.ComparisonOperator}</dt>
+ *   <dd>The operator shared by the version, field and arithmetic comparison filters.</dd>
  * </dl>
  *
  * <h2>Type Handling</h2>
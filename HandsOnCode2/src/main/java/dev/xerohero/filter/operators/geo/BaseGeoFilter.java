@@ -0,0 +1,102 @@
+package dev.xerohero.filter.operators.geo;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.GeoDistance;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Base class for filters on a point whose latitude and longitude are held by two keys.
+ * <p>
+ * Coordinates are decimal degrees. A resource matches only if it has both keys and both values
+ * are plain numbers, with the latitude between -90 and 90 and the longitude between -180 and 180;
+ * the values are parsed once per match.
+ * </p>
+ */
+public abstract class BaseGeoFilter implements Filter {
+    protected final String latitudeKey;
+    protected final String longitudeKey;
+
+    /**
+     * Creates a filter on the point held by the given keys.
+     *
+     * @param latitudeKey the key holding the latitude
+     * @param longitudeKey the key holding the longitude
+     * @throws IllegalArgumentException if either key is null or empty
+     */
+    protected BaseGeoFilter(String latitudeKey, String longitudeKey) {
+        validateKey(latitudeKey);
+        validateKey(longitudeKey);
+        this.latitudeKey = latitudeKey;
+        this.longitudeKey = longitudeKey;
+    }
+
+    private static void validateKey(String key) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+    }
+
+    /**
+     * Validates a latitude constant.
+     *
+     * @param latitude the latitude to validate
+     * @throws IllegalArgumentException if it is not between -90 and 90
+     */
+    protected static void validateLatitude(double latitude) {
+        if (!(Math.abs(latitude) <= 90)) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90: " + latitude);
+        }
+    }
+
+    /**
+     * Validates a longitude constant.
+     *
+     * @param longitude the longitude to validate
+     * @throws IllegalArgumentException if it is not between -180 and 180
+     */
+    protected static void validateLongitude(double longitude) {
+        if (!(Math.abs(longitude) <= 180)) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180: " + longitude);
+        }
+    }
+
+    /**
+     * Gets the key holding the latitude.
+     *
+     * @return the latitude key
+     */
+    public String getLatitudeKey() {
+        return latitudeKey;
+    }
+
+    /**
+     * Gets the key holding the longitude.
+     *
+     * @return the longitude key
+     */
+    public String getLongitudeKey() {
+        return longitudeKey;
+    }
+
+    @Override
+    public boolean matches(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        double latitude = GeoDistance.parseDegrees(resource.get(latitudeKey));
+        if (!(Math.abs(latitude) <= 90)) {
+            return false;
+        }
+        double longitude = GeoDistance.parseDegrees(resource.get(longitudeKey));
+        return Math.abs(longitude) <= 180 && matches(latitude, longitude);
+    }
+
+    /**
+     * Checks whether a point satisfies the filter.
+     *
+     * @param latitude the latitude of the point, between -90 and 90
+     * @param longitude the longitude of the point, between -180 and 180
+     * @return true if the point matches
+     */
+    protected abstract boolean matches(double latitude, double longitude);
+}
@@ -0,0 +1,117 @@
+package dev.xerohero.filter.operators.geo;
+
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A filter that checks whether a point lies within a latitude/longitude box, bounds inclusive.
+ * <p>
+ * The box is given by its south-west and north-east corners. A west bound greater than the east
+ * bound describes a box that crosses the antimeridian, which contains the longitudes from the
+ * west bound to 180 and from -180 to the east bound. Matching only compares numbers.
+ * </p>
+ */
+public class GeoBoundingBoxFilter extends BaseGeoFilter {
+    private final double minLatitude;
+    private final double minLongitude;
+    private final double maxLatitude;
+    private final double maxLongitude;
+
+    /**
+     * Creates a new bounding box filter.
+     *
+     * @param latitudeKey the key holding the latitude of the point
+     * @param longitudeKey the key holding the longitude of the point
+     * @param minLatitude the southern bound, in degrees
+     * @param minLongitude the western bound, in degrees
+     * @param maxLatitude the northern bound, in degrees
+     * @param maxLongitude the eastern bound, in degrees
+     * @throws IllegalArgumentException if a key is null or empty, a bound is out of range, or
+     *                                  the southern bound is north of the northern one
+     */
+    public GeoBoundingBoxFilter(String latitudeKey, String longitudeKey, double minLatitude, double minLongitude,
+                                double maxLatitude, double maxLongitude) {
+        super(latitudeKey, longitudeKey);
+        validateLatitude(minLatitude);
+        validateLatitude(maxLatitude);
+        validateLongitude(minLongitude);
+        validateLongitude(maxLongitude);
+        if (minLatitude > maxLatitude) {
+            throw new IllegalArgumentException("Southern bound " + minLatitude
+                    + " is north of northern bound " + maxLatitude);
+        }
+        this.minLatitude = minLatitude;
+        this.minLongitude = minLongitude;
+        this.maxLatitude = maxLatitude;
+        this.maxLongitude = maxLongitude;
+    }
+
+    /**
+     * Gets the southern bound.
+     *
+     * @return the minimum latitude in degrees
+     */
+    public double getMinLatitude() {
+        return minLatitude;
+    }
+
+    /**
+     * Gets the western bound.
+     *
+     * @return the minimum longitude in degrees, unless the box crosses the antimeridian
+     */
+    public double getMinLongitude() {
+        return minLongitude;
+    }
+
+    /**
+     * Gets the northern bound.
+     *
+     * @return the maximum latitude in degrees
+     */
+    public double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    /**
+     * Gets the eastern bound.
+     *
+     * @return the maximum longitude in degrees, unless the box crosses the antimeridian
+     */
+    public double getMaxLongitude() {
+        return maxLongitude;
+    }
+
+    /**
+     * Checks whether the box crosses the antimeridian, i.e. its western bound is east of its
+     * eastern bound.
+     *
+     * @return true if the box wraps around
+     */
+    public boolean crossesAntimeridian() {
+        return minLongitude > maxLongitude;
+    }
+
+    @Override
+    protected boolean matches(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude) {
+            return false;
+        }
+        return crossesAntimeridian()
+                ? longitude >= minLongitude || longitude <= maxLongitude
+                : longitude >= minLongitude && longitude <= maxLongitude;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "(%s, %s IN BOX %s, %s TO %s, %s)",
+                latitudeKey, longitudeKey, minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+
+    @Override
+    public <T> T accept(FilterVisitor<T> visitor) {
+        return Objects.requireNonNull(visitor).visit(this);
+    }
+}
@@ -0,0 +1,111 @@
+package dev.xerohero.filter.operators.geo;
+
+import dev.xerohero.filter.GeoDistance;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A filter that checks whether a point lies within a great-circle distance of a center.
+ * <p>
+ * The bounding box of the circle is computed once, and points outside it are rejected with
+ * a few comparisons before any trigonometric function is called. The remaining points are
+ * compared with the haversine formula, against a threshold precomputed from the radius so that
+ * no inverse function is needed either.
+ * </p>
+ */
+public class GeoWithinFilter extends BaseGeoFilter {
+    private final double latitude;
+    private final double longitude;
+    private final double radiusMeters;
+    private final double latitudeDelta;
+    private final double longitudeDelta;
+    private final double cosLatitude;
+    /** The haversine of the central angle of the radius. */
+    private final double threshold;
+
+    /**
+     * Creates a new geo-distance filter.
+     *
+     * @param latitudeKey the key holding the latitude of the point
+     * @param longitudeKey the key holding the longitude of the point
+     * @param latitude the latitude of the center, in degrees
+     * @param longitude the longitude of the center, in degrees
+     * @param radiusMeters the maximum distance from the center, in meters
+     * @throws IllegalArgumentException if a key is null or empty, a coordinate is out of range,
+     *                                  or the radius is negative or not finite
+     */
+    public GeoWithinFilter(String latitudeKey, String longitudeKey, double latitude, double longitude,
+                           double radiusMeters) {
+        super(latitudeKey, longitudeKey);
+        validateLatitude(latitude);
+        validateLongitude(longitude);
+        if (!(radiusMeters >= 0) || Double.isInfinite(radiusMeters)) {
+            throw new IllegalArgumentException("Radius must be a non-negative number: " + radiusMeters);
+        }
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.radiusMeters = radiusMeters;
+        // Widened by a rounding margin, so the box never rejects a point the distance accepts
+        this.latitudeDelta = GeoDistance.latitudeDelta(radiusMeters) * (1 + 1e-9) + 1e-12;
+        this.longitudeDelta = GeoDistance.longitudeDelta(latitude, radiusMeters) * (1 + 1e-9) + 1e-12;
+        this.cosLatitude = Math.cos(Math.toRadians(latitude));
+        double halfAngle = Math.min(Math.PI / 2, radiusMeters / GeoDistance.EARTH_RADIUS_METERS / 2);
+        this.threshold = Math.sin(halfAngle) * Math.sin(halfAngle);
+    }
+
+    /**
+     * Gets the latitude of the center.
+     *
+     * @return the latitude in degrees
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * Gets the longitude of the center.
+     *
+     * @return the longitude in degrees
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Gets the maximum distance from the center.
+     *
+     * @return the radius in meters
+     */
+    public double getRadiusMeters() {
+        return radiusMeters;
+    }
+
+    @Override
+    protected boolean matches(double pointLatitude, double pointLongitude) {
+        if (Math.abs(pointLatitude - latitude) > latitudeDelta) {
+            return false;
+        }
+        double longitudeDifference = Math.abs(pointLongitude - longitude) % 360;
+        if (longitudeDelta < 180 && Math.min(longitudeDifference, 360 - longitudeDifference) > longitudeDelta) {
+            return false;
+        }
+        double sinLatitude = Math.sin(Math.toRadians(pointLatitude - latitude) / 2);
+        double sinLongitude = Math.sin(Math.toRadians(longitudeDifference) / 2);
+        double haversine = sinLatitude * sinLatitude
+                + cosLatitude * Math.cos(Math.toRadians(pointLatitude)) * sinLongitude * sinLongitude;
+        return haversine <= threshold;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "(%s, %s WITHIN %sm OF %s, %s)",
+                latitudeKey, longitudeKey, radiusMeters, latitude, longitude);
+    }
+
+    @Override
+    public <T> T accept(FilterVisitor<T> visitor) {
+        return Objects.requireNonNull(visitor).visit(this);
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Contains filters on geographic points held by a latitude and a longitude key.
+ *
+ * <p>Emulating a distance or box predicate with pairs of comparison filters parses every
+ * coordinate once per comparison and cannot express great-circle distances. The filters in this
+ * package parse the coordinates of a resource once, and derive everything that only depends on
+ * their constants when they are created.</p>
+ *
+ * <h2>Geo Operators</h2>
+ * <dl>
+ *   <dt>{@link dev.xerohero.filter.operators.geo.GeoWithinFilter}</dt>
+ *   <dd>Checks if a point lies within a great-circle distance of a center, testing the bounding
+ *   box of the circle before computing the haversine distance.</dd>
+ *
+ *   <dt>{@link dev.xerohero.filter.operators.geo.GeoBoundingBoxFilter}</dt>
+ *   <dd>Checks if a point lies within a latitude/longitude box, which may cross the
+ *   antimeridian.</dd>
+ * </dl>
+ *
+ * <h2>Usage Examples</h2>
+ * <pre>
+ * Filter nearBerlin = new GeoWithinFilter("lat", "lon", 52.52, 13.405, 25_000);
+ * Filter inBox = FilterParser.parse("inBox(lat, lon, 52.3, 13.1, 52.7, 13.7)");
+ * Filter nearby = FilterParser.parse("within(lat, lon, 52.52, 13.405, 25000) AND status = open");
+ * </pre>
+ *
+ * @see dev.xerohero.filter.operators.geo.BaseGeoFilter Base class for all geo filters
+ * @see dev.xerohero.filter.GeoDistance Distance computations
+ */
+package dev.xerohero.filter.operators.geo;
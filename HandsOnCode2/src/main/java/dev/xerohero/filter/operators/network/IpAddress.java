@@ -0,0 +1,214 @@
+package dev.xerohero.filter.operators.network;
+
+/**
+ * An IPv4 or IPv6 address as a 128-bit number.
+ * <p>
+ * IPv4 addresses are stored as IPv4-mapped IPv6 addresses ({@code ::ffff:a.b.c.d}), so both
+ * families share one address space. Addresses are parsed from their textual form without
+ * {@link java.net.InetAddress}, which may resolve host names; anything but a literal address is
+ * rejected.
+ * </p>
+ *
+ * @param high the upper 64 bits
+ * @param low the lower 64 bits
+ */
+public record IpAddress(long high, long low) {
+    /** Number of bits in an address. */
+    public static final int BITS = 128;
+    /** Number of leading bits of an IPv4-mapped address before the IPv4 address. */
+    public static final int IPV4_MAPPED_PREFIX = 96;
+
+    private static final long IPV4_MAPPED_LOW = 0x0000_ffff_0000_0000L;
+
+    /**
+     * Parses a literal IPv4 address in dotted-quad notation or an IPv6 address.
+     * <p>
+     * IPv4 octets are decimal without leading zeros, which other parsers may read as octal.
+     * IPv6 addresses may compress zero groups with {@code ::} and end with a dotted quad; zone
+     * ids are not accepted.
+     * </p>
+     *
+     * @param text the text to parse (may be null)
+     * @return the address, or null if the text is not a literal address
+     */
+    public static IpAddress parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (text.indexOf(':') < 0) {
+            long ipv4 = parseIpv4(text, 0, text.length());
+            return ipv4 < 0 ? null : new IpAddress(0, IPV4_MAPPED_LOW | ipv4);
+        }
+        return parseIpv6(text);
+    }
+
+    /**
+     * Checks whether this is an IPv4-mapped address.
+     *
+     * @return true if the address was parsed from an IPv4 address or {@code ::ffff:a.b.c.d}
+     */
+    public boolean isIpv4() {
+        return high == 0 && (low & 0xffff_ffff_0000_0000L) == IPV4_MAPPED_LOW;
+    }
+
+    /**
+     * Gets the bit at a position, counted from the most significant bit.
+     *
+     * @param index the position, from 0 to 127
+     * @return 0 or 1
+     */
+    public int bit(int index) {
+        return (int) (index < 64 ? high >>> (63 - index) : low >>> (127 - index)) & 1;
+    }
+
+    /**
+     * Keeps the given number of leading bits and clears the others.
+     *
+     * @param prefixLength the number of bits to keep, from 0 to 128
+     * @return the network address of the prefix
+     */
+    public IpAddress mask(int prefixLength) {
+        if (prefixLength >= BITS) {
+            return this;
+        }
+        if (prefixLength <= 64) {
+            return new IpAddress(prefixLength == 0 ? 0 : high & -1L << (64 - prefixLength), 0);
+        }
+        return new IpAddress(high, low & -1L << (BITS - prefixLength));
+    }
+
+    /**
+     * Counts the leading bits this address shares with another.
+     *
+     * @param other the address to compare with
+     * @return the length of the common prefix, from 0 to 128
+     */
+    public int commonPrefixLength(IpAddress other) {
+        long difference = high ^ other.high;
+        if (difference != 0) {
+            return Long.numberOfLeadingZeros(difference);
+        }
+        return 64 + Long.numberOfLeadingZeros(low ^ other.low);
+    }
+
+    @Override
+    public String toString() {
+        if (isIpv4()) {
+            return (low >>> 24 & 0xff) + "." + (low >>> 16 & 0xff) + "." + (low >>> 8 & 0xff) + "." + (low & 0xff);
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int group = 0; group < 8; group++) {
+            long word = group < 4 ? high : low;
+            if (group > 0) {
+                builder.append(':');
+            }
+            builder.append(Long.toHexString(word >>> (48 - 16 * (group % 4)) & 0xffff));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Parses a dotted-quad IPv4 address between two indexes.
+     *
+     * @return the address as an unsigned 32-bit number, or -1 if it is invalid
+     */
+    private static long parseIpv4(String text, int start, int end) {
+        long address = 0;
+        int octets = 0;
+        int i = start;
+        while (octets < 4) {
+            int digits = 0;
+            int octet = 0;
+            while (i < end && digits < 4 && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+                octet = octet * 10 + text.charAt(i) - '0';
+                digits++;
+                i++;
+            }
+            if (digits == 0 || digits > 3 || octet > 255 || (digits > 1 && text.charAt(i - digits) == '0')) {
+                return -1;
+            }
+            address = address << 8 | octet;
+            octets++;
+            if (octets < 4) {
+                if (i >= end || text.charAt(i) != '.') {
+                    return -1;
+                }
+                i++;
+            }
+        }
+        return i == end ? address : -1;
+    }
+
+    private static IpAddress parseIpv6(String text) {
+        int[] groups = new int[8];
+        int count = 0;
+        // Index of the groups the "::" stands for, or -1
+        int compressedAt = -1;
+        int length = text.length();
+        int i = 0;
+        if (text.startsWith("::")) {
+            compressedAt = 0;
+            i = 2;
+        } else if (text.startsWith(":")) {
+            return null;
+        }
+        while (i < length) {
+            int start = i;
+            int value = 0;
+            while (i < length && i - start < 5 && Character.digit(text.charAt(i), 16) >= 0) {
+                value = value << 4 | Character.digit(text.charAt(i), 16);
+                i++;
+            }
+            if (i < length && text.charAt(i) == '.') {
+                // A dotted quad in place of the last two groups
+                long ipv4 = count > 6 ? -1 : parseIpv4(text, start, length);
+                if (ipv4 < 0) {
+                    return null;
+                }
+                groups[count++] = (int) (ipv4 >>> 16);
+                groups[count++] = (int) (ipv4 & 0xffff);
+                i = length;
+                break;
+            }
+            if (i == start || i - start > 4 || count == 8) {
+                return null;
+            }
+            groups[count++] = value;
+            if (i == length) {
+                break;
+            }
+            if (text.charAt(i) != ':') {
+                return null;
+            }
+            i++;
+            if (i < length && text.charAt(i) == ':') {
+                if (compressedAt >= 0) {
+                    return null;
+                }
+                compressedAt = count;
+                i++;
+            } else if (i == length) {
+                // A trailing single colon
+                return null;
+            }
+        }
+        if (compressedAt < 0 ? count != 8 : count > 7) {
+            return null;
+        }
+        long high = 0;
+        long low = 0;
+        int zeros = 8 - count;
+        for (int group = 0, source = 0; group < 8; group++) {
+            int value = 0;
+            if (compressedAt < 0 || group < compressedAt || group >= compressedAt + zeros) {
+                value = groups[source++];
+            }
+            if (group < 4) {
+                high = high << 16 | value;
+            } else {
+                low = low << 16 | value;
+            }
+        }
+        return new IpAddress(high, low);
+    }
+}
@@ -0,0 +1,131 @@
+package dev.xerohero.filter.operators.network;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A filter that checks whether a resource's value is an IP address within any of a list of
+ * ranges in CIDR notation, such as {@code 10.0.0.0/8} or {@code 2001:db8::/32}.
+ * <p>
+ * The ranges are parsed once into a prefix trie, so matching parses the value and walks at most
+ * one trie node per distinct prefix length, however long the list is. IPv4 and IPv6 share one
+ * address space: IPv4 ranges also match IPv4-mapped IPv6 addresses. A range without a prefix
+ * length contains a single address, and bits beyond the prefix length are ignored.
+ * </p>
+ */
+public class IpInRangeFilter implements Filter {
+    private final String key;
+    private final List<String> ranges;
+    private final IpPrefixTrie trie = new IpPrefixTrie();
+
+    /**
+     * Creates a new IP range filter.
+     *
+     * @param key the key holding the address
+     * @param ranges the ranges in CIDR notation
+     * @throws IllegalArgumentException if the key is null or empty, there are no ranges, or a
+     *                                  range is invalid
+     */
+    public IpInRangeFilter(String key, String... ranges) {
+        this(key, Arrays.asList(Objects.requireNonNull(ranges, "Ranges cannot be null")));
+    }
+
+    /**
+     * Creates a new IP range filter.
+     *
+     * @param key the key holding the address
+     * @param ranges the ranges in CIDR notation
+     * @throws IllegalArgumentException if the key is null or empty, there are no ranges, or a
+     *                                  range is invalid
+     */
+    public IpInRangeFilter(String key, Collection<String> ranges) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+        Objects.requireNonNull(ranges, "Ranges cannot be null");
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("At least one range is required");
+        }
+        this.key = key;
+        this.ranges = Collections.unmodifiableList(new ArrayList<>(ranges));
+        for (String range : this.ranges) {
+            addRange(range);
+        }
+    }
+
+    private void addRange(String range) {
+        if (range == null) {
+            throw new IllegalArgumentException("Range cannot be null");
+        }
+        int slash = range.indexOf('/');
+        IpAddress address = IpAddress.parse(slash < 0 ? range : range.substring(0, slash));
+        if (address == null) {
+            throw new IllegalArgumentException("Invalid IP range: " + range);
+        }
+        int offset = address.isIpv4() && range.indexOf(':') < 0 ? IpAddress.IPV4_MAPPED_PREFIX : 0;
+        int prefixLength = IpAddress.BITS;
+        if (slash >= 0) {
+            String length = range.substring(slash + 1);
+            if (length.isEmpty() || length.length() > 3 || !length.chars().allMatch(Character::isDigit)) {
+                throw new IllegalArgumentException("Invalid prefix length in IP range: " + range);
+            }
+            prefixLength = offset + Integer.parseInt(length);
+            if (prefixLength > IpAddress.BITS) {
+                throw new IllegalArgumentException("Prefix length too long in IP range: " + range);
+            }
+        }
+        trie.add(address, prefixLength);
+    }
+
+    /**
+     * Gets the key holding the address.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the ranges as given.
+     *
+     * @return an unmodifiable list of the ranges in CIDR notation
+     */
+    public List<String> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Gets the number of ranges kept after dropping the ones covered by other ranges.
+     *
+     * @return the number of distinct, non-overlapping prefixes
+     */
+    public int getPrefixCount() {
+        return trie.size();
+    }
+
+    @Override
+    public boolean matches(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        IpAddress address = IpAddress.parse(resource.get(key));
+        return address != null && trie.contains(address);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + key + " IN " + ranges + ")";
+    }
+
+    @Override
+    public <T> T accept(FilterVisitor<T> visitor) {
+        return Objects.requireNonNull(visitor).visit(this);
+    }
+}
@@ -0,0 +1,116 @@
+package dev.xerohero.filter.operators.network;
+
+/**
+ * A set of address prefixes in a path-compressed binary trie.
+ * <p>
+ * Every node holds a whole prefix rather than a single bit, and only nodes where two prefixes
+ * diverge are kept, so a lookup visits at most one node per stored prefix length and never
+ * more than 129 nodes, however many prefixes are stored. Only membership matters, so a prefix
+ * covered by a shorter one is not stored and a new prefix drops the prefixes it covers.
+ * </p>
+ */
+final class IpPrefixTrie {
+    private static final class Node {
+        private final IpAddress prefix;
+        private final int length;
+        private boolean terminal;
+        private Node zero;
+        private Node one;
+
+        Node(IpAddress prefix, int length, boolean terminal) {
+            this.prefix = prefix;
+            this.length = length;
+            this.terminal = terminal;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    /**
+     * Adds a prefix.
+     *
+     * @param address an address in the prefix; bits beyond the prefix are ignored
+     * @param prefixLength the number of leading bits of the prefix, from 0 to 128
+     */
+    void add(IpAddress address, int prefixLength) {
+        root = insert(root, address.mask(prefixLength), prefixLength);
+    }
+
+    private Node insert(Node node, IpAddress prefix, int length) {
+        if (node == null) {
+            size++;
+            return new Node(prefix, length, true);
+        }
+        int common = Math.min(Math.min(node.prefix.commonPrefixLength(prefix), node.length), length);
+        if (common == node.length) {
+            if (node.terminal) {
+                // Already covered
+                return node;
+            }
+            if (common == length) {
+                size += 1 - terminals(node);
+                node.terminal = true;
+                node.zero = null;
+                node.one = null;
+                return node;
+            }
+            if (prefix.bit(common) == 0) {
+                node.zero = insert(node.zero, prefix, length);
+            } else {
+                node.one = insert(node.one, prefix, length);
+            }
+            return node;
+        }
+        if (common == length) {
+            // The new prefix covers the node
+            size += 1 - terminals(node);
+            return new Node(prefix, length, true);
+        }
+        Node branch = new Node(prefix.mask(common), common, false);
+        Node leaf = new Node(prefix, length, true);
+        size++;
+        if (prefix.bit(common) == 0) {
+            branch.zero = leaf;
+            branch.one = node;
+        } else {
+            branch.zero = node;
+            branch.one = leaf;
+        }
+        return branch;
+    }
+
+    private static int terminals(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        return (node.terminal ? 1 : 0) + terminals(node.zero) + terminals(node.one);
+    }
+
+    /**
+     * Checks whether an address lies in any stored prefix.
+     *
+     * @param address the address to look up
+     * @return true if a prefix contains it
+     */
+    boolean contains(IpAddress address) {
+        Node node = root;
+        while (node != null) {
+            if (node.length > 0 && node.prefix.commonPrefixLength(address) < node.length) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+            node = address.bit(node.length) == 0 ? node.zero : node.one;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of prefixes stored, not counting the ones covered by others.
+     */
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Contains filters on network addresses.
+ *
+ * <p>Emulating address ranges with regular expressions compiles one pattern per range and
+ * tries every pattern on every value. The filters in this package parse addresses into numbers
+ * without {@link java.net.InetAddress}, and look them up in a prefix trie built once from all
+ * ranges.</p>
+ *
+ * <h2>Network Operators</h2>
+ * <dl>
+ *   <dt>{@link dev.xerohero.filter.operators.network.IpInRangeFilter}</dt>
+ *   <dd>Checks if an IPv4 or IPv6 address lies within any of a list of CIDR ranges.</dd>
+ * </dl>
+ *
+ * <h2>Usage Examples</h2>
+ * <pre>
+ * Filter internal = new IpInRangeFilter("client_ip", "10.0.0.0/8", "192.168.0.0/16", "fd00::/8");
+ * Filter denied = FilterParser.parse("ipInRange(client_ip, 203.0.113.0/24, 2001:db8::/32)");
+ * </pre>
+ *
+ * @see dev.xerohero.filter.operators.network.IpAddress Address parsing
+ */
+package dev.xerohero.filter.operators.network;
@@ -0,0 +1,518 @@
+package dev.xerohero.filter.operators.numeric;
+
+import dev.xerohero.filter.ValueComparator;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An arithmetic expression over the numeric values of a resource, such as
+ * {@code price * qty} or {@code (end - start) / 1000}.
+ * <p>
+ * Expressions combine keys, numbers and parentheses with {@code +}, {@code -}, {@code *},
+ * {@code /} and {@code %} (the remainder, taking the sign of the dividend), and negate with a
+ * leading {@code -}. A {@code -} written between two names without spaces, as in
+ * {@code end-start}, is rejected since it reads as one key. Division is exact, so {@code 7 / 2} is
+ * {@code 3.5}.
+ * </p>
+ * <p>
+ * Parsing compiles the expression into a tree of nodes that evaluate to primitives, with
+ * sub-expressions of constants folded. Evaluation first works in {@code long}, reading values
+ * such as counts, cents and epoch milliseconds without allocating, and falls back to
+ * {@code double} when a value has a fraction, an operation would overflow or a division is not
+ * exact. An expression has no value when a key is missing or not a plain number, or it divides
+ * by zero.
+ * </p>
+ */
+public abstract class ArithmeticExpression {
+    /** Marks a {@code long} evaluation that did not yield an exact integer. */
+    static final long NOT_INTEGER = ValueComparator.NOT_SMALL_INTEGER;
+
+    private static final int ADDITIVE = 1;
+    private static final int MULTIPLICATIVE = 2;
+    private static final int UNARY = 3;
+    private static final int PRIMARY = 4;
+
+    ArithmeticExpression() {
+    }
+
+    /**
+     * Parses and compiles an expression.
+     *
+     * @param expression the expression, such as {@code price * qty}
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the expression is null, empty or malformed
+     */
+    public static ArithmeticExpression parse(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            throw new IllegalArgumentException("Expression cannot be null or empty");
+        }
+        return new ExpressionParser(expression).parse();
+    }
+
+    /**
+     * Evaluates the expression.
+     *
+     * @param resource the resource to read keys from
+     * @return the value, or {@link Double#NaN} if the expression has no value for the resource
+     * @throws NullPointerException if the resource is null
+     */
+    public double evaluate(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        long integer = evaluateLong(resource);
+        return integer != NOT_INTEGER ? integer : evaluateDouble(resource);
+    }
+
+    /**
+     * Gets the keys the expression reads.
+     *
+     * @return an unmodifiable set of the keys, in the order they appear
+     */
+    public Set<String> getKeys() {
+        Set<String> keys = new LinkedHashSet<>();
+        collectKeys(keys);
+        return Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * Checks whether the expression is a single number, which all expressions without keys fold
+     * into.
+     *
+     * @return true if the expression is a number
+     */
+    public boolean isConstant() {
+        return this instanceof Constant;
+    }
+
+    /**
+     * Checks whether the expression is a single key.
+     *
+     * @return true if the expression is a key
+     */
+    public boolean isKey() {
+        return this instanceof Key;
+    }
+
+    /**
+     * Evaluates the expression exactly in integers.
+     *
+     * @return the value, or {@link #NOT_INTEGER} if it is not an integer or has no value
+     */
+    abstract long evaluateLong(Map<String, String> resource);
+
+    /**
+     * Evaluates the expression in floating point.
+     *
+     * @return the value, or {@link Double#NaN} if it has no value
+     */
+    abstract double evaluateDouble(Map<String, String> resource);
+
+    abstract int precedence();
+
+    abstract void collectKeys(Set<String> keys);
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof ArithmeticExpression other && toString().equals(other.toString()));
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    /**
+     * Formats the expression so that it parses back into the same tree.
+     */
+    @Override
+    public abstract String toString();
+
+    private static final class Constant extends ArithmeticExpression {
+        private final long integer;
+        private final double number;
+
+        Constant(long integer) {
+            this.integer = integer;
+            this.number = integer;
+        }
+
+        Constant(double number) {
+            // Whole numbers keep the exact integer path
+            boolean whole = number == Math.rint(number) && Math.abs(number) < 1e18;
+            this.integer = whole ? (long) number : NOT_INTEGER;
+            this.number = number == 0 ? 0.0 : number;
+        }
+
+        @Override
+        long evaluateLong(Map<String, String> resource) {
+            return integer;
+        }
+
+        @Override
+        double evaluateDouble(Map<String, String> resource) {
+            return number;
+        }
+
+        @Override
+        int precedence() {
+            return PRIMARY;
+        }
+
+        @Override
+        void collectKeys(Set<String> keys) {
+        }
+
+        @Override
+        public String toString() {
+            return integer != NOT_INTEGER ? Long.toString(integer) : Double.toString(number);
+        }
+    }
+
+    private static final class Key extends ArithmeticExpression {
+        private final String key;
+
+        Key(String key) {
+            this.key = key;
+        }
+
+        @Override
+        long evaluateLong(Map<String, String> resource) {
+            String value = resource.get(key);
+            return value == null ? NOT_INTEGER : ValueComparator.smallInteger(value);
+        }
+
+        @Override
+        double evaluateDouble(Map<String, String> resource) {
+            String value = resource.get(key);
+            if (value == null) {
+                return Double.NaN;
+            }
+            try {
+                double number = Double.parseDouble(value);
+                return Double.isFinite(number) ? number : Double.NaN;
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+
+        @Override
+        int precedence() {
+            return PRIMARY;
+        }
+
+        @Override
+        void collectKeys(Set<String> keys) {
+            keys.add(key);
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+
+    private static final class Negation extends ArithmeticExpression {
+        private final ArithmeticExpression operand;
+
+        Negation(ArithmeticExpression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        long evaluateLong(Map<String, String> resource) {
+            long value = operand.evaluateLong(resource);
+            return value == NOT_INTEGER ? NOT_INTEGER : -value;
+        }
+
+        @Override
+        double evaluateDouble(Map<String, String> resource) {
+            return -operand.evaluateDouble(resource);
+        }
+
+        @Override
+        int precedence() {
+            return UNARY;
+        }
+
+        @Override
+        void collectKeys(Set<String> keys) {
+            operand.collectKeys(keys);
+        }
+
+        @Override
+        public String toString() {
+            return "-" + (operand.precedence() < UNARY ? "(" + operand + ")" : operand.toString());
+        }
+    }
+
+    private static final class Binary extends ArithmeticExpression {
+        private final char operator;
+        private final ArithmeticExpression left;
+        private final ArithmeticExpression right;
+
+        Binary(char operator, ArithmeticExpression left, ArithmeticExpression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        long evaluateLong(Map<String, String> resource) {
+            long a = left.evaluateLong(resource);
+            if (a == NOT_INTEGER) {
+                return NOT_INTEGER;
+            }
+            long b = right.evaluateLong(resource);
+            if (b == NOT_INTEGER) {
+                return NOT_INTEGER;
+            }
+            return apply(operator, a, b);
+        }
+
+        @Override
+        double evaluateDouble(Map<String, String> resource) {
+            return apply(operator, left.evaluateDouble(resource), right.evaluateDouble(resource));
+        }
+
+        @Override
+        int precedence() {
+            return operator == '+' || operator == '-' ? ADDITIVE : MULTIPLICATIVE;
+        }
+
+        @Override
+        void collectKeys(Set<String> keys) {
+            left.collectKeys(keys);
+            right.collectKeys(keys);
+        }
+
+        @Override
+        public String toString() {
+            // Operators group to the left, so a right operand of the same precedence needs parentheses
+            String l = left.precedence() < precedence() ? "(" + left + ")" : left.toString();
+            String r = right.precedence() <= precedence() ? "(" + right + ")" : right.toString();
+            return l + " " + operator + " " + r;
+        }
+    }
+
+    /**
+     * Applies an operator to integers.
+     *
+     * @return the exact result, or {@link #NOT_INTEGER} if it overflows or is not an integer
+     */
+    static long apply(char operator, long a, long b) {
+        switch (operator) {
+            case '+': {
+                long result = a + b;
+                return ((a ^ result) & (b ^ result)) < 0 ? NOT_INTEGER : result;
+            }
+            case '-': {
+                long result = a - b;
+                return ((a ^ b) & (a ^ result)) < 0 ? NOT_INTEGER : result;
+            }
+            case '*': {
+                long high = Math.multiplyHigh(a, b);
+                long result = a * b;
+                return (high == 0 && result >= 0) || (high == -1 && result < 0) ? result : NOT_INTEGER;
+            }
+            case '/':
+                return b == 0 || a % b != 0 ? NOT_INTEGER : a / b;
+            default:
+                return b == 0 ? NOT_INTEGER : a % b;
+        }
+    }
+
+    /**
+     * Applies an operator to floating point numbers.
+     *
+     * @return the result, or {@link Double#NaN} if an operand is NaN or the divisor is zero
+     */
+    static double apply(char operator, double a, double b) {
+        switch (operator) {
+            case '+':
+                return a + b;
+            case '-':
+                return a - b;
+            case '*':
+                return a * b;
+            case '/':
+                return b == 0 ? Double.NaN : a / b;
+            default:
+                return b == 0 ? Double.NaN : a % b;
+        }
+    }
+
+    /**
+     * Builds a node, folding it into a constant when all its operands are constants.
+     */
+    private static ArithmeticExpression binary(char operator, ArithmeticExpression left, ArithmeticExpression right) {
+        if (left instanceof Constant a && right instanceof Constant b) {
+            if (a.integer != NOT_INTEGER && b.integer != NOT_INTEGER) {
+                long integer = apply(operator, a.integer, b.integer);
+                if (integer != NOT_INTEGER) {
+                    return new Constant(integer);
+                }
+            }
+            double number = apply(operator, a.number, b.number);
+            // Division by zero and overflow are left for evaluation, which has no value for them
+            if (Double.isFinite(number)) {
+                return new Constant(number);
+            }
+        }
+        return new Binary(operator, left, right);
+    }
+
+    private static ArithmeticExpression negation(ArithmeticExpression operand) {
+        if (operand instanceof Constant constant) {
+            return constant.integer != NOT_INTEGER ? new Constant(-constant.integer) : new Constant(-constant.number);
+        }
+        return operand instanceof Negation negation ? negation.operand : new Negation(operand);
+    }
+
+    /**
+     * Recursive descent parser for expressions.
+     */
+    private static final class ExpressionParser {
+        private final String text;
+        private int position;
+
+        ExpressionParser(String text) {
+            this.text = text;
+        }
+
+        ArithmeticExpression parse() {
+            ArithmeticExpression expression = additive();
+            skipWhitespace();
+            if (position < text.length()) {
+                throw error("Unexpected '" + text.charAt(position) + "'");
+            }
+            return expression;
+        }
+
+        private ArithmeticExpression additive() {
+            ArithmeticExpression expression = multiplicative();
+            while (true) {
+                char operator = peek();
+                if (operator != '+' && operator != '-') {
+                    return expression;
+                }
+                position++;
+                expression = binary(operator, expression, multiplicative());
+            }
+        }
+
+        private ArithmeticExpression multiplicative() {
+            ArithmeticExpression expression = unary();
+            while (true) {
+                char operator = peek();
+                if (operator != '*' && operator != '/' && operator != '%') {
+                    return expression;
+                }
+                position++;
+                expression = binary(operator, expression, unary());
+            }
+        }
+
+        private ArithmeticExpression unary() {
+            char c = peek();
+            if (c == '-') {
+                position++;
+                return negation(unary());
+            }
+            if (c == '+') {
+                position++;
+                return unary();
+            }
+            return primary();
+        }
+
+        private ArithmeticExpression primary() {
+            char c = peek();
+            if (c == '(') {
+                position++;
+                ArithmeticExpression expression = additive();
+                if (peek() != ')') {
+                    throw error("Missing ')'");
+                }
+                position++;
+                return expression;
+            }
+            if ((c >= '0' && c <= '9') || c == '.') {
+                return number();
+            }
+            if (Character.isLetter(c) || c == '_') {
+                return key();
+            }
+            throw error(c == 0 ? "Unexpected end" : "Unexpected '" + c + "'");
+        }
+
+        private ArithmeticExpression number() {
+            int start = position;
+            boolean integer = true;
+            while (position < text.length()) {
+                char c = text.charAt(position);
+                if (c == '.' || c == 'e' || c == 'E') {
+                    integer = false;
+                } else if ((c == '+' || c == '-') && (text.charAt(position - 1) == 'e' || text.charAt(position - 1) == 'E')) {
+                    integer = false;
+                } else if (c < '0' || c > '9') {
+                    break;
+                }
+                position++;
+            }
+            String literal = text.substring(start, position);
+            if (integer) {
+                long value = ValueComparator.smallInteger(literal);
+                if (value != NOT_INTEGER) {
+                    return new Constant(value);
+                }
+            }
+            try {
+                double value = Double.parseDouble(literal);
+                if (Double.isFinite(value)) {
+                    return new Constant(value);
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            throw error("Invalid number '" + literal + "'");
+        }
+
+        private ArithmeticExpression key() {
+            int start = position;
+            while (position < text.length()) {
+                char c = text.charAt(position);
+                if (!Character.isLetterOrDigit(c) && c != '_' && c != '.') {
+                    break;
+                }
+                position++;
+            }
+            String key = text.substring(start, position);
+            if (key.endsWith(".") || key.contains("..")) {
+                throw error("Invalid key '" + key + "'");
+            }
+            if (position + 1 < text.length() && text.charAt(position) == '-'
+                    && (Character.isLetter(text.charAt(position + 1)) || text.charAt(position + 1) == '_')) {
+                throw error("Put spaces around '-' to subtract from '" + key + "'");
+            }
+            return new Key(key);
+        }
+
+        private char peek() {
+            skipWhitespace();
+            return position < text.length() ? text.charAt(position) : 0;
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position + " in expression: " + text);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package dev.xerohero.filter.operators.numeric;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.operators.comparison.ComparisonOperator;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A filter that compares two arithmetic expressions over the values of a resource, such as
+ * {@code price * qty > 1000} or {@code (end - start) / 1000 < 30}.
+ * <p>
+ * Both sides are {@link ArithmeticExpression}s, compiled once into trees that evaluate to
+ * primitives. They are compared exactly as integers when both evaluate to one, and as doubles
+ * otherwise. The filter never matches a resource for which either side has no value, because a
+ * key is missing or not a plain number or a divisor is zero, whatever the operator.
+ * </p>
+ */
+public class ArithmeticFilter implements Filter {
+    private final ArithmeticExpression left;
+    private final ComparisonOperator operator;
+    private final ArithmeticExpression right;
+
+    /**
+     * Creates a new arithmetic filter.
+     *
+     * @param left the left expression
+     * @param operator how the left value compares with the right one
+     * @param right the right expression
+     * @throws NullPointerException if an argument is null
+     */
+    public ArithmeticFilter(ArithmeticExpression left, ComparisonOperator operator, ArithmeticExpression right) {
+        this.left = Objects.requireNonNull(left, "Left expression cannot be null");
+        this.operator = Objects.requireNonNull(operator, "Operator cannot be null");
+        this.right = Objects.requireNonNull(right, "Right expression cannot be null");
+    }
+
+    /**
+     * Creates a new arithmetic filter from expressions in text.
+     *
+     * @param left the left expression, such as {@code price * qty}
+     * @param operator the comparison operator symbol, such as {@code >}
+     * @param right the right expression, such as {@code 1000}
+     * @throws IllegalArgumentException if an expression is malformed or the operator is unknown
+     */
+    public ArithmeticFilter(String left, String operator, String right) {
+        this(ArithmeticExpression.parse(left), ComparisonOperator.fromSymbol(operator),
+                ArithmeticExpression.parse(right));
+    }
+
+    /**
+     * Gets the left expression.
+     *
+     * @return the left expression
+     */
+    public ArithmeticExpression getLeft() {
+        return left;
+    }
+
+    /**
+     * Gets how the left value compares with the right one.
+     *
+     * @return the operator
+     */
+    public ComparisonOperator getOperator() {
+        return operator;
+    }
+
+    /**
+     * Gets the right expression.
+     *
+     * @return the right expression
+     */
+    public ArithmeticExpression getRight() {
+        return right;
+    }
+
+    @Override
+    public boolean matches(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        long leftInteger = left.evaluateLong(resource);
+        if (leftInteger != ArithmeticExpression.NOT_INTEGER) {
+            long rightInteger = right.evaluateLong(resource);
+            if (rightInteger != ArithmeticExpression.NOT_INTEGER) {
+                return operator.test(Long.compare(leftInteger, rightInteger));
+            }
+        }
+        double leftNumber = left.evaluateDouble(resource);
+        double rightNumber = right.evaluateDouble(resource);
+        if (Double.isNaN(leftNumber) || Double.isNaN(rightNumber)) {
+            return false;
+        }
+        // Unlike Double.compare, treats -0.0 and 0.0 as equal
+        return operator.test(leftNumber < rightNumber ? -1 : leftNumber > rightNumber ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + left + " " + operator.getSymbol() + " " + right + ")";
+    }
+
+    @Override
+    public <T> T accept(FilterVisitor<T> visitor) {
+        return Objects.requireNonNull(visitor).visit(this);
+    }
+}
@@ -0,0 +1,265 @@
+package dev.xerohero.filter.operators.numeric;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A filter that checks whether a resource's value is a number within any of a set of intervals,
+ * such as a price in {@code 0..<10} or {@code 100..500}.
+ * <p>
+ * The intervals are normalized once into the sorted, disjoint ranges of doubles they cover, with
+ * overlapping and adjacent ones merged, and kept as two arrays of first and last values. Matching
+ * parses the value once and finds the only range that can hold it with one binary search,
+ * however many intervals there are. Values compare as doubles; values that do not parse as a
+ * double never match.
+ * </p>
+ * <p>
+ * An interval set may stand for an equivalent filter, such as the comparisons the
+ * {@link dev.xerohero.filter.optimizer.FilterOptimizer} replaced with it. Comparisons also match
+ * text and compare strict bounds exactly, so values that are not plain decimal numbers, and
+ * numbers that round to the same double as a strict bound, are then left to that filter.
+ * </p>
+ */
+public class IntervalSetFilter implements Filter {
+    private final String key;
+    private final List<String> intervals;
+    /** Smallest value of every merged range, in ascending order. */
+    private final double[] firsts;
+    /** Largest value of every merged range; each is below the first value of the next range. */
+    private final double[] lasts;
+    /** The filter this one stands for, or null. */
+    private final Filter equivalent;
+    /** Exclusive bounds, in ascending order, at which doubles cannot decide for the equivalent filter. */
+    private final double[] strictBounds;
+
+    /**
+     * Creates a new interval set filter.
+     *
+     * @param key the key holding the number
+     * @param intervals the intervals, such as {@code 10..<20}; see {@link NumericInterval#parse(String)}
+     * @throws IllegalArgumentException if the key is null or empty, there are no intervals, or an
+     *                                  interval is invalid
+     */
+    public IntervalSetFilter(String key, String... intervals) {
+        this(key, Arrays.asList(Objects.requireNonNull(intervals, "Intervals cannot be null")));
+    }
+
+    /**
+     * Creates a new interval set filter.
+     *
+     * @param key the key holding the number
+     * @param intervals the intervals, such as {@code 10..<20}; see {@link NumericInterval#parse(String)}
+     * @throws IllegalArgumentException if the key is null or empty, there are no intervals, or an
+     *                                  interval is invalid
+     */
+    public IntervalSetFilter(String key, Collection<String> intervals) {
+        this(key, intervals, null);
+    }
+
+    /**
+     * Creates a new interval set filter that stands for an equivalent filter, which decides for
+     * values that are not plain decimal numbers and for numbers that round to a strict bound.
+     *
+     * @param key the key holding the number
+     * @param intervals the intervals, such as {@code 10..<20}; see {@link NumericInterval#parse(String)}
+     * @param equivalent the filter matching exactly the same plain numbers as the intervals, away
+     *                   from their strict bounds, or null to compare every value as a double
+     * @throws IllegalArgumentException if the key is null or empty, there are no intervals, or an
+     *                                  interval is invalid
+     */
+    public IntervalSetFilter(String key, Collection<String> intervals, Filter equivalent) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+        Objects.requireNonNull(intervals, "Intervals cannot be null");
+        if (intervals.isEmpty()) {
+            throw new IllegalArgumentException("At least one interval is required");
+        }
+        List<NumericInterval> parsed = new ArrayList<>();
+        List<Double> strict = new ArrayList<>();
+        for (String interval : intervals) {
+            NumericInterval numeric = NumericInterval.parse(interval);
+            if (!numeric.isLowerInclusive()) {
+                strict.add(numeric.getLower());
+            }
+            if (!numeric.isUpperInclusive()) {
+                strict.add(numeric.getUpper());
+            }
+            if (!numeric.isEmpty()) {
+                parsed.add(numeric);
+            }
+        }
+        parsed.sort(Comparator.comparingDouble(NumericInterval::first));
+        double[] firsts = new double[parsed.size()];
+        double[] lasts = new double[parsed.size()];
+        int count = 0;
+        for (NumericInterval interval : parsed) {
+            // Ranges of doubles are adjacent when no double lies between them
+            if (count > 0 && interval.first() <= Math.nextUp(lasts[count - 1])) {
+                lasts[count - 1] = Math.max(lasts[count - 1], interval.last());
+            } else {
+                firsts[count] = interval.first();
+                lasts[count] = interval.last();
+                count++;
+            }
+        }
+        this.key = key;
+        this.intervals = Collections.unmodifiableList(new ArrayList<>(intervals));
+        this.firsts = Arrays.copyOf(firsts, count);
+        this.lasts = Arrays.copyOf(lasts, count);
+        this.equivalent = equivalent;
+        this.strictBounds = strict.stream().mapToDouble(bound -> bound + 0.0).sorted().distinct().toArray();
+    }
+
+    /**
+     * Gets the key holding the number.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the intervals as given.
+     *
+     * @return an unmodifiable list of the intervals
+     */
+    public List<String> getIntervals() {
+        return intervals;
+    }
+
+    /**
+     * Gets the filter this one stands for.
+     *
+     * @return the equivalent filter, or null if every value is compared as a double
+     * @see dev.xerohero.filter.optimizer.FilterOptimizer#original(Filter)
+     */
+    public Filter getEquivalent() {
+        return equivalent;
+    }
+
+    /**
+     * Gets the number of ranges kept after dropping empty intervals and merging overlapping and
+     * adjacent ones.
+     *
+     * @return the number of disjoint ranges
+     */
+    public int getIntervalCount() {
+        return firsts.length;
+    }
+
+    /**
+     * Gets the disjoint ranges the intervals cover, in ascending order, each with the smallest
+     * and largest double it contains as inclusive bounds.
+     *
+     * @return the merged ranges
+     */
+    public List<NumericInterval> getMergedIntervals() {
+        List<NumericInterval> merged = new ArrayList<>(firsts.length);
+        for (int i = 0; i < firsts.length; i++) {
+            merged.add(NumericInterval.closed(firsts[i], lasts[i]));
+        }
+        return merged;
+    }
+
+    @Override
+    public boolean matches(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        String value = resource.get(key);
+        if (value == null) {
+            return false;
+        }
+        if (equivalent != null && !isPlainDecimal(value)) {
+            return equivalent.matches(resource);
+        }
+        double number;
+        try {
+            number = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        // Adding zero turns -0.0 into 0.0, which the search would tell apart
+        if (equivalent != null && Arrays.binarySearch(strictBounds, number + 0.0) >= 0) {
+            // The number may lie on either side of the bound it rounded to
+            return equivalent.matches(resource);
+        }
+        // The last range starting at or below the number is the only one that can contain it
+        int low = 0;
+        int high = firsts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (firsts[mid] <= number) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low > 0 && number <= lasts[low - 1];
+    }
+
+    /**
+     * Checks whether a value is a decimal number, such as {@code -1.5e3}, that both
+     * {@link Double#parseDouble(String)} and {@link java.math.BigDecimal} read the same way,
+     * without whitespace, suffixes, hexadecimal or special values.
+     */
+    private static boolean isPlainDecimal(String value) {
+        int i = 0;
+        int length = value.length();
+        if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+            i++;
+        }
+        int digits = 0;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && value.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+            }
+            if (i == exponentStart) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    @Override
+    public String toString() {
+        return "(" + key + " IN " + intervals + ")";
+    }
+
+    @Override
+    public <T> T accept(FilterVisitor<T> visitor) {
+        return Objects.requireNonNull(visitor).visit(this);
+    }
+}
@@ -0,0 +1,191 @@
+package dev.xerohero.filter.operators.numeric;
+
+/**
+ * A range of numbers between two bounds, each inclusive or exclusive.
+ * <p>
+ * Intervals are written with {@code ..} between the bounds and a {@code <} on the side of every
+ * exclusive bound: {@code 10..20} contains both bounds, {@code 10..<20} excludes 20,
+ * {@code 10<..20} excludes 10 and {@code 10<..<20} excludes both. Bounds are doubles and may be
+ * {@code Infinity} or {@code -Infinity}. An interval whose lower bound exceeds its upper bound is
+ * empty.
+ * </p>
+ */
+public final class NumericInterval {
+    private static final String SEPARATOR = "..";
+    /** Integral values below this magnitude are written without a fraction. */
+    private static final double PLAIN_INTEGER_LIMIT = 1e15;
+
+    private final double lower;
+    private final boolean lowerInclusive;
+    private final double upper;
+    private final boolean upperInclusive;
+
+    /**
+     * Creates a new interval.
+     *
+     * @param lower the lower bound
+     * @param lowerInclusive whether the lower bound is part of the interval
+     * @param upper the upper bound
+     * @param upperInclusive whether the upper bound is part of the interval
+     * @throws IllegalArgumentException if a bound is NaN
+     */
+    public NumericInterval(double lower, boolean lowerInclusive, double upper, boolean upperInclusive) {
+        if (Double.isNaN(lower) || Double.isNaN(upper)) {
+            throw new IllegalArgumentException("Interval bounds cannot be NaN");
+        }
+        // Adding zero turns -0.0 into 0.0, so equal bounds print and compare alike
+        this.lower = lower + 0.0;
+        this.lowerInclusive = lowerInclusive;
+        this.upper = upper + 0.0;
+        this.upperInclusive = upperInclusive;
+    }
+
+    /**
+     * Creates an interval containing both bounds.
+     *
+     * @param lower the lower bound
+     * @param upper the upper bound
+     * @return the interval
+     * @throws IllegalArgumentException if a bound is NaN
+     */
+    public static NumericInterval closed(double lower, double upper) {
+        return new NumericInterval(lower, true, upper, true);
+    }
+
+    /**
+     * Parses an interval such as {@code 10..<20}.
+     *
+     * @param text the interval
+     * @return the interval
+     * @throws IllegalArgumentException if the text is null or not a valid interval
+     */
+    public static NumericInterval parse(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Interval cannot be null");
+        }
+        int separator = text.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid interval, expected 'lower..upper': " + text);
+        }
+        String lower = text.substring(0, separator).trim();
+        String upper = text.substring(separator + SEPARATOR.length()).trim();
+        boolean lowerInclusive = !lower.endsWith("<");
+        boolean upperInclusive = !upper.startsWith("<");
+        return new NumericInterval(bound(lowerInclusive ? lower : lower.substring(0, lower.length() - 1), text),
+                lowerInclusive, bound(upperInclusive ? upper : upper.substring(1), text), upperInclusive);
+    }
+
+    private static double bound(String bound, String text) {
+        try {
+            double value = Double.parseDouble(bound.trim());
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid interval bound '" + bound.trim() + "' in: " + text);
+    }
+
+    /**
+     * Gets the lower bound.
+     *
+     * @return the lower bound
+     */
+    public double getLower() {
+        return lower;
+    }
+
+    /**
+     * Checks whether the lower bound is part of the interval.
+     *
+     * @return true if the lower bound is inclusive
+     */
+    public boolean isLowerInclusive() {
+        return lowerInclusive;
+    }
+
+    /**
+     * Gets the upper bound.
+     *
+     * @return the upper bound
+     */
+    public double getUpper() {
+        return upper;
+    }
+
+    /**
+     * Checks whether the upper bound is part of the interval.
+     *
+     * @return true if the upper bound is inclusive
+     */
+    public boolean isUpperInclusive() {
+        return upperInclusive;
+    }
+
+    /**
+     * Checks whether a number lies in the interval.
+     *
+     * @param value the number
+     * @return true if the number lies between the bounds; false for NaN
+     */
+    public boolean contains(double value) {
+        return (lowerInclusive ? value >= lower : value > lower) && (upperInclusive ? value <= upper : value < upper);
+    }
+
+    /**
+     * Checks whether no double lies in the interval.
+     *
+     * @return true if the interval is empty
+     */
+    public boolean isEmpty() {
+        return first() > last();
+    }
+
+    /**
+     * Gets the smallest double in the interval, if it is not empty.
+     */
+    double first() {
+        return lowerInclusive ? lower : Math.nextUp(lower);
+    }
+
+    /**
+     * Gets the largest double in the interval, if it is not empty.
+     */
+    double last() {
+        return upperInclusive ? upper : Math.nextDown(upper);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NumericInterval)) {
+            return false;
+        }
+        NumericInterval other = (NumericInterval) o;
+        return lower == other.lower && lowerInclusive == other.lowerInclusive
+                && upper == other.upper && upperInclusive == other.upperInclusive;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(lower);
+        result = 31 * result + Boolean.hashCode(lowerInclusive);
+        result = 31 * result + Double.hashCode(upper);
+        return 31 * result + Boolean.hashCode(upperInclusive);
+    }
+
+    @Override
+    public String toString() {
+        return format(lower) + (lowerInclusive ? "" : "<") + SEPARATOR + (upperInclusive ? "" : "<") + format(upper);
+    }
+
+    private static String format(double bound) {
+        if (bound == Math.rint(bound) && Math.abs(bound) < PLAIN_INTEGER_LIMIT) {
+            return Long.toString((long) bound);
+        }
+        return Double.toString(bound);
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Contains filters on numbers.
+ *
+ * <p>Comparison filters test one bound each, so a value within any of many ranges, such as the
+ * tiers of a price list, takes an OR of ANDs that evaluates every bound of every range in turn.
+ * Comparisons also cannot compute with values. The filters in this package normalize their
+ * constant ranges and compile their expressions once, and parse each value a single time.</p>
+ *
+ * <h2>Numeric Operators</h2>
+ * <dl>
+ *   <dt>{@link dev.xerohero.filter.operators.numeric.IntervalSetFilter}</dt>
+ *   <dd>Checks if a number lies within any of a set of intervals, with one binary search over the
+ *   merged intervals.</dd>
+ *
+ *   <dt>{@link dev.xerohero.filter.operators.numeric.ArithmeticFilter}</dt>
+ *   <dd>Compares two {@link dev.xerohero.filter.operators.numeric.ArithmeticExpression}s, such as
+ *   {@code price * qty > 1000}, evaluated in {@code long} where exact and in {@code double}
+ *   otherwise.</dd>
+ * </dl>
+ *
+ * <h2>Usage Examples</h2>
+ * <pre>
+ * Filter tiers = new IntervalSetFilter("price", "0..<10", "100..500", "1000..Infinity");
+ * Filter parsed = FilterParser.parse("inIntervals(price, 0..10, '100..&lt;500')");
+ * Filter large = FilterParser.parse("price * qty &gt; 1000 AND (end - start) / 1000 &lt; 30");
+ * </pre>
+ *
+ * @see dev.xerohero.filter.operators.numeric.NumericInterval Interval notation
+ */
+package dev.xerohero.filter.operators.numeric;
@@ -27,6 +27,44 @@
  *   <li>{@link dev.xerohero.filter.operators.comparison.LessThanOrEqualFilter} - Less than or equal comparison</li>
  *   <li>{@link dev.xerohero.filter.operators.comparison.RegexFilter} - Regular expression pattern matching</li>
  *   <li>{@link dev.xerohero.filter.operators.comparison.HasPropertyFiltre} - Checks if a property exists in the resource</li>
+ *   <li>{@link dev.xerohero.filter.operators.comparison.FieldComparisonFilter} - Comparison of the values of two keys</li>
+ * </ul>
+ *
+ * <h2>Geo Operators</h2>
+ * <ul>
+ *   <li>{@link dev.xerohero.filter.operators.geo.GeoWithinFilter} - Point within a great-circle distance</li>
+ *   <li>{@link dev.xerohero.filter.operators.geo.GeoBoundingBoxFilter} - Point within a latitude/longitude box</li>
+ * </ul>
+ *
+ * <h2>Network Operators</h2>
+ * <ul>
+ *   <li>{@link dev.xerohero.filter.operators.network.IpInRangeFilter} - IP address within any of a list of CIDR ranges</li>
+ * </ul>
+ *
+ * <h2>Numeric Operators</h2>
+ * <ul>
+ *   <li>{@link dev.xerohero.filter.operators.numeric.IntervalSetFilter} - Number within any of a set of intervals</li>
+ *   <li>{@link dev.xerohero.filter.operators.numeric.ArithmeticFilter} - Comparison of two arithmetic expressions over keys</li>
+ * </ul>
+ *
+ * <h2>Text Operators</h2>
+ * <ul>
+ *   <li>{@link dev.xerohero.filter.operators.text.FuzzyMatchFilter} - Value within a number of edits of a target</li>
+ *   <li>{@link dev.xerohero.filter.operators.text.PrefixSetFilter} - Value starting with any of a set of prefixes</li>
+ *   <li>{@link dev.xerohero.filter.operators.text.ContainsTermsFilter} - Text containing any or all of a set of words</li>
+ *   <li>{@link dev.xerohero.filter.operators.text.MultiValueFilter} - Delimited list including any or all of a set of values</li>
+ * </ul>
+ *
+ * <h2>Time Operators</h2>
+ * <ul>
+ *   <li>{@link dev.xerohero.filter.operators.time.BeforeFilter} - Timestamp earlier than an instant</li>
+ *   <li>{@link dev.xerohero.filter.operators.time.AfterFilter} - Timestamp later than an instant</li>
+ *   <li>{@link dev.xerohero.filter.operators.time.WithinLastFilter} - Timestamp within a duration before now</li>
+ * </ul>
+ *
+ * <h2>Version Operators</h2>
+ * <ul>
+ *   <li>{@link dev.xerohero.filter.operators.version.VersionCompareFilter} - Semantic version comparison</li>
  * </ul>
  *
  * <h2>Usage Example</h2>
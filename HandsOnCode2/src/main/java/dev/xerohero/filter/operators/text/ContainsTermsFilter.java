@@ -0,0 +1,190 @@
+package dev.xerohero.filter.operators.text;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A filter that checks whether a resource's value contains any or all of a set of words, such
+ * as a description containing {@code refund}.
+ * <p>
+ * Values are split into words by the {@link Tokenizer}, so {@code refund} matches
+ * {@code "Refund requested."} but not {@code "refunds"}, and case is ignored. The terms are
+ * hashed once into a table that the words of a value are looked up in where they stand, so
+ * matching walks the value once without allocating for up to 64 terms.
+ * </p>
+ */
+public class ContainsTermsFilter implements Filter {
+
+    /**
+     * How many of the terms a value must contain.
+     */
+    public enum Mode {
+        /** At least one of the terms. */
+        ANY,
+        /** Every term. */
+        ALL
+    }
+
+    private final String key;
+    private final Mode mode;
+    private final List<String> terms;
+    private final List<String> foldedTerms;
+    private final TermSet termSet;
+
+    /**
+     * Creates a new term filter.
+     *
+     * @param key the key holding the text
+     * @param mode whether any or all of the terms must occur
+     * @param terms the terms, each a single word
+     * @throws IllegalArgumentException if the key is null or empty, there are no terms, or a term
+     *                                  is not a single word
+     * @throws NullPointerException if the mode or a term is null
+     */
+    public ContainsTermsFilter(String key, Mode mode, String... terms) {
+        this(key, mode, Arrays.asList(Objects.requireNonNull(terms, "Terms cannot be null")));
+    }
+
+    /**
+     * Creates a new term filter.
+     *
+     * @param key the key holding the text
+     * @param mode whether any or all of the terms must occur
+     * @param terms the terms, each a single word
+     * @throws IllegalArgumentException if the key is null or empty, there are no terms, or a term
+     *                                  is not a single word
+     * @throws NullPointerException if the mode or a term is null
+     */
+    public ContainsTermsFilter(String key, Mode mode, Collection<String> terms) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+        Objects.requireNonNull(terms, "Terms cannot be null");
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("At least one term is required");
+        }
+        Set<String> words = new LinkedHashSet<>();
+        for (String term : terms) {
+            List<String> termWords = Tokenizer.words(Objects.requireNonNull(term, "Term cannot be null"));
+            if (termWords.size() != 1 || termWords.get(0).length() != term.length()) {
+                throw new IllegalArgumentException("Term must be a single word: '" + term + "'");
+            }
+            words.add(termWords.get(0));
+        }
+        this.key = key;
+        this.mode = Objects.requireNonNull(mode, "Mode cannot be null");
+        this.terms = Collections.unmodifiableList(new ArrayList<>(terms));
+        this.foldedTerms = List.copyOf(words);
+        this.termSet = new TermSet(foldedTerms);
+    }
+
+    /**
+     * Gets the key holding the text.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets whether any or all of the terms must occur.
+     *
+     * @return the mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the terms as given.
+     *
+     * @return an unmodifiable list of the terms
+     */
+    public List<String> getTerms() {
+        return terms;
+    }
+
+    /**
+     * Gets the distinct terms, folded to lower case as the {@link Tokenizer} folds words.
+     *
+     * @return an unmodifiable list of the distinct folded terms
+     */
+    public List<String> getFoldedTerms() {
+        return foldedTerms;
+    }
+
+    @Override
+    public boolean matches(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        String value = resource.get(key);
+        if (value == null) {
+            return false;
+        }
+        int count = termSet.size();
+        if (mode == Mode.ANY || count == 1) {
+            for (int start = Tokenizer.nextWordStart(value, 0); start >= 0; ) {
+                int end = Tokenizer.wordEnd(value, start);
+                if (termSet.indexOf(value, start, end) >= 0) {
+                    return true;
+                }
+                start = Tokenizer.nextWordStart(value, end);
+            }
+            return false;
+        }
+        return count <= Long.SIZE ? containsAllFew(value, count) : containsAllMany(value, count);
+    }
+
+    private boolean containsAllFew(String value, int count) {
+        long missing = count == Long.SIZE ? -1L : (1L << count) - 1;
+        for (int start = Tokenizer.nextWordStart(value, 0); start >= 0; ) {
+            int end = Tokenizer.wordEnd(value, start);
+            int index = termSet.indexOf(value, start, end);
+            if (index >= 0) {
+                missing &= ~(1L << index);
+                if (missing == 0) {
+                    return true;
+                }
+            }
+            start = Tokenizer.nextWordStart(value, end);
+        }
+        return false;
+    }
+
+    private boolean containsAllMany(String value, int count) {
+        boolean[] found = new boolean[count];
+        int missing = count;
+        for (int start = Tokenizer.nextWordStart(value, 0); start >= 0; ) {
+            int end = Tokenizer.wordEnd(value, start);
+            int index = termSet.indexOf(value, start, end);
+            if (index >= 0 && !found[index]) {
+                found[index] = true;
+                if (--missing == 0) {
+                    return true;
+                }
+            }
+            start = Tokenizer.nextWordStart(value, end);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + key + " CONTAINS " + mode + " OF " + terms + ")";
+    }
+
+    @Override
+    public <T> T accept(FilterVisitor<T> visitor) {
+        return Objects.requireNonNull(visitor).visit(this);
+    }
+}
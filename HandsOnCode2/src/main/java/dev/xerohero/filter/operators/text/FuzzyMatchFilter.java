@@ -0,0 +1,90 @@
+package dev.xerohero.filter.operators.text;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A filter that checks whether a resource's value is within a number of edits of a target,
+ * such as {@code name} within 2 edits of {@code jonathon}.
+ * <p>
+ * An edit inserts, deletes or substitutes one character, and case is ignored as in
+ * {@link dev.xerohero.filter.operators.comparison.EqualsFilter}. The target is compiled into a
+ * {@link LevenshteinAutomaton} once, so matching walks the value once instead of filling an
+ * edit-distance table for every resource, and stops as soon as the value can no longer match.
+ * </p>
+ */
+public class FuzzyMatchFilter implements Filter {
+    private final String key;
+    private final String target;
+    private final int maxEdits;
+    private final LevenshteinAutomaton automaton;
+
+    /**
+     * Creates a new fuzzy match filter.
+     *
+     * @param key the key holding the value
+     * @param target the string to match
+     * @param maxEdits the most insertions, deletions and substitutions to allow
+     * @throws IllegalArgumentException if the key is null or empty, or the maximum is negative
+     * @throws NullPointerException if the target is null
+     */
+    public FuzzyMatchFilter(String key, String target, int maxEdits) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException("Maximum edits cannot be negative: " + maxEdits);
+        }
+        this.key = key;
+        this.target = Objects.requireNonNull(target, "Target cannot be null");
+        this.maxEdits = maxEdits;
+        this.automaton = new LevenshteinAutomaton(target, maxEdits);
+    }
+
+    /**
+     * Gets the key holding the value.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the string to match.
+     *
+     * @return the target
+     */
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * Gets the most edits a matching value may be away from the target.
+     *
+     * @return the maximum number of edits
+     */
+    public int getMaxEdits() {
+        return maxEdits;
+    }
+
+    @Override
+    public boolean matches(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        String value = resource.get(key);
+        return value != null && automaton.accepts(value);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + key + " ~= " + target + " WITHIN " + maxEdits + " EDITS)";
+    }
+
+    @Override
+    public <T> T accept(FilterVisitor<T> visitor) {
+        return Objects.requireNonNull(visitor).visit(this);
+    }
+}
@@ -0,0 +1,175 @@
+package dev.xerohero.filter.operators.text;
+
+import java.util.Arrays;
+
+/**
+ * Accepts the strings within a number of edits of a fixed target, ignoring case.
+ * <p>
+ * The automaton for the target is simulated bit-parallel, after Myers and Hyyrö: its state after
+ * reading a prefix of the input is the column of the edit-distance table for that prefix, stored
+ * as two bit vectors of +1 and -1 steps down the column, and each input character updates it
+ * with a handful of word operations. The bit masks of the target's characters are built once at
+ * construction, so for targets of up to 64 characters a walk is linear in the input and
+ * allocation-free; longer targets use one word per 64 characters, allocated per walk.
+ * </p>
+ * <p>
+ * Characters are compared as UTF-16 code units after folding their case.
+ * </p>
+ */
+final class LevenshteinAutomaton {
+    private static final int WORD = Long.SIZE;
+
+    private final int length;
+    private final int maxEdits;
+    private final int blocks;
+    private final long lastBit;
+    /** Open-addressed table of the target's distinct characters. */
+    private final char[] keys;
+    private final boolean[] used;
+    /** {@code blocks} match masks per table slot. */
+    private final long[] masks;
+
+    /**
+     * Builds the automaton for a target.
+     *
+     * @param target the string to match
+     * @param maxEdits the most insertions, deletions and substitutions to accept
+     */
+    LevenshteinAutomaton(String target, int maxEdits) {
+        this.length = target.length();
+        this.maxEdits = maxEdits;
+        this.blocks = Math.max(1, (length + WORD - 1) / WORD);
+        this.lastBit = length == 0 ? 0 : 1L << ((length - 1) % WORD);
+        int slots = Integer.highestOneBit(Math.max(2, length) * 2 - 1) * 2;
+        this.keys = new char[slots];
+        this.used = new boolean[slots];
+        this.masks = new long[slots * blocks];
+        for (int i = 0; i < length; i++) {
+            char c = fold(target.charAt(i));
+            int slot = slot(c);
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = c;
+            }
+            masks[slot * blocks + i / WORD] |= 1L << (i % WORD);
+        }
+    }
+
+    /**
+     * Checks whether a string is within the maximum number of edits of the target.
+     *
+     * @param input the string to check
+     * @return true if the edit distance is at most the maximum
+     */
+    boolean accepts(String input) {
+        int n = input.length();
+        if (Math.abs(n - length) > maxEdits) {
+            return false;
+        }
+        if (length == 0) {
+            return true;
+        }
+        return blocks == 1 ? acceptsSingleWord(input) : acceptsMultiWord(input);
+    }
+
+    private boolean acceptsSingleWord(String input) {
+        int n = input.length();
+        long pv = -1L;
+        long mv = 0L;
+        int score = length;
+        for (int j = 0; j < n; j++) {
+            long eq = mask(fold(input.charAt(j)), 0);
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            if ((ph & lastBit) != 0) {
+                score++;
+            } else if ((mh & lastBit) != 0) {
+                score--;
+            }
+            // The top row of the table counts the input characters read, so it always steps up
+            ph = (ph << 1) | 1L;
+            mh <<= 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+            // The score changes by at most one per remaining character
+            if (score - (n - j - 1) > maxEdits) {
+                return false;
+            }
+        }
+        return score <= maxEdits;
+    }
+
+    private boolean acceptsMultiWord(String input) {
+        int n = input.length();
+        long[] pv = new long[blocks];
+        long[] mv = new long[blocks];
+        Arrays.fill(pv, -1L);
+        int score = length;
+        for (int j = 0; j < n; j++) {
+            int slot = find(fold(input.charAt(j)));
+            int carry = 1;
+            for (int b = 0; b < blocks; b++) {
+                long eq = slot < 0 ? 0L : masks[slot * blocks + b];
+                long p = pv[b];
+                long m = mv[b];
+                long xv = eq | m;
+                if (carry < 0) {
+                    eq |= 1L;
+                }
+                long xh = (((eq & p) + p) ^ p) | eq;
+                long ph = m | ~(xh | p);
+                long mh = p & xh;
+                long high = b == blocks - 1 ? lastBit : Long.MIN_VALUE;
+                int out = (ph & high) != 0 ? 1 : (mh & high) != 0 ? -1 : 0;
+                ph <<= 1;
+                mh <<= 1;
+                if (carry < 0) {
+                    mh |= 1L;
+                } else if (carry > 0) {
+                    ph |= 1L;
+                }
+                pv[b] = mh | ~(xv | ph);
+                mv[b] = ph & xv;
+                carry = out;
+            }
+            score += carry;
+            if (score - (n - j - 1) > maxEdits) {
+                return false;
+            }
+        }
+        return score <= maxEdits;
+    }
+
+    private long mask(char c, int block) {
+        int slot = find(c);
+        return slot < 0 ? 0L : masks[slot * blocks + block];
+    }
+
+    /**
+     * Finds the slot of a character of the target.
+     *
+     * @return the slot, or -1 if the target does not contain the character
+     */
+    private int find(char c) {
+        int slot = slot(c);
+        return used[slot] && keys[slot] == c ? slot : -1;
+    }
+
+    /**
+     * Finds the slot holding a character, or the empty slot where it belongs.
+     */
+    private int slot(char c) {
+        int mask = keys.length - 1;
+        int slot = (c * 0x9E37) & mask;
+        while (used[slot] && keys[slot] != c) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
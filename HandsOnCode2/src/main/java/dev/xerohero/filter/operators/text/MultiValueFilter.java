@@ -0,0 +1,201 @@
+package dev.xerohero.filter.operators.text;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A filter on a key holding a delimited list of values, such as tags stored as
+ * {@code "urgent, billing, vip"}, that checks whether the list includes any or all of a set of
+ * values.
+ * <p>
+ * Elements are separated by the delimiter, a comma by default, and surrounding whitespace and
+ * empty elements are ignored. Elements compare with the values ignoring case, as
+ * {@link dev.xerohero.filter.operators.comparison.EqualsFilter} compares strings. The values are
+ * hashed once into a table that every element is looked up in where it stands, so matching walks
+ * the list once without splitting it or allocating for up to 64 values.
+ * </p>
+ */
+public class MultiValueFilter implements Filter {
+    /** The delimiter used unless another one is given. */
+    public static final String DEFAULT_DELIMITER = ",";
+
+    /**
+     * How many of the values the list must include.
+     */
+    public enum Mode {
+        /** At least one of the values. */
+        ANY,
+        /** Every value. */
+        ALL
+    }
+
+    private final String key;
+    private final Mode mode;
+    private final String delimiter;
+    private final List<String> values;
+    private final TermSet valueSet;
+
+    /**
+     * Creates a new multi-value filter on a comma-separated list.
+     *
+     * @param key the key holding the list
+     * @param mode whether any or all of the values must be included
+     * @param values the values
+     * @throws IllegalArgumentException if the key is null or empty, there are no values, or a
+     *                                  value is blank or contains the delimiter
+     * @throws NullPointerException if the mode or a value is null
+     */
+    public MultiValueFilter(String key, Mode mode, String... values) {
+        this(key, mode, DEFAULT_DELIMITER, Arrays.asList(Objects.requireNonNull(values, "Values cannot be null")));
+    }
+
+    /**
+     * Creates a new multi-value filter.
+     *
+     * @param key the key holding the list
+     * @param mode whether any or all of the values must be included
+     * @param delimiter the string separating the elements of the list
+     * @param values the values
+     * @throws IllegalArgumentException if the key is null or empty, the delimiter is empty, there
+     *                                  are no values, or a value is blank or contains the delimiter
+     * @throws NullPointerException if the mode, the delimiter or a value is null
+     */
+    public MultiValueFilter(String key, Mode mode, String delimiter, Collection<String> values) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+        Objects.requireNonNull(delimiter, "Delimiter cannot be null");
+        if (delimiter.isEmpty()) {
+            throw new IllegalArgumentException("Delimiter cannot be empty");
+        }
+        Objects.requireNonNull(values, "Values cannot be null");
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("At least one value is required");
+        }
+        Set<String> folded = new LinkedHashSet<>();
+        for (String value : values) {
+            String trimmed = Objects.requireNonNull(value, "Value cannot be null").trim();
+            if (trimmed.isEmpty() || value.contains(delimiter)) {
+                throw new IllegalArgumentException("Value must be non-blank and cannot contain the delimiter: '" + value + "'");
+            }
+            StringBuilder builder = new StringBuilder(trimmed.length());
+            for (int i = 0; i < trimmed.length(); i++) {
+                builder.append(Tokenizer.fold(trimmed.charAt(i)));
+            }
+            folded.add(builder.toString());
+        }
+        this.key = key;
+        this.mode = Objects.requireNonNull(mode, "Mode cannot be null");
+        this.delimiter = delimiter;
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+        this.valueSet = new TermSet(List.copyOf(folded));
+    }
+
+    /**
+     * Gets the key holding the list.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets whether any or all of the values must be included.
+     *
+     * @return the mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the string separating the elements of the list.
+     *
+     * @return the delimiter
+     */
+    public String getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * Gets the values as given.
+     *
+     * @return an unmodifiable list of the values
+     */
+    public List<String> getValues() {
+        return values;
+    }
+
+    @Override
+    public boolean matches(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        String list = resource.get(key);
+        if (list == null) {
+            return false;
+        }
+        int count = valueSet.size();
+        long missing = count >= Long.SIZE ? -1L : (1L << count) - 1;
+        boolean[] found = count > Long.SIZE ? new boolean[count] : null;
+        int missingCount = count;
+        int start = 0;
+        while (true) {
+            int end = list.indexOf(delimiter, start);
+            int elementEnd = end < 0 ? list.length() : end;
+            int index = indexOf(list, start, elementEnd);
+            if (index >= 0) {
+                if (mode == Mode.ANY) {
+                    return true;
+                }
+                if (found == null) {
+                    missing &= ~(1L << index);
+                    if (missing == 0) {
+                        return true;
+                    }
+                } else if (!found[index]) {
+                    found[index] = true;
+                    if (--missingCount == 0) {
+                        return true;
+                    }
+                }
+            }
+            if (end < 0) {
+                return false;
+            }
+            start = end + delimiter.length();
+        }
+    }
+
+    /**
+     * Looks up one element of the list, without its surrounding whitespace.
+     */
+    private int indexOf(String list, int start, int end) {
+        while (start < end && Character.isWhitespace(list.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(list.charAt(end - 1))) {
+            end--;
+        }
+        return start == end ? -1 : valueSet.indexOf(list, start, end);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + key + " HAS " + mode + " OF " + values + ")";
+    }
+
+    @Override
+    public <T> T accept(FilterVisitor<T> visitor) {
+        return Objects.requireNonNull(visitor).visit(this);
+    }
+}
@@ -0,0 +1,163 @@
+package dev.xerohero.filter.operators.text;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A filter that checks whether a resource's value starts with any of a set of prefixes, such as
+ * the route prefixes {@code /api/} and {@code /admin/}.
+ * <p>
+ * The prefixes are built once into a {@link PrefixTrie}, so matching walks the value once,
+ * checking it against all the prefixes in time proportional to its length rather than to their
+ * number. Case is ignored for ASCII letters, as in the
+ * {@link dev.xerohero.filter.operators.comparison.RegexFilter} prefix patterns this filter
+ * replaces.
+ * </p>
+ * <p>
+ * A prefix set may stand for an equivalent filter, such as the patterns the
+ * {@link dev.xerohero.filter.optimizer.FilterOptimizer} replaced with it. The {@code .*} of a
+ * pattern does not match line terminators, so values containing one are then left to that
+ * filter.
+ * </p>
+ */
+public class PrefixSetFilter implements Filter {
+    private final String key;
+    private final List<String> prefixes;
+    private final PrefixTrie trie;
+    /** The filter this one stands for, or null. */
+    private final Filter equivalent;
+
+    /**
+     * Creates a new prefix set filter.
+     *
+     * @param key the key holding the value
+     * @param prefixes the prefixes
+     * @throws IllegalArgumentException if the key is null or empty, or there are no prefixes
+     * @throws NullPointerException if a prefix is null
+     */
+    public PrefixSetFilter(String key, String... prefixes) {
+        this(key, Arrays.asList(Objects.requireNonNull(prefixes, "Prefixes cannot be null")));
+    }
+
+    /**
+     * Creates a new prefix set filter.
+     *
+     * @param key the key holding the value
+     * @param prefixes the prefixes
+     * @throws IllegalArgumentException if the key is null or empty, or there are no prefixes
+     * @throws NullPointerException if a prefix is null
+     */
+    public PrefixSetFilter(String key, Collection<String> prefixes) {
+        this(key, prefixes, null);
+    }
+
+    /**
+     * Creates a new prefix set filter that stands for an equivalent filter, which decides for
+     * values containing a line terminator.
+     *
+     * @param key the key holding the value
+     * @param prefixes the prefixes
+     * @param equivalent the filter matching exactly the same single-line values as the prefixes,
+     *                   or null to match every value by its prefix
+     * @throws IllegalArgumentException if the key is null or empty, or there are no prefixes
+     * @throws NullPointerException if a prefix is null
+     */
+    public PrefixSetFilter(String key, Collection<String> prefixes, Filter equivalent) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+        Objects.requireNonNull(prefixes, "Prefixes cannot be null");
+        if (prefixes.isEmpty()) {
+            throw new IllegalArgumentException("At least one prefix is required");
+        }
+        for (String prefix : prefixes) {
+            Objects.requireNonNull(prefix, "Prefix cannot be null");
+        }
+        this.key = key;
+        this.prefixes = Collections.unmodifiableList(new ArrayList<>(prefixes));
+        this.trie = new PrefixTrie(this.prefixes);
+        this.equivalent = equivalent;
+    }
+
+    /**
+     * Gets the key holding the value.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the prefixes as given.
+     *
+     * @return an unmodifiable list of the prefixes
+     */
+    public List<String> getPrefixes() {
+        return prefixes;
+    }
+
+    /**
+     * Gets the filter this one stands for.
+     *
+     * @return the equivalent filter, or null if every value is matched by its prefix
+     * @see dev.xerohero.filter.optimizer.FilterOptimizer#original(Filter)
+     */
+    public Filter getEquivalent() {
+        return equivalent;
+    }
+
+    /**
+     * Gets the number of prefixes kept after dropping duplicates and the prefixes covered by
+     * shorter ones.
+     *
+     * @return the number of prefixes, none a prefix of another
+     */
+    public int getPrefixCount() {
+        return trie.size();
+    }
+
+    @Override
+    public boolean matches(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        String value = resource.get(key);
+        if (value == null) {
+            return false;
+        }
+        if (equivalent != null && hasLineTerminator(value)) {
+            return equivalent.matches(resource);
+        }
+        return trie.matchesPrefixOf(value);
+    }
+
+    /**
+     * Checks for the characters that {@code .} does not match in a regular expression.
+     */
+    private static boolean hasLineTerminator(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + key + " STARTS WITH ANY OF " + prefixes + ")";
+    }
+
+    @Override
+    public <T> T accept(FilterVisitor<T> visitor) {
+        return Objects.requireNonNull(visitor).visit(this);
+    }
+}
@@ -0,0 +1,178 @@
+package dev.xerohero.filter.operators.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * A set of string prefixes in a radix trie, flattened into arrays.
+ * <p>
+ * Every node holds the run of characters leading to it from its parent, and only nodes where two
+ * prefixes diverge are kept. The nodes are laid out breadth first so the children of a node are
+ * adjacent and sorted by their first character, and a lookup walks the value once, choosing each
+ * child with a binary search. Only membership matters, so a prefix covered by a shorter one is
+ * not stored.
+ * </p>
+ * <p>
+ * Case is ignored for ASCII letters only, as in
+ * {@link dev.xerohero.filter.operators.comparison.RegexFilter}.
+ * </p>
+ */
+final class PrefixTrie {
+    /** Characters of all the node labels; node {@code n}'s label ends at {@code labelEnd[n]}. */
+    private final char[] labels;
+    private final int[] labelStart;
+    private final int[] labelEnd;
+    /** Children of node {@code n} are the nodes from {@code firstChild[n]} to {@code firstChild[n] + childCount[n]}. */
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int size;
+
+    /**
+     * Builds the trie for the prefixes.
+     *
+     * @param prefixes the prefixes, at least one
+     */
+    PrefixTrie(Collection<String> prefixes) {
+        TreeSet<String> sorted = new TreeSet<>();
+        for (String prefix : prefixes) {
+            sorted.add(fold(prefix));
+        }
+        // In sorted order, a prefix is covered if and only if the last kept prefix covers it
+        List<String> kept = new ArrayList<>();
+        for (String prefix : sorted) {
+            if (kept.isEmpty() || !prefix.startsWith(kept.get(kept.size() - 1))) {
+                kept.add(prefix);
+            }
+        }
+        this.size = kept.size();
+
+        int capacity = 2 * kept.size();
+        StringBuilder labelText = new StringBuilder();
+        int[] starts = new int[capacity];
+        int[] ends = new int[capacity];
+        int[] firsts = new int[capacity];
+        int[] counts = new int[capacity];
+        // Each pending node covers a range of kept prefixes, all sharing their first depth characters
+        List<int[]> pending = new ArrayList<>();
+        pending.add(new int[]{0, 0, kept.size(), 0});
+        int nodes = 1;
+        for (int p = 0; p < pending.size(); p++) {
+            int[] entry = pending.get(p);
+            int node = entry[0];
+            int from = entry[1];
+            int to = entry[2];
+            int depth = entry[3];
+            if (kept.get(from).length() == depth) {
+                // A leaf: the prefix ends here and, the set being prefix-free, is alone in its range
+                continue;
+            }
+            firsts[node] = nodes;
+            for (int start = from; start < to; ) {
+                char c = kept.get(start).charAt(depth);
+                int end = start + 1;
+                while (end < to && kept.get(end).charAt(depth) == c) {
+                    end++;
+                }
+                // Extend the label while the whole range agrees and no prefix ends
+                String first = kept.get(start);
+                String last = kept.get(end - 1);
+                int labelLength = 1;
+                while (end - start > 1 && depth + labelLength < first.length()
+                        && depth + labelLength < last.length()
+                        && first.charAt(depth + labelLength) == last.charAt(depth + labelLength)) {
+                    labelLength++;
+                }
+                if (end - start == 1) {
+                    labelLength = first.length() - depth;
+                }
+                int child = nodes++;
+                starts[child] = labelText.length();
+                labelText.append(first, depth, depth + labelLength);
+                ends[child] = labelText.length();
+                counts[node]++;
+                pending.add(new int[]{child, start, end, depth + labelLength});
+                start = end;
+            }
+        }
+        this.labels = labelText.toString().toCharArray();
+        this.labelStart = Arrays.copyOf(starts, nodes);
+        this.labelEnd = Arrays.copyOf(ends, nodes);
+        this.firstChild = Arrays.copyOf(firsts, nodes);
+        this.childCount = Arrays.copyOf(counts, nodes);
+    }
+
+    /**
+     * Checks whether a value starts with any of the prefixes.
+     *
+     * @param value the value to check
+     * @return true if some prefix is a prefix of the value
+     */
+    boolean matchesPrefixOf(String value) {
+        int length = value.length();
+        int node = 0;
+        int i = 0;
+        while (true) {
+            int count = childCount[node];
+            if (count == 0) {
+                return true;
+            }
+            if (i == length) {
+                return false;
+            }
+            int child = findChild(firstChild[node], count, fold(value.charAt(i)));
+            if (child < 0) {
+                return false;
+            }
+            for (int k = labelStart[child]; k < labelEnd[child]; k++, i++) {
+                if (i == length || fold(value.charAt(i)) != labels[k]) {
+                    return false;
+                }
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Gets the number of prefixes kept after dropping the ones covered by other prefixes.
+     *
+     * @return the number of prefixes, none a prefix of another
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Finds the child whose label starts with a character by binary search.
+     */
+    private int findChild(int first, int count, char c) {
+        int low = first;
+        int high = first + count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char label = labels[labelStart[middle]];
+            if (label < c) {
+                low = middle + 1;
+            } else if (label > c) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static String fold(String prefix) {
+        char[] folded = prefix.toCharArray();
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = fold(folded[i]);
+        }
+        return new String(folded);
+    }
+
+    private static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
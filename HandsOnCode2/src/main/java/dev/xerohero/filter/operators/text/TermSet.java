@@ -0,0 +1,70 @@
+package dev.xerohero.filter.operators.text;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An open-addressed hash table of folded strings, such as words, that looks up slices of a text
+ * in place.
+ */
+final class TermSet {
+    private final String[] terms;
+    private final int[] hashes;
+    /** Index of the term in each slot, or -1 for an empty slot. */
+    private final int[] slots;
+
+    /**
+     * Builds the set.
+     *
+     * @param terms the distinct words, folded by {@link Tokenizer#fold(char)}
+     */
+    TermSet(List<String> terms) {
+        this.terms = terms.toArray(new String[0]);
+        this.hashes = new int[this.terms.length];
+        this.slots = new int[Integer.highestOneBit(Math.max(1, this.terms.length) * 2 - 1) * 2];
+        Arrays.fill(slots, -1);
+        for (int i = 0; i < this.terms.length; i++) {
+            hashes[i] = this.terms[i].hashCode();
+            int slot = hashes[i] & (slots.length - 1);
+            while (slots[slot] >= 0) {
+                slot = (slot + 1) & (slots.length - 1);
+            }
+            slots[slot] = i;
+        }
+    }
+
+    /**
+     * Finds a word of a text.
+     *
+     * @param text the text holding the word
+     * @param start the position of the first character of the word
+     * @param end the position after the last character of the word
+     * @return the index of the word in the set, or -1 if it is not in the set
+     */
+    int indexOf(CharSequence text, int start, int end) {
+        int hash = Tokenizer.hash(text, start, end);
+        for (int slot = hash & (slots.length - 1); slots[slot] >= 0; slot = (slot + 1) & (slots.length - 1)) {
+            int index = slots[slot];
+            if (hashes[index] == hash && equalsFolded(terms[index], text, start, end)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    int size() {
+        return terms.length;
+    }
+
+    private static boolean equalsFolded(String term, CharSequence text, int start, int end) {
+        if (term.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < term.length(); i++) {
+            if (term.charAt(i) != Tokenizer.fold(text.charAt(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,111 @@
+package dev.xerohero.filter.operators.text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits text into words, for term filters and term indexes.
+ * <p>
+ * A word is a maximal run of letters and digits, so punctuation, whitespace and symbols separate
+ * words and {@code "re-use"} holds the words {@code re} and {@code use}. Words are compared
+ * ignoring case, as {@link String#equalsIgnoreCase(String)} compares characters. Characters are
+ * UTF-16 code units, so letters outside the Basic Multilingual Plane separate words too.
+ * </p>
+ * <p>
+ * The scanning methods work on positions in the text and allocate nothing, so a caller can walk
+ * the words of a value and look each one up without creating substrings:
+ * </p>
+ * <pre>
+ * for (int start = Tokenizer.nextWordStart(text, 0); start &gt;= 0;
+ *         start = Tokenizer.nextWordStart(text, end)) {
+ *     int end = Tokenizer.wordEnd(text, start);
+ *     ...
+ * }
+ * </pre>
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Finds the start of the next word.
+     *
+     * @param text the text to scan
+     * @param from the position to scan from
+     * @return the position of the first character of the next word, or -1 if there is none
+     */
+    public static int nextWordStart(CharSequence text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (isWordChar(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the end of a word.
+     *
+     * @param text the text to scan
+     * @param start the position of the first character of the word
+     * @return the position after the last character of the word
+     */
+    public static int wordEnd(CharSequence text, int start) {
+        int i = start;
+        while (i < text.length() && isWordChar(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Splits text into its words, folded to lower case.
+     *
+     * @param text the text to split
+     * @return the words in order, with repetitions
+     */
+    public static List<String> words(CharSequence text) {
+        List<String> words = new ArrayList<>();
+        for (int start = nextWordStart(text, 0); start >= 0; ) {
+            int end = wordEnd(text, start);
+            char[] word = new char[end - start];
+            for (int i = start; i < end; i++) {
+                word[i - start] = fold(text.charAt(i));
+            }
+            words.add(new String(word));
+            start = nextWordStart(text, end);
+        }
+        return words;
+    }
+
+    /**
+     * Hashes a word of the text the way {@link String#hashCode()} hashes its folded form.
+     *
+     * @param text the text holding the word
+     * @param start the position of the first character of the word
+     * @param end the position after the last character of the word
+     * @return the hash of the folded word
+     */
+    public static int hash(CharSequence text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + fold(text.charAt(i));
+        }
+        return hash;
+    }
+
+    /**
+     * Folds the case of a character the way {@link String#equalsIgnoreCase(String)} compares it.
+     *
+     * @param c the character
+     * @return the folded character
+     */
+    public static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Contains filters on free text.
+ *
+ * <p>Equality and regular expressions only match text spelled as expected. The filters in this
+ * package tolerate variations in spelling, match sets of prefixes, find words and look up the
+ * elements of lists, compiling their constants once into automata, tries and hash tables that
+ * walk each value a single time.</p>
+ *
+ * <h2>Text Operators</h2>
+ * <dl>
+ *   <dt>{@link dev.xerohero.filter.operators.text.FuzzyMatchFilter}</dt>
+ *   <dd>Checks if a value is within a number of edits of a target, ignoring case.</dd>
+ *
+ *   <dt>{@link dev.xerohero.filter.operators.text.PrefixSetFilter}</dt>
+ *   <dd>Checks if a value starts with any of a set of prefixes, in one walk of a trie.</dd>
+ *
+ *   <dt>{@link dev.xerohero.filter.operators.text.ContainsTermsFilter}</dt>
+ *   <dd>Checks if a text contains any or all of a set of words, as split by the
+ *   {@link dev.xerohero.filter.operators.text.Tokenizer}.</dd>
+ *
+ *   <dt>{@link dev.xerohero.filter.operators.text.MultiValueFilter}</dt>
+ *   <dd>Checks if a delimited list, such as {@code "urgent, vip"}, includes any or all of a set of
+ *   values, ignoring case.</dd>
+ * </dl>
+ *
+ * <h2>Usage Examples</h2>
+ * <pre>
+ * Filter name = new FuzzyMatchFilter("name", "jonathon", 2);
+ * Filter parsed = FilterParser.parse("fuzzy(name, jonathon, 2) AND status = active");
+ * Filter routes = FilterParser.parse("startsWith(path, /api/, /admin/, /static/)");
+ * Filter refunds = new ContainsTermsFilter("description", ContainsTermsFilter.Mode.ALL, "refund", "urgent");
+ * Filter tags = FilterParser.parse("anyOf(tags, urgent, vip)");
+ * </pre>
+ */
+package dev.xerohero.filter.operators.text;
@@ -0,0 +1,70 @@
+package dev.xerohero.filter.operators.time;
+
+import dev.xerohero.filter.Filter;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Base class for filters on a timestamp held by a key.
+ * <p>
+ * Values are parsed by {@link Timestamps#parseEpochNanos(String)} once per match and compared
+ * as instants, so timestamps with different offsets or precisions compare correctly. A resource
+ * matches only if it has the key and its value is a timestamp.
+ * </p>
+ */
+public abstract class BaseTimeFilter implements Filter {
+    protected final String key;
+
+    /**
+     * Creates a filter on the timestamp held by the given key.
+     *
+     * @param key the key holding the timestamp
+     * @throws IllegalArgumentException if the key is null or empty
+     */
+    protected BaseTimeFilter(String key) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+        this.key = key;
+    }
+
+    /**
+     * Parses a timestamp constant.
+     *
+     * @param instant the timestamp to parse
+     * @return the nanoseconds since the epoch
+     * @throws IllegalArgumentException if it is null or not a timestamp
+     */
+    protected static long parseConstant(String instant) {
+        long epochNanos = Timestamps.parseEpochNanos(instant);
+        if (epochNanos == Timestamps.INVALID) {
+            throw new IllegalArgumentException("Invalid timestamp: " + instant);
+        }
+        return epochNanos;
+    }
+
+    /**
+     * Gets the key holding the timestamp.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean matches(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        long epochNanos = Timestamps.parseEpochNanos(resource.get(key));
+        return epochNanos != Timestamps.INVALID && matches(epochNanos);
+    }
+
+    /**
+     * Checks whether an instant satisfies the filter.
+     *
+     * @param epochNanos the instant, in nanoseconds since the epoch
+     * @return true if the instant matches
+     */
+    protected abstract boolean matches(long epochNanos);
+}
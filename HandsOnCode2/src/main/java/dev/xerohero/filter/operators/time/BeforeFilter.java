@@ -0,0 +1,76 @@
+package dev.xerohero.filter.operators.time;
+
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A filter that checks whether a resource's timestamp is strictly earlier than a constant instant.
+ * <p>
+ * The constant is parsed once when the filter is created; see {@link Timestamps} for the accepted
+ * forms.
+ * </p>
+ */
+public class BeforeFilter extends BaseTimeFilter {
+    private final String instant;
+    private final long epochNanos;
+
+    /**
+     * Creates a new before filter.
+     *
+     * @param key the key holding the timestamp
+     * @param instant the instant to compare with, as a timestamp
+     * @throws IllegalArgumentException if the key is null or empty, or the instant is not a
+     *                                  timestamp
+     */
+    public BeforeFilter(String key, String instant) {
+        super(key);
+        this.epochNanos = parseConstant(instant);
+        this.instant = instant;
+    }
+
+    /**
+     * Creates a new before filter.
+     *
+     * @param key the key holding the timestamp
+     * @param instant the instant to compare with
+     * @throws IllegalArgumentException if the key is null or empty, or the instant is out of range
+     */
+    public BeforeFilter(String key, Instant instant) {
+        this(key, Objects.requireNonNull(instant, "Instant cannot be null").toString());
+    }
+
+    /**
+     * Gets the instant as given.
+     *
+     * @return the timestamp text
+     */
+    public String getInstant() {
+        return instant;
+    }
+
+    /**
+     * Gets the instant.
+     *
+     * @return the nanoseconds since the epoch
+     */
+    public long getEpochNanos() {
+        return epochNanos;
+    }
+
+    @Override
+    protected boolean matches(long value) {
+        return value < epochNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + key + " BEFORE " + instant + ")";
+    }
+
+    @Override
+    public <T> T accept(FilterVisitor<T> visitor) {
+        return Objects.requireNonNull(visitor).visit(this);
+    }
+}
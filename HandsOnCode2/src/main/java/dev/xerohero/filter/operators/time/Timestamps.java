@@ -0,0 +1,275 @@
+package dev.xerohero.filter.operators.time;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses timestamps into nanoseconds since the epoch, without {@link java.time.format.DateTimeFormatter}.
+ * <p>
+ * Two forms are accepted:
+ * </p>
+ * <ul>
+ *   <li>ISO-8601 dates and date-times with a fixed layout: {@code 2024-03-01},
+ *   {@code 2024-03-01T12:30}, {@code 2024-03-01T12:30:15.123456789Z} or
+ *   {@code 2024-03-01 12:30:15+02:00}. The offset may be {@code Z}, {@code ±hh},
+ *   {@code ±hhmm} or {@code ±hh:mm}; date-times without an offset and dates are taken as
+ *   UTC.</li>
+ *   <li>Unix time in seconds, optionally with a fraction: {@code 1709296215} or
+ *   {@code 1709296215.5}.</li>
+ * </ul>
+ * <p>
+ * Instants are limited to what a {@code long} of nanoseconds holds, from 1677 to 2262.
+ * </p>
+ */
+public final class Timestamps {
+    /** Returned by {@link #parseEpochNanos(String)} for values that are not timestamps. */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MIN_SECONDS = Long.MIN_VALUE / NANOS_PER_SECOND;
+    private static final long MAX_SECONDS = Long.MAX_VALUE / NANOS_PER_SECOND - 1;
+
+    private Timestamps() {
+    }
+
+    /**
+     * Parses a timestamp.
+     *
+     * @param text the text to parse (may be null)
+     * @return the nanoseconds since 1970-01-01T00:00:00Z, or {@link #INVALID} if the text is
+     *         null, not a timestamp or out of range
+     */
+    public static long parseEpochNanos(String text) {
+        if (text == null) {
+            return INVALID;
+        }
+        if (text.length() >= 10 && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            return parseIso(text);
+        }
+        return parseUnixSeconds(text);
+    }
+
+    /**
+     * Parses a non-negative duration, either in ISO-8601 form ({@code PT15M}, {@code P7D}) or as
+     * a number followed by a unit: {@code ms}, {@code s}, {@code m}, {@code h} or {@code d}
+     * ({@code 15m}, {@code 7d}).
+     *
+     * @param text the text to parse
+     * @return the duration
+     * @throws IllegalArgumentException if the text is null, not a duration or negative
+     */
+    public static Duration parseDuration(String text) {
+        if (text == null || text.isEmpty()) {
+            throw new IllegalArgumentException("Duration cannot be null or empty");
+        }
+        Duration duration;
+        char first = text.charAt(0);
+        if (first == 'P' || first == 'p' || first == '-' || first == '+') {
+            try {
+                duration = Duration.parse(text);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid duration: " + text);
+            }
+        } else {
+            int unitStart = 0;
+            while (unitStart < text.length() && Character.isDigit(text.charAt(unitStart))) {
+                unitStart++;
+            }
+            if (unitStart == 0 || unitStart > 12) {
+                throw new IllegalArgumentException("Invalid duration: " + text);
+            }
+            long amount = Long.parseLong(text.substring(0, unitStart));
+            switch (text.substring(unitStart)) {
+                case "ms":
+                    duration = Duration.ofMillis(amount);
+                    break;
+                case "s":
+                    duration = Duration.ofSeconds(amount);
+                    break;
+                case "m":
+                    duration = Duration.ofMinutes(amount);
+                    break;
+                case "h":
+                    duration = Duration.ofHours(amount);
+                    break;
+                case "d":
+                    duration = Duration.ofDays(amount);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid duration unit: " + text);
+            }
+        }
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Duration cannot be negative: " + text);
+        }
+        return duration;
+    }
+
+    private static long parseIso(String text) {
+        int length = text.length();
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            return INVALID;
+        }
+        long seconds = daysFromCivil(year, month, day) * 86_400L;
+        long nanos = 0;
+        int i = 10;
+        if (i < length) {
+            char separator = text.charAt(i);
+            if (separator != 'T' && separator != 't' && separator != ' ') {
+                return INVALID;
+            }
+            int hour = digits(text, 11, 13);
+            int minute = length > 13 && text.charAt(13) == ':' ? digits(text, 14, 16) : -1;
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+                return INVALID;
+            }
+            seconds += hour * 3_600L + minute * 60L;
+            i = 16;
+            if (i < length && text.charAt(i) == ':') {
+                int second = digits(text, 17, 19);
+                if (second < 0 || second > 59) {
+                    return INVALID;
+                }
+                seconds += second;
+                i = 19;
+                if (i < length && (text.charAt(i) == '.' || text.charAt(i) == ',')) {
+                    int start = ++i;
+                    while (i < length && i - start < 9 && isDigit(text.charAt(i))) {
+                        nanos = nanos * 10 + text.charAt(i) - '0';
+                        i++;
+                    }
+                    if (i == start) {
+                        return INVALID;
+                    }
+                    for (int scale = i - start; scale < 9; scale++) {
+                        nanos *= 10;
+                    }
+                }
+            }
+            if (i < length) {
+                char sign = text.charAt(i);
+                if (sign == 'Z' || sign == 'z') {
+                    i++;
+                } else if (sign == '+' || sign == '-') {
+                    int offsetHours = digits(text, i + 1, i + 3);
+                    int offsetMinutes = 0;
+                    i += 3;
+                    if (i < length) {
+                        if (text.charAt(i) == ':') {
+                            i++;
+                        }
+                        offsetMinutes = digits(text, i, i + 2);
+                        i += 2;
+                    }
+                    if (offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59) {
+                        return INVALID;
+                    }
+                    long offset = offsetHours * 3_600L + offsetMinutes * 60L;
+                    seconds -= sign == '+' ? offset : -offset;
+                } else {
+                    return INVALID;
+                }
+            }
+        }
+        return i == length ? toNanos(seconds, nanos) : INVALID;
+    }
+
+    private static long parseUnixSeconds(String text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        int start = i;
+        long seconds = 0;
+        while (i < length && i - start < 12 && isDigit(text.charAt(i))) {
+            seconds = seconds * 10 + text.charAt(i) - '0';
+            i++;
+        }
+        if (i == start) {
+            return INVALID;
+        }
+        long nanos = 0;
+        if (i < length && text.charAt(i) == '.') {
+            int fractionStart = ++i;
+            while (i < length && i - fractionStart < 9 && isDigit(text.charAt(i))) {
+                nanos = nanos * 10 + text.charAt(i) - '0';
+                i++;
+            }
+            if (i == fractionStart) {
+                return INVALID;
+            }
+            for (int scale = i - fractionStart; scale < 9; scale++) {
+                nanos *= 10;
+            }
+        }
+        if (i != length) {
+            return INVALID;
+        }
+        if (negative) {
+            // -1.5 is 2 seconds before the epoch plus half a second
+            seconds = -seconds;
+            if (nanos > 0) {
+                seconds--;
+                nanos = NANOS_PER_SECOND - nanos;
+            }
+        }
+        return toNanos(seconds, nanos);
+    }
+
+    private static long toNanos(long seconds, long nanos) {
+        if (seconds < MIN_SECONDS || seconds > MAX_SECONDS) {
+            return INVALID;
+        }
+        return seconds * NANOS_PER_SECOND + nanos;
+    }
+
+    /**
+     * Parses a fixed number of decimal digits.
+     *
+     * @return the number, or -1 if the range is out of bounds or not all digits
+     */
+    private static int digits(String text, int start, int end) {
+        if (end > text.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * Counts the days from 1970-01-01 to a date in the proleptic Gregorian calendar.
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+}
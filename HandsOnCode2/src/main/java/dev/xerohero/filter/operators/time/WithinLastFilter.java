@@ -0,0 +1,92 @@
+package dev.xerohero.filter.operators.time;
+
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A filter that checks whether a resource's timestamp lies within a duration before now,
+ * inclusive; timestamps in the future do not match.
+ * <p>
+ * Now is read from the filter's clock on every match, in milliseconds, and the duration is
+ * converted to nanoseconds once when the filter is created, so matching compares the age of the
+ * timestamp with it without any allocation.
+ * </p>
+ */
+public class WithinLastFilter extends BaseTimeFilter {
+    /** Seconds beyond which a duration spans every pair of timestamps. */
+    private static final long UNBOUNDED_SECONDS = 18_446_744_073L;
+
+    private final Duration duration;
+    /** The duration in nanoseconds, as an unsigned number. */
+    private final long durationNanos;
+    private final Clock clock;
+
+    /**
+     * Creates a new filter relative to the system clock.
+     *
+     * @param key the key holding the timestamp
+     * @param duration how far back timestamps match
+     * @throws IllegalArgumentException if the key is null or empty, or the duration is negative
+     */
+    public WithinLastFilter(String key, Duration duration) {
+        this(key, duration, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new filter relative to the given clock.
+     *
+     * @param key the key holding the timestamp
+     * @param duration how far back timestamps match
+     * @param clock the clock giving the current instant
+     * @throws IllegalArgumentException if the key is null or empty, or the duration is negative
+     */
+    public WithinLastFilter(String key, Duration duration, Clock clock) {
+        super(key);
+        Objects.requireNonNull(duration, "Duration cannot be null");
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Duration cannot be negative: " + duration);
+        }
+        this.duration = duration;
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+        this.durationNanos = duration.getSeconds() >= UNBOUNDED_SECONDS ? -1L
+                : duration.getSeconds() * 1_000_000_000L + duration.getNano();
+    }
+
+    /**
+     * Gets how far back timestamps match.
+     *
+     * @return the duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets the clock giving the current instant.
+     *
+     * @return the clock
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    @Override
+    protected boolean matches(long epochNanos) {
+        long now = clock.millis() * 1_000_000L;
+        // The age of a past timestamp always fits in an unsigned long
+        return epochNanos <= now && Long.compareUnsigned(now - epochNanos, durationNanos) <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + key + " WITHIN LAST " + duration + ")";
+    }
+
+    @Override
+    public <T> T accept(FilterVisitor<T> visitor) {
+        return Objects.requireNonNull(visitor).visit(this);
+    }
+}
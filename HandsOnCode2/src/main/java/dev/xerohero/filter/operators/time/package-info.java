@@ -0,0 +1,31 @@
+/**
+ * Contains filters on timestamps.
+ *
+ * <p>Comparison filters compare ISO-8601 timestamps as text, which only orders them correctly
+ * when they share a layout and an offset. The filters in this package parse their constants
+ * once and every value with the fixed-layout parser in
+ * {@link dev.xerohero.filter.operators.time.Timestamps}, and compare instants as nanoseconds
+ * since the epoch.</p>
+ *
+ * <h2>Time Operators</h2>
+ * <dl>
+ *   <dt>{@link dev.xerohero.filter.operators.time.BeforeFilter}</dt>
+ *   <dd>Checks if a timestamp is earlier than an instant.</dd>
+ *
+ *   <dt>{@link dev.xerohero.filter.operators.time.AfterFilter}</dt>
+ *   <dd>Checks if a timestamp is later than an instant.</dd>
+ *
+ *   <dt>{@link dev.xerohero.filter.operators.time.WithinLastFilter}</dt>
+ *   <dd>Checks if a timestamp lies within a duration before now.</dd>
+ * </dl>
+ *
+ * <h2>Usage Examples</h2>
+ * <pre>
+ * Filter recent = new WithinLastFilter("created", Duration.ofDays(7));
+ * Filter march = FilterParser.parse("after(created, 2024-03-01T00:00:00Z) AND before(created, 2024-04-01T00:00:00Z)");
+ * Filter lastHour = FilterParser.parse("withinLast(updated, 1h)");
+ * </pre>
+ *
+ * @see dev.xerohero.filter.operators.time.BaseTimeFilter Base class for all time filters
+ */
+package dev.xerohero.filter.operators.time;
@@ -0,0 +1,281 @@
+package dev.xerohero.filter.operators.version;
+
+/**
+ * A version number following the precedence rules of Semantic Versioning.
+ * <p>
+ * A version is an optional {@code v}, one or more dot-separated numeric segments, an optional
+ * pre-release tag after {@code -} and optional build metadata after {@code +}, such as
+ * {@code 4.12.3}, {@code v2.0} or {@code 1.0.0-rc.1+build.5}. Missing segments count as zero,
+ * so {@code 4.12} equals {@code 4.12.0}; a pre-release version precedes the release; pre-release
+ * identifiers compare numerically when both are numbers, numbers precede other identifiers,
+ * and a shorter list of equal identifiers comes first; build metadata is ignored.
+ * </p>
+ * <p>
+ * The constant is parsed once into an {@code int} array of segments, and
+ * {@link #compareTo(String)} scans other versions in place, without allocating.
+ * </p>
+ */
+public final class SemanticVersion {
+    /** Returned by {@link #compareTo(String)} for text that is not a version. */
+    public static final int INVALID = Integer.MIN_VALUE;
+
+    private final String text;
+    private final int[] segments;
+    private final String[] preRelease;
+    private final boolean[] numericPreRelease;
+
+    private SemanticVersion(String text, int[] segments, String[] preRelease) {
+        this.text = text;
+        this.segments = segments;
+        this.preRelease = preRelease;
+        this.numericPreRelease = new boolean[preRelease.length];
+        for (int i = 0; i < preRelease.length; i++) {
+            numericPreRelease[i] = preRelease[i].chars().allMatch(c -> c >= '0' && c <= '9');
+        }
+    }
+
+    /**
+     * Parses a version.
+     *
+     * @param text the version to parse
+     * @return the parsed version
+     * @throws IllegalArgumentException if the text is null or not a version, or a segment does
+     *                                  not fit in an int
+     */
+    public static SemanticVersion parse(String text) {
+        if (text == null || scan(text, null) == INVALID) {
+            throw new IllegalArgumentException("Invalid version: " + text);
+        }
+        int start = text.charAt(0) == 'v' || text.charAt(0) == 'V' ? 1 : 0;
+        int end = start;
+        while (end < text.length() && text.charAt(end) != '-' && text.charAt(end) != '+') {
+            end++;
+        }
+        String[] parts = text.substring(start, end).split("\\.");
+        int[] segments = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                segments[i] = Integer.parseInt(parts[i]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Version segment too large: " + text);
+            }
+        }
+        String[] preRelease = new String[0];
+        if (end < text.length() && text.charAt(end) == '-') {
+            int buildStart = text.indexOf('+', end);
+            preRelease = text.substring(end + 1, buildStart < 0 ? text.length() : buildStart).split("\\.");
+        }
+        return new SemanticVersion(text, segments, preRelease);
+    }
+
+    /**
+     * Checks whether a text is a version.
+     *
+     * @param text the text to check (may be null)
+     * @return true if it is a version
+     */
+    public static boolean isValid(String text) {
+        return text != null && scan(text, null) != INVALID;
+    }
+
+    /**
+     * Gets the version as given.
+     *
+     * @return the text of the version
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Gets the numeric segments.
+     *
+     * @return a copy of the segments
+     */
+    public int[] getSegments() {
+        return segments.clone();
+    }
+
+    /**
+     * Gets the pre-release identifiers.
+     *
+     * @return a copy of the identifiers, empty for a release
+     */
+    public String[] getPreRelease() {
+        return preRelease.clone();
+    }
+
+    /**
+     * Compares a version with this one.
+     *
+     * @param other the version to compare (may be null)
+     * @return -1, 0 or 1 if the other version precedes, equals or follows this one, or
+     *         {@link #INVALID} if it is null or not a version
+     */
+    public int compareTo(String other) {
+        return other == null ? INVALID : scan(other, this);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    /**
+     * Validates a version and compares it with a parsed version, in one pass over the text.
+     *
+     * @param text the version to scan
+     * @param constant the version to compare with, or null to only validate
+     * @return the sign of the comparison, or {@link #INVALID}
+     */
+    private static int scan(String text, SemanticVersion constant) {
+        int length = text.length();
+        int i = 0;
+        if (i < length && (text.charAt(i) == 'v' || text.charAt(i) == 'V')) {
+            i++;
+        }
+        int result = 0;
+        int segment = 0;
+        while (true) {
+            int start = i;
+            while (i < length && isDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i == start) {
+                return INVALID;
+            }
+            if (result == 0 && constant != null) {
+                int expected = segment < constant.segments.length ? constant.segments[segment] : 0;
+                result = compareNumber(text, start, i, expected);
+            }
+            segment++;
+            if (i < length && text.charAt(i) == '.') {
+                i++;
+            } else {
+                break;
+            }
+        }
+        if (constant != null) {
+            // Segments the text leaves out are zero
+            for (int k = segment; result == 0 && k < constant.segments.length; k++) {
+                result = constant.segments[k] > 0 ? -1 : 0;
+            }
+        }
+        if (i < length && text.charAt(i) == '-') {
+            i++;
+            int preReleaseResult = 0;
+            int identifier = 0;
+            while (true) {
+                int start = i;
+                boolean numeric = true;
+                while (i < length && isIdentifierChar(text.charAt(i))) {
+                    numeric &= isDigit(text.charAt(i));
+                    i++;
+                }
+                if (i == start) {
+                    return INVALID;
+                }
+                if (preReleaseResult == 0 && constant != null) {
+                    // An identifier beyond the constant's makes the text follow it
+                    preReleaseResult = identifier < constant.preRelease.length
+                            ? compareIdentifier(text, start, i, numeric, constant, identifier)
+                            : 1;
+                }
+                identifier++;
+                if (i < length && text.charAt(i) == '.') {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            if (constant != null && result == 0) {
+                if (constant.preRelease.length == 0) {
+                    result = -1;
+                } else if (preReleaseResult == 0 && identifier < constant.preRelease.length) {
+                    result = -1;
+                } else {
+                    result = preReleaseResult;
+                }
+            }
+        } else if (constant != null && result == 0 && constant.preRelease.length > 0) {
+            result = 1;
+        }
+        if (i < length && text.charAt(i) == '+') {
+            // Build metadata is validated but ignored
+            i++;
+            while (true) {
+                int start = i;
+                while (i < length && isIdentifierChar(text.charAt(i))) {
+                    i++;
+                }
+                if (i == start) {
+                    return INVALID;
+                }
+                if (i < length && text.charAt(i) == '.') {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+        }
+        return i == length ? Integer.signum(result) : INVALID;
+    }
+
+    /**
+     * Compares a run of digits with a non-negative int.
+     */
+    private static int compareNumber(String text, int start, int end, int expected) {
+        while (start < end - 1 && text.charAt(start) == '0') {
+            start++;
+        }
+        if (end - start > 10) {
+            return 1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + text.charAt(i) - '0';
+        }
+        return Long.compare(value, expected);
+    }
+
+    /**
+     * Compares a pre-release identifier with one of the constant's.
+     */
+    private static int compareIdentifier(String text, int start, int end, boolean numeric,
+                                         SemanticVersion constant, int index) {
+        String expected = constant.preRelease[index];
+        if (numeric != constant.numericPreRelease[index]) {
+            return numeric ? -1 : 1;
+        }
+        int expectedStart = 0;
+        if (numeric) {
+            // Numbers compare by significant length first, then digit by digit
+            while (start < end - 1 && text.charAt(start) == '0') {
+                start++;
+            }
+            while (expectedStart < expected.length() - 1 && expected.charAt(expectedStart) == '0') {
+                expectedStart++;
+            }
+            int lengthDifference = (end - start) - (expected.length() - expectedStart);
+            if (lengthDifference != 0) {
+                return lengthDifference;
+            }
+        }
+        int common = Math.min(end - start, expected.length() - expectedStart);
+        for (int i = 0; i < common; i++) {
+            int difference = text.charAt(start + i) - expected.charAt(expectedStart + i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return (end - start) - (expected.length() - expectedStart);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '-';
+    }
+}
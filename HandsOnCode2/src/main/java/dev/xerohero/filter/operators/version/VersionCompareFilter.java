@@ -0,0 +1,86 @@
+package dev.xerohero.filter.operators.version;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.operators.comparison.ComparisonOperator;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A filter that compares a resource's value with a constant version by the precedence of
+ * Semantic Versioning, such as {@code app_version >= 4.12.3}.
+ * <p>
+ * Unlike the comparison filters, which compare {@code 4.9} above {@code 4.12} as numbers or
+ * text, segments compare as numbers one by one and pre-release versions precede their release;
+ * see {@link SemanticVersion}. Values that are not versions never match, whatever the operator.
+ * </p>
+ */
+public class VersionCompareFilter implements Filter {
+
+    private final String key;
+    private final ComparisonOperator operator;
+    private final SemanticVersion version;
+
+    /**
+     * Creates a new version comparison filter.
+     *
+     * @param key the key holding the version
+     * @param operator how the value compares with the version
+     * @param version the version to compare with
+     * @throws IllegalArgumentException if the key is null or empty, or the version is invalid
+     * @throws NullPointerException if the operator is null
+     */
+    public VersionCompareFilter(String key, ComparisonOperator operator, String version) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+        this.key = key;
+        this.operator = Objects.requireNonNull(operator, "Operator cannot be null");
+        this.version = SemanticVersion.parse(version);
+    }
+
+    /**
+     * Gets the key holding the version.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets how the value compares with the version.
+     *
+     * @return the operator
+     */
+    public ComparisonOperator getOperator() {
+        return operator;
+    }
+
+    /**
+     * Gets the version compared with.
+     *
+     * @return the parsed version
+     */
+    public SemanticVersion getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean matches(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        int comparison = version.compareTo(resource.get(key));
+        return comparison != SemanticVersion.INVALID && operator.test(comparison);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + key + " " + operator.getSymbol() + " VERSION " + version + ")";
+    }
+
+    @Override
+    public <T> T accept(FilterVisitor<T> visitor) {
+        return Objects.requireNonNull(visitor).visit(this);
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * Contains filters on version numbers.
+ *
+ * <p>Comparison filters compare versions as numbers or text, so {@code 4.9} sorts above
+ * {@code 4.12} and pre-release tags are ignored or misordered. The filters in this package parse
+ * their constant version once and compare resource versions segment by segment following the
+ * precedence rules of Semantic Versioning, scanning them in place.</p>
+ *
+ * <h2>Version Operators</h2>
+ * <dl>
+ *   <dt>{@link dev.xerohero.filter.operators.version.VersionCompareFilter}</dt>
+ *   <dd>Compares a version with a constant with {@code =}, {@code !=}, {@code <}, {@code <=},
+ *   {@code >} or {@code >=}.</dd>
+ * </dl>
+ *
+ * <h2>Usage Examples</h2>
+ * <pre>
+ * Filter modern = new VersionCompareFilter("app_version", ComparisonOperator.GREATER_THAN_OR_EQUAL, "4.12.3");
+ * Filter beta = FilterParser.parse("version(app_version < 5.0.0) AND version(app_version >= 5.0.0-beta.1)");
+ * </pre>
+ *
+ * @see dev.xerohero.filter.operators.version.SemanticVersion Version precedence
+ */
+package dev.xerohero.filter.operators.version;
@@ -0,0 +1,19 @@
+package dev.xerohero.filter.optimizer;
+
+import dev.xerohero.filter.Filter;
+
+import java.util.List;
+
+/**
+ * A rewrite of the children of an OR into fewer, cheaper filters with the same union.
+ */
+interface DisjunctionRule {
+
+    /**
+     * Rewrites the children of an OR.
+     *
+     * @param disjuncts the optimized children, none of them an OR
+     * @return the rewritten children, or the same list if the rule does not apply
+     */
+    List<Filter> rewrite(List<Filter> disjuncts);
+}
@@ -0,0 +1,253 @@
+package dev.xerohero.filter.optimizer;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.operators.*;
+import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.geo.*;
+import dev.xerohero.filter.operators.network.IpInRangeFilter;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.time.*;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Rewrites a filter into an equivalent one that is cheaper to evaluate.
+ * <p>
+ * The tree is rebuilt bottom up: ANDs and ORs nested in one of the same kind are flattened into
+ * it, and the children of every OR are passed through the {@link DisjunctionRule}s, which
+ * replace groups of children with one specialised filter. Arithmetic comparisons of two numbers
+ * become constant filters. Subtrees that do not change are returned as they are.
+ * </p>
+ * <pre>
+ * Filter routes = FilterParser.parse("path ~ ^/api/.* OR path ~ ^/admin/.* OR path ~ ^/static/.*");
+ * Filter optimized = FilterOptimizer.optimize(routes); // one PrefixSetFilter on path
+ * </pre>
+ */
+public class FilterOptimizer implements FilterVisitor<Filter> {
+    private final List<DisjunctionRule> disjunctionRules = List.of(new PrefixSetRule(), new IntervalSetRule());
+
+    /**
+     * Optimizes a filter.
+     *
+     * @param filter the filter to optimize (must not be null)
+     * @return an equivalent filter, possibly the same one
+     */
+    public static Filter optimize(Filter filter) {
+        Objects.requireNonNull(filter, "Filter cannot be null");
+        return filter.accept(new FilterOptimizer());
+    }
+
+    /**
+     * Gets the filter that a filter built by the optimizer stands for.
+     * <p>
+     * The specialised filters the rules build keep the predicates they replaced, and defer to
+     * them for the values they cannot decide alone. Writers such as
+     * {@link dev.xerohero.filter.visitor.ToStringVisitor} write those predicates instead, so an
+     * optimized filter is written like the filter it came from and reads back with the same
+     * results.
+     * </p>
+     *
+     * @param filter the filter (must not be null)
+     * @return the predicates the filter replaced, or the filter itself if it did not replace any
+     */
+    public static Filter original(Filter filter) {
+        Objects.requireNonNull(filter, "Filter cannot be null");
+        if (filter instanceof PrefixSetFilter prefixes && prefixes.getEquivalent() != null) {
+            return prefixes.getEquivalent();
+        }
+        if (filter instanceof IntervalSetFilter intervals && intervals.getEquivalent() != null) {
+            return intervals.getEquivalent();
+        }
+        return filter;
+    }
+
+    @Override
+    public Filter visit(AndFilter filter) {
+        List<Filter> conjuncts = new ArrayList<>();
+        for (Filter child : filter.filters()) {
+            Filter optimized = child.accept(this);
+            if (optimized instanceof AndFilter and) {
+                conjuncts.addAll(Arrays.asList(and.filters()));
+            } else {
+                conjuncts.add(optimized);
+            }
+        }
+        if (unchanged(filter.filters(), conjuncts)) {
+            return filter;
+        }
+        return conjuncts.size() == 1 ? conjuncts.get(0) : new AndFilter(conjuncts.toArray(new Filter[0]));
+    }
+
+    @Override
+    public Filter visit(OrFilter filter) {
+        List<Filter> disjuncts = new ArrayList<>();
+        for (Filter child : filter.filters()) {
+            Filter optimized = child.accept(this);
+            if (optimized instanceof OrFilter or) {
+                disjuncts.addAll(Arrays.asList(or.filters()));
+            } else {
+                disjuncts.add(optimized);
+            }
+        }
+        for (DisjunctionRule rule : disjunctionRules) {
+            disjuncts = rule.rewrite(disjuncts);
+        }
+        if (unchanged(filter.filters(), disjuncts)) {
+            return filter;
+        }
+        return disjuncts.size() == 1 ? disjuncts.get(0) : new OrFilter(disjuncts.toArray(new Filter[0]));
+    }
+
+    @Override
+    public Filter visit(NotFilter filter) {
+        Filter optimized = filter.filter().accept(this);
+        return optimized == filter.filter() ? filter : new NotFilter(optimized);
+    }
+
+    @Override
+    public Filter visit(TrueFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(FalseFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(HasPropertyFiltre filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(EqualsFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(LessThanFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(GreaterThanFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(RegexFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(NotEqualsFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(GreaterThanOrEqualFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(LessThanOrEqualFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(GeoWithinFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(GeoBoundingBoxFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(IpInRangeFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(BeforeFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(AfterFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(WithinLastFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(VersionCompareFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(FuzzyMatchFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(PrefixSetFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(ContainsTermsFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(IntervalSetFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(FieldComparisonFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(MultiValueFilter filter) {
+        return filter;
+    }
+
+    @Override
+    public Filter visit(ArithmeticFilter filter) {
+        // Expressions fold their constants, so a comparison of two numbers is decided here
+        if (filter.getLeft().isConstant() && filter.getRight().isConstant()) {
+            return filter.matches(Map.of()) ? TrueFilter.INSTANCE : FalseFilter.INSTANCE;
+        }
+        return filter;
+    }
+
+    private static boolean unchanged(Filter[] original, List<Filter> optimized) {
+        if (original.length != optimized.size()) {
+            return false;
+        }
+        for (int i = 0; i < original.length; i++) {
+            if (original[i] != optimized.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
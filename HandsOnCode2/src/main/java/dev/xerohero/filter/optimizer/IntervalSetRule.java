@@ -0,0 +1,132 @@
+package dev.xerohero.filter.optimizer;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.operators.AndFilter;
+import dev.xerohero.filter.operators.BaseComparisonFilter;
+import dev.xerohero.filter.operators.OrFilter;
+import dev.xerohero.filter.operators.comparison.GreaterThanFilter;
+import dev.xerohero.filter.operators.comparison.GreaterThanOrEqualFilter;
+import dev.xerohero.filter.operators.comparison.LessThanFilter;
+import dev.xerohero.filter.operators.comparison.LessThanOrEqualFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.numeric.NumericInterval;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collapses the numeric ranges an OR tests on one key into one {@link IntervalSetFilter}.
+ * <p>
+ * Ranges are ANDs of comparisons with a number on the same key, such as
+ * {@code price >= 10 AND price < 20}, with at least one lower and one upper bound, and interval
+ * set filters. Two or more of them on the same key are replaced, at the position of the first,
+ * by an interval set filter holding all their intervals; the bounds of a range are intersected.
+ * </p>
+ * <p>
+ * The interval set keeps the ranges it replaced as its equivalent filter. Comparison filters
+ * compare text as strings, so {@code 3abc} lies between {@code 1} and {@code 5} for them, and
+ * strict comparisons compare numbers exactly. Values that are not plain decimal numbers and
+ * numbers that round to a strict bound are therefore left to the replaced ranges, so the
+ * rewritten OR matches exactly the same resources.
+ * </p>
+ */
+class IntervalSetRule implements DisjunctionRule {
+
+    @Override
+    public List<Filter> rewrite(List<Filter> disjuncts) {
+        Map<String, List<String>> intervalsByKey = new LinkedHashMap<>();
+        Map<String, List<Filter>> rangesByKey = new LinkedHashMap<>();
+        for (Filter disjunct : disjuncts) {
+            String key = keyOf(disjunct);
+            if (key != null) {
+                intervalsByKey.computeIfAbsent(key, k -> new ArrayList<>()).addAll(intervalsOf(disjunct));
+                rangesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(disjunct);
+            }
+        }
+        rangesByKey.values().removeIf(ranges -> ranges.size() < 2);
+        if (rangesByKey.isEmpty()) {
+            return disjuncts;
+        }
+        List<Filter> rewritten = new ArrayList<>();
+        for (Filter disjunct : disjuncts) {
+            String key = keyOf(disjunct);
+            if (key == null || !rangesByKey.containsKey(key)) {
+                rewritten.add(disjunct);
+            } else if (intervalsByKey.containsKey(key)) {
+                // The first range on the key stands for all of them
+                rewritten.add(new IntervalSetFilter(key, intervalsByKey.remove(key),
+                        new OrFilter(rangesByKey.get(key).toArray(new Filter[0]))));
+            }
+        }
+        return rewritten;
+    }
+
+    /**
+     * Gets the key of a range.
+     *
+     * @return the key, or null if the filter is not a range
+     */
+    private static String keyOf(Filter filter) {
+        if (filter instanceof IntervalSetFilter intervalSet) {
+            return intervalSet.getKey();
+        }
+        NumericInterval interval = interval(filter);
+        return interval == null ? null : ((BaseComparisonFilter) ((AndFilter) filter).filters()[0]).getKey();
+    }
+
+    private static List<String> intervalsOf(Filter filter) {
+        if (filter instanceof IntervalSetFilter intervalSet) {
+            return intervalSet.getIntervals();
+        }
+        return List.of(interval(filter).toString());
+    }
+
+    /**
+     * Intersects the bounds of an AND of numeric comparisons on one key.
+     *
+     * @return the interval, or null if the filter is not such an AND with both bounds
+     */
+    private static NumericInterval interval(Filter filter) {
+        if (!(filter instanceof AndFilter and)) {
+            return null;
+        }
+        String key = null;
+        double lower = Double.NEGATIVE_INFINITY;
+        boolean lowerInclusive = true;
+        double upper = Double.POSITIVE_INFINITY;
+        boolean upperInclusive = true;
+        boolean lowerBounded = false;
+        boolean upperBounded = false;
+        for (Filter child : and.filters()) {
+            boolean isLower = child instanceof GreaterThanFilter || child instanceof GreaterThanOrEqualFilter;
+            boolean isUpper = child instanceof LessThanFilter || child instanceof LessThanOrEqualFilter;
+            if (!isLower && !isUpper) {
+                return null;
+            }
+            BaseComparisonFilter comparison = (BaseComparisonFilter) child;
+            double bound = ValueComparator.numericValue(comparison.getValue());
+            if (Double.isNaN(bound) || (key != null && !key.equals(comparison.getKey()))) {
+                return null;
+            }
+            key = comparison.getKey();
+            boolean inclusive = child instanceof GreaterThanOrEqualFilter || child instanceof LessThanOrEqualFilter;
+            if (isLower) {
+                lowerBounded = true;
+                if (bound > lower || (bound == lower && !inclusive)) {
+                    lower = bound;
+                    lowerInclusive = inclusive;
+                }
+            } else {
+                upperBounded = true;
+                if (bound < upper || (bound == upper && !inclusive)) {
+                    upper = bound;
+                    upperInclusive = inclusive;
+                }
+            }
+        }
+        return lowerBounded && upperBounded ? new NumericInterval(lower, lowerInclusive, upper, upperInclusive) : null;
+    }
+}
@@ -0,0 +1,106 @@
+package dev.xerohero.filter.optimizer;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.operators.OrFilter;
+import dev.xerohero.filter.operators.comparison.RegexFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collapses the prefix predicates an OR applies to one key into one {@link PrefixSetFilter}.
+ * <p>
+ * Prefix predicates are prefix set filters and regular expressions of the form
+ * {@code ^literal.*}, as {@code startsWith} builds them, where the literal may escape
+ * metacharacters with a backslash. Two or more of them on the same key are replaced, at the
+ * position of the first, by a prefix set filter holding all their prefixes.
+ * </p>
+ * <p>
+ * Like the regular expressions, the prefix set ignores the case of ASCII letters only. The
+ * {@code .} of the patterns does not match line terminators, so the prefix set keeps the
+ * predicates it replaced as its equivalent filter and leaves values containing one to them.
+ * </p>
+ */
+class PrefixSetRule implements DisjunctionRule {
+
+    @Override
+    public List<Filter> rewrite(List<Filter> disjuncts) {
+        Map<String, List<String>> prefixesByKey = new LinkedHashMap<>();
+        Map<String, List<Filter>> predicatesByKey = new LinkedHashMap<>();
+        for (Filter disjunct : disjuncts) {
+            String key = keyOf(disjunct);
+            if (key != null) {
+                prefixesByKey.computeIfAbsent(key, k -> new ArrayList<>()).addAll(prefixesOf(disjunct));
+                predicatesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(disjunct);
+            }
+        }
+        predicatesByKey.values().removeIf(predicates -> predicates.size() < 2);
+        if (predicatesByKey.isEmpty()) {
+            return disjuncts;
+        }
+        List<Filter> rewritten = new ArrayList<>();
+        for (Filter disjunct : disjuncts) {
+            String key = keyOf(disjunct);
+            if (key == null || !predicatesByKey.containsKey(key)) {
+                rewritten.add(disjunct);
+            } else if (prefixesByKey.containsKey(key)) {
+                // The first predicate on the key stands for all of them
+                rewritten.add(new PrefixSetFilter(key, prefixesByKey.remove(key),
+                        new OrFilter(predicatesByKey.get(key).toArray(new Filter[0]))));
+            }
+        }
+        return rewritten;
+    }
+
+    /**
+     * Gets the key of a prefix predicate.
+     *
+     * @return the key, or null if the filter is not a prefix predicate
+     */
+    private static String keyOf(Filter filter) {
+        if (filter instanceof PrefixSetFilter prefixSet) {
+            return prefixSet.getKey();
+        }
+        if (filter instanceof RegexFilter regex && literalPrefix(regex.getPattern()) != null) {
+            return regex.getKey();
+        }
+        return null;
+    }
+
+    private static List<String> prefixesOf(Filter filter) {
+        if (filter instanceof PrefixSetFilter prefixSet) {
+            return prefixSet.getPrefixes();
+        }
+        return List.of(literalPrefix(((RegexFilter) filter).getPattern()));
+    }
+
+    /**
+     * Extracts the prefix from a pattern of the form {@code ^literal.*}.
+     *
+     * @return the unescaped literal, or null if the pattern has another form
+     */
+    static String literalPrefix(String regex) {
+        int start = regex.startsWith("^") ? 1 : 0;
+        if (!regex.endsWith(".*") || regex.length() - 2 <= start) {
+            return null;
+        }
+        StringBuilder prefix = new StringBuilder();
+        int end = regex.length() - 2;
+        for (int i = start; i < end; i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 == end || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                    return null;
+                }
+                c = regex.charAt(++i);
+            } else if ("\\^$.|?*+()[]{}".indexOf(c) >= 0 || Character.isSurrogate(c)) {
+                return null;
+            }
+            prefix.append(c);
+        }
+        return prefix.toString();
+    }
+}
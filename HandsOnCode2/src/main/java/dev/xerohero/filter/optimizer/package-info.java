@@ -0,0 +1,29 @@
+/**
+ * Rewrites filters into equivalent ones that are cheaper to evaluate.
+ *
+ * <p>Filters assembled by applications and rule engines are often shaped for the people writing
+ * them rather than for evaluation, such as long ORs of similar predicates on one key that are
+ * tested one by one. The {@link dev.xerohero.filter.optimizer.FilterOptimizer} rebuilds such
+ * trees around the specialised filters that answer them in one step.</p>
+ *
+ * <h2>Rules</h2>
+ * <dl>
+ *   <dt>Prefix sets</dt>
+ *   <dd>Prefix patterns such as {@code path ~ ^/api/.*} OR-ed on one key become one
+ *   {@link dev.xerohero.filter.operators.text.PrefixSetFilter}.</dd>
+ *
+ *   <dt>Interval sets</dt>
+ *   <dd>Numeric ranges such as {@code price >= 10 AND price < 20} OR-ed on one key become one
+ *   {@link dev.xerohero.filter.operators.numeric.IntervalSetFilter}.</dd>
+ * </dl>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>
+ * Filter rules = FilterParser.parse("path ~ ^/api/.* OR path ~ ^/admin/.* OR method = OPTIONS");
+ * Filter optimized = FilterOptimizer.optimize(rules);
+ * // (startsWith(path, /api/, /admin/) || method == OPTIONS)
+ * </pre>
+ *
+ * @see dev.xerohero.filter.Filter The base Filter interface
+ */
+package dev.xerohero.filter.optimizer;
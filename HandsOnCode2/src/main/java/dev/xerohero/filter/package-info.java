@@ -30,8 +30,14 @@
  * <h3>Subpackages</h3>
  * <ul>
  *   <li>{@link dev.xerohero.filter.operators} - Core filter implementations</li>
+ *   <li>{@link dev.xerohero.filter.bitmap} - Compressed row id sets for index results</li>
+ *   <li>{@link dev.xerohero.filter.index} - Indexes for matching a resource against many filters</li>
+ *   <li>{@link dev.xerohero.filter.optimizer} - Rewrites of filters into cheaper equivalents</li>
  *   <li>{@link dev.xerohero.filter.parser} - String-to-filter parsing</li>
+ *   <li>{@link dev.xerohero.filter.resource} - Lazily resolved resource representations</li>
  *   <li>{@link dev.xerohero.filter.serialization} - JSON serialization/deserialization</li>
+ *   <li>{@link dev.xerohero.filter.stats} - Value statistics and selectivity estimates</li>
+ *   <li>{@link dev.xerohero.filter.store} - Indexed in-memory resource collections</li>
  *   <li>{@link dev.xerohero.filter.visitor} - Visitor pattern for filter traversal</li>
  * </ul>
  *
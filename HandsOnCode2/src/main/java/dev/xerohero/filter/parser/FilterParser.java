@@ -5,10 +5,31 @@ import dev.xerohero.filter.operators.AndFilter;
 import dev.xerohero.filter.operators.NotFilter;
 import dev.xerohero.filter.operators.OrFilter;
 import dev.xerohero.filter.operators.comparison.*;
-
+import dev.xerohero.filter.operators.geo.GeoBoundingBoxFilter;
+import dev.xerohero.filter.operators.geo.GeoWithinFilter;
+import dev.xerohero.filter.operators.network.IpInRangeFilter;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.time.AfterFilter;
+import dev.xerohero.filter.operators.time.BeforeFilter;
+import dev.xerohero.filter.operators.time.Timestamps;
+import dev.xerohero.filter.operators.time.WithinLastFilter;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Parser for filter expressions in a simple query language.
@@ -17,6 +38,17 @@ import java.util.function.BiFunction;
  * - name = "John"
  * - age > 25
  * - status = "active" AND (role = "admin" OR role = "superuser")
+ * - within(lat, lon, 52.52, 13.405, 25000)
+ * - ipInRange(client_ip, 10.0.0.0/8, 2001:db8::/32)
+ * - after(created, 2024-03-01T00:00:00Z) AND withinLast(updated, 1h)
+ * - version(app_version >= 4.12.3)
+ * - fields(updated_at > created_at)
+ * - fuzzy(name, jonathon, 2)
+ * - startsWith(path, /api/, /admin/)
+ * - containsAll(description, refund, urgent)
+ * - anyOf(tags, urgent, vip) AND allOfDelimited(roles, "|", admin, billing)
+ * - inIntervals(price, 0..10, "100..<500")
+ * - price * qty > 1000 AND (end - start) / 1000 < 30
  */
 public class FilterParser {
 
@@ -32,6 +64,54 @@ public class FilterParser {
         OPERATORS.put("~", RegexFilter::new);
     }
 
+    /**
+     * A predicate written as a call, such as {@code within(lat, lon, 52.52, 13.405, 25000)}, taking
+     * between {@code minArity} and {@code maxArity} arguments.
+     */
+    private record FilterFunction(int minArity, int maxArity, Function<String[], Filter> factory) {
+        FilterFunction(int arity, Function<String[], Filter> factory) {
+            this(arity, arity, factory);
+        }
+    }
+
+    private static final Map<String, FilterFunction> FUNCTIONS = new HashMap<>();
+
+    static {
+        FUNCTIONS.put("within", new FilterFunction(5, args -> new GeoWithinFilter(
+                key(args[0]), key(args[1]), number(args[2]), number(args[3]), number(args[4]))));
+        FUNCTIONS.put("inBox", new FilterFunction(6, args -> new GeoBoundingBoxFilter(
+                key(args[0]), key(args[1]), number(args[2]), number(args[3]), number(args[4]), number(args[5]))));
+        FUNCTIONS.put("ipInRange", new FilterFunction(2, Integer.MAX_VALUE, args -> new IpInRangeFilter(
+                key(args[0]), Arrays.copyOfRange(args, 1, args.length))));
+        FUNCTIONS.put("before", new FilterFunction(2, args -> new BeforeFilter(key(args[0]), args[1])));
+        FUNCTIONS.put("after", new FilterFunction(2, args -> new AfterFilter(key(args[0]), args[1])));
+        FUNCTIONS.put("withinLast", new FilterFunction(2, args -> new WithinLastFilter(
+                key(args[0]), Timestamps.parseDuration(args[1]))));
+        FUNCTIONS.put("version", new FilterFunction(1, args -> versionComparison(args[0])));
+        FUNCTIONS.put("fields", new FilterFunction(1, args -> fieldComparison(args[0])));
+        FUNCTIONS.put("fuzzy", new FilterFunction(3, args -> new FuzzyMatchFilter(key(args[0]), args[1], count(args[2]))));
+        FUNCTIONS.put("startsWith", new FilterFunction(2, Integer.MAX_VALUE, args -> new PrefixSetFilter(
+                key(args[0]), Arrays.copyOfRange(args, 1, args.length))));
+        FUNCTIONS.put("containsAny", new FilterFunction(2, Integer.MAX_VALUE, args -> new ContainsTermsFilter(
+                key(args[0]), ContainsTermsFilter.Mode.ANY, Arrays.copyOfRange(args, 1, args.length))));
+        FUNCTIONS.put("containsAll", new FilterFunction(2, Integer.MAX_VALUE, args -> new ContainsTermsFilter(
+                key(args[0]), ContainsTermsFilter.Mode.ALL, Arrays.copyOfRange(args, 1, args.length))));
+        FUNCTIONS.put("anyOf", new FilterFunction(2, Integer.MAX_VALUE, args -> new MultiValueFilter(
+                key(args[0]), MultiValueFilter.Mode.ANY, Arrays.copyOfRange(args, 1, args.length))));
+        FUNCTIONS.put("allOf", new FilterFunction(2, Integer.MAX_VALUE, args -> new MultiValueFilter(
+                key(args[0]), MultiValueFilter.Mode.ALL, Arrays.copyOfRange(args, 1, args.length))));
+        FUNCTIONS.put("anyOfDelimited", new FilterFunction(3, Integer.MAX_VALUE, args -> new MultiValueFilter(
+                key(args[0]), MultiValueFilter.Mode.ANY, args[1], Arrays.asList(args).subList(2, args.length))));
+        FUNCTIONS.put("allOfDelimited", new FilterFunction(3, Integer.MAX_VALUE, args -> new MultiValueFilter(
+                key(args[0]), MultiValueFilter.Mode.ALL, args[1], Arrays.asList(args).subList(2, args.length))));
+        FUNCTIONS.put("inIntervals", new FilterFunction(2, Integer.MAX_VALUE, args -> new IntervalSetFilter(
+                key(args[0]), Arrays.copyOfRange(args, 1, args.length))));
+    }
+
+    private static final Pattern CALL = Pattern.compile("^([a-zA-Z_][a-zA-Z0-9_]*)\\(");
+    private static final Pattern ARITHMETIC = Pattern.compile("[-+*/%()]|^[0-9]*\\.?[0-9]+$");
+    private static final Pattern FIELD_NAME = Pattern.compile("^[a-zA-Z_][a-zA-Z0-9_]*(\\.([a-zA-Z_][a-zA-Z0-9_]*|[0-9]+))*$");
+
     /**
      * Parses a filter expression string into a Filter object.
      *
@@ -60,8 +140,9 @@ public class FilterParser {
 
     // Add this method to validate field names
     private static boolean isValidFieldName(String fieldName) {
-        // Field names must start with a letter or underscore, followed by letters, digits, or underscores
-        return fieldName.matches("^[a-zA-Z_][a-zA-Z0-9_]*$");
+        // Field names must start with a letter or underscore, followed by letters, digits, or underscores;
+        // further segments of a dotted path may also be list indexes
+        return FIELD_NAME.matcher(fieldName).matches();
     }
 
     private static Filter parseSimpleExpression(String expr) {
@@ -77,6 +158,12 @@ public class FilterParser {
             throw new FilterParseException("Unbalanced parentheses in expression: " + expr);
         }
 
+        // A single function call, e.g. within(lat, lon, 52.52, 13.405, 25000)
+        Filter call = parseFunctionCall(trimmedExpr);
+        if (call != null) {
+            return call;
+        }
+
         // Check for expressions with spaces but no operators (e.g., "name \"John\"")
         if (trimmedExpr.matches(".*\\s+.*") &&  // Contains whitespace
                 !trimmedExpr.matches(".*[=<>!~].*") &&  // No comparison operators
@@ -109,8 +196,8 @@ public class FilterParser {
             return new OrFilter(new Filter[]{parseSimpleExpression(left), parseSimpleExpression(right)});
         }
 
-        // Handle parentheses
-        if (expr.startsWith("(") && expr.endsWith(")")) {
+        // Handle parentheses, unless they only enclose the start and end, as in (a + b) * 2 > (c)
+        if (expr.startsWith("(") && expr.endsWith(")") && matchingParenthesis(expr, 0) == expr.length() - 1) {
             String subExpr = expr.substring(1, expr.length() - 1).trim();
             if (subExpr.isEmpty()) {
                 throw new FilterParseException("Empty parentheses in expression: " + expr);
@@ -142,9 +229,14 @@ public class FilterParser {
                     throw new FilterParseException("Missing value in expression: " + expr);
                 }
 
+                // A key that is not a field name may be an arithmetic expression, as in price * qty > 1000
+                if (!isValidFieldName(key) && ARITHMETIC.matcher(key).find()) {
+                    return arithmeticComparison(key, op, value);
+                }
+
                 // Validate field name
                 if (!isValidFieldName(key)) {
-                    throw new FilterParseException("Invalid field name: " + key + ". Field names must start with a letter or underscore, followed by letters, digits, or underscores.");
+                    throw new FilterParseException("Invalid field name: " + key + ". Field names must start with a letter or underscore, followed by letters, digits, or underscores, and may be dotted paths such as user.address.city or items.0.sku.");
                 }
 
                 // Check for empty quoted values
@@ -176,6 +268,150 @@ public class FilterParser {
         throw new FilterParseException("Unsupported expression: " + expr);
     }
 
+    /**
+     * Parses an expression that consists of exactly one function call.
+     *
+     * @return the filter, or null if the expression is not a single call to a known function
+     */
+    private static Filter parseFunctionCall(String expr) {
+        Matcher matcher = CALL.matcher(expr);
+        if (!matcher.find()) {
+            return null;
+        }
+        FilterFunction function = FUNCTIONS.get(matcher.group(1));
+        int open = matcher.end() - 1;
+        if (function == null || matchingParenthesis(expr, open) != expr.length() - 1) {
+            return null;
+        }
+        String name = matcher.group(1);
+        int close = expr.length() - 1;
+        String[] args = splitArguments(expr.substring(open + 1, close));
+        if (args.length < function.minArity() || args.length > function.maxArity()) {
+            String expected = function.minArity() == function.maxArity() ? String.valueOf(function.minArity())
+                    : "at least " + function.minArity();
+            throw new FilterParseException("Function " + name + " expects " + expected
+                    + " arguments but got " + args.length + ": " + expr);
+        }
+        try {
+            return function.factory().apply(args);
+        } catch (IllegalArgumentException e) {
+            throw new FilterParseException("Invalid arguments to " + name + ": " + e.getMessage());
+        }
+    }
+
+    private static int matchingParenthesis(String expr, int open) {
+        int depth = 0;
+        for (int i = open; i < expr.length(); i++) {
+            if (expr.charAt(i) == '(') {
+                depth++;
+            } else if (expr.charAt(i) == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Splits function arguments on the commas outside quotes, removing quotes around arguments.
+     */
+    private static String[] splitArguments(String argumentList) {
+        if (argumentList.trim().isEmpty()) {
+            return new String[0];
+        }
+        List<String> args = new ArrayList<>();
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < argumentList.length(); i++) {
+            char c = argumentList.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == ',') {
+                args.add(unquote(argumentList.substring(start, i)));
+                start = i + 1;
+            }
+        }
+        if (quote != 0) {
+            throw new FilterParseException("Unclosed quotes in arguments: " + argumentList);
+        }
+        args.add(unquote(argumentList.substring(start)));
+        return args.toArray(new String[0]);
+    }
+
+    private static String unquote(String argument) {
+        String trimmed = argument.trim();
+        if (trimmed.length() >= 2 && (trimmed.charAt(0) == '\'' || trimmed.charAt(0) == '"')
+                && trimmed.charAt(trimmed.length() - 1) == trimmed.charAt(0)) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        if (trimmed.isEmpty()) {
+            throw new FilterParseException("Empty function argument");
+        }
+        return trimmed;
+    }
+
+    private static String key(String argument) {
+        if (!isValidFieldName(argument)) {
+            throw new FilterParseException("Invalid field name: " + argument + ". Field names must start with a letter or underscore, followed by letters, digits, or underscores, and may be dotted paths such as user.address.city or items.0.sku.");
+        }
+        return argument;
+    }
+
+    /**
+     * Parses the comparison inside {@code version(key op version)}.
+     */
+    private static Filter versionComparison(String comparison) {
+        String[] parts = comparison.trim().split("\\s+");
+        if (parts.length != 3) {
+            throw new FilterParseException("Invalid version comparison, expected 'key operator version': " + comparison);
+        }
+        return new VersionCompareFilter(key(parts[0]), ComparisonOperator.fromSymbol(parts[1]), unquote(parts[2]));
+    }
+
+    /**
+     * Builds the comparison of an arithmetic expression with another one.
+     */
+    private static Filter arithmeticComparison(String left, String operator, String right) {
+        if (operator.equals("~")) {
+            throw new FilterParseException("Arithmetic expressions cannot be matched against a pattern: " + left);
+        }
+        try {
+            return new ArithmeticFilter(left, operator, right);
+        } catch (IllegalArgumentException e) {
+            throw new FilterParseException("Invalid arithmetic comparison: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the comparison inside {@code fields(key op key)}.
+     */
+    private static Filter fieldComparison(String comparison) {
+        String[] parts = comparison.trim().split("\\s+");
+        if (parts.length != 3) {
+            throw new FilterParseException("Invalid field comparison, expected 'key operator key': " + comparison);
+        }
+        return new FieldComparisonFilter(key(parts[0]), ComparisonOperator.fromSymbol(parts[1]), key(parts[2]));
+    }
+
+    private static double number(String argument) {
+        try {
+            return new BigDecimal(argument).doubleValue();
+        } catch (NumberFormatException e) {
+            throw new FilterParseException("Invalid number: " + argument);
+        }
+    }
+
+    private static int count(String argument) {
+        try {
+            return Integer.parseInt(argument);
+        } catch (NumberFormatException e) {
+            throw new FilterParseException("Invalid count: " + argument);
+        }
+    }
+
     // Helper method to find operator position, handling spaces around operator
     private static int findOperator(String expr, String op) {
         int pos = expr.indexOf(op);
@@ -14,11 +14,36 @@
  * <p>The parser supports the following syntax:</p>
  * <ul>
  *   <li><b>Comparisons</b>: {@code property operator value}</li>
+ *   <li><b>Arithmetic</b>: {@code expression operator expression} with {@code + - * / %} and parentheses over
+ *   keys and numbers, such as {@code price * qty > 1000} or {@code (end - start) / 1000 < 30}; a lone key
+ *   on the left is written in parentheses, as in {@code (used) > quota * 0.9}</li>
+ *   <li><b>Nested properties</b>: Dotted paths such as {@code user.address.city} or {@code items.0.sku},
+ *   read in place from a {@link dev.xerohero.filter.resource.NestedResource}</li>
  *   <li><b>String literals</b>: Enclose in double quotes: {@code "value"}</li>
  *   <li><b>Logical AND</b>: {@code condition1 AND condition2} or {@code condition1 && condition2}</li>
  *   <li><b>Logical OR</b>: {@code condition1 OR condition2} or {@code condition1 || condition2}</li>
  *   <li><b>Logical NOT</b>: {@code NOT condition} or {@code !condition}</li>
  *   <li><b>Grouping</b>: Use parentheses: {@code (condition1 OR condition2) AND condition3}</li>
+ *   <li><b>Functions</b>: {@code name(argument, ...)}, with keys and constants as arguments</li>
+ * </ul>
+ *
+ * <h2>Supported Functions</h2>
+ * <ul>
+ *   <li><b>within(latKey, lonKey, lat, lon, radiusMeters)</b> - Point within a great-circle distance</li>
+ *   <li><b>inBox(latKey, lonKey, minLat, minLon, maxLat, maxLon)</b> - Point within a latitude/longitude box</li>
+ *   <li><b>ipInRange(key, range, ...)</b> - IPv4 or IPv6 address within any of the CIDR ranges</li>
+ *   <li><b>before(key, instant)</b>, <b>after(key, instant)</b> - Timestamp earlier or later than an instant</li>
+ *   <li><b>withinLast(key, duration)</b> - Timestamp within a duration before now, such as {@code 15m} or {@code P7D}</li>
+ *   <li><b>version(key operator version)</b> - Semantic version comparison, such as {@code version(app_version >= 4.12.3)}</li>
+ *   <li><b>fuzzy(key, target, maxEdits)</b> - Value within a number of edits of a target, ignoring case</li>
+ *   <li><b>startsWith(key, prefix, ...)</b> - Value starting with any of the prefixes, ignoring ASCII case</li>
+ *   <li><b>containsAny(key, word, ...)</b> - Text containing any of the words, ignoring case</li>
+ *   <li><b>containsAll(key, word, ...)</b> - Text containing all of the words, ignoring case</li>
+ *   <li><b>fields(key op key)</b> - Comparison of the values of two keys, such as {@code fields(used < quota)}</li>
+ *   <li><b>anyOf(key, value, ...)</b> - Comma-separated list including any of the values, ignoring case</li>
+ *   <li><b>allOf(key, value, ...)</b> - Comma-separated list including all of the values, ignoring case</li>
+ *   <li><b>anyOfDelimited(key, delimiter, value, ...)</b>, <b>allOfDelimited(key, delimiter, value, ...)</b> - The same for lists with another delimiter</li>
+ *   <li><b>inIntervals(key, interval, ...)</b> - Number within any of the intervals, such as {@code 10..<20}</li>
  * </ul>
  *
  * <h2>Supported Operators</h2>
@@ -45,6 +70,9 @@
  * 
  * // Regex match
  * Filter f4 = FilterParser.parse("email ~ \".*@example\\.com$"");
+ *
+ * // Geo distance
+ * Filter f5 = FilterParser.parse("within(lat, lon, 52.52, 13.405, 25000) AND status = open");
  * </pre>
  *
  * @see dev.xerohero.filter.Filter The base Filter interface
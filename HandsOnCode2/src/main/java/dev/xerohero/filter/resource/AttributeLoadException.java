@@ -0,0 +1,15 @@
+package dev.xerohero.filter.resource;
+
+/**
+ * Exception thrown when lazily loaded resource attributes cannot be fetched.
+ */
+public class AttributeLoadException extends RuntimeException {
+
+    public AttributeLoadException(String message) {
+        super(message);
+    }
+
+    public AttributeLoadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
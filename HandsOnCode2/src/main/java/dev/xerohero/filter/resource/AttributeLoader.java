@@ -0,0 +1,21 @@
+package dev.xerohero.filter.resource;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk loader for resource attributes that are too expensive to populate up front.
+ * Implement this to plug an external store (database, cache, remote service) into
+ * {@link LazyResource}.
+ */
+@FunctionalInterface
+public interface AttributeLoader {
+    /**
+     * Loads the requested attributes in a single bulk operation.
+     *
+     * @param refs the attributes to load (never null or empty)
+     * @return the loaded values; attributes that do not exist are simply left out of the map
+     * @throws AttributeLoadException if the store cannot be reached
+     */
+    Map<AttributeRef, String> loadAll(Set<AttributeRef> refs);
+}
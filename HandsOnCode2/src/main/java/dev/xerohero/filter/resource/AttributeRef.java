@@ -0,0 +1,25 @@
+package dev.xerohero.filter.resource;
+
+import java.util.Objects;
+
+/**
+ * Identifies a single attribute of a single resource in an external attribute store.
+ *
+ * @param resourceId the id of the resource owning the attribute (must not be null)
+ * @param key        the attribute key (must not be null or empty)
+ */
+public record AttributeRef(String resourceId, String key) {
+
+    /**
+     * Creates a new attribute reference.
+     *
+     * @throws NullPointerException     if the resource id is null
+     * @throws IllegalArgumentException if the key is null or empty
+     */
+    public AttributeRef {
+        Objects.requireNonNull(resourceId, "Resource id cannot be null");
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package dev.xerohero.filter.resource;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataLoader-style batching front for an {@link AttributeLoader}.
+ * <p>
+ * Attribute requests issued by concurrently evaluating filters are collected for a short
+ * batch window and sent to the underlying loader as one bulk fetch. The first thread to
+ * enqueue a request into an empty batch becomes its leader: it waits until the window
+ * elapses or the batch is full, then performs the fetch and completes every waiting request.
+ * Loaded values (including "absent") are memoized until {@link #clearCache()} is called.
+ * </p>
+ * <pre>
+ * BatchingAttributeLoader loader = new BatchingAttributeLoader(riskStore::fetch, Duration.ofMillis(2), 500);
+ * Map&lt;String, String&gt; account = new LazyResource("acc-42", eagerFields, Set.of("risk_score"), loader);
+ * boolean risky = filter.matches(account);
+ * </pre>
+ */
+public class BatchingAttributeLoader implements AttributeLoader {
+    private final AttributeLoader delegate;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final ConcurrentMap<AttributeRef, CompletableFuture<String>> cache = new ConcurrentHashMap<>();
+
+    private final Object lock = new Object();
+    private Map<AttributeRef, CompletableFuture<String>> pending = new LinkedHashMap<>();
+    private boolean leaderWaiting;
+
+    /**
+     * Creates a batching loader.
+     *
+     * @param delegate     the loader performing the bulk fetches (must not be null)
+     * @param batchWindow  how long a batch stays open for more requests (must not be negative)
+     * @param maxBatchSize the maximum number of attributes per bulk fetch (must be positive)
+     * @throws NullPointerException     if the delegate or window is null
+     * @throws IllegalArgumentException if the window is negative or the batch size is not positive
+     */
+    public BatchingAttributeLoader(AttributeLoader delegate, Duration batchWindow, int maxBatchSize) {
+        this.delegate = Objects.requireNonNull(delegate, "Delegate loader cannot be null");
+        Objects.requireNonNull(batchWindow, "Batch window cannot be null");
+        if (batchWindow.isNegative()) {
+            throw new IllegalArgumentException("Batch window cannot be negative");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Requests a single attribute. The returned future completes with the value,
+     * or with {@code null} if the attribute does not exist.
+     * <p>
+     * Batches are fetched on the calling threads: if this call becomes the leader of a new
+     * batch, it blocks for the batch window and the fetch, and returns a completed future.
+     * </p>
+     *
+     * @param ref the attribute to load (must not be null)
+     * @return a future for the attribute value
+     */
+    public CompletableFuture<String> load(AttributeRef ref) {
+        Objects.requireNonNull(ref, "Attribute reference cannot be null");
+        return enqueue(List.of(ref)).get(0);
+    }
+
+    /**
+     * Loads the requested attributes, blocking until they are available. The requests are
+     * coalesced with those of other threads calling this loader at the same time.
+     *
+     * @param refs the attributes to load (must not be null)
+     * @return the loaded values; missing attributes are left out
+     * @throws AttributeLoadException if the underlying loader fails
+     */
+    @Override
+    public Map<AttributeRef, String> loadAll(Set<AttributeRef> refs) {
+        Objects.requireNonNull(refs, "Attribute references cannot be null");
+        List<AttributeRef> ordered = new ArrayList<>(refs);
+        List<CompletableFuture<String>> futures = enqueue(ordered);
+        Map<AttributeRef, String> result = new HashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            String value = join(futures.get(i));
+            if (value != null) {
+                result.put(ordered.get(i), value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Discards all memoized values so that subsequent requests hit the underlying loader again.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private List<CompletableFuture<String>> enqueue(Collection<AttributeRef> refs) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(refs.size());
+        boolean lead = false;
+        synchronized (lock) {
+            for (AttributeRef ref : refs) {
+                CompletableFuture<String> future = cache.get(ref);
+                if (future == null) {
+                    future = new CompletableFuture<>();
+                    cache.put(ref, future);
+                    pending.put(ref, future);
+                }
+                futures.add(future);
+            }
+            if (!pending.isEmpty()) {
+                if (!leaderWaiting) {
+                    leaderWaiting = true;
+                    lead = true;
+                } else if (pending.size() >= maxBatchSize) {
+                    lock.notifyAll();
+                }
+            }
+        }
+        if (lead) {
+            dispatch(awaitBatch());
+        }
+        return futures;
+    }
+
+    private Map<AttributeRef, CompletableFuture<String>> awaitBatch() {
+        synchronized (lock) {
+            long deadline = System.nanoTime() + batchWindowNanos;
+            long remaining = batchWindowNanos;
+            while (remaining > 0 && pending.size() < maxBatchSize) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+            Map<AttributeRef, CompletableFuture<String>> batch = pending;
+            pending = new LinkedHashMap<>();
+            leaderWaiting = false;
+            return batch;
+        }
+    }
+
+    private void dispatch(Map<AttributeRef, CompletableFuture<String>> batch) {
+        List<AttributeRef> refs = new ArrayList<>(batch.keySet());
+        try {
+            for (int from = 0; from < refs.size(); from += maxBatchSize) {
+                List<AttributeRef> chunk = refs.subList(from, Math.min(refs.size(), from + maxBatchSize));
+                try {
+                    Map<AttributeRef, String> values = delegate.loadAll(Collections.unmodifiableSet(new LinkedHashSet<>(chunk)));
+                    for (AttributeRef ref : chunk) {
+                        batch.get(ref).complete(values == null ? null : values.get(ref));
+                    }
+                } catch (RuntimeException e) {
+                    fail(chunk, batch, e);
+                }
+            }
+        } catch (Throwable e) {
+            // Waiting threads must not hang on requests this batch will never complete
+            fail(refs, batch, e);
+            throw e;
+        }
+    }
+
+    private void fail(List<AttributeRef> refs, Map<AttributeRef, CompletableFuture<String>> batch, Throwable cause) {
+        for (AttributeRef ref : refs) {
+            CompletableFuture<String> future = batch.get(ref);
+            if (!future.isDone()) {
+                // Failed loads are not memoized so that a later request can retry
+                cache.remove(ref, future);
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+
+    private static String join(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof AttributeLoadException) {
+                throw (AttributeLoadException) cause;
+            }
+            throw new AttributeLoadException("Failed to load attributes: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package dev.xerohero.filter.resource;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A resource whose expensive attributes are resolved on demand.
+ * <p>
+ * Cheap attributes are supplied up front; the keys listed as lazy are only fetched through the
+ * {@link AttributeLoader} the first time a filter reads them, and are then cached for the
+ * lifetime of the resource. Because it is a regular {@code Map<String, String>}, a lazy resource
+ * can be passed straight to {@link dev.xerohero.filter.Filter#matches(Map)}: a filter that
+ * short-circuits before reaching a lazy key never pays for loading it.
+ * </p>
+ * <p>
+ * Lazy keys that the loader does not return are treated as absent. Iterating over the entries
+ * (or calling {@code size()}, {@code equals()} and similar) resolves every lazy key.
+ * </p>
+ */
+public class LazyResource extends AbstractMap<String, String> {
+    /** Marker for lazy keys that were resolved but do not exist in the store. */
+    private static final String ABSENT = new String("<absent>");
+
+    private final String resourceId;
+    private final Map<String, String> attributes;
+    private final Set<String> lazyKeys;
+    private final AttributeLoader loader;
+    private final ConcurrentMap<String, String> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a lazy resource.
+     *
+     * @param resourceId the id used to look up lazy attributes (must not be null)
+     * @param attributes the attributes that are already available (must not be null)
+     * @param lazyKeys   the keys resolved on demand through the loader (must not be null)
+     * @param loader     the loader for lazy keys (must not be null)
+     * @throws NullPointerException if any argument is null
+     */
+    public LazyResource(String resourceId, Map<String, String> attributes, Set<String> lazyKeys, AttributeLoader loader) {
+        this.resourceId = Objects.requireNonNull(resourceId, "Resource id cannot be null");
+        this.attributes = Collections.unmodifiableMap(new HashMap<>(Objects.requireNonNull(attributes, "Attributes cannot be null")));
+        Set<String> lazy = new HashSet<>(Objects.requireNonNull(lazyKeys, "Lazy keys cannot be null"));
+        // Eagerly supplied values always win over the loader
+        lazy.removeAll(this.attributes.keySet());
+        this.lazyKeys = Collections.unmodifiableSet(lazy);
+        this.loader = Objects.requireNonNull(loader, "Loader cannot be null");
+    }
+
+    /**
+     * Gets the id used to look up lazy attributes.
+     *
+     * @return the resource id
+     */
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    /**
+     * Gets the keys that are resolved on demand.
+     *
+     * @return an unmodifiable set of the lazy keys
+     */
+    public Set<String> getLazyKeys() {
+        return lazyKeys;
+    }
+
+    /**
+     * Checks whether a lazy key has already been resolved.
+     *
+     * @param key the key to check
+     * @return true if the key is eager or its lazy value has been loaded, false otherwise
+     */
+    public boolean isResolved(String key) {
+        return attributes.containsKey(key) || resolved.containsKey(key);
+    }
+
+    /**
+     * Resolves the given keys with a single loader call. Use this with the keys reported by
+     * {@link dev.xerohero.filter.visitor.RequiredKeysVisitor} to avoid one round trip per key
+     * when a filter is known to read several lazy attributes.
+     *
+     * @param keys the keys to resolve; non-lazy and already resolved keys are ignored
+     * @throws AttributeLoadException if the loader fails
+     */
+    public void prefetch(Collection<String> keys) {
+        Objects.requireNonNull(keys, "Keys cannot be null");
+        Set<AttributeRef> refs = new LinkedHashSet<>();
+        for (String key : keys) {
+            if (lazyKeys.contains(key) && !resolved.containsKey(key)) {
+                refs.add(new AttributeRef(resourceId, key));
+            }
+        }
+        if (refs.isEmpty()) {
+            return;
+        }
+        Map<AttributeRef, String> values = loader.loadAll(refs);
+        for (AttributeRef ref : refs) {
+            String value = values == null ? null : values.get(ref);
+            resolved.putIfAbsent(ref.key(), value == null ? ABSENT : value);
+        }
+    }
+
+    @Override
+    public String get(Object key) {
+        if (attributes.containsKey(key)) {
+            return attributes.get(key);
+        }
+        if (!lazyKeys.contains(key)) {
+            return null;
+        }
+        String value = resolve((String) key);
+        return value == ABSENT ? null : value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (attributes.containsKey(key)) {
+            return true;
+        }
+        return lazyKeys.contains(key) && resolve((String) key) != ABSENT;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        prefetch(lazyKeys);
+        Map<String, String> snapshot = new LinkedHashMap<>(attributes);
+        for (String key : lazyKeys) {
+            String value = resolved.get(key);
+            if (value != ABSENT) {
+                snapshot.put(key, value);
+            }
+        }
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+
+    private String resolve(String key) {
+        String value = resolved.get(key);
+        if (value == null) {
+            prefetch(List.of(key));
+            value = resolved.get(key);
+        }
+        return value;
+    }
+}
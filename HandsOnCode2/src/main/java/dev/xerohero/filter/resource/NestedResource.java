@@ -0,0 +1,166 @@
+package dev.xerohero.filter.resource;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.visitor.RequiredKeysVisitor;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A nested document, such as parsed JSON, seen as the flat resource filters evaluate.
+ * <p>
+ * A filter on {@code user.address.city} reads the {@code city} of the {@code address} of the
+ * {@code user}, and {@code items.0.sku} the {@code sku} of the first of the {@code items}, without
+ * flattening the document first. Because it is a regular {@code Map<String, String>}, a nested
+ * resource can be passed straight to {@link dev.xerohero.filter.Filter#matches(Map)}.
+ * </p>
+ * <p>
+ * Use {@link #readerFor(Filter)} to match a filter against many documents: it compiles the
+ * dotted keys the filter reads into {@link ResourcePath}s once and shares them with every
+ * resource it creates, so reading a value costs one lookup per segment and allocates nothing.
+ * Other keys are compiled again on every read.
+ * </p>
+ * <p>
+ * The document is not copied and should not change while filters read it. Iterating over the
+ * entries (or calling {@code size()}, {@code equals()} and similar) flattens the whole document
+ * into dotted keys. Map keys that are empty, contain a dot or are not strings cannot be reached
+ * by a dotted key and are left out.
+ * </p>
+ */
+public class NestedResource extends AbstractMap<String, String> {
+    private final Map<String, ?> document;
+    private final Map<String, ResourcePath> paths;
+
+    /**
+     * Creates a nested resource that compiles every key it reads. Prefer
+     * {@link #readerFor(Filter)} when matching a filter against many documents.
+     *
+     * @param document the document, a map whose values are strings, numbers, booleans, maps and
+     *                 lists (must not be null)
+     * @throws NullPointerException if the document is null
+     */
+    public NestedResource(Map<String, ?> document) {
+        this(document, Map.of());
+    }
+
+    /**
+     * Creates a nested resource reading through precompiled paths.
+     *
+     * @param document the document, a map whose values are strings, numbers, booleans, maps and
+     *                 lists (must not be null)
+     * @param paths the paths compiled by {@link #compile(Collection)} (must not be null)
+     * @throws NullPointerException if the document or paths are null
+     */
+    public NestedResource(Map<String, ?> document, Map<String, ResourcePath> paths) {
+        this.document = Objects.requireNonNull(document, "Document cannot be null");
+        this.paths = Objects.requireNonNull(paths, "Paths cannot be null");
+    }
+
+    /**
+     * Creates a reader that wraps documents for a filter, reading them through the paths of the
+     * keys the filter reads, compiled once.
+     * <pre>
+     * Function&lt;Map&lt;String, ?&gt;, NestedResource&gt; reader = NestedResource.readerFor(filter);
+     * List&lt;Map&lt;String, Object&gt;&gt; matching = orders.stream()
+     *         .filter(order -&gt; filter.matches(reader.apply(order)))
+     *         .toList();
+     * </pre>
+     *
+     * @param filter the filter the documents will be matched against (must not be null)
+     * @return a function wrapping a document in a nested resource
+     * @throws NullPointerException if the filter is null
+     */
+    public static Function<Map<String, ?>, NestedResource> readerFor(Filter filter) {
+        Objects.requireNonNull(filter, "Filter cannot be null");
+        Map<String, ResourcePath> paths = compile(RequiredKeysVisitor.analyze(filter).allKeys());
+        return document -> new NestedResource(document, paths);
+    }
+
+    /**
+     * Compiles the dotted keys filters will read, such as those reported by
+     * {@link dev.xerohero.filter.visitor.RequiredKeysVisitor}.
+     *
+     * @param keys the keys (must not be null)
+     * @return an unmodifiable map from each valid key to its path
+     * @throws NullPointerException if the keys are null
+     */
+    public static Map<String, ResourcePath> compile(Collection<String> keys) {
+        Map<String, ResourcePath> paths = new HashMap<>();
+        for (String key : Objects.requireNonNull(keys, "Keys cannot be null")) {
+            ResourcePath path = parse(key);
+            if (path != null) {
+                paths.put(key, path);
+            }
+        }
+        return Collections.unmodifiableMap(paths);
+    }
+
+    /**
+     * Compiles a dotted key.
+     *
+     * @return the compiled path, or null if the key is not a valid path
+     */
+    private static ResourcePath parse(String key) {
+        try {
+            return ResourcePath.of(key);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the path for a dotted key.
+     *
+     * @return the compiled path, or null if the key is not a valid path
+     */
+    private ResourcePath path(String key) {
+        ResourcePath path = paths.get(key);
+        return path != null ? path : parse(key);
+    }
+
+    /**
+     * Gets the document this resource reads.
+     *
+     * @return the document
+     */
+    public Map<String, ?> getDocument() {
+        return document;
+    }
+
+    @Override
+    public String get(Object key) {
+        ResourcePath path = key instanceof String dotted ? path(dotted) : null;
+        return path == null ? null : path.resolve(document);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        Map<String, String> flattened = new LinkedHashMap<>();
+        flatten("", document, flattened);
+        return Collections.unmodifiableMap(flattened).entrySet();
+    }
+
+    private static void flatten(String prefix, Object node, Map<String, String> flattened) {
+        if (node instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (entry.getKey() instanceof String name && !name.isEmpty() && name.indexOf('.') < 0) {
+                    flatten(prefix + name + ".", entry.getValue(), flattened);
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (int i = 0; i < list.size(); i++) {
+                flatten(prefix + i + ".", list.get(i), flattened);
+            }
+        } else {
+            String value = ResourcePath.text(node);
+            if (value != null && !prefix.isEmpty()) {
+                flattened.put(prefix.substring(0, prefix.length() - 1), value);
+            }
+        }
+    }
+}
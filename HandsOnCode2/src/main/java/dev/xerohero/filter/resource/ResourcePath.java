@@ -0,0 +1,147 @@
+package dev.xerohero.filter.resource;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A dotted key, such as {@code user.address.city} or {@code items.0.sku}, compiled into the
+ * segments that lead to a value in a nested document.
+ * <p>
+ * The key is split once; segments that are non-negative integers also keep their parsed index, so
+ * resolving the path walks the maps and lists of a document with one lookup per segment and never
+ * builds a string. Segments index maps by name and lists by position. Strings resolve to
+ * themselves, numbers and booleans to their plain text, and anything else, including maps and
+ * lists, to null.
+ * </p>
+ */
+public final class ResourcePath {
+    private final String key;
+    private final String[] segments;
+    private final int[] indexes;
+
+    private ResourcePath(String key, String[] segments, int[] indexes) {
+        this.key = key;
+        this.segments = segments;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Compiles a dotted key.
+     *
+     * @param key the key, with segments separated by dots
+     * @return the compiled path
+     * @throws IllegalArgumentException if the key is null or empty, or has an empty segment
+     */
+    public static ResourcePath of(String key) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+        String[] segments = key.split("\\.", -1);
+        int[] indexes = new int[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i].isEmpty()) {
+                throw new IllegalArgumentException("Key cannot have an empty segment: '" + key + "'");
+            }
+            indexes[i] = index(segments[i]);
+        }
+        return new ResourcePath(key, segments, indexes);
+    }
+
+    /**
+     * Parses a segment that addresses a list element.
+     *
+     * @return the index, or -1 if the segment is not a non-negative integer
+     */
+    private static int index(String segment) {
+        if (segment.length() > 9) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    /**
+     * Gets the key the path was compiled from.
+     *
+     * @return the dotted key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the segments of the path.
+     *
+     * @return an unmodifiable list of the segments
+     */
+    public List<String> getSegments() {
+        return Collections.unmodifiableList(Arrays.asList(segments));
+    }
+
+    /**
+     * Resolves the path in a document.
+     *
+     * @param document the document, a map whose values are strings, numbers, booleans, maps
+     *                 and lists
+     * @return the value as text, or null if the path leads nowhere or to a map or list
+     * @throws NullPointerException if the document is null
+     */
+    public String resolve(Map<String, ?> document) {
+        Object node = Objects.requireNonNull(document, "Document cannot be null");
+        for (int i = 0; i < segments.length; i++) {
+            if (node instanceof Map<?, ?> map) {
+                node = map.get(segments[i]);
+            } else if (node instanceof List<?> list) {
+                int index = indexes[i];
+                node = index >= 0 && index < list.size() ? list.get(index) : null;
+            } else {
+                return null;
+            }
+        }
+        return text(node);
+    }
+
+    /**
+     * Converts a scalar value to the text filters compare.
+     *
+     * @return the text, or null if the value is not a scalar
+     */
+    static String text(Object value) {
+        if (value instanceof String string) {
+            return string;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof ResourcePath other && key.equals(other.key));
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Resource representations that go beyond a plain, fully populated map.
+ *
+ * <p>Filters evaluate against {@code Map<String, String>}. The classes in this package provide
+ * map implementations that defer expensive work until a filter actually needs a value, and that
+ * read nested documents in place instead of flattening them first.</p>
+ *
+ * <h2>Main Components</h2>
+ * <ul>
+ *   <li>{@link dev.xerohero.filter.resource.LazyResource} - Map whose expensive attributes are loaded on first access</li>
+ *   <li>{@link dev.xerohero.filter.resource.AttributeLoader} - Pluggable bulk loader for lazy attributes</li>
+ *   <li>{@link dev.xerohero.filter.resource.BatchingAttributeLoader} - Coalesces concurrent attribute requests into bulk fetches</li>
+ *   <li>{@link dev.xerohero.filter.resource.AttributeRef} - Identifies one attribute of one resource</li>
+ *   <li>{@link dev.xerohero.filter.resource.AttributeLoadException} - Thrown when lazy attributes cannot be loaded</li>
+ *   <li>{@link dev.xerohero.filter.resource.NestedResource} - Map reading dotted keys from a nested document of maps and lists</li>
+ *   <li>{@link dev.xerohero.filter.resource.ResourcePath} - Dotted key compiled into the segments it walks</li>
+ * </ul>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>
+ * AttributeLoader loader = new BatchingAttributeLoader(riskStore::fetch, Duration.ofMillis(2), 500);
+ * Map&lt;String, String&gt; account = new LazyResource("acc-42", Map.of("status", "active"),
+ *         Set.of("risk_score", "entitlements"), loader);
+ *
+ * // risk_score is only fetched if status matches
+ * boolean flagged = FilterParser.parse("status = active AND risk_score > 80").matches(account);
+ *
+ * // Parsed JSON is read in place, without flattening
+ * Map&lt;String, Object&gt; order = objectMapper.readValue(json, new TypeReference&lt;&gt;() {});
+ * Filter local = FilterParser.parse("customer.address.city = Berlin AND items.0.qty > 1");
+ * Function&lt;Map&lt;String, ?&gt;, NestedResource&gt; reader = NestedResource.readerFor(local);
+ * boolean matched = local.matches(reader.apply(order));
+ * </pre>
+ *
+ * @see dev.xerohero.filter.visitor.RequiredKeysVisitor For computing the keys worth prefetching
+ */
+package dev.xerohero.filter.resource;
@@ -6,6 +6,16 @@ import com.fasterxml.jackson.databind.*;
 import dev.xerohero.filter.Filter;
 import dev.xerohero.filter.operators.*;
 import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.geo.*;
+import dev.xerohero.filter.operators.network.IpInRangeFilter;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.time.*;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
 
 import java.io.IOException;
 import java.util.*;
@@ -66,6 +76,34 @@ public class FilterJsonDeserializer extends JsonDeserializer<Filter> {
                 return deserializeRegexFilter(node);
             case "hasProperty":
                 return deserializeHasPropertyFilter(node);
+            case "geo_within":
+                return deserializeGeoWithinFilter(node);
+            case "geo_box":
+                return deserializeGeoBoundingBoxFilter(node);
+            case "ip_in_range":
+                return deserializeIpInRangeFilter(node);
+            case "before":
+                return deserializeBeforeFilter(node);
+            case "after":
+                return deserializeAfterFilter(node);
+            case "within_last":
+                return deserializeWithinLastFilter(node);
+            case "version_compare":
+                return deserializeVersionCompareFilter(node);
+            case "fuzzy_match":
+                return deserializeFuzzyMatchFilter(node);
+            case "prefix_set":
+                return deserializePrefixSetFilter(node);
+            case "contains_terms":
+                return deserializeContainsTermsFilter(node);
+            case "interval_set":
+                return deserializeIntervalSetFilter(node);
+            case "field_compare":
+                return deserializeFieldComparisonFilter(node);
+            case "multi_value":
+                return deserializeMultiValueFilter(node);
+            case "arithmetic":
+                return deserializeArithmeticFilter(node);
             default:
                 throw new JsonMappingException("Unknown filter type: " + type);
         }
@@ -167,4 +205,137 @@ public class FilterJsonDeserializer extends JsonDeserializer<Filter> {
         String key = node.get("key").asText();
         return new HasPropertyFiltre(key);
     }
+
+    private GeoWithinFilter deserializeGeoWithinFilter(JsonNode node) throws JsonProcessingException {
+        return new GeoWithinFilter(requiredText(node, "latitudeKey"), requiredText(node, "longitudeKey"),
+                geoNumber(node, "latitude"), geoNumber(node, "longitude"), geoNumber(node, "radiusMeters"));
+    }
+
+    private GeoBoundingBoxFilter deserializeGeoBoundingBoxFilter(JsonNode node) throws JsonProcessingException {
+        return new GeoBoundingBoxFilter(requiredText(node, "latitudeKey"), requiredText(node, "longitudeKey"),
+                geoNumber(node, "minLatitude"), geoNumber(node, "minLongitude"),
+                geoNumber(node, "maxLatitude"), geoNumber(node, "maxLongitude"));
+    }
+
+    private IpInRangeFilter deserializeIpInRangeFilter(JsonNode node) throws JsonProcessingException {
+        if (!node.has("key")) {
+            throw new JsonProcessingException("IP range filter must have a 'key' property") {};
+        }
+        JsonNode rangesNode = node.get("ranges");
+        if (rangesNode == null || !rangesNode.isArray()) {
+            throw new JsonProcessingException("IP range filter must have a 'ranges' array") {};
+        }
+        List<String> ranges = new ArrayList<>();
+        for (JsonNode range : rangesNode) {
+            ranges.add(range.asText());
+        }
+        return new IpInRangeFilter(node.get("key").asText(), ranges);
+    }
+
+    private BeforeFilter deserializeBeforeFilter(JsonNode node) throws JsonProcessingException {
+        return new BeforeFilter(requiredText(node, "key"), requiredText(node, "instant"));
+    }
+
+    private AfterFilter deserializeAfterFilter(JsonNode node) throws JsonProcessingException {
+        return new AfterFilter(requiredText(node, "key"), requiredText(node, "instant"));
+    }
+
+    private WithinLastFilter deserializeWithinLastFilter(JsonNode node) throws JsonProcessingException {
+        return new WithinLastFilter(requiredText(node, "key"), Timestamps.parseDuration(requiredText(node, "duration")));
+    }
+
+    private VersionCompareFilter deserializeVersionCompareFilter(JsonNode node) throws JsonProcessingException {
+        return new VersionCompareFilter(requiredText(node, "key"),
+                ComparisonOperator.fromSymbol(requiredText(node, "operator")), requiredText(node, "version"));
+    }
+
+    private FuzzyMatchFilter deserializeFuzzyMatchFilter(JsonNode node) throws JsonProcessingException {
+        if (!node.has("maxEdits") || !node.get("maxEdits").canConvertToInt()) {
+            throw new JsonProcessingException("Filter of type 'fuzzy_match' must have an integer 'maxEdits' property") {};
+        }
+        return new FuzzyMatchFilter(requiredText(node, "key"), requiredText(node, "target"), node.get("maxEdits").asInt());
+    }
+
+    private PrefixSetFilter deserializePrefixSetFilter(JsonNode node) throws JsonProcessingException {
+        JsonNode prefixesNode = node.get("prefixes");
+        if (prefixesNode == null || !prefixesNode.isArray()) {
+            throw new JsonProcessingException("Filter of type 'prefix_set' must have a 'prefixes' array") {};
+        }
+        List<String> prefixes = new ArrayList<>();
+        for (JsonNode prefix : prefixesNode) {
+            prefixes.add(prefix.asText());
+        }
+        return new PrefixSetFilter(requiredText(node, "key"), prefixes);
+    }
+
+    private ContainsTermsFilter deserializeContainsTermsFilter(JsonNode node) throws JsonProcessingException {
+        String mode = requiredText(node, "mode");
+        if (!mode.equals("any") && !mode.equals("all")) {
+            throw new JsonProcessingException("Filter of type 'contains_terms' must have a 'mode' of 'any' or 'all'") {};
+        }
+        JsonNode termsNode = node.get("terms");
+        if (termsNode == null || !termsNode.isArray()) {
+            throw new JsonProcessingException("Filter of type 'contains_terms' must have a 'terms' array") {};
+        }
+        List<String> terms = new ArrayList<>();
+        for (JsonNode term : termsNode) {
+            terms.add(term.asText());
+        }
+        return new ContainsTermsFilter(requiredText(node, "key"),
+                mode.equals("all") ? ContainsTermsFilter.Mode.ALL : ContainsTermsFilter.Mode.ANY, terms);
+    }
+
+    private IntervalSetFilter deserializeIntervalSetFilter(JsonNode node) throws JsonProcessingException {
+        JsonNode intervalsNode = node.get("intervals");
+        if (intervalsNode == null || !intervalsNode.isArray()) {
+            throw new JsonProcessingException("Filter of type 'interval_set' must have an 'intervals' array") {};
+        }
+        List<String> intervals = new ArrayList<>();
+        for (JsonNode interval : intervalsNode) {
+            intervals.add(interval.asText());
+        }
+        return new IntervalSetFilter(requiredText(node, "key"), intervals);
+    }
+
+    private FieldComparisonFilter deserializeFieldComparisonFilter(JsonNode node) throws JsonProcessingException {
+        return new FieldComparisonFilter(requiredText(node, "leftKey"),
+                ComparisonOperator.fromSymbol(requiredText(node, "operator")), requiredText(node, "rightKey"));
+    }
+
+    private MultiValueFilter deserializeMultiValueFilter(JsonNode node) throws JsonProcessingException {
+        String mode = requiredText(node, "mode");
+        if (!mode.equals("any") && !mode.equals("all")) {
+            throw new JsonProcessingException("Filter of type 'multi_value' must have a 'mode' of 'any' or 'all'") {};
+        }
+        JsonNode valuesNode = node.get("values");
+        if (valuesNode == null || !valuesNode.isArray()) {
+            throw new JsonProcessingException("Filter of type 'multi_value' must have a 'values' array") {};
+        }
+        List<String> values = new ArrayList<>();
+        for (JsonNode value : valuesNode) {
+            values.add(value.asText());
+        }
+        String delimiter = node.has("delimiter") ? requiredText(node, "delimiter") : MultiValueFilter.DEFAULT_DELIMITER;
+        return new MultiValueFilter(requiredText(node, "key"),
+                mode.equals("all") ? MultiValueFilter.Mode.ALL : MultiValueFilter.Mode.ANY, delimiter, values);
+    }
+
+    private ArithmeticFilter deserializeArithmeticFilter(JsonNode node) throws JsonProcessingException {
+        return new ArithmeticFilter(requiredText(node, "left"), requiredText(node, "operator"), requiredText(node, "right"));
+    }
+
+    private String requiredText(JsonNode node, String field) throws JsonProcessingException {
+        if (!node.has(field) || node.get(field).isNull()) {
+            throw new JsonProcessingException("Filter of type '" + node.get("type").asText()
+                    + "' must have a '" + field + "' property") {};
+        }
+        return node.get(field).asText();
+    }
+
+    private double geoNumber(JsonNode node, String field) throws JsonProcessingException {
+        if (!node.has(field) || !node.get(field).isNumber()) {
+            throw new JsonProcessingException("Geo filter must have a numeric '" + field + "' property") {};
+        }
+        return node.get(field).asDouble();
+    }
 }
@@ -6,6 +6,17 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import dev.xerohero.filter.Filter;
 import dev.xerohero.filter.operators.*;
 import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.geo.*;
+import dev.xerohero.filter.operators.network.IpInRangeFilter;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.time.*;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
+import dev.xerohero.filter.optimizer.FilterOptimizer;
 import dev.xerohero.filter.visitor.FilterVisitor;
 
 import java.io.IOException;
@@ -132,6 +143,154 @@ public class FilterJsonSerializer extends JsonSerializer<Filter> {
                 map.put("key", filter.getKey());
                 return map;
             }
+
+            @Override
+            public Map<String, Object> visit(GeoWithinFilter filter) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "geo_within");
+                map.put("latitudeKey", filter.getLatitudeKey());
+                map.put("longitudeKey", filter.getLongitudeKey());
+                map.put("latitude", filter.getLatitude());
+                map.put("longitude", filter.getLongitude());
+                map.put("radiusMeters", filter.getRadiusMeters());
+                return map;
+            }
+
+            @Override
+            public Map<String, Object> visit(GeoBoundingBoxFilter filter) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "geo_box");
+                map.put("latitudeKey", filter.getLatitudeKey());
+                map.put("longitudeKey", filter.getLongitudeKey());
+                map.put("minLatitude", filter.getMinLatitude());
+                map.put("minLongitude", filter.getMinLongitude());
+                map.put("maxLatitude", filter.getMaxLatitude());
+                map.put("maxLongitude", filter.getMaxLongitude());
+                return map;
+            }
+
+            @Override
+            public Map<String, Object> visit(IpInRangeFilter filter) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "ip_in_range");
+                map.put("key", filter.getKey());
+                map.put("ranges", filter.getRanges());
+                return map;
+            }
+
+            @Override
+            public Map<String, Object> visit(BeforeFilter filter) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "before");
+                map.put("key", filter.getKey());
+                map.put("instant", filter.getInstant());
+                return map;
+            }
+
+            @Override
+            public Map<String, Object> visit(AfterFilter filter) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "after");
+                map.put("key", filter.getKey());
+                map.put("instant", filter.getInstant());
+                return map;
+            }
+
+            @Override
+            public Map<String, Object> visit(WithinLastFilter filter) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "within_last");
+                map.put("key", filter.getKey());
+                map.put("duration", filter.getDuration().toString());
+                return map;
+            }
+
+            @Override
+            public Map<String, Object> visit(VersionCompareFilter filter) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "version_compare");
+                map.put("key", filter.getKey());
+                map.put("operator", filter.getOperator().getSymbol());
+                map.put("version", filter.getVersion().getText());
+                return map;
+            }
+
+            @Override
+            public Map<String, Object> visit(FuzzyMatchFilter filter) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "fuzzy_match");
+                map.put("key", filter.getKey());
+                map.put("target", filter.getTarget());
+                map.put("maxEdits", filter.getMaxEdits());
+                return map;
+            }
+
+            @Override
+            public Map<String, Object> visit(PrefixSetFilter filter) {
+                Filter original = FilterOptimizer.original(filter);
+                if (original != filter) {
+                    return original.accept(this);
+                }
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "prefix_set");
+                map.put("key", filter.getKey());
+                map.put("prefixes", filter.getPrefixes());
+                return map;
+            }
+
+            @Override
+            public Map<String, Object> visit(ContainsTermsFilter filter) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "contains_terms");
+                map.put("key", filter.getKey());
+                map.put("mode", filter.getMode().name().toLowerCase());
+                map.put("terms", filter.getTerms());
+                return map;
+            }
+
+            @Override
+            public Map<String, Object> visit(IntervalSetFilter filter) {
+                Filter original = FilterOptimizer.original(filter);
+                if (original != filter) {
+                    return original.accept(this);
+                }
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "interval_set");
+                map.put("key", filter.getKey());
+                map.put("intervals", filter.getIntervals());
+                return map;
+            }
+
+            @Override
+            public Map<String, Object> visit(FieldComparisonFilter filter) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "field_compare");
+                map.put("leftKey", filter.getLeftKey());
+                map.put("operator", filter.getOperator().getSymbol());
+                map.put("rightKey", filter.getRightKey());
+                return map;
+            }
+
+            @Override
+            public Map<String, Object> visit(MultiValueFilter filter) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "multi_value");
+                map.put("key", filter.getKey());
+                map.put("mode", filter.getMode().name().toLowerCase());
+                map.put("delimiter", filter.getDelimiter());
+                map.put("values", filter.getValues());
+                return map;
+            }
+
+            @Override
+            public Map<String, Object> visit(ArithmeticFilter filter) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("type", "arithmetic");
+                map.put("left", filter.getLeft().toString());
+                map.put("operator", filter.getOperator().getSymbol());
+                map.put("right", filter.getRight().toString());
+                return map;
+            }
             });
             
             gen.writeObject(filterMap);
@@ -0,0 +1,300 @@
+package dev.xerohero.filter.stats;
+
+import dev.xerohero.filter.ValueComparator;
+
+import java.util.*;
+
+/**
+ * Snapshot of the distribution of the values of one key, built by a {@link StatisticsCollector}.
+ * <p>
+ * Frequencies are fractions of all rows, including the rows without the key. Values are counted
+ * by their {@linkplain ValueComparator#equalityKey(String) equality key}, so {@code "1.0"} and
+ * {@code "1"} or {@code "Active"} and {@code "active"} are the same value, as for
+ * {@link dev.xerohero.filter.operators.comparison.EqualsFilter}. Numbers and strings get separate
+ * equi-depth histograms, since the comparison filters order every number before every string.
+ * </p>
+ */
+public final class KeyStatistics {
+    /** Maximum number of most common values kept. */
+    static final int MAX_COMMON_VALUES = 20;
+    /** Maximum number of buckets per histogram. */
+    static final int MAX_BUCKETS = 100;
+
+    private final String key;
+    private final long rowCount;
+    private final double nullFraction;
+    private final double distinctCount;
+    private final double averageLength;
+    private final Map<String, Double> mostCommonValues;
+    private final double commonFraction;
+    private final double numericFraction;
+    private final double[] numericBounds;
+    private final double stringFraction;
+    private final String[] stringBounds;
+
+    private KeyStatistics(String key, long rowCount, double nullFraction, double distinctCount,
+                          double averageLength, Map<String, Double> mostCommonValues,
+                          double numericFraction, double[] numericBounds,
+                          double stringFraction, String[] stringBounds) {
+        this.key = key;
+        this.rowCount = rowCount;
+        this.nullFraction = nullFraction;
+        this.distinctCount = distinctCount;
+        this.averageLength = averageLength;
+        this.mostCommonValues = Collections.unmodifiableMap(mostCommonValues);
+        this.commonFraction = mostCommonValues.values().stream().mapToDouble(Double::doubleValue).sum();
+        this.numericFraction = numericFraction;
+        this.numericBounds = numericBounds;
+        this.stringFraction = stringFraction;
+        this.stringBounds = stringBounds;
+    }
+
+    /**
+     * Builds the statistics of a key from the values of a sample of rows.
+     *
+     * @param key the key
+     * @param rowCount the number of rows in the collection
+     * @param nonNullCount the number of rows in the collection with the key
+     * @param distinctCount the estimated number of distinct values in the collection
+     * @param sampleValues the non-null values of the key in the sample
+     */
+    static KeyStatistics build(String key, long rowCount, long nonNullCount, double distinctCount,
+                               List<String> sampleValues) {
+        double nonNullFraction = rowCount == 0 ? 0 : (double) nonNullCount / rowCount;
+        if (sampleValues.isEmpty()) {
+            return new KeyStatistics(key, rowCount, 1 - nonNullFraction, distinctCount, 0, Map.of(),
+                    0, new double[0], 0, new String[0]);
+        }
+        // Every sampled value stands for this fraction of all rows
+        double weight = nonNullFraction / sampleValues.size();
+
+        Map<String, Integer> counts = new HashMap<>();
+        List<Double> numbers = new ArrayList<>();
+        List<String> strings = new ArrayList<>();
+        long totalLength = 0;
+        for (String value : sampleValues) {
+            totalLength += value.length();
+            String term = ValueComparator.equalityKey(value);
+            counts.merge(term == null ? value : term, 1, Integer::sum);
+            double number = ValueComparator.numericValue(value);
+            if (Double.isNaN(number)) {
+                strings.add(term == null ? value : term);
+            } else {
+                numbers.add(number);
+            }
+        }
+
+        // A value is common if it is sampled repeatedly and clearly more often than average
+        double averageCount = (double) sampleValues.size() / counts.size();
+        Map<String, Double> common = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .filter(entry -> entry.getValue() >= 2 && entry.getValue() > 1.25 * averageCount)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_COMMON_VALUES)
+                .forEach(entry -> common.put(entry.getKey(), entry.getValue() * weight));
+
+        double distinct = Math.max(common.size(), Math.min(distinctCount, nonNullCount));
+        return new KeyStatistics(key, rowCount, 1 - nonNullFraction, distinct,
+                (double) totalLength / sampleValues.size(), common,
+                numbers.size() * weight, numericBounds(numbers), strings.size() * weight, stringBounds(strings));
+    }
+
+    private static double[] numericBounds(List<Double> values) {
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        int buckets = Math.min(MAX_BUCKETS, Math.max(1, sorted.length - 1));
+        if (sorted.length == 0) {
+            return sorted;
+        }
+        double[] bounds = new double[buckets + 1];
+        for (int i = 0; i <= buckets; i++) {
+            bounds[i] = sorted[(int) ((long) i * (sorted.length - 1) / buckets)];
+        }
+        return bounds;
+    }
+
+    private static String[] stringBounds(List<String> values) {
+        String[] sorted = values.stream().sorted().toArray(String[]::new);
+        int buckets = Math.min(MAX_BUCKETS, Math.max(1, sorted.length - 1));
+        if (sorted.length == 0) {
+            return sorted;
+        }
+        String[] bounds = new String[buckets + 1];
+        for (int i = 0; i <= buckets; i++) {
+            bounds[i] = sorted[(int) ((long) i * (sorted.length - 1) / buckets)];
+        }
+        return bounds;
+    }
+
+    /**
+     * Gets the key these statistics describe.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the number of rows of the collection when the statistics were built.
+     *
+     * @return the number of rows
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the fraction of rows without a value for the key.
+     *
+     * @return the null fraction
+     */
+    public double getNullFraction() {
+        return nullFraction;
+    }
+
+    /**
+     * Gets the estimated number of distinct values.
+     *
+     * @return the distinct value estimate
+     */
+    public double getDistinctCount() {
+        return distinctCount;
+    }
+
+    /**
+     * Gets the average length of the values, in characters.
+     *
+     * @return the average value length (0 if there are no values)
+     */
+    public double getAverageLength() {
+        return averageLength;
+    }
+
+    /**
+     * Gets the most common values, by equality key, with the fraction of rows holding each of
+     * them, most common first.
+     *
+     * @return the most common values and their frequencies
+     */
+    public Map<String, Double> getMostCommonValues() {
+        return mostCommonValues;
+    }
+
+    /**
+     * Gets the bucket bounds of the equi-depth histogram over the numeric values: every bucket
+     * holds about the same number of values.
+     *
+     * @return the bucket bounds in ascending order (empty if there are no numeric values)
+     */
+    public List<Double> getNumericHistogram() {
+        return Arrays.stream(numericBounds).boxed().toList();
+    }
+
+    /**
+     * Gets the bucket bounds of the equi-depth histogram over the case-folded string values.
+     *
+     * @return the bucket bounds in ascending order (empty if there are no string values)
+     */
+    public List<String> getStringHistogram() {
+        return List.of(stringBounds);
+    }
+
+    /**
+     * Estimates the fraction of rows whose value equals the given one.
+     *
+     * @param value the value (must not be null)
+     * @return the estimated fraction of rows
+     */
+    public double equalitySelectivity(String value) {
+        String term = ValueComparator.equalityKey(value);
+        Double frequency = mostCommonValues.get(term == null ? value : term);
+        if (frequency != null) {
+            return frequency;
+        }
+        // Spread the rows not holding a common value evenly over the other distinct values
+        double remaining = Math.max(0, 1 - nullFraction - commonFraction);
+        double otherValues = Math.max(1, distinctCount - mostCommonValues.size());
+        return Math.min(remaining, remaining / otherValues);
+    }
+
+    /**
+     * Estimates the fraction of rows whose value orders before the given one, with numbers before
+     * strings as in {@link ValueComparator#compare(String, String)}.
+     *
+     * @param value the value (must not be null)
+     * @return the estimated fraction of rows
+     */
+    public double lessThanSelectivity(String value) {
+        double number = ValueComparator.numericValue(value);
+        if (!Double.isNaN(number)) {
+            return numericFraction * fractionBelow(numericBounds, number);
+        }
+        String term = ValueComparator.equalityKey(value);
+        return numericFraction + stringFraction * fractionBelow(stringBounds, term == null ? value : term);
+    }
+
+    /**
+     * Estimates the fraction of histogram values below the given one, interpolating linearly
+     * within a bucket.
+     */
+    private static double fractionBelow(double[] bounds, double value) {
+        if (bounds.length == 0 || value <= bounds[0]) {
+            return 0;
+        }
+        int buckets = bounds.length - 1;
+        if (value > bounds[buckets]) {
+            return 1;
+        }
+        int bucket = Math.min(buckets - 1, Math.max(0, upperBucket(bounds, value)));
+        double width = bounds[bucket + 1] - bounds[bucket];
+        double within = width > 0 ? (value - bounds[bucket]) / width : 0.5;
+        return Math.min(1, (bucket + within) / Math.max(1, buckets));
+    }
+
+    /** Finds the last bound strictly less than the value. */
+    private static int upperBucket(double[] bounds, double value) {
+        int low = 0;
+        int high = bounds.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (bounds[mid] < value) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Estimates the fraction of histogram values below the given one, assuming values fall in
+     * the middle of their bucket.
+     */
+    private static double fractionBelow(String[] bounds, String value) {
+        if (bounds.length == 0 || value.compareTo(bounds[0]) <= 0) {
+            return 0;
+        }
+        int buckets = bounds.length - 1;
+        if (value.compareTo(bounds[buckets]) > 0) {
+            return 1;
+        }
+        int low = 0;
+        int high = buckets;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (bounds[mid].compareTo(value) < 0) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int bucket = Math.min(buckets - 1, low);
+        return Math.min(1, (bucket + 0.5) / Math.max(1, buckets));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "KeyStatistics{key=%s, rows=%d, nullFraction=%.3f, distinct=%.0f, mostCommon=%s}",
+                key, rowCount, nullFraction, distinctCount, mostCommonValues.keySet());
+    }
+}
@@ -0,0 +1,207 @@
+package dev.xerohero.filter.stats;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.operators.*;
+import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.geo.*;
+import dev.xerohero.filter.operators.network.IpInRangeFilter;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.time.*;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.Objects;
+
+/**
+ * Estimates the fraction of resources a filter matches from the statistics of a
+ * {@link StatisticsCollector}.
+ * <p>
+ * Equality uses the most common values and the distinct value estimate, comparisons use the
+ * histograms, and regular expressions, geo, IP range, time, version, fuzzy, prefix set, term,
+ * multi-value, interval set, field comparison and arithmetic filters and inequality, which
+ * compares exact strings, are evaluated on the sample. AND multiplies and OR combines the
+ * selectivities of their children as if the predicates were independent.
+ * </p>
+ */
+public class SelectivityEstimator implements FilterVisitor<Double> {
+    private final StatisticsCollector statistics;
+
+    /**
+     * Creates an estimator reading the given statistics.
+     *
+     * @param statistics the statistics to use (must not be null)
+     */
+    public SelectivityEstimator(StatisticsCollector statistics) {
+        this.statistics = Objects.requireNonNull(statistics, "Statistics cannot be null");
+    }
+
+    @Override
+    public Double visit(AndFilter filter) {
+        double selectivity = 1;
+        for (Filter child : filter.filters()) {
+            selectivity *= child.accept(this);
+        }
+        return selectivity;
+    }
+
+    @Override
+    public Double visit(OrFilter filter) {
+        double none = 1;
+        for (Filter child : filter.filters()) {
+            none *= 1 - child.accept(this);
+        }
+        return 1 - none;
+    }
+
+    @Override
+    public Double visit(NotFilter filter) {
+        return 1 - filter.filter().accept(this);
+    }
+
+    @Override
+    public Double visit(TrueFilter filter) {
+        return 1.0;
+    }
+
+    @Override
+    public Double visit(FalseFilter filter) {
+        return 0.0;
+    }
+
+    @Override
+    public Double visit(HasPropertyFiltre filter) {
+        return 1 - statistics.statistics(filter.getKey()).getNullFraction();
+    }
+
+    @Override
+    public Double visit(EqualsFilter filter) {
+        if (filter.getValue() == null || ValueComparator.equalityKey(filter.getValue()) == null) {
+            // Patterns in slashes match as regular expressions
+            return statistics.sampleSelectivity(filter);
+        }
+        return statistics.statistics(filter.getKey()).equalitySelectivity(filter.getValue());
+    }
+
+    @Override
+    public Double visit(NotEqualsFilter filter) {
+        // Compares exact strings and matches missing keys, unlike the equality statistics
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(LessThanFilter filter) {
+        return clamp(lessThan(filter));
+    }
+
+    @Override
+    public Double visit(LessThanOrEqualFilter filter) {
+        return clamp(lessThan(filter) + equalTo(filter));
+    }
+
+    @Override
+    public Double visit(GreaterThanFilter filter) {
+        return clamp(nonNull(filter) - lessThan(filter) - equalTo(filter));
+    }
+
+    @Override
+    public Double visit(GreaterThanOrEqualFilter filter) {
+        return clamp(nonNull(filter) - lessThan(filter));
+    }
+
+    @Override
+    public Double visit(RegexFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(GeoWithinFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(GeoBoundingBoxFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(IpInRangeFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(BeforeFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(AfterFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(WithinLastFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(VersionCompareFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(FuzzyMatchFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(PrefixSetFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(ContainsTermsFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(IntervalSetFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(FieldComparisonFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(MultiValueFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    @Override
+    public Double visit(ArithmeticFilter filter) {
+        return statistics.sampleSelectivity(filter);
+    }
+
+    private double lessThan(BaseComparisonFilter filter) {
+        return statistics.statistics(filter.getKey()).lessThanSelectivity(filter.getValue());
+    }
+
+    private double equalTo(BaseComparisonFilter filter) {
+        return statistics.statistics(filter.getKey()).equalitySelectivity(filter.getValue());
+    }
+
+    private double nonNull(BaseComparisonFilter filter) {
+        return 1 - statistics.statistics(filter.getKey()).getNullFraction();
+    }
+
+    private static double clamp(double selectivity) {
+        return Math.max(0, Math.min(1, selectivity));
+    }
+}
@@ -0,0 +1,165 @@
+package dev.xerohero.filter.stats;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.ValueComparator;
+
+import java.util.*;
+
+/**
+ * Collects per-key statistics of a growing collection of resources.
+ * <p>
+ * Resources are added one by one. Row counts, per-key value counts and distinct value sketches
+ * are updated exactly on every add, while the value distributions (most common values and
+ * histograms) are derived from a uniform reservoir sample of the rows. The {@link KeyStatistics}
+ * of a key are rebuilt from the sample on demand, once the collection has grown by a tenth since
+ * they were last built.
+ * </p>
+ * <p>
+ * The collector is add-only; a collection that also removes resources builds a new collector
+ * from its remaining resources from time to time. It is not thread-safe.
+ * </p>
+ * <pre>
+ * StatisticsCollector statistics = new StatisticsCollector();
+ * resources.forEach(statistics::add);
+ * double selectivity = statistics.selectivity(FilterParser.parse("status = active AND age > 30"));
+ * </pre>
+ */
+public class StatisticsCollector {
+    /** Default number of rows kept in the sample. */
+    public static final int DEFAULT_SAMPLE_SIZE = 10_000;
+
+    private final int sampleSize;
+    private final List<Map<String, String>> sample = new ArrayList<>();
+    private final Random random;
+    private final Map<String, KeyCounts> counts = new HashMap<>();
+    private final Map<String, KeyStatistics> statistics = new HashMap<>();
+    private long rowCount;
+
+    /**
+     * Creates a collector with the default sample size.
+     */
+    public StatisticsCollector() {
+        this(DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * Creates a collector keeping a sample of the given size.
+     *
+     * @param sampleSize the number of rows to sample (must be positive)
+     * @throws IllegalArgumentException if the sample size is not positive
+     */
+    public StatisticsCollector(int sampleSize) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("Sample size must be positive");
+        }
+        this.sampleSize = sampleSize;
+        // A fixed seed keeps estimates reproducible across runs
+        this.random = new Random(sampleSize);
+    }
+
+    /**
+     * Adds a resource to the statistics.
+     *
+     * @param resource the resource to add (must not be null)
+     * @throws NullPointerException if the resource is null
+     */
+    public void add(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        rowCount++;
+        for (Map.Entry<String, String> entry : resource.entrySet()) {
+            if (entry.getValue() != null) {
+                counts.computeIfAbsent(entry.getKey(), k -> new KeyCounts()).add(entry.getValue());
+            }
+        }
+        // Reservoir sampling: every row seen so far is in the sample with equal probability
+        if (sample.size() < sampleSize) {
+            sample.add(resource);
+        } else {
+            long slot = (long) (random.nextDouble() * rowCount);
+            if (slot < sampleSize) {
+                sample.set((int) slot, resource);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of resources added.
+     *
+     * @return the number of rows
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the keys present in at least one resource.
+     *
+     * @return the keys
+     */
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(counts.keySet());
+    }
+
+    /**
+     * Gets the statistics of a key, rebuilding them from the sample if they are missing or the
+     * collection has grown by a tenth since they were built.
+     *
+     * @param key the key (must not be null)
+     * @return the statistics of the key; a key that is never present has a null fraction of 1
+     */
+    public KeyStatistics statistics(String key) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        KeyStatistics current = statistics.get(key);
+        if (current != null && (rowCount - current.getRowCount()) * 10 < current.getRowCount()) {
+            return current;
+        }
+        KeyCounts keyCounts = counts.get(key);
+        List<String> values = new ArrayList<>();
+        for (Map<String, String> resource : sample) {
+            String value = resource.get(key);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        KeyStatistics built = keyCounts == null
+                ? KeyStatistics.build(key, rowCount, 0, 0, values)
+                : KeyStatistics.build(key, rowCount, keyCounts.nonNull, keyCounts.distinct.estimate(), values);
+        statistics.put(key, built);
+        return built;
+    }
+
+    /**
+     * Estimates the fraction of resources the filter matches.
+     *
+     * @param filter the filter (must not be null)
+     * @return the estimated selectivity, between 0 and 1
+     * @throws NullPointerException if the filter is null
+     */
+    public double selectivity(Filter filter) {
+        Objects.requireNonNull(filter, "Filter cannot be null");
+        return filter.accept(new SelectivityEstimator(this));
+    }
+
+    /**
+     * Computes the fraction of sampled resources the filter matches, for predicates the
+     * histograms cannot describe.
+     */
+    double sampleSelectivity(Filter filter) {
+        if (sample.isEmpty()) {
+            return 0;
+        }
+        long matches = sample.stream().filter(filter::matches).count();
+        return (double) matches / sample.size();
+    }
+
+    private static final class KeyCounts {
+        private long nonNull;
+        private final DistinctCounter distinct = new DistinctCounter();
+
+        void add(String value) {
+            nonNull++;
+            String term = ValueComparator.equalityKey(value);
+            distinct.add(term == null ? value : term);
+        }
+    }
+}
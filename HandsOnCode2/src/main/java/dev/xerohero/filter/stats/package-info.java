@@ -0,0 +1,35 @@
+/**
+ * Value statistics of resource collections and selectivity estimates for filters.
+ *
+ * <p>Choosing between an index lookup and a scan, or deciding which index is worth creating,
+ * needs to know how many resources a predicate matches before evaluating it. This package
+ * summarises the values of every key of a collection and estimates the fraction of resources
+ * a filter matches from the summaries.</p>
+ *
+ * <h2>Main Components</h2>
+ * <ul>
+ *   <li>{@link dev.xerohero.filter.stats.StatisticsCollector} - Maintains row counts, distinct value sketches and a reservoir sample as resources are added</li>
+ *   <li>{@link dev.xerohero.filter.stats.KeyStatistics} - Null fraction, distinct count, most common values and equi-depth histograms of one key</li>
+ *   <li>{@link dev.xerohero.filter.stats.SelectivityEstimator} - Visitor estimating the selectivity of a filter tree</li>
+ * </ul>
+ *
+ * <h2>Estimation Model</h2>
+ * <p>Equality predicates use the frequency of the value if it is one of the most common values,
+ * and otherwise spread the remaining rows evenly over the remaining distinct values. Comparisons
+ * interpolate in the equi-depth histograms, which are kept separately for numbers and strings
+ * since every number orders before every string. Regular expressions and inequalities are
+ * evaluated on the sample.
+ * Combinators assume their children are independent.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>
+ * StatisticsCollector statistics = new StatisticsCollector();
+ * resources.forEach(statistics::add);
+ *
+ * KeyStatistics age = statistics.statistics("age");
+ * double adults = statistics.selectivity(FilterParser.parse("age >= 18"));
+ * </pre>
+ *
+ * @see dev.xerohero.filter.store.IndexedResourceStore#selectivity(dev.xerohero.filter.Filter)
+ */
+package dev.xerohero.filter.stats;
@@ -0,0 +1,263 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.bitmap.RowBitmap;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bit-sliced index over the integer or fixed-point decimal values of one key.
+ * <p>
+ * Every value is scaled by {@code 10^scale} to a long and stored as a sign bitmap plus one
+ * bitmap per bit of its magnitude. Range predicates are answered by walking the slices from the
+ * most significant bit down, combining bitmaps only, so a lookup costs a fixed number of bitmap
+ * operations regardless of how many rows match and never sorts row ids.
+ * </p>
+ * <p>
+ * Values that are not plain numbers, have more decimal places than the scale or do not fit in a
+ * long after scaling are not sliced; they are returned by every lookup and left to the residual
+ * filter, like the unordered rows of a {@link RangeIndex}.
+ * </p>
+ */
+final class BitSlicedIndex {
+    private static final BigInteger MAX_MAGNITUDE = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private final String key;
+    private final int scale;
+    /** Rows with a sliced value. */
+    private final RowBitmap existence = new RowBitmap();
+    /** Rows with a negative sliced value. */
+    private final RowBitmap negative = new RowBitmap();
+    /** Bit {@code i} of the magnitude of every sliced value. */
+    private final List<RowBitmap> slices = new ArrayList<>();
+    private final RowBitmap unslicedRows = new RowBitmap();
+    /** Smallest and largest sliced value, used for estimates. */
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue = Long.MIN_VALUE;
+
+    BitSlicedIndex(String key, int scale) {
+        this.key = key;
+        this.scale = scale;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    int getScale() {
+        return scale;
+    }
+
+    void add(int rowId, Map<String, String> resource) {
+        String value = resource.get(key);
+        if (value == null) {
+            return;
+        }
+        Long scaled = toScaled(value);
+        if (scaled == null) {
+            unslicedRows.add(rowId);
+            return;
+        }
+        long magnitude = Math.abs(scaled);
+        while (slices.size() < 64 - Long.numberOfLeadingZeros(magnitude)) {
+            slices.add(new RowBitmap());
+        }
+        for (long bits = magnitude; bits != 0; bits &= bits - 1) {
+            slices.get(Long.numberOfTrailingZeros(bits)).add(rowId);
+        }
+        existence.add(rowId);
+        minValue = Math.min(minValue, scaled);
+        maxValue = Math.max(maxValue, scaled);
+        if (scaled < 0) {
+            negative.add(rowId);
+        }
+    }
+
+    /**
+     * Finds the candidate rows with a value greater than (or equal to) the bound.
+     *
+     * @param bound the bound
+     * @param inclusive whether rows equal to the bound match
+     * @return the candidate rows
+     */
+    RowBitmap atLeast(BigDecimal bound, boolean inclusive) {
+        BigInteger lower = scaledBound(bound, inclusive ? RoundingMode.CEILING : RoundingMode.FLOOR);
+        if (!inclusive) {
+            lower = lower.add(BigInteger.ONE);
+        }
+        return withUnsliced(atLeast(lower));
+    }
+
+    /**
+     * Finds the candidate rows with a value less than (or equal to) the bound.
+     *
+     * @param bound the bound
+     * @param inclusive whether rows equal to the bound match
+     * @return the candidate rows
+     */
+    RowBitmap atMost(BigDecimal bound, boolean inclusive) {
+        BigInteger upper = scaledBound(bound, inclusive ? RoundingMode.FLOOR : RoundingMode.CEILING);
+        if (!inclusive) {
+            upper = upper.subtract(BigInteger.ONE);
+        }
+        return withUnsliced(atMost(upper));
+    }
+
+    /**
+     * Finds the candidate rows with a value equal to the given one.
+     */
+    RowBitmap equalTo(BigDecimal value) {
+        BigInteger lower = scaledBound(value, RoundingMode.CEILING);
+        BigInteger upper = scaledBound(value, RoundingMode.FLOOR);
+        if (lower.compareTo(upper) > 0) {
+            return unslicedRows.copy();
+        }
+        return withUnsliced(RowBitmap.and(atLeast(lower), atMost(upper)));
+    }
+
+    /**
+     * Estimates the number of candidate rows with a value between the bounds, assuming the sliced
+     * values are spread uniformly between the smallest and the largest one.
+     *
+     * @param lower the lower bound, or null if unbounded
+     * @param upper the upper bound, or null if unbounded
+     * @return the estimated number of candidate rows
+     */
+    double estimateBetween(BigDecimal lower, BigDecimal upper) {
+        double unsliced = unslicedRows.cardinality();
+        if (existence.isEmpty()) {
+            return unsliced;
+        }
+        double low = lower == null ? minValue : Math.max(minValue, lower.movePointRight(scale).doubleValue());
+        double high = upper == null ? maxValue : Math.min(maxValue, upper.movePointRight(scale).doubleValue());
+        if (high < low) {
+            return unsliced;
+        }
+        // Values are integers after scaling, so a span of n covers n + 1 of them
+        double fraction = (Math.floor(high) - Math.ceil(low) + 1) / ((double) maxValue - minValue + 1);
+        return Math.min(1, Math.max(0, fraction)) * existence.cardinality() + unsliced;
+    }
+
+    /**
+     * Gets the number of rows with a sliced value.
+     */
+    int slicedRows() {
+        return existence.cardinality();
+    }
+
+    /**
+     * Gets the number of bit slices.
+     */
+    int sliceCount() {
+        return slices.size();
+    }
+
+    private RowBitmap atLeast(BigInteger lower) {
+        if (lower.compareTo(MAX_MAGNITUDE) > 0) {
+            return new RowBitmap();
+        }
+        if (lower.compareTo(MAX_MAGNITUDE.negate()) < 0) {
+            return existence.copy();
+        }
+        long bound = lower.longValue();
+        RowBitmap positive = RowBitmap.andNot(existence, negative);
+        if (bound >= 0) {
+            return compareMagnitude(positive, bound).atLeast();
+        }
+        return RowBitmap.or(positive, compareMagnitude(negative, -bound).atMost());
+    }
+
+    private RowBitmap atMost(BigInteger upper) {
+        if (upper.compareTo(MAX_MAGNITUDE) > 0) {
+            return existence.copy();
+        }
+        if (upper.compareTo(MAX_MAGNITUDE.negate()) < 0) {
+            return new RowBitmap();
+        }
+        long bound = upper.longValue();
+        if (bound < 0) {
+            return compareMagnitude(negative, -bound).atLeast();
+        }
+        RowBitmap positive = RowBitmap.andNot(existence, negative);
+        return RowBitmap.or(negative, compareMagnitude(positive, bound).atMost());
+    }
+
+    /**
+     * Splits the rows by how their magnitude compares to the constant, walking the slices
+     * from the most significant bit down.
+     */
+    private Comparison compareMagnitude(RowBitmap rows, long constant) {
+        if (64 - Long.numberOfLeadingZeros(constant) > slices.size()) {
+            return new Comparison(rows, new RowBitmap(), new RowBitmap());
+        }
+        RowBitmap less = new RowBitmap();
+        RowBitmap equal = rows;
+        RowBitmap greater = new RowBitmap();
+        for (int bit = slices.size() - 1; bit >= 0 && !equal.isEmpty(); bit--) {
+            RowBitmap slice = slices.get(bit);
+            if ((constant & (1L << bit)) != 0) {
+                less = RowBitmap.or(less, RowBitmap.andNot(equal, slice));
+                equal = RowBitmap.and(equal, slice);
+            } else {
+                greater = RowBitmap.or(greater, RowBitmap.and(equal, slice));
+                equal = RowBitmap.andNot(equal, slice);
+            }
+        }
+        return new Comparison(less, equal, greater);
+    }
+
+    private RowBitmap withUnsliced(RowBitmap rows) {
+        return unslicedRows.isEmpty() ? rows : RowBitmap.or(rows, unslicedRows);
+    }
+
+    private BigInteger scaledBound(BigDecimal bound, RoundingMode rounding) {
+        BigDecimal scaled = bound.movePointRight(scale);
+        if (integerDigits(scaled) > 19) {
+            // Far outside the long range; any value beyond it clamps the same way
+            return scaled.signum() > 0 ? MAX_MAGNITUDE.add(BigInteger.ONE) : MAX_MAGNITUDE.negate().subtract(BigInteger.ONE);
+        }
+        if (integerDigits(scaled) <= 0 && scaled.signum() != 0) {
+            // Strictly between -1 and 1; avoids rescaling values with huge negative exponents
+            boolean up = rounding == RoundingMode.CEILING;
+            return BigInteger.valueOf(scaled.signum() > 0 ? (up ? 1 : 0) : (up ? 0 : -1));
+        }
+        return scaled.setScale(0, rounding).toBigInteger();
+    }
+
+    private static int integerDigits(BigDecimal value) {
+        return value.precision() - value.scale();
+    }
+
+    /**
+     * Scales a value to a long, or returns null if it cannot be represented exactly.
+     */
+    private Long toScaled(String value) {
+        try {
+            BigDecimal decimal = new BigDecimal(value).movePointRight(scale);
+            if (decimal.signum() == 0) {
+                return 0L;
+            }
+            if (integerDigits(decimal) > 19 || integerDigits(decimal) <= 0) {
+                return null;
+            }
+            BigInteger scaled = decimal.toBigIntegerExact();
+            return scaled.abs().compareTo(MAX_MAGNITUDE) <= 0 ? scaled.longValue() : null;
+        } catch (ArithmeticException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Comparison(RowBitmap less, RowBitmap equal, RowBitmap greater) {
+        RowBitmap atLeast() {
+            return RowBitmap.or(greater, equal);
+        }
+
+        RowBitmap atMost() {
+            return RowBitmap.or(less, equal);
+        }
+    }
+}
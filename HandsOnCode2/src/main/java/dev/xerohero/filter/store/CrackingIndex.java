@@ -0,0 +1,223 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.bitmap.RowBitmap;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Adaptive index over the numeric values of one key, built by the queries that use it
+ * (database cracking).
+ * <p>
+ * The index starts as an unordered copy of the column. Every lookup partitions (cracks) the
+ * piece of the copy that contains its bound, so that all values below the bound end up before
+ * it and all others after it, and remembers the position of the crack. Later lookups only
+ * partition the piece their own bound falls into, which shrinks with every query, so a
+ * frequently queried range converges to the cost of a sorted index without ever sorting the
+ * column up front.
+ * </p>
+ * <p>
+ * Rows added after cracking are rippled into the piece their value belongs to, moving one value
+ * per later piece, so existing cracks stay valid. Bounds are matched like in a {@link RangeIndex}:
+ * inclusively, in double precision, and rows whose value is not a plain number are returned by
+ * every lookup.
+ * </p>
+ */
+final class CrackingIndex {
+    private final String key;
+    private double[] values = new double[16];
+    private int[] rows = new int[16];
+    private int size;
+    /** Maps a pivot to the first position whose value is not less than it. */
+    private final NavigableMap<Double, Integer> cracks = new TreeMap<>();
+    private final RowBitmap unorderedRows = new RowBitmap();
+    /** Smallest and largest value, bounding the first and last piece for estimates. */
+    private double minValue = Double.POSITIVE_INFINITY;
+    private double maxValue = Double.NEGATIVE_INFINITY;
+
+    CrackingIndex(String key) {
+        this.key = key;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    void add(int rowId, Map<String, String> resource) {
+        String value = resource.get(key);
+        if (value == null) {
+            return;
+        }
+        double number = ValueComparator.numericValue(value);
+        if (Double.isNaN(number)) {
+            unorderedRows.add(rowId);
+            return;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            rows = Arrays.copyOf(rows, size * 2);
+        }
+        minValue = Math.min(minValue, number);
+        maxValue = Math.max(maxValue, number);
+        int hole = size++;
+        // Ripple from the last piece down: each later piece gives its first value to the hole
+        // at its end and moves its crack up by one, until the hole reaches the value's piece
+        for (Map.Entry<Double, Integer> crack : cracks.tailMap(number, false).descendingMap().entrySet()) {
+            int start = crack.getValue();
+            if (start < hole) {
+                values[hole] = values[start];
+                rows[hole] = rows[start];
+                hole = start;
+            }
+            crack.setValue(start + 1);
+        }
+        values[hole] = number;
+        rows[hole] = rowId;
+    }
+
+    /**
+     * Finds the candidate rows with a value greater than or equal to the bound.
+     */
+    RowBitmap atLeast(double bound) {
+        return collect(crack(bound), size);
+    }
+
+    /**
+     * Finds the candidate rows with a value less than or equal to the bound.
+     */
+    RowBitmap atMost(double bound) {
+        return collect(0, crackAbove(bound));
+    }
+
+    /**
+     * Finds the candidate rows with a value between the bounds, both inclusive.
+     */
+    RowBitmap between(double lower, double upper) {
+        int from = crack(lower);
+        return collect(from, Math.max(from, crackAbove(upper)));
+    }
+
+    /**
+     * Estimates the number of candidate rows with a value between the bounds, both inclusive,
+     * from the existing cracks and without adding any.
+     */
+    double estimateBetween(double lower, double upper) {
+        double from = estimatePosition(lower);
+        double to = upper == Double.POSITIVE_INFINITY ? size : estimatePosition(Math.nextUp(upper));
+        return Math.max(0, to - from) + unorderedRows.cardinality();
+    }
+
+    /**
+     * Gets the number of values that cracking at the bound would have to partition: the size
+     * of the piece the bound falls into, or zero if the bound is already a crack.
+     */
+    int pieceSize(double bound) {
+        if (cracks.containsKey(bound)) {
+            return 0;
+        }
+        return pieceEnd(bound) - pieceStart(bound);
+    }
+
+    /**
+     * Gets the number of cracks made so far.
+     */
+    int crackCount() {
+        return cracks.size();
+    }
+
+    /**
+     * Gets the number of rows with a numeric value.
+     */
+    int numericRows() {
+        return size;
+    }
+
+    /**
+     * Cracks the column so that values below the bound come first.
+     *
+     * @return the position of the first value not less than the bound
+     */
+    private int crack(double bound) {
+        Integer position = cracks.get(bound);
+        if (position != null) {
+            return position;
+        }
+        int low = pieceStart(bound);
+        int high = pieceEnd(bound) - 1;
+        while (low <= high) {
+            if (values[low] < bound) {
+                low++;
+            } else if (values[high] >= bound) {
+                high--;
+            } else {
+                swap(low++, high--);
+            }
+        }
+        cracks.put(bound, low);
+        return low;
+    }
+
+    /**
+     * Cracks the column so that values less than or equal to the bound come first.
+     *
+     * @return the position of the first value greater than the bound
+     */
+    private int crackAbove(double bound) {
+        // Every value is less than the next double up from the bound iff it is at most the bound
+        return bound == Double.POSITIVE_INFINITY ? size : crack(Math.nextUp(bound));
+    }
+
+    private int pieceStart(double bound) {
+        Map.Entry<Double, Integer> lower = cracks.lowerEntry(bound);
+        return lower == null ? 0 : lower.getValue();
+    }
+
+    private int pieceEnd(double bound) {
+        Map.Entry<Double, Integer> higher = cracks.higherEntry(bound);
+        return higher == null ? size : higher.getValue();
+    }
+
+    /**
+     * Estimates the position of the crack for the bound by interpolating between the pivots
+     * around it, assuming the values of its piece are spread uniformly.
+     */
+    private double estimatePosition(double bound) {
+        Integer position = cracks.get(bound);
+        if (position != null) {
+            return position;
+        }
+        if (size == 0 || bound <= minValue) {
+            return 0;
+        }
+        if (bound > maxValue) {
+            return size;
+        }
+        Double lowerPivot = cracks.lowerKey(bound);
+        Double higherPivot = cracks.higherKey(bound);
+        double low = lowerPivot == null ? minValue : Math.max(minValue, lowerPivot);
+        double high = higherPivot == null ? maxValue : Math.min(maxValue, higherPivot);
+        int start = pieceStart(bound);
+        int end = pieceEnd(bound);
+        double fraction = high > low ? (bound - low) / (high - low) : 0.5;
+        return start + Math.max(0, Math.min(1, fraction)) * (end - start);
+    }
+
+    private void swap(int i, int j) {
+        double value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+        int row = rows[i];
+        rows[i] = rows[j];
+        rows[j] = row;
+    }
+
+    private RowBitmap collect(int from, int to) {
+        int[] rowIds = Arrays.copyOfRange(rows, from, to);
+        Arrays.sort(rowIds);
+        RowBitmap result = RowBitmap.of(rowIds);
+        return unorderedRows.isEmpty() ? result : RowBitmap.or(result, unorderedRows);
+    }
+}
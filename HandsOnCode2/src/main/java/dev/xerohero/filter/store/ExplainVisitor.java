@@ -0,0 +1,109 @@
+package dev.xerohero.filter.store;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.xerohero.filter.visitor.ToStringVisitor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders a {@link QueryPlan} tree, node by node, as indented text or as JSON.
+ * <p>
+ * Predicates are rendered with the {@link ToStringVisitor}, and every node shows its access path,
+ * estimated rows and estimated cost:
+ * </p>
+ * <pre>
+ * INTERSECTION (rows=13, cost=15.2)
+ *   HASH_INDEX status == pending (rows=197, cost=206.1)
+ *   RANGE_INDEX age &gt; 70 (rows=33, cost=43.4)
+ * </pre>
+ */
+public final class ExplainVisitor {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final boolean json;
+
+    private ExplainVisitor(boolean json) {
+        this.json = json;
+    }
+
+    /**
+     * Creates a visitor rendering plans as indented text, one node per line.
+     *
+     * @return the visitor
+     */
+    public static ExplainVisitor text() {
+        return new ExplainVisitor(false);
+    }
+
+    /**
+     * Creates a visitor rendering plans as JSON objects with the fields {@code accessPath},
+     * {@code filter} (leaves only), {@code estimatedRows}, {@code cost} and {@code children}.
+     *
+     * @return the visitor
+     */
+    public static ExplainVisitor json() {
+        return new ExplainVisitor(true);
+    }
+
+    /**
+     * Renders a plan tree.
+     *
+     * @param plan the plan to render (must not be null)
+     * @return the rendered plan
+     */
+    public String visit(QueryPlan plan) {
+        if (!json) {
+            StringBuilder text = new StringBuilder();
+            appendText(plan, 0, text);
+            return text.toString();
+        }
+        try {
+            return MAPPER.writeValueAsString(toMap(plan));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to render plan: " + e.getMessage(), e);
+        }
+    }
+
+    private void appendText(QueryPlan plan, int depth, StringBuilder text) {
+        if (depth > 0) {
+            text.append('\n');
+        }
+        text.append("  ".repeat(depth)).append(plan.getAccessPath());
+        if (showsFilter(plan)) {
+            text.append(' ').append(plan.getFilter().accept(new ToStringVisitor()));
+        }
+        text.append(String.format(Locale.ROOT, " (rows=%d, cost=%.1f)", Math.round(plan.getEstimatedRows()), plan.getCost()));
+        for (QueryPlan child : plan.getChildren()) {
+            appendText(child, depth + 1, text);
+        }
+    }
+
+    private Map<String, Object> toMap(QueryPlan plan) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("accessPath", plan.getAccessPath().name());
+        if (showsFilter(plan)) {
+            map.put("filter", plan.getFilter().accept(new ToStringVisitor()));
+        }
+        map.put("estimatedRows", Math.round(plan.getEstimatedRows()));
+        map.put("cost", Math.round(plan.getCost() * 10) / 10.0);
+        List<Map<String, Object>> children = new ArrayList<>();
+        for (QueryPlan child : plan.getChildren()) {
+            children.add(toMap(child));
+        }
+        map.put("children", children);
+        return map;
+    }
+
+    /**
+     * Checks whether the node is a lookup of a single predicate, rather than a combination of the
+     * candidates of its children whose filters are shown on their own lines.
+     */
+    private static boolean showsFilter(QueryPlan plan) {
+        return plan.getChildren().isEmpty();
+    }
+}
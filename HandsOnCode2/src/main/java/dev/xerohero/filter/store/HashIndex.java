@@ -0,0 +1,77 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.bitmap.RowBitmap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hash index from the normalised value of one key to the rows holding it.
+ * Values are normalised with {@link ValueComparator#equalityKey(String)}, so a lookup finds every
+ * row an {@link dev.xerohero.filter.operators.comparison.EqualsFilter} on the same value can match.
+ */
+final class HashIndex {
+    private final String key;
+    private final Map<String, RowBitmap> rowsByValue = new HashMap<>();
+    /** Rows whose value may be interpreted as a regex pattern and so may equal anything. */
+    private final RowBitmap wildcardRows = new RowBitmap();
+
+    HashIndex(String key) {
+        this.key = key;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    void add(int rowId, Map<String, String> resource) {
+        String value = resource.get(key);
+        if (value == null) {
+            return;
+        }
+        String term = ValueComparator.equalityKey(value);
+        if (term == null) {
+            wildcardRows.add(rowId);
+        } else {
+            rowsByValue.computeIfAbsent(term, t -> new RowBitmap()).add(rowId);
+        }
+    }
+
+    /**
+     * Finds the candidate rows for an equality predicate.
+     *
+     * @param value the value to look up (must not be null)
+     * @return the candidate rows, or null if the value cannot be looked up by key
+     */
+    RowBitmap lookup(String value) {
+        String term = ValueComparator.equalityKey(value);
+        if (term == null) {
+            return null;
+        }
+        RowBitmap exact = rowsByValue.get(term);
+        return exact == null ? wildcardRows.copy() : RowBitmap.or(wildcardRows, exact);
+    }
+
+    /**
+     * Counts the candidate rows {@link #lookup(String)} returns for a value.
+     *
+     * @param value the value to look up (must not be null)
+     * @return the number of candidate rows, or -1 if the value cannot be looked up by key
+     */
+    int count(String value) {
+        String term = ValueComparator.equalityKey(value);
+        if (term == null) {
+            return -1;
+        }
+        RowBitmap exact = rowsByValue.get(term);
+        return wildcardRows.cardinality() + (exact == null ? 0 : exact.cardinality());
+    }
+
+    /**
+     * Gets the number of distinct indexed values.
+     */
+    int distinctValues() {
+        return rowsByValue.size();
+    }
+}
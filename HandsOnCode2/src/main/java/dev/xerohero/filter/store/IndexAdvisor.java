@@ -0,0 +1,203 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.operators.BaseComparisonFilter;
+import dev.xerohero.filter.operators.comparison.RegexFilter;
+import dev.xerohero.filter.stats.KeyStatistics;
+import dev.xerohero.filter.store.IndexRecommendation.IndexType;
+import dev.xerohero.filter.store.WorkloadRecorder.PredicateWorkload;
+
+import java.util.*;
+
+/**
+ * Recommends indexes for an {@link IndexedResourceStore} from the workload a
+ * {@link WorkloadRecorder} observed.
+ * <p>
+ * Every recorded predicate group is matched with the index that answers it: a hash index for
+ * equality, a range index for comparisons and a trigram index for regular expressions. Groups
+ * whose key already has such an index are skipped. The selectivity of a group is the average
+ * {@linkplain IndexedResourceStore#selectivity estimated selectivity} of its example predicates,
+ * counting comparisons with strings and patterns without trigrams as unselective, since the index
+ * would return every row for them. In the cost units of the {@link QueryPlanner}, the index would
+ * have saved, in every execution, the residual evaluations of the rows it rules out, assuming the
+ * predicate is independent of the rest of the filter, minus the cost of the lookup.
+ * </p>
+ * <p>
+ * Index sizes are rough estimates from the {@link KeyStatistics} of the key. {@link #apply(long)}
+ * builds the recommendations with the best savings per byte first, as long as they fit into the
+ * memory budget.
+ * </p>
+ * <pre>
+ * WorkloadRecorder workload = new WorkloadRecorder();
+ * store.setWorkloadRecorder(workload);
+ * // ... run queries ...
+ * new IndexAdvisor(store, workload).apply(16 * 1024 * 1024);
+ * </pre>
+ */
+public class IndexAdvisor {
+    /** Estimated bytes per distinct value of a hash index, besides the value itself. */
+    static final long HASH_ENTRY_BYTES = 64;
+    /** Estimated bytes per row in a bitmap. */
+    static final long BITMAP_ROW_BYTES = 4;
+    /** Estimated bytes per row of a range index: the value, the row id and their overhead. */
+    static final long RANGE_ROW_BYTES = 16;
+    /** Estimated bytes per trigram occurrence in a trigram index's posting lists. */
+    static final long TRIGRAM_POSTING_BYTES = 4;
+
+    private final IndexedResourceStore store;
+    private final WorkloadRecorder workload;
+
+    /**
+     * Creates an advisor for a store and the workload recorded on it.
+     *
+     * @param store the store to advise (must not be null)
+     * @param workload the recorded workload (must not be null)
+     */
+    public IndexAdvisor(IndexedResourceStore store, WorkloadRecorder workload) {
+        this.store = Objects.requireNonNull(store, "Store cannot be null");
+        this.workload = Objects.requireNonNull(workload, "Workload cannot be null");
+    }
+
+    /**
+     * Recommends the indexes that would have reduced the cost of the recorded workload.
+     *
+     * @return the recommendations, highest estimated savings first
+     */
+    public List<IndexRecommendation> recommend() {
+        List<IndexRecommendation> recommendations = new ArrayList<>();
+        for (PredicateWorkload predicate : workload.predicates()) {
+            IndexType type = indexType(predicate.getOperator());
+            if (hasIndex(predicate.getKey(), type)) {
+                continue;
+            }
+            double savings = savings(predicate, type);
+            if (savings > 0) {
+                recommendations.add(new IndexRecommendation(predicate.getKey(), type,
+                        predicate.getExecutions(), savings, estimateBytes(predicate.getKey(), type)));
+            }
+        }
+        recommendations.sort(Comparator.comparingDouble(IndexRecommendation::getEstimatedSavings).reversed());
+        return recommendations;
+    }
+
+    /**
+     * Builds the recommended indexes with the best savings per byte whose estimated sizes fit
+     * into the memory budget together.
+     *
+     * @param memoryBudgetBytes the memory the new indexes may use, in bytes
+     * @return the recommendations that were built, in the order they were built
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    public List<IndexRecommendation> apply(long memoryBudgetBytes) {
+        if (memoryBudgetBytes < 0) {
+            throw new IllegalArgumentException("Memory budget cannot be negative");
+        }
+        List<IndexRecommendation> candidates = new ArrayList<>(recommend());
+        candidates.sort(Comparator.comparingDouble(
+                (IndexRecommendation recommendation) -> recommendation.getEstimatedSavings()
+                        / Math.max(1, recommendation.getEstimatedBytes())).reversed());
+        List<IndexRecommendation> applied = new ArrayList<>();
+        long remaining = memoryBudgetBytes;
+        for (IndexRecommendation recommendation : candidates) {
+            if (recommendation.getEstimatedBytes() <= remaining) {
+                recommendation.apply(store);
+                remaining -= recommendation.getEstimatedBytes();
+                applied.add(recommendation);
+            }
+        }
+        return applied;
+    }
+
+    private static IndexType indexType(WorkloadRecorder.Operator operator) {
+        switch (operator) {
+            case EQUALITY:
+                return IndexType.HASH;
+            case RANGE:
+                return IndexType.RANGE;
+            case PATTERN:
+                return IndexType.TRIGRAM;
+            default:
+                throw new IllegalStateException("Unknown operator: " + operator);
+        }
+    }
+
+    private boolean hasIndex(String key, IndexType type) {
+        switch (type) {
+            case HASH:
+                return store.hasHashIndex(key);
+            case RANGE:
+                return store.hasRangeIndex(key) || store.hasBitSlicedIndex(key) || store.hasAdaptiveIndex(key);
+            case TRIGRAM:
+                return store.hasTrigramIndex(key);
+            default:
+                throw new IllegalStateException("Unknown index type: " + type);
+        }
+    }
+
+    /**
+     * Estimates the cost the index would have saved over all executions of the predicates.
+     */
+    private double savings(PredicateWorkload predicate, IndexType type) {
+        if (predicate.getExecutions() == 0) {
+            return 0;
+        }
+        double rowCount = store.size();
+        double candidateFraction = 0;
+        List<BaseComparisonFilter> examples = predicate.getExamples();
+        for (BaseComparisonFilter example : examples) {
+            candidateFraction += candidateFraction(example, type);
+        }
+        candidateFraction /= examples.size();
+        double candidates = candidateFraction * rowCount;
+        double evaluated = (double) predicate.getEvaluatedRows() / predicate.getExecutions();
+        double lookupCost = QueryPlanner.PROBE_COST + candidates * (type == IndexType.RANGE
+                ? QueryPlanner.SORTED_ROW_COST : QueryPlanner.BITMAP_ROW_COST);
+        double intersectionCost = evaluated < rowCount
+                ? Math.min(evaluated, candidates) * QueryPlanner.BITMAP_ROW_COST : 0;
+        double saved = evaluated * (1 - candidateFraction) * QueryPlanner.RESIDUAL_ROW_COST;
+        return predicate.getExecutions() * (saved - lookupCost - intersectionCost);
+    }
+
+    /**
+     * Estimates the fraction of rows an index lookup for the predicate would return.
+     */
+    private double candidateFraction(BaseComparisonFilter example, IndexType type) {
+        switch (type) {
+            case RANGE:
+                if (Double.isNaN(ValueComparator.numericValue(example.getValue()))) {
+                    return 1;
+                }
+                // Rows whose value is not a number are returned by every range lookup
+                KeyStatistics statistics = store.statistics(example.getKey());
+                double numeric = statistics.lessThanSelectivity(String.valueOf(Double.MAX_VALUE));
+                double unordered = Math.max(0, 1 - statistics.getNullFraction() - numeric);
+                return Math.min(1, store.selectivity(example) + unordered);
+            case TRIGRAM:
+                String pattern = ((RegexFilter) example).getPattern();
+                if (RegexTrigramAnalyzer.analyze(pattern).getOp() == TrigramQuery.Op.ALL) {
+                    return 1;
+                }
+                return store.selectivity(example);
+            default:
+                return store.selectivity(example);
+        }
+    }
+
+    private long estimateBytes(String key, IndexType type) {
+        KeyStatistics statistics = store.statistics(key);
+        double rows = store.size() * (1 - statistics.getNullFraction());
+        double length = statistics.getAverageLength();
+        switch (type) {
+            case HASH:
+                return Math.round(statistics.getDistinctCount() * (HASH_ENTRY_BYTES + 2 * length)
+                        + rows * BITMAP_ROW_BYTES);
+            case RANGE:
+                return Math.round(rows * RANGE_ROW_BYTES);
+            case TRIGRAM:
+                // A value of n characters has n - 2 trigrams
+                return Math.round(rows * Math.max(1, length - 2) * TRIGRAM_POSTING_BYTES);
+            default:
+                throw new IllegalStateException("Unknown index type: " + type);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package dev.xerohero.filter.store;
+
+import java.util.Locale;
+
+/**
+ * Index an {@link IndexAdvisor} recommends building, with its estimated benefit and size.
+ */
+public final class IndexRecommendation {
+
+    /**
+     * The kinds of indexes the advisor recommends.
+     */
+    public enum IndexType {
+        HASH,
+        RANGE,
+        TRIGRAM
+    }
+
+    private final String key;
+    private final IndexType indexType;
+    private final long queryCount;
+    private final double estimatedSavings;
+    private final long estimatedBytes;
+
+    IndexRecommendation(String key, IndexType indexType, long queryCount, double estimatedSavings,
+                        long estimatedBytes) {
+        this.key = key;
+        this.indexType = indexType;
+        this.queryCount = queryCount;
+        this.estimatedSavings = estimatedSavings;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Gets the key to index.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the kind of index to build.
+     *
+     * @return the index type
+     */
+    public IndexType getIndexType() {
+        return indexType;
+    }
+
+    /**
+     * Gets the number of recorded queries the index would speed up.
+     *
+     * @return the number of queries
+     */
+    public long getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * Gets the estimated cost the index would have saved over the recorded workload, in the
+     * units of {@link QueryPlan#getCost()}.
+     *
+     * @return the estimated savings
+     */
+    public double getEstimatedSavings() {
+        return estimatedSavings;
+    }
+
+    /**
+     * Gets the estimated memory footprint of the index.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Builds the recommended index in the store.
+     */
+    void apply(IndexedResourceStore store) {
+        switch (indexType) {
+            case HASH:
+                store.createHashIndex(key);
+                break;
+            case RANGE:
+                store.createRangeIndex(key);
+                break;
+            case TRIGRAM:
+                store.createTrigramIndex(key);
+                break;
+            default:
+                throw new IllegalStateException("Unknown index type: " + indexType);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s index on %s (queries=%d, savings=%.1f, bytes=%d)",
+                indexType, key, queryCount, estimatedSavings, estimatedBytes);
+    }
+}
@@ -0,0 +1,510 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.bitmap.RowBitmap;
+import dev.xerohero.filter.operators.geo.GeoWithinFilter;
+import dev.xerohero.filter.stats.KeyStatistics;
+import dev.xerohero.filter.stats.StatisticsCollector;
+
+import java.util.*;
+
+/**
+ * In-memory collection of resources with optional secondary indexes.
+ * <p>
+ * Every resource gets a stable integer row id when added. Indexes speed up these predicates:
+ * </p>
+ * <ul>
+ *   <li>hash indexes: equality</li>
+ *   <li>range, bit-sliced and adaptive indexes: numeric comparisons</li>
+ *   <li>trigram indexes: regular expressions</li>
+ *   <li>sorted string indexes: prefix patterns and string comparisons</li>
+ *   <li>term indexes: word lookups</li>
+ *   <li>spatial indexes: bounding boxes over a latitude and a longitude key</li>
+ * </ul>
+ * <p>
+ * {@link #query(Filter)} uses them through a {@link QueryExecutor} to narrow down the rows the
+ * filter is evaluated on. Indexes can be created at any time and are back-filled from the
+ * existing rows.
+ * </p>
+ * <p>
+ * The store also keeps {@link KeyStatistics} of every key, updated as resources are added and
+ * rebuilt from the live rows once a tenth of them have been removed since the last rebuild.
+ * Queries can be reported to a {@link WorkloadRecorder}, from which an {@link IndexAdvisor}
+ * recommends the indexes to create.
+ * </p>
+ * <p>
+ * The store is not thread-safe; concurrent modification must be synchronised externally.
+ * </p>
+ * <pre>
+ * IndexedResourceStore store = new IndexedResourceStore();
+ * store.createHashIndex("status");
+ * store.createRangeIndex("age");
+ * store.add(Map.of("status", "active", "age", "42"));
+ * List&lt;Map&lt;String, String&gt;&gt; adults = store.query(FilterParser.parse("status = active AND age > 18"));
+ * </pre>
+ */
+public class IndexedResourceStore {
+    private final List<Map<String, String>> rows = new ArrayList<>();
+    private final RowBitmap liveRows = new RowBitmap();
+    private final Map<String, HashIndex> hashIndexes = new HashMap<>();
+    private final Map<String, RangeIndex> rangeIndexes = new HashMap<>();
+    private final Map<String, BitSlicedIndex> bitSlicedIndexes = new HashMap<>();
+    private final Map<String, TrigramIndex> trigramIndexes = new HashMap<>();
+    private final Map<String, SortedStringIndex> sortedIndexes = new HashMap<>();
+    private final Map<String, CrackingIndex> adaptiveIndexes = new HashMap<>();
+    private final Map<String, TermIndex> termIndexes = new HashMap<>();
+    /** Spatial indexes by their latitude and longitude key. */
+    private final Map<List<String>, SpatialIndex> spatialIndexes = new HashMap<>();
+    private StatisticsCollector statistics = new StatisticsCollector();
+    private int removedSinceStatistics;
+    private WorkloadRecorder workloadRecorder;
+
+    /**
+     * Adds a resource to the store and to every index.
+     *
+     * @param resource the resource to add (must not be null)
+     * @return the row id assigned to the resource
+     * @throws NullPointerException if the resource is null
+     */
+    public int add(Map<String, String> resource) {
+        Objects.requireNonNull(resource, "Resource map cannot be null");
+        Map<String, String> copy = Collections.unmodifiableMap(new HashMap<>(resource));
+        int rowId = rows.size();
+        rows.add(copy);
+        liveRows.add(rowId);
+        for (HashIndex index : hashIndexes.values()) {
+            index.add(rowId, copy);
+        }
+        for (RangeIndex index : rangeIndexes.values()) {
+            index.add(rowId, copy);
+        }
+        for (BitSlicedIndex index : bitSlicedIndexes.values()) {
+            index.add(rowId, copy);
+        }
+        for (TrigramIndex index : trigramIndexes.values()) {
+            index.add(rowId, copy);
+        }
+        for (SortedStringIndex index : sortedIndexes.values()) {
+            index.add(rowId, copy);
+        }
+        for (CrackingIndex index : adaptiveIndexes.values()) {
+            index.add(rowId, copy);
+        }
+        for (TermIndex index : termIndexes.values()) {
+            index.add(rowId, copy);
+        }
+        for (SpatialIndex index : spatialIndexes.values()) {
+            index.add(rowId, copy);
+        }
+        statistics.add(copy);
+        return rowId;
+    }
+
+    /**
+     * Removes a resource. Its row id is not reused.
+     *
+     * @param rowId the row id of the resource
+     * @return true if a live resource was removed, false otherwise
+     */
+    public boolean remove(int rowId) {
+        if (!isLive(rowId)) {
+            return false;
+        }
+        liveRows.remove(rowId);
+        // Index entries of removed rows are filtered out by the live row set
+        rows.set(rowId, null);
+        removedSinceStatistics++;
+        return true;
+    }
+
+    /**
+     * Gets a resource by row id.
+     *
+     * @param rowId the row id of the resource
+     * @return the resource, or null if there is no live resource with that id
+     */
+    public Map<String, String> get(int rowId) {
+        return isLive(rowId) ? rows.get(rowId) : null;
+    }
+
+    /**
+     * Gets the number of live resources.
+     *
+     * @return the number of resources in the store
+     */
+    public int size() {
+        return liveRows.cardinality();
+    }
+
+    /**
+     * Creates a hash index for equality lookups on the given key, if it does not exist yet.
+     *
+     * @param key the key to index (must not be null or empty)
+     * @throws IllegalArgumentException if the key is null or empty
+     */
+    public void createHashIndex(String key) {
+        validateKey(key);
+        if (!hashIndexes.containsKey(key)) {
+            HashIndex index = new HashIndex(key);
+            forEachLiveRow(index::add);
+            hashIndexes.put(key, index);
+        }
+    }
+
+    /**
+     * Creates a sorted index for numeric range lookups on the given key, if it does not exist yet.
+     *
+     * @param key the key to index (must not be null or empty)
+     * @throws IllegalArgumentException if the key is null or empty
+     */
+    public void createRangeIndex(String key) {
+        validateKey(key);
+        if (!rangeIndexes.containsKey(key)) {
+            RangeIndex index = new RangeIndex(key);
+            forEachLiveRow(index::add);
+            rangeIndexes.put(key, index);
+        }
+    }
+
+    /**
+     * Creates a bit-sliced index for numeric range lookups on the given key, if it does not exist yet.
+     * <p>
+     * Values are stored as fixed-point numbers with {@code scale} decimal places, so a key holding
+     * latencies in whole milliseconds uses scale 0 and a key holding prices in cents uses scale 2.
+     * Values with more decimal places are still found, but by every lookup.
+     * </p>
+     *
+     * @param key the key to index (must not be null or empty)
+     * @param scale the number of decimal places to keep (between 0 and 18)
+     * @throws IllegalArgumentException if the key is null or empty, or the scale is out of range
+     */
+    public void createBitSlicedIndex(String key, int scale) {
+        validateKey(key);
+        if (scale < 0 || scale > 18) {
+            throw new IllegalArgumentException("Scale must be between 0 and 18");
+        }
+        if (!bitSlicedIndexes.containsKey(key)) {
+            BitSlicedIndex index = new BitSlicedIndex(key, scale);
+            forEachLiveRow(index::add);
+            bitSlicedIndexes.put(key, index);
+        }
+    }
+
+    /**
+     * Creates a trigram index for regular expression lookups on the given key, if it does not
+     * exist yet. Patterns from which no required trigrams can be derived still fall back to
+     * evaluating every row.
+     *
+     * @param key the key to index (must not be null or empty)
+     * @throws IllegalArgumentException if the key is null or empty
+     */
+    public void createTrigramIndex(String key) {
+        validateKey(key);
+        if (!trigramIndexes.containsKey(key)) {
+            TrigramIndex index = new TrigramIndex(key);
+            forEachLiveRow(index::add);
+            trigramIndexes.put(key, index);
+        }
+    }
+
+    /**
+     * Creates a sorted string index for prefix patterns and lexicographic comparisons on the given
+     * key, if it does not exist yet. Prefix patterns are regular expressions starting with a
+     * literal, such as those built by {@code FluentFilterBuilder.where(key).startsWith(prefix)}.
+     *
+     * @param key the key to index (must not be null or empty)
+     * @throws IllegalArgumentException if the key is null or empty
+     */
+    public void createSortedIndex(String key) {
+        validateKey(key);
+        if (!sortedIndexes.containsKey(key)) {
+            SortedStringIndex index = new SortedStringIndex(key);
+            forEachLiveRow(index::add);
+            sortedIndexes.put(key, index);
+        }
+    }
+
+    /**
+     * Creates an adaptive index for numeric range lookups on the given key, if it does not exist
+     * yet.
+     * <p>
+     * Unlike a range index, an adaptive index is not sorted when it is created: it copies the
+     * values of the key and every range query partitions the copy around its bounds a little
+     * further. The first queries cost about as much as a scan of the key's values, and repeated
+     * or nearby queries converge to the cost of a sorted index, which suits ad-hoc ranges over
+     * keys that are queried too rarely or unpredictably to justify a full sort.
+     * </p>
+     *
+     * @param key the key to index (must not be null or empty)
+     * @throws IllegalArgumentException if the key is null or empty
+     */
+    public void createAdaptiveIndex(String key) {
+        validateKey(key);
+        if (!adaptiveIndexes.containsKey(key)) {
+            CrackingIndex index = new CrackingIndex(key);
+            forEachLiveRow(index::add);
+            adaptiveIndexes.put(key, index);
+        }
+    }
+
+    /**
+     * Creates an inverted term index for word lookups on the given key, if it does not exist yet.
+     * <p>
+     * Values are split into words as {@code ContainsTermsFilter} splits them, and each word maps
+     * to the rows containing it, so filters on words of the key are answered by intersecting or
+     * unioning posting lists instead of scanning every row.
+     * </p>
+     *
+     * @param key the key to index (must not be null or empty)
+     * @throws IllegalArgumentException if the key is null or empty
+     */
+    public void createTermIndex(String key) {
+        validateKey(key);
+        if (!termIndexes.containsKey(key)) {
+            TermIndex index = new TermIndex(key);
+            forEachLiveRow(index::add);
+            termIndexes.put(key, index);
+        }
+    }
+
+    /**
+     * Creates a spatial grid index over the coordinates held by two keys, if it does not exist
+     * yet.
+     * <p>
+     * The index speeds up filters that bound both keys from an AND, such as
+     * {@code lat >= 52.3 AND lat <= 52.7 AND lon >= 13.1 AND lon <= 13.7}, geo filters on both
+     * keys, and {@link #queryWithin(String, String, double, double, double)}. Values are decimal degrees.
+     * </p>
+     *
+     * @param latitudeKey the key holding the latitude (must not be null or empty)
+     * @param longitudeKey the key holding the longitude (must not be null or empty)
+     * @throws IllegalArgumentException if a key is null or empty
+     */
+    public void createSpatialIndex(String latitudeKey, String longitudeKey) {
+        validateKey(latitudeKey);
+        validateKey(longitudeKey);
+        List<String> keys = List.of(latitudeKey, longitudeKey);
+        if (!spatialIndexes.containsKey(keys)) {
+            SpatialIndex index = new SpatialIndex(latitudeKey, longitudeKey, SpatialIndex.DEFAULT_BITS);
+            forEachLiveRow(index::add);
+            spatialIndexes.put(keys, index);
+        }
+    }
+
+    /**
+     * Checks whether a spatial index exists for the pair of keys.
+     */
+    public boolean hasSpatialIndex(String latitudeKey, String longitudeKey) {
+        return spatialIndexes.containsKey(Arrays.asList(latitudeKey, longitudeKey));
+    }
+
+    /**
+     * Finds all resources whose coordinates lie within a distance of a point.
+     * <p>
+     * Equivalent to querying a {@link GeoWithinFilter}: a spatial index on the keys narrows down
+     * the candidates to the bounding box of the circle, and the haversine distance is only
+     * computed for the resources inside the box.
+     * </p>
+     *
+     * @param latitudeKey the key holding the latitude (must not be null or empty)
+     * @param longitudeKey the key holding the longitude (must not be null or empty)
+     * @param latitude the latitude of the center, in degrees
+     * @param longitude the longitude of the center, in degrees
+     * @param radiusMeters the maximum distance, in meters
+     * @return the matching resources in row id order
+     * @throws IllegalArgumentException if a key is null or empty, the latitude is out of range,
+     *                                  or the radius is negative
+     */
+    public List<Map<String, String>> queryWithin(String latitudeKey, String longitudeKey,
+                                                 double latitude, double longitude, double radiusMeters) {
+        // Longitudes are periodic, so the center may be given in any turn
+        double center = longitude - 360 * Math.floor((longitude + 180) / 360);
+        return query(new GeoWithinFilter(latitudeKey, longitudeKey, latitude, center, radiusMeters));
+    }
+
+    /**
+     * Checks whether a hash index exists for the key.
+     */
+    public boolean hasHashIndex(String key) {
+        return hashIndexes.containsKey(key);
+    }
+
+    /**
+     * Checks whether a range index exists for the key.
+     */
+    public boolean hasRangeIndex(String key) {
+        return rangeIndexes.containsKey(key);
+    }
+
+    /**
+     * Checks whether a bit-sliced index exists for the key.
+     */
+    public boolean hasBitSlicedIndex(String key) {
+        return bitSlicedIndexes.containsKey(key);
+    }
+
+    /**
+     * Checks whether a trigram index exists for the key.
+     */
+    public boolean hasTrigramIndex(String key) {
+        return trigramIndexes.containsKey(key);
+    }
+
+    /**
+     * Checks whether a sorted string index exists for the key.
+     */
+    public boolean hasSortedIndex(String key) {
+        return sortedIndexes.containsKey(key);
+    }
+
+    /**
+     * Finds all resources matching the filter, using indexes where possible.
+     *
+     * @param filter the filter to evaluate (must not be null)
+     * @return the matching resources in row id order
+     * @throws NullPointerException if the filter is null
+     */
+    public List<Map<String, String>> query(Filter filter) {
+        return new QueryExecutor(this).execute(filter);
+    }
+
+    /**
+     * Sets the recorder every query of the store is reported to, for an {@link IndexAdvisor}.
+     *
+     * @param workloadRecorder the recorder, or null to stop recording
+     */
+    public void setWorkloadRecorder(WorkloadRecorder workloadRecorder) {
+        this.workloadRecorder = workloadRecorder;
+    }
+
+    /**
+     * Gets the recorder queries are reported to.
+     *
+     * @return the recorder, or null if queries are not recorded
+     */
+    public WorkloadRecorder getWorkloadRecorder() {
+        return workloadRecorder;
+    }
+
+    /**
+     * Checks whether an adaptive index exists for the key.
+     */
+    public boolean hasAdaptiveIndex(String key) {
+        return adaptiveIndexes.containsKey(key);
+    }
+
+    /**
+     * Checks whether a term index exists for the key.
+     */
+    public boolean hasTermIndex(String key) {
+        return termIndexes.containsKey(key);
+    }
+
+    /**
+     * Gets the statistics of the values of a key.
+     *
+     * @param key the key (must not be null)
+     * @return the statistics of the key
+     * @throws NullPointerException if the key is null
+     */
+    public KeyStatistics statistics(String key) {
+        return currentStatistics().statistics(key);
+    }
+
+    /**
+     * Estimates the fraction of resources the filter matches, without evaluating it.
+     *
+     * @param filter the filter (must not be null)
+     * @return the estimated selectivity, between 0 and 1
+     * @throws NullPointerException if the filter is null
+     */
+    public double selectivity(Filter filter) {
+        return currentStatistics().selectivity(filter);
+    }
+
+    /**
+     * Chooses the access plan {@link #query(Filter)} would use for the filter, for inspection
+     * with {@link ExplainVisitor}.
+     *
+     * @param filter the filter to plan (must not be null)
+     * @return the plan
+     * @throws NullPointerException if the filter is null
+     */
+    public QueryPlan explain(Filter filter) {
+        return new QueryPlanner(this).plan(filter);
+    }
+
+    HashIndex hashIndex(String key) {
+        return hashIndexes.get(key);
+    }
+
+    RangeIndex rangeIndex(String key) {
+        return rangeIndexes.get(key);
+    }
+
+    BitSlicedIndex bitSlicedIndex(String key) {
+        return bitSlicedIndexes.get(key);
+    }
+
+    TrigramIndex trigramIndex(String key) {
+        return trigramIndexes.get(key);
+    }
+
+    SortedStringIndex sortedIndex(String key) {
+        return sortedIndexes.get(key);
+    }
+
+    CrackingIndex adaptiveIndex(String key) {
+        return adaptiveIndexes.get(key);
+    }
+
+    TermIndex termIndex(String key) {
+        return termIndexes.get(key);
+    }
+
+    Collection<SpatialIndex> spatialIndexes() {
+        return spatialIndexes.values();
+    }
+
+    SpatialIndex spatialIndex(String latitudeKey, String longitudeKey) {
+        return spatialIndexes.get(Arrays.asList(latitudeKey, longitudeKey));
+    }
+
+    RowBitmap liveRows() {
+        return liveRows.copy();
+    }
+
+    Map<String, String> row(int rowId) {
+        return rows.get(rowId);
+    }
+
+    private StatisticsCollector currentStatistics() {
+        // The collector cannot forget removed rows, so it is rebuilt once they are a tenth of the store
+        if (removedSinceStatistics > 0 && removedSinceStatistics * 10L >= size()) {
+            StatisticsCollector rebuilt = new StatisticsCollector();
+            forEachLiveRow((rowId, resource) -> rebuilt.add(resource));
+            statistics = rebuilt;
+            removedSinceStatistics = 0;
+        }
+        return statistics;
+    }
+
+    private boolean isLive(int rowId) {
+        return liveRows.contains(rowId);
+    }
+
+    private void forEachLiveRow(RowConsumer consumer) {
+        liveRows.forEach(rowId -> consumer.accept(rowId, rows.get(rowId)));
+    }
+
+    private static void validateKey(String key) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(int rowId, Map<String, String> resource);
+    }
+}
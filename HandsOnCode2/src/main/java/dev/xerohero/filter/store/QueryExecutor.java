@@ -0,0 +1,96 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.bitmap.RowBitmap;
+import dev.xerohero.filter.operators.comparison.*;
+
+import java.util.*;
+
+/**
+ * Executes filters against an {@link IndexedResourceStore}.
+ * <p>
+ * A {@link QueryPlanner} chooses how to derive a candidate row set from the filter tree:
+ * {@link EqualsFilter} leaves use hash indexes, {@link GreaterThanFilter} and
+ * {@link LessThanFilter} leaves (and their inclusive variants) use bit-sliced, range or adaptive
+ * indexes for numbers and sorted string indexes for strings, {@link RegexFilter} leaves use trigram indexes
+ * and, for literal prefixes, sorted string indexes, AND intersects and OR unions the candidate
+ * sets of its children, and an AND bounding both coordinate keys of a spatial index also looks up
+ * its bounding box there. Leaves without a usable index, or whose lookups are estimated to cost more
+ * than they save, leave the candidates unrestricted. The full filter is then evaluated on every
+ * candidate as a residual check, so indexes only ever need to return a superset of the matching
+ * rows.
+ * </p>
+ * <p>
+ * Every execution is reported to the store's {@link WorkloadRecorder}, if it has one.
+ * </p>
+ */
+public class QueryExecutor {
+    private final IndexedResourceStore store;
+    private final QueryPlanner planner;
+
+    /**
+     * Creates an executor for the given store.
+     *
+     * @param store the store to query (must not be null)
+     */
+    public QueryExecutor(IndexedResourceStore store) {
+        this.store = Objects.requireNonNull(store, "Store cannot be null");
+        this.planner = new QueryPlanner(store);
+    }
+
+    /**
+     * Finds all resources matching the filter.
+     *
+     * @param filter the filter to evaluate (must not be null)
+     * @return the matching resources in row id order
+     */
+    public List<Map<String, String>> execute(Filter filter) {
+        RowBitmap matches = executeRowIds(filter);
+        List<Map<String, String>> result = new ArrayList<>(matches.cardinality());
+        matches.forEach(rowId -> result.add(store.row(rowId)));
+        return result;
+    }
+
+    /**
+     * Finds the row ids of all resources matching the filter.
+     *
+     * @param filter the filter to evaluate (must not be null)
+     * @return the matching row ids
+     */
+    public RowBitmap executeRowIds(Filter filter) {
+        RowBitmap matches = new RowBitmap();
+        RowBitmap candidates = candidates(filter);
+        candidates.forEach(rowId -> {
+            if (filter.matches(store.row(rowId))) {
+                matches.add(rowId);
+            }
+        });
+        WorkloadRecorder recorder = store.getWorkloadRecorder();
+        if (recorder != null) {
+            recorder.record(filter, candidates.cardinality());
+        }
+        return matches;
+    }
+
+    /**
+     * Chooses the access plan the filter would be executed with.
+     *
+     * @param filter the filter to plan (must not be null)
+     * @return the plan
+     */
+    public QueryPlan plan(Filter filter) {
+        return planner.plan(filter);
+    }
+
+    /**
+     * Computes the rows the filter has to be evaluated on.
+     *
+     * @param filter the filter to plan (must not be null)
+     * @return the live candidate rows, a superset of the matching rows
+     */
+    public RowBitmap candidates(Filter filter) {
+        RowBitmap candidates = plan(filter).candidates();
+        RowBitmap live = store.liveRows();
+        return candidates == null ? live : RowBitmap.and(live, candidates);
+    }
+}
@@ -0,0 +1,157 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.bitmap.RowBitmap;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Node of the access plan a {@link QueryPlanner} chose for a filter.
+ * <p>
+ * Leaf nodes look up the candidate rows of one predicate in one index, intersection and union
+ * nodes combine the candidates of their children, and a full scan node leaves the candidates
+ * unrestricted. Every node carries the planner's estimates, and the full filter is always
+ * evaluated on the candidates of the root as a residual check.
+ * </p>
+ * <p>
+ * {@link #toString()} renders the plan tree as text; see {@link ExplainVisitor} for JSON.
+ * </p>
+ */
+public final class QueryPlan {
+
+    /**
+     * The ways candidate rows can be produced.
+     */
+    public enum AccessPath {
+        /** Every live row is a candidate. */
+        FULL_SCAN,
+        /** No row can match. */
+        EMPTY,
+        HASH_INDEX,
+        RANGE_INDEX,
+        /** An adaptive index, partitioned further by the lookup. */
+        CRACKING_INDEX,
+        BIT_SLICED_INDEX,
+        TRIGRAM_INDEX,
+        SORTED_INDEX,
+        /** Posting lists of the words of one key. */
+        TERM_INDEX,
+        /** A grid over two coordinate keys, for the bounding box of an AND. */
+        SPATIAL_INDEX,
+        /** Rows that are candidates of every child. */
+        INTERSECTION,
+        /** Rows that are candidates of any child. */
+        UNION
+    }
+
+    private final AccessPath accessPath;
+    private final Filter filter;
+    private final double estimatedRows;
+    private final double accessCost;
+    private final double cost;
+    private final List<QueryPlan> children;
+    private final Supplier<RowBitmap> lookup;
+
+    QueryPlan(AccessPath accessPath, Filter filter, double estimatedRows, double accessCost,
+              double cost, List<QueryPlan> children, Supplier<RowBitmap> lookup) {
+        this.accessPath = accessPath;
+        this.filter = filter;
+        this.estimatedRows = estimatedRows;
+        this.accessCost = accessCost;
+        this.cost = cost;
+        this.children = Collections.unmodifiableList(children);
+        this.lookup = lookup;
+    }
+
+    /**
+     * Gets how the candidate rows of this node are produced.
+     *
+     * @return the access path
+     */
+    public AccessPath getAccessPath() {
+        return accessPath;
+    }
+
+    /**
+     * Gets the filter this node was planned for.
+     *
+     * @return the filter
+     */
+    public Filter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Gets the estimated number of candidate rows this node produces.
+     *
+     * @return the estimated number of rows
+     */
+    public double getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    /**
+     * Gets the estimated cost of producing the candidate rows of this node and evaluating the
+     * filter on each of them, in units of one filter evaluation.
+     *
+     * @return the estimated cost
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Gets the plans whose candidates this node combines.
+     *
+     * @return the child plans (empty for leaves)
+     */
+    public List<QueryPlan> getChildren() {
+        return children;
+    }
+
+    /**
+     * Gets the estimated cost of producing the candidate rows, without evaluating the filter.
+     */
+    double getAccessCost() {
+        return accessCost;
+    }
+
+    /**
+     * Computes the candidate rows of this node.
+     *
+     * @return the candidate rows, or null if they are not restricted
+     */
+    RowBitmap candidates() {
+        switch (accessPath) {
+            case FULL_SCAN:
+                return null;
+            case EMPTY:
+                return new RowBitmap();
+            case INTERSECTION:
+                RowBitmap intersection = null;
+                for (QueryPlan child : children) {
+                    RowBitmap rows = child.candidates();
+                    intersection = intersection == null ? rows : RowBitmap.and(intersection, rows);
+                    if (intersection.isEmpty()) {
+                        break;
+                    }
+                }
+                return intersection;
+            case UNION:
+                RowBitmap union = new RowBitmap();
+                for (QueryPlan child : children) {
+                    union = RowBitmap.or(union, child.candidates());
+                }
+                return union;
+            default:
+                return lookup.get();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return ExplainVisitor.text().visit(this);
+    }
+}
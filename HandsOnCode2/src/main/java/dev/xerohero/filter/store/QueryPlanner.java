@@ -0,0 +1,657 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.bitmap.RowBitmap;
+import dev.xerohero.filter.operators.*;
+import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.geo.*;
+import dev.xerohero.filter.operators.network.IpInRangeFilter;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.numeric.NumericInterval;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.time.*;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
+import dev.xerohero.filter.store.QueryPlan.AccessPath;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Chooses how the candidate rows of a filter are computed in an {@link IndexedResourceStore}.
+ * <p>
+ * For every leaf predicate, the planner estimates the number of candidate rows each usable index
+ * returns from the index's own statistics (posting list sizes, binary searches over sorted
+ * values, the value range of a bit-sliced index, or the cracks of an adaptive index) and picks
+ * the access path with the lowest estimated cost, or a full scan if no index beats it. The cost
+ * of a plan is the cost of the lookups plus one unit per candidate row, for evaluating the
+ * residual filter on it.
+ * </p>
+ * <p>
+ * The children of an AND are intersected in order of increasing estimated rows, as long as
+ * intersecting another child saves more residual evaluations than its lookup costs, assuming
+ * the predicates are independent. Numeric bounds an AND puts on both keys of a spatial index
+ * are looked up together as a bounding box, as one more candidate for the intersection, and geo
+ * filters on both keys look up their own region. The children of an OR are unioned unless one
+ * of them needs a full scan or the union costs more than a full scan.
+ * </p>
+ */
+public class QueryPlanner {
+    /** Cost of evaluating the filter on one candidate row; the unit of all costs. */
+    static final double RESIDUAL_ROW_COST = 1.0;
+    /** Cost of a hash probe, or of one binary search in a sorted index. */
+    static final double PROBE_COST = 1.0;
+    /** Cost of adding one row to a bitmap or merging it into another. */
+    static final double BITMAP_ROW_COST = 0.01;
+    /** Cost of one row of a word-at-a-time operation on a dense bitmap. */
+    static final double DENSE_ROW_COST = 0.001;
+    /** Cost of copying and sorting one row id found in a sorted index. */
+    static final double SORTED_ROW_COST = 0.05;
+
+    private final IndexedResourceStore store;
+
+    /**
+     * Creates a planner for the given store.
+     *
+     * @param store the store to plan queries for (must not be null)
+     */
+    public QueryPlanner(IndexedResourceStore store) {
+        this.store = Objects.requireNonNull(store, "Store cannot be null");
+    }
+
+    /**
+     * Chooses the access plan for a filter.
+     *
+     * @param filter the filter to plan (must not be null)
+     * @return the cheapest plan found
+     */
+    public QueryPlan plan(Filter filter) {
+        Objects.requireNonNull(filter, "Filter cannot be null");
+        return filter.accept(new PlanVisitor(store.size()));
+    }
+
+    private final class PlanVisitor implements FilterVisitor<QueryPlan> {
+        private final double rowCount;
+
+        PlanVisitor(int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public QueryPlan visit(AndFilter filter) {
+            return conjunction(filter, false);
+        }
+
+        /**
+         * Plans an AND. The bounding boxes are only looked up for the outermost of directly
+         * nested ANDs, which collects the bounds of all of them.
+         */
+        private QueryPlan conjunction(AndFilter filter, boolean nested) {
+            List<QueryPlan> restricting = new ArrayList<>();
+            for (Filter child : filter.filters()) {
+                QueryPlan plan = child instanceof AndFilter ? conjunction((AndFilter) child, true) : child.accept(this);
+                if (plan.getAccessPath() == AccessPath.EMPTY) {
+                    return empty(filter);
+                }
+                if (plan.getAccessPath() != AccessPath.FULL_SCAN) {
+                    restricting.add(plan);
+                }
+            }
+            if (!nested) {
+                for (SpatialIndex index : store.spatialIndexes()) {
+                    QueryPlan plan = spatial(index, filter);
+                    if (plan != null && plan.getCost() < rowCount * RESIDUAL_ROW_COST) {
+                        restricting.add(plan);
+                    }
+                }
+            }
+            if (restricting.isEmpty()) {
+                return fullScan(filter);
+            }
+            restricting.sort(Comparator.comparingDouble(QueryPlan::getEstimatedRows));
+            List<QueryPlan> chosen = new ArrayList<>();
+            chosen.add(restricting.get(0));
+            double rows = restricting.get(0).getEstimatedRows();
+            double accessCost = restricting.get(0).getAccessCost();
+            for (QueryPlan plan : restricting.subList(1, restricting.size())) {
+                double intersected = independent(rows, plan.getEstimatedRows());
+                double extraCost = plan.getAccessCost() + intersectionCost(rows, plan.getEstimatedRows());
+                if ((rows - intersected) * RESIDUAL_ROW_COST > extraCost) {
+                    chosen.add(plan);
+                    rows = intersected;
+                    accessCost += extraCost;
+                }
+            }
+            if (chosen.size() == 1) {
+                return chosen.get(0);
+            }
+            return combined(AccessPath.INTERSECTION, filter, rows, accessCost, chosen);
+        }
+
+        @Override
+        public QueryPlan visit(OrFilter filter) {
+            List<QueryPlan> children = new ArrayList<>();
+            double rows = 0;
+            double accessCost = 0;
+            for (Filter child : filter.filters()) {
+                QueryPlan plan = child.accept(this);
+                if (plan.getAccessPath() == AccessPath.FULL_SCAN) {
+                    return fullScan(filter);
+                }
+                if (plan.getAccessPath() != AccessPath.EMPTY) {
+                    children.add(plan);
+                    rows += plan.getEstimatedRows();
+                    accessCost += plan.getAccessCost() + plan.getEstimatedRows() * BITMAP_ROW_COST;
+                }
+            }
+            if (children.isEmpty()) {
+                return empty(filter);
+            }
+            if (children.size() == 1) {
+                return children.get(0);
+            }
+            return cheapest(filter, List.of(combined(AccessPath.UNION, filter, Math.min(rowCount, rows), accessCost, children)));
+        }
+
+        @Override
+        public QueryPlan visit(NotFilter filter) {
+            return fullScan(filter);
+        }
+
+        @Override
+        public QueryPlan visit(TrueFilter filter) {
+            return fullScan(filter);
+        }
+
+        @Override
+        public QueryPlan visit(FalseFilter filter) {
+            return empty(filter);
+        }
+
+        @Override
+        public QueryPlan visit(HasPropertyFiltre filter) {
+            return fullScan(filter);
+        }
+
+        @Override
+        public QueryPlan visit(EqualsFilter filter) {
+            String value = filter.getValue();
+            if (value == null) {
+                return fullScan(filter);
+            }
+            List<QueryPlan> options = new ArrayList<>();
+            HashIndex hashIndex = store.hashIndex(filter.getKey());
+            int hashRows = hashIndex == null ? -1 : hashIndex.count(value);
+            if (hashRows >= 0) {
+                options.add(leaf(AccessPath.HASH_INDEX, filter, hashRows,
+                        PROBE_COST + hashRows * BITMAP_ROW_COST, () -> hashIndex.lookup(value)));
+            }
+            BitSlicedIndex slicedIndex = store.bitSlicedIndex(filter.getKey());
+            BigDecimal decimal = decimalValue(value);
+            if (slicedIndex != null && decimal != null) {
+                options.add(leaf(AccessPath.BIT_SLICED_INDEX, filter, slicedIndex.estimateBetween(decimal, decimal),
+                        slicedCost(slicedIndex), () -> slicedIndex.equalTo(decimal)));
+            }
+            RangeIndex rangeIndex = store.rangeIndex(filter.getKey());
+            double number = ValueComparator.numericValue(value);
+            if (rangeIndex != null && !Double.isNaN(number)) {
+                int rows = rangeIndex.countBetween(number, number);
+                options.add(leaf(AccessPath.RANGE_INDEX, filter, rows,
+                        PROBE_COST + rows * SORTED_ROW_COST, () -> rangeIndex.between(number, number)));
+            }
+            CrackingIndex adaptiveIndex = store.adaptiveIndex(filter.getKey());
+            if (adaptiveIndex != null && !Double.isNaN(number)) {
+                options.add(cracking(adaptiveIndex, filter, number, number));
+            }
+            SortedStringIndex sortedIndex = store.sortedIndex(filter.getKey());
+            if (sortedIndex != null && SortedStringIndex.isPlainString(value)) {
+                int rows = sortedIndex.countEqualIgnoreCase(value);
+                options.add(leaf(AccessPath.SORTED_INDEX, filter, rows,
+                        PROBE_COST + rows * SORTED_ROW_COST, () -> sortedIndex.equalIgnoreCase(value)));
+            }
+            return cheapest(filter, options);
+        }
+
+        @Override
+        public QueryPlan visit(LessThanFilter filter) {
+            return bound(filter, false, false);
+        }
+
+        @Override
+        public QueryPlan visit(GreaterThanFilter filter) {
+            return bound(filter, false, true);
+        }
+
+        @Override
+        public QueryPlan visit(RegexFilter filter) {
+            List<QueryPlan> options = new ArrayList<>();
+            TrigramIndex trigramIndex = store.trigramIndex(filter.getKey());
+            TrigramQuery query = trigramIndex == null ? TrigramQuery.ALL : RegexTrigramAnalyzer.analyze(filter.getPattern());
+            QueryPlan trigramPlan = null;
+            if (query.getOp() != TrigramQuery.Op.ALL) {
+                int rows = trigramIndex.estimate(query);
+                double accessCost = PROBE_COST * Math.max(1, query.getOperands().size())
+                        + trigramIndex.postingEntries(query) * BITMAP_ROW_COST;
+                trigramPlan = leaf(AccessPath.TRIGRAM_INDEX, filter, rows, accessCost, () -> trigramIndex.lookup(query));
+                options.add(trigramPlan);
+            }
+            SortedStringIndex sortedIndex = store.sortedIndex(filter.getKey());
+            String prefix = sortedIndex == null ? null : SortedStringIndex.literalPrefix(filter.getPattern());
+            if (prefix != null) {
+                int rows = sortedIndex.countStartingWith(prefix);
+                QueryPlan prefixPlan = leaf(AccessPath.SORTED_INDEX, filter, rows,
+                        PROBE_COST + rows * SORTED_ROW_COST, () -> sortedIndex.startingWith(prefix));
+                options.add(prefixPlan);
+                if (trigramPlan != null) {
+                    double intersected = independent(trigramPlan.getEstimatedRows(), rows);
+                    double accessCost = trigramPlan.getAccessCost() + prefixPlan.getAccessCost()
+                            + intersectionCost(trigramPlan.getEstimatedRows(), rows);
+                    options.add(combined(AccessPath.INTERSECTION, filter, intersected, accessCost, List.of(trigramPlan, prefixPlan)));
+                }
+            }
+            return cheapest(filter, options);
+        }
+
+        @Override
+        public QueryPlan visit(NotEqualsFilter filter) {
+            return fullScan(filter);
+        }
+
+        @Override
+        public QueryPlan visit(GreaterThanOrEqualFilter filter) {
+            return bound(filter, true, true);
+        }
+
+        @Override
+        public QueryPlan visit(LessThanOrEqualFilter filter) {
+            return bound(filter, true, false);
+        }
+
+        @Override
+        public QueryPlan visit(GeoWithinFilter filter) {
+            SpatialIndex index = store.spatialIndex(filter.getLatitudeKey(), filter.getLongitudeKey());
+            if (index == null) {
+                return fullScan(filter);
+            }
+            double latitude = filter.getLatitude();
+            double longitude = filter.getLongitude();
+            double radius = filter.getRadiusMeters();
+            int rows = index.countWithin(latitude, longitude, radius);
+            return cheapest(filter, List.of(leaf(AccessPath.SPATIAL_INDEX, filter, rows,
+                    PROBE_COST + rows * SORTED_ROW_COST, () -> index.within(latitude, longitude, radius))));
+        }
+
+        @Override
+        public QueryPlan visit(GeoBoundingBoxFilter filter) {
+            SpatialIndex index = store.spatialIndex(filter.getLatitudeKey(), filter.getLongitudeKey());
+            if (index == null) {
+                return fullScan(filter);
+            }
+            double minLatitude = filter.getMinLatitude();
+            double maxLatitude = filter.getMaxLatitude();
+            double minLongitude = filter.getMinLongitude();
+            double maxLongitude = filter.getMaxLongitude();
+            if (!filter.crossesAntimeridian()) {
+                int rows = index.countInBox(minLatitude, maxLatitude, minLongitude, maxLongitude);
+                return cheapest(filter, List.of(leaf(AccessPath.SPATIAL_INDEX, filter, rows, PROBE_COST + rows * SORTED_ROW_COST,
+                        () -> index.inBox(minLatitude, maxLatitude, minLongitude, maxLongitude))));
+            }
+            // Looked up as the two boxes on either side of the antimeridian
+            int rows = index.countInBox(minLatitude, maxLatitude, minLongitude, 180)
+                    + index.countInBox(minLatitude, maxLatitude, -180, maxLongitude);
+            return cheapest(filter, List.of(leaf(AccessPath.SPATIAL_INDEX, filter, rows,
+                    2 * PROBE_COST + rows * (SORTED_ROW_COST + BITMAP_ROW_COST),
+                    () -> RowBitmap.or(index.inBox(minLatitude, maxLatitude, minLongitude, 180),
+                            index.inBox(minLatitude, maxLatitude, -180, maxLongitude)))));
+        }
+
+        @Override
+        public QueryPlan visit(IpInRangeFilter filter) {
+            return fullScan(filter);
+        }
+
+        @Override
+        public QueryPlan visit(BeforeFilter filter) {
+            return fullScan(filter);
+        }
+
+        @Override
+        public QueryPlan visit(AfterFilter filter) {
+            return fullScan(filter);
+        }
+
+        @Override
+        public QueryPlan visit(WithinLastFilter filter) {
+            return fullScan(filter);
+        }
+
+        @Override
+        public QueryPlan visit(VersionCompareFilter filter) {
+            return fullScan(filter);
+        }
+
+        @Override
+        public QueryPlan visit(FuzzyMatchFilter filter) {
+            return fullScan(filter);
+        }
+
+        @Override
+        public QueryPlan visit(PrefixSetFilter filter) {
+            SortedStringIndex index = store.sortedIndex(filter.getKey());
+            if (index == null) {
+                return fullScan(filter);
+            }
+            // Looked up as one prefix range per prefix; the folded order is a superset for ASCII case folding
+            List<String> prefixes = filter.getPrefixes();
+            int rows = 0;
+            for (String prefix : prefixes) {
+                rows += index.countStartingWith(prefix);
+            }
+            return cheapest(filter, List.of(leaf(AccessPath.SORTED_INDEX, filter, rows,
+                    prefixes.size() * PROBE_COST + rows * (SORTED_ROW_COST + BITMAP_ROW_COST), () -> {
+                        RowBitmap union = new RowBitmap();
+                        for (String prefix : prefixes) {
+                            union = RowBitmap.or(union, index.startingWith(prefix));
+                        }
+                        return union;
+                    })));
+        }
+
+        @Override
+        public QueryPlan visit(ContainsTermsFilter filter) {
+            TermIndex index = store.termIndex(filter.getKey());
+            if (index == null) {
+                return fullScan(filter);
+            }
+            List<String> words = filter.getFoldedTerms();
+            boolean all = filter.getMode() == ContainsTermsFilter.Mode.ALL;
+            long postingEntries = 0;
+            long rows = all ? Integer.MAX_VALUE : 0;
+            for (String word : words) {
+                int count = index.postingCount(word);
+                postingEntries += count;
+                rows = all ? Math.min(rows, count) : rows + count;
+            }
+            return cheapest(filter, List.of(leaf(AccessPath.TERM_INDEX, filter, rows,
+                    words.size() * PROBE_COST + postingEntries * BITMAP_ROW_COST,
+                    () -> all ? index.containingAll(words) : index.containingAny(words))));
+        }
+
+        @Override
+        public QueryPlan visit(IntervalSetFilter filter) {
+            if (filter.getEquivalent() != null) {
+                // Strict bounds are decided exactly by the filter the intervals stand for
+                return filter.getEquivalent().accept(this);
+            }
+            List<NumericInterval> ranges = filter.getMergedIntervals();
+            if (ranges.isEmpty()) {
+                return empty(filter);
+            }
+            RangeIndex index = store.rangeIndex(filter.getKey());
+            if (index == null) {
+                return fullScan(filter);
+            }
+            // One inclusive lookup per disjoint range; each also returns the rows without a plain number
+            int rows = index.unorderedRows();
+            for (NumericInterval range : ranges) {
+                rows += index.countBetween(range.getLower(), range.getUpper()) - index.unorderedRows();
+            }
+            return cheapest(filter, List.of(leaf(AccessPath.RANGE_INDEX, filter, rows,
+                    ranges.size() * PROBE_COST + rows * (SORTED_ROW_COST + BITMAP_ROW_COST), () -> {
+                        RowBitmap union = new RowBitmap();
+                        for (NumericInterval range : ranges) {
+                            union = RowBitmap.or(union, index.between(range.getLower(), range.getUpper()));
+                        }
+                        return union;
+                    })));
+        }
+
+        @Override
+        public QueryPlan visit(FieldComparisonFilter filter) {
+            return fullScan(filter);
+        }
+
+        @Override
+        public QueryPlan visit(MultiValueFilter filter) {
+            return fullScan(filter);
+        }
+
+        @Override
+        public QueryPlan visit(ArithmeticFilter filter) {
+            return fullScan(filter);
+        }
+
+        /**
+         * Plans a comparison with a constant, from below if {@code lower} is set and from above
+         * otherwise.
+         */
+        private QueryPlan bound(BaseComparisonFilter filter, boolean inclusive, boolean lower) {
+            List<QueryPlan> options = new ArrayList<>();
+            BitSlicedIndex slicedIndex = store.bitSlicedIndex(filter.getKey());
+            BigDecimal decimal = slicedIndex == null ? null : decimalBound(filter.getValue(), inclusive, lower);
+            if (decimal != null) {
+                double rows = lower ? slicedIndex.estimateBetween(decimal, null) : slicedIndex.estimateBetween(null, decimal);
+                options.add(leaf(AccessPath.BIT_SLICED_INDEX, filter, rows, slicedCost(slicedIndex),
+                        () -> lower ? slicedIndex.atLeast(decimal, inclusive) : slicedIndex.atMost(decimal, inclusive)));
+            }
+            RangeIndex rangeIndex = store.rangeIndex(filter.getKey());
+            double number = ValueComparator.numericValue(filter.getValue());
+            if (rangeIndex != null && !Double.isNaN(number)) {
+                int rows = lower ? rangeIndex.countBetween(number, Double.POSITIVE_INFINITY)
+                        : rangeIndex.countBetween(Double.NEGATIVE_INFINITY, number);
+                options.add(leaf(AccessPath.RANGE_INDEX, filter, rows, PROBE_COST + rows * SORTED_ROW_COST,
+                        () -> lower ? rangeIndex.atLeast(number) : rangeIndex.atMost(number)));
+            }
+            CrackingIndex adaptiveIndex = store.adaptiveIndex(filter.getKey());
+            if (adaptiveIndex != null && !Double.isNaN(number)) {
+                options.add(lower ? cracking(adaptiveIndex, filter, number, Double.POSITIVE_INFINITY)
+                        : cracking(adaptiveIndex, filter, Double.NEGATIVE_INFINITY, number));
+            }
+            SortedStringIndex sortedIndex = store.sortedIndex(filter.getKey());
+            if (sortedIndex != null) {
+                options.addAll(stringBound(sortedIndex, filter, inclusive, lower));
+            }
+            return cheapest(filter, options);
+        }
+
+        /**
+         * Plans a comparison with a string constant in a sorted string index.
+         * <p>
+         * Strict comparisons compare plain strings ignoring case, while the inclusive ones compare
+         * every value case-sensitively whenever the constant is not a number.
+         * </p>
+         */
+        private List<QueryPlan> stringBound(SortedStringIndex index, BaseComparisonFilter filter,
+                                            boolean inclusive, boolean lower) {
+            String value = filter.getValue();
+            if (!inclusive) {
+                if (!SortedStringIndex.isPlainString(value)) {
+                    return List.of();
+                }
+                int rows = index.countCompareIgnoreCase(value, lower);
+                return List.of(leaf(AccessPath.SORTED_INDEX, filter, rows, PROBE_COST + rows * SORTED_ROW_COST,
+                        () -> index.compareIgnoreCase(value, lower)));
+            }
+            try {
+                Double.parseDouble(value);
+                return List.of();
+            } catch (NumberFormatException e) {
+                int rows = index.countCompareExact(value, lower);
+                return List.of(leaf(AccessPath.SORTED_INDEX, filter, rows, PROBE_COST + rows * SORTED_ROW_COST,
+                        () -> index.compareExact(value, lower)));
+            }
+        }
+
+        /**
+         * Plans a lookup in a spatial index for the bounding box the numeric comparisons of an
+         * AND put on its keys, looking through nested ANDs. Strict bounds are looked up
+         * inclusively.
+         *
+         * @return the plan, or null unless both keys are bounded
+         */
+        private QueryPlan spatial(SpatialIndex index, AndFilter filter) {
+            // Minimum and maximum latitude, then minimum and maximum longitude
+            double[] box = {Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                    Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+            List<Filter> bounds = new ArrayList<>();
+            collectBounds(index, filter, box, bounds);
+            boolean latitudeBounded = box[0] != Double.NEGATIVE_INFINITY || box[1] != Double.POSITIVE_INFINITY;
+            boolean longitudeBounded = box[2] != Double.NEGATIVE_INFINITY || box[3] != Double.POSITIVE_INFINITY;
+            if (!latitudeBounded || !longitudeBounded) {
+                return null;
+            }
+            int rows = index.countInBox(box[0], box[1], box[2], box[3]);
+            return leaf(AccessPath.SPATIAL_INDEX, new AndFilter(bounds.toArray(new Filter[0])), rows,
+                    PROBE_COST + rows * SORTED_ROW_COST, () -> index.inBox(box[0], box[1], box[2], box[3]));
+        }
+
+        private void collectBounds(SpatialIndex index, AndFilter filter, double[] box, List<Filter> bounds) {
+            for (Filter child : filter.filters()) {
+                if (child instanceof AndFilter) {
+                    collectBounds(index, (AndFilter) child, box, bounds);
+                    continue;
+                }
+                boolean lower = child instanceof GreaterThanFilter || child instanceof GreaterThanOrEqualFilter;
+                boolean upper = child instanceof LessThanFilter || child instanceof LessThanOrEqualFilter;
+                if (!lower && !upper && !(child instanceof EqualsFilter)) {
+                    continue;
+                }
+                BaseComparisonFilter comparison = (BaseComparisonFilter) child;
+                int offset;
+                if (comparison.getKey().equals(index.getLatitudeKey())) {
+                    offset = 0;
+                } else if (comparison.getKey().equals(index.getLongitudeKey())) {
+                    offset = 2;
+                } else {
+                    continue;
+                }
+                double number = comparison.getValue() == null ? Double.NaN : ValueComparator.numericValue(comparison.getValue());
+                if (Double.isNaN(number)) {
+                    continue;
+                }
+                if (!upper) {
+                    box[offset] = Math.max(box[offset], number);
+                }
+                if (!lower) {
+                    box[offset + 1] = Math.min(box[offset + 1], number);
+                }
+                bounds.add(child);
+            }
+        }
+
+        /**
+         * Estimates the rows satisfying two predicates with the given estimated rows, assuming
+         * they are independent.
+         */
+        private double independent(double rows, double otherRows) {
+            return rowCount == 0 ? 0 : rows * otherRows / rowCount;
+        }
+
+        /**
+         * Estimates intersecting two bitmaps, which costs in proportion to the smaller one.
+         */
+        private double intersectionCost(double rows, double otherRows) {
+            return Math.min(rows, otherRows) * BITMAP_ROW_COST;
+        }
+
+        /**
+         * Plans a lookup in an adaptive index between two inclusive bounds. Its cost includes
+         * partitioning the pieces the finite bounds fall into, which the lookup does as a side
+         * effect.
+         */
+        private QueryPlan cracking(CrackingIndex index, Filter filter, double lower, double upper) {
+            double rows = index.estimateBetween(lower, upper);
+            double partitioned = 0;
+            if (lower != Double.NEGATIVE_INFINITY) {
+                partitioned += index.pieceSize(lower);
+            }
+            if (upper != Double.POSITIVE_INFINITY) {
+                partitioned += index.pieceSize(Math.nextUp(upper));
+            }
+            Supplier<RowBitmap> lookup;
+            if (lower == Double.NEGATIVE_INFINITY) {
+                lookup = () -> index.atMost(upper);
+            } else if (upper == Double.POSITIVE_INFINITY) {
+                lookup = () -> index.atLeast(lower);
+            } else {
+                lookup = () -> index.between(lower, upper);
+            }
+            return leaf(AccessPath.CRACKING_INDEX, filter, rows,
+                    PROBE_COST + partitioned * BITMAP_ROW_COST + rows * SORTED_ROW_COST, lookup);
+        }
+
+        /**
+         * Estimates a bit-sliced lookup as two dense bitmap operations per slice over the sliced rows.
+         */
+        private double slicedCost(BitSlicedIndex index) {
+            return 2.0 * index.sliceCount() * index.slicedRows() * DENSE_ROW_COST;
+        }
+
+        private QueryPlan cheapest(Filter filter, List<QueryPlan> options) {
+            QueryPlan best = fullScan(filter);
+            for (QueryPlan option : options) {
+                if (option.getCost() < best.getCost()) {
+                    best = option;
+                }
+            }
+            return best;
+        }
+
+        private QueryPlan leaf(AccessPath accessPath, Filter filter, double rows, double accessCost,
+                               Supplier<RowBitmap> lookup) {
+            // Indexes keep the entries of removed rows, so their counts can exceed the live rows
+            double estimate = Math.min(rows, rowCount);
+            return new QueryPlan(accessPath, filter, estimate, accessCost,
+                    accessCost + estimate * RESIDUAL_ROW_COST, List.of(), lookup);
+        }
+
+        private QueryPlan combined(AccessPath accessPath, Filter filter, double rows, double accessCost,
+                                   List<QueryPlan> children) {
+            return new QueryPlan(accessPath, filter, rows, accessCost,
+                    accessCost + rows * RESIDUAL_ROW_COST, children, null);
+        }
+
+        private QueryPlan fullScan(Filter filter) {
+            return new QueryPlan(AccessPath.FULL_SCAN, filter, rowCount, 0,
+                    rowCount * RESIDUAL_ROW_COST, List.of(), null);
+        }
+
+        private QueryPlan empty(Filter filter) {
+            return new QueryPlan(AccessPath.EMPTY, filter, 0, 0, 0, List.of(), null);
+        }
+
+        /**
+         * Converts a comparison constant to an exact bound for a bit-sliced index.
+         * <p>
+         * Strict comparisons compare numbers exactly, but the inclusive ones compare them as
+         * doubles, so two distinct values can be equal after rounding. Their bound is widened to the
+         * neighbouring double, which every value rounding to the constant or beyond exceeds.
+         * </p>
+         */
+        private BigDecimal decimalBound(String value, boolean inclusive, boolean lower) {
+            BigDecimal decimal = decimalValue(value);
+            if (decimal == null || !inclusive) {
+                return decimal;
+            }
+            double rounded = Double.parseDouble(value);
+            if (Double.isInfinite(rounded)) {
+                return null;
+            }
+            return new BigDecimal(lower ? Math.nextDown(rounded) : Math.nextUp(rounded));
+        }
+
+        private BigDecimal decimalValue(String value) {
+            try {
+                return new BigDecimal(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
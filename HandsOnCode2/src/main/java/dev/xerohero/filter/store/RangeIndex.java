@@ -0,0 +1,161 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.bitmap.RowBitmap;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Sorted index over the numeric values of one key.
+ * <p>
+ * Rows are appended in insertion order and sorted lazily on the first lookup after a change.
+ * Bounds are matched inclusively and in double precision, so lookups return a superset of the
+ * rows satisfying the exact predicate. Rows whose value is not a plain number are compared as
+ * strings by the filters and are therefore returned by every lookup.
+ * </p>
+ */
+final class RangeIndex {
+    private final String key;
+    private double[] values = new double[16];
+    private int[] rows = new int[16];
+    private int size;
+    private boolean sorted = true;
+    private final RowBitmap unorderedRows = new RowBitmap();
+
+    RangeIndex(String key) {
+        this.key = key;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    void add(int rowId, Map<String, String> resource) {
+        String value = resource.get(key);
+        if (value == null) {
+            return;
+        }
+        double number = ValueComparator.numericValue(value);
+        if (Double.isNaN(number)) {
+            unorderedRows.add(rowId);
+            return;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            rows = Arrays.copyOf(rows, size * 2);
+        }
+        if (size > 0 && number < values[size - 1]) {
+            sorted = false;
+        }
+        values[size] = number;
+        rows[size] = rowId;
+        size++;
+    }
+
+    /**
+     * Finds the candidate rows with a value greater than or equal to the bound.
+     */
+    RowBitmap atLeast(double bound) {
+        ensureSorted();
+        return collect(lowerIndex(bound), size);
+    }
+
+    /**
+     * Finds the candidate rows with a value less than or equal to the bound.
+     */
+    RowBitmap atMost(double bound) {
+        ensureSorted();
+        return collect(0, upperIndex(bound));
+    }
+
+    /**
+     * Finds the candidate rows with a value between the bounds, both inclusive.
+     */
+    RowBitmap between(double lower, double upper) {
+        ensureSorted();
+        return collect(lowerIndex(lower), Math.max(lowerIndex(lower), upperIndex(upper)));
+    }
+
+    /**
+     * Counts the candidate rows with a value between the bounds, both inclusive; infinite bounds
+     * are unbounded.
+     */
+    int countBetween(double lower, double upper) {
+        ensureSorted();
+        return Math.max(0, upperIndex(upper) - lowerIndex(lower)) + unorderedRows.cardinality();
+    }
+
+    /**
+     * Gets the number of rows whose value is not a plain number, which every lookup returns.
+     */
+    int unorderedRows() {
+        return unorderedRows.cardinality();
+    }
+
+    /**
+     * Gets the number of rows with a numeric value.
+     */
+    int numericRows() {
+        return size;
+    }
+
+    private RowBitmap collect(int from, int to) {
+        // Sorting the row ids first lets the bitmap append to its last container
+        int[] rowIds = Arrays.copyOfRange(rows, from, to);
+        Arrays.sort(rowIds);
+        RowBitmap result = RowBitmap.of(rowIds);
+        return unorderedRows.isEmpty() ? result : RowBitmap.or(result, unorderedRows);
+    }
+
+    /** First position whose value is >= bound. */
+    private int lowerIndex(double bound) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < bound) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** First position whose value is > bound. */
+    private int upperIndex(double bound) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= bound) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureSorted() {
+        if (sorted) {
+            return;
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        double[] source = values;
+        Arrays.sort(order, (a, b) -> Double.compare(source[a], source[b]));
+        double[] sortedValues = new double[values.length];
+        int[] sortedRows = new int[rows.length];
+        for (int i = 0; i < size; i++) {
+            sortedValues[i] = values[order[i]];
+            sortedRows[i] = rows[order[i]];
+        }
+        values = sortedValues;
+        rows = sortedRows;
+        sorted = true;
+    }
+}
@@ -0,0 +1,440 @@
+package dev.xerohero.filter.store;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Derives the trigrams a value must contain to match a regular expression.
+ * <p>
+ * The pattern is parsed into a tree and every node is summarised either by the exact, small set of
+ * strings it can match or, once that set grows too large or becomes infinite, by the possible
+ * prefixes and suffixes of its strings and a {@link TrigramQuery} they all satisfy. Concatenation
+ * combines exact sets by cross product and adds the strings spanning the boundary between its
+ * parts, alternation takes unions, and repetition with a minimum of zero makes a node
+ * unrestricted. Because {@link dev.xerohero.filter.operators.comparison.RegexFilter} matches the
+ * whole value, the summary of the root node applies to the whole value.
+ * </p>
+ * <p>
+ * Constructs whose effect on the matched text is hard to bound (back-references, lookaround,
+ * inline flags, Unicode properties and the like) make the whole pattern unrestricted, so the
+ * result is always safe to use as a pre-filter.
+ * </p>
+ * <pre>
+ * RegexTrigramAnalyzer.analyze(".*error (4|5)0[0-9].*")  // ('err' AND 'rro' AND 'ror' AND ...)
+ * RegexTrigramAnalyzer.analyze("a.*b")                   // ALL
+ * </pre>
+ */
+final class RegexTrigramAnalyzer {
+    /** Largest exact string set tracked per node. */
+    private static final int MAX_EXACT = 16;
+
+    private static final Info EMPTY = Info.exact(Set.of(""));
+    private static final Info ANY = Info.inexact(Set.of(""), Set.of(""), TrigramQuery.ALL);
+
+    private final String regex;
+    private int pos;
+
+    private RegexTrigramAnalyzer(String regex) {
+        this.regex = regex;
+    }
+
+    /**
+     * Computes the trigram query for a pattern.
+     *
+     * @param regex the regular expression
+     * @return the query every fully matching value satisfies, or {@link TrigramQuery#ALL}
+     */
+    static TrigramQuery analyze(String regex) {
+        RegexTrigramAnalyzer analyzer = new RegexTrigramAnalyzer(regex);
+        try {
+            Info info = analyzer.parseAlternation();
+            return analyzer.pos == regex.length() ? info.query() : TrigramQuery.ALL;
+        } catch (UnsupportedPatternException e) {
+            return TrigramQuery.ALL;
+        }
+    }
+
+    private Info parseAlternation() {
+        Info result = parseConcatenation();
+        while (pos < regex.length() && regex.charAt(pos) == '|') {
+            pos++;
+            result = alternate(result, parseConcatenation());
+        }
+        return result;
+    }
+
+    private Info parseConcatenation() {
+        Info result = EMPTY;
+        while (pos < regex.length() && regex.charAt(pos) != '|' && regex.charAt(pos) != ')') {
+            result = concatenate(result, parseRepetition());
+        }
+        return result;
+    }
+
+    private Info parseRepetition() {
+        Info atom = parseAtom();
+        while (pos < regex.length()) {
+            char c = regex.charAt(pos);
+            int min;
+            int max;
+            if (c == '*') {
+                min = 0;
+                max = Integer.MAX_VALUE;
+                pos++;
+            } else if (c == '+') {
+                min = 1;
+                max = Integer.MAX_VALUE;
+                pos++;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+                pos++;
+            } else if (c == '{') {
+                int close = regex.indexOf('}', pos);
+                if (close < 0) {
+                    throw new UnsupportedPatternException();
+                }
+                String[] bounds = regex.substring(pos + 1, close).split(",", -1);
+                try {
+                    min = Integer.parseInt(bounds[0].trim());
+                    max = bounds.length == 1 ? min
+                            : bounds[1].trim().isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(bounds[1].trim());
+                } catch (NumberFormatException e) {
+                    throw new UnsupportedPatternException();
+                }
+                pos = close + 1;
+            } else {
+                break;
+            }
+            // Lazy and possessive quantifiers match the same strings as greedy ones
+            if (pos < regex.length() && (regex.charAt(pos) == '?' || regex.charAt(pos) == '+')) {
+                pos++;
+            }
+            atom = repeat(atom, min, max);
+        }
+        return atom;
+    }
+
+    private Info parseAtom() {
+        char c = regex.charAt(pos++);
+        switch (c) {
+            case '(':
+                return parseGroup();
+            case '[':
+                return parseClass();
+            case '.':
+                return ANY;
+            case '^':
+            case '$':
+                return EMPTY;
+            case '\\':
+                return parseEscape();
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                throw new UnsupportedPatternException();
+            default:
+                if (Character.isHighSurrogate(c) && pos < regex.length() && Character.isLowSurrogate(regex.charAt(pos))) {
+                    // Quantifiers apply to the whole code point
+                    return literal(regex.substring(pos - 1, ++pos));
+                }
+                return literal(String.valueOf(c));
+        }
+    }
+
+    private Info parseGroup() {
+        if (pos < regex.length() && regex.charAt(pos) == '?') {
+            pos++;
+            char kind = pos < regex.length() ? regex.charAt(pos++) : ' ';
+            if (kind == '<' && pos < regex.length() && Character.isLetter(regex.charAt(pos))) {
+                // Named capturing group
+                int close = regex.indexOf('>', pos);
+                if (close < 0) {
+                    throw new UnsupportedPatternException();
+                }
+                pos = close + 1;
+            } else if (kind != ':' && kind != '>') {
+                // Lookaround and inline flags
+                throw new UnsupportedPatternException();
+            }
+        }
+        Info inner = parseAlternation();
+        if (pos >= regex.length() || regex.charAt(pos) != ')') {
+            throw new UnsupportedPatternException();
+        }
+        pos++;
+        return inner;
+    }
+
+    private Info parseEscape() {
+        if (pos >= regex.length()) {
+            throw new UnsupportedPatternException();
+        }
+        char c = regex.charAt(pos++);
+        switch (c) {
+            case 't':
+                return literal("\t");
+            case 'n':
+                return literal("\n");
+            case 'r':
+                return literal("\r");
+            case 'f':
+                return literal("\f");
+            case 'a':
+                return literal("\u0007");
+            case 'e':
+                return literal("\u001B");
+            case 'd': case 'D': case 'w': case 'W': case 's': case 'S':
+            case 'h': case 'H': case 'v': case 'V': case 'R': case 'X':
+                return ANY;
+            case 'b': case 'B': case 'A': case 'z': case 'Z': case 'G':
+                if (pos < regex.length() && regex.charAt(pos) == '{') {
+                    throw new UnsupportedPatternException();
+                }
+                return EMPTY;
+            case 'Q':
+                int end = regex.indexOf("\\E", pos);
+                String quoted = regex.substring(pos, end < 0 ? regex.length() : end);
+                pos = end < 0 ? regex.length() : end + 2;
+                if (pos < regex.length() && "*+?{".indexOf(regex.charAt(pos)) >= 0) {
+                    // A quantifier would only apply to the last quoted character
+                    throw new UnsupportedPatternException();
+                }
+                return literal(quoted);
+            default:
+                if (Character.isLetterOrDigit(c)) {
+                    throw new UnsupportedPatternException();
+                }
+                return literal(String.valueOf(c));
+        }
+    }
+
+    private Info parseClass() {
+        boolean negated = pos < regex.length() && regex.charAt(pos) == '^';
+        if (negated) {
+            pos++;
+        }
+        if (pos < regex.length() && regex.charAt(pos) == ']') {
+            throw new UnsupportedPatternException();
+        }
+        Set<String> members = new LinkedHashSet<>();
+        boolean unbounded = false;
+        while (true) {
+            if (pos >= regex.length()) {
+                throw new UnsupportedPatternException();
+            }
+            char c = regex.charAt(pos++);
+            if (c == ']') {
+                break;
+            }
+            if (c == '[' || (c == '&' && pos < regex.length() && regex.charAt(pos) == '&')) {
+                throw new UnsupportedPatternException();
+            }
+            int from;
+            if (c == '\\') {
+                from = parseClassEscape();
+                if (from < 0) {
+                    unbounded = true;
+                    continue;
+                }
+            } else {
+                from = c;
+            }
+            int to = from;
+            if (pos + 1 < regex.length() && regex.charAt(pos) == '-' && regex.charAt(pos + 1) != ']') {
+                pos++;
+                char end = regex.charAt(pos++);
+                if (end == '\\') {
+                    to = parseClassEscape();
+                    if (to < 0) {
+                        throw new UnsupportedPatternException();
+                    }
+                } else if (end == '[') {
+                    throw new UnsupportedPatternException();
+                } else {
+                    to = end;
+                }
+            }
+            if (Character.isSurrogate((char) from) || Character.isSurrogate((char) to) || to - from >= MAX_EXACT) {
+                unbounded = true;
+                continue;
+            }
+            for (int member = from; member <= to; member++) {
+                members.add(String.valueOf(TrigramIndex.fold((char) member)));
+            }
+        }
+        if (negated || unbounded || members.size() > MAX_EXACT) {
+            return ANY;
+        }
+        return Info.exact(members);
+    }
+
+    /**
+     * Parses an escape inside a character class.
+     *
+     * @return the escaped character, or -1 for a predefined class such as {@code \d}
+     */
+    private int parseClassEscape() {
+        if (pos >= regex.length()) {
+            throw new UnsupportedPatternException();
+        }
+        char c = regex.charAt(pos++);
+        switch (c) {
+            case 't': return '\t';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 'f': return '\f';
+            case 'a': return '\u0007';
+            case 'e': return '\u001B';
+            case 'd': case 'D': case 'w': case 'W': case 's': case 'S':
+            case 'h': case 'H': case 'v': case 'V':
+                return -1;
+            default:
+                if (Character.isLetterOrDigit(c)) {
+                    throw new UnsupportedPatternException();
+                }
+                return c;
+        }
+    }
+
+    private static Info literal(String text) {
+        return Info.exact(Set.of(TrigramIndex.fold(text)));
+    }
+
+    private static Info concatenate(Info left, Info right) {
+        if (left.exact != null && right.exact != null) {
+            Set<String> product = product(left.exact, right.exact);
+            if (product != null) {
+                return Info.exact(product);
+            }
+        }
+        List<TrigramQuery> match = new ArrayList<>(List.of(left.match, right.match));
+        // Strings spanning the boundary between the two parts
+        Set<String> boundary = product(left.suffix, right.prefix);
+        if (boundary != null) {
+            match.add(TrigramQuery.containingAny(boundary));
+        }
+        Set<String> prefix = left.exact != null ? product(left.exact, right.prefix) : left.prefix;
+        Set<String> suffix = right.exact != null ? product(left.suffix, right.exact) : right.suffix;
+        return Info.inexact(prefix, suffix, TrigramQuery.and(match));
+    }
+
+    private static Info alternate(Info left, Info right) {
+        if (left.exact != null && right.exact != null) {
+            Set<String> union = new LinkedHashSet<>(left.exact);
+            union.addAll(right.exact);
+            if (union.size() <= MAX_EXACT) {
+                return Info.exact(union);
+            }
+        }
+        return Info.inexact(union(left.prefix, right.prefix), union(left.suffix, right.suffix),
+                TrigramQuery.or(List.of(left.match, right.match)));
+    }
+
+    private static Info repeat(Info atom, int min, int max) {
+        if (min == 0 && max == 1) {
+            return alternate(atom, EMPTY);
+        }
+        if (min == 0) {
+            return ANY;
+        }
+        if (min == 1 && max == 1) {
+            return atom;
+        }
+        // At least one occurrence: the first and last still bound the prefix and suffix
+        return Info.inexact(atom.prefix, atom.suffix, atom.match);
+    }
+
+    /**
+     * Concatenates every pair of strings, or returns null if either set is unknown or the
+     * result would be too large.
+     */
+    private static Set<String> product(Set<String> left, Set<String> right) {
+        if (left == null || right == null || left.size() * right.size() > MAX_EXACT) {
+            return null;
+        }
+        Set<String> product = new LinkedHashSet<>();
+        for (String prefix : left) {
+            for (String suffix : right) {
+                product.add(prefix + suffix);
+            }
+        }
+        return product;
+    }
+
+    private static Set<String> union(Set<String> left, Set<String> right) {
+        if (left == null || right == null) {
+            return null;
+        }
+        Set<String> union = new LinkedHashSet<>(left);
+        union.addAll(right);
+        return union;
+    }
+
+    /**
+     * Summary of a pattern node.
+     * <p>
+     * {@code exact} is the set of strings the node matches, or null if it is too large or
+     * unknown. Every matched string starts with an element of {@code prefix}, ends with an
+     * element of {@code suffix} (null meaning unknown) and satisfies {@code match}; for exact
+     * nodes these are derived from the exact set.
+     * </p>
+     */
+    private static final class Info {
+        final Set<String> exact;
+        final Set<String> prefix;
+        final Set<String> suffix;
+        final TrigramQuery match;
+
+        private Info(Set<String> exact, Set<String> prefix, Set<String> suffix, TrigramQuery match) {
+            this.exact = exact;
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.match = match;
+        }
+
+        static Info exact(Set<String> strings) {
+            return new Info(strings, strings, strings, TrigramQuery.containingAny(strings));
+        }
+
+        /**
+         * Creates an inexact summary. The full prefixes and suffixes are folded into the match
+         * query, and only the two characters that can still form a trigram with a neighbour are kept.
+         */
+        static Info inexact(Set<String> prefix, Set<String> suffix, TrigramQuery match) {
+            List<TrigramQuery> required = new ArrayList<>(List.of(match));
+            if (prefix != null) {
+                required.add(TrigramQuery.containingAny(prefix));
+            }
+            if (suffix != null) {
+                required.add(TrigramQuery.containingAny(suffix));
+            }
+            return new Info(null, trim(prefix, true), trim(suffix, false), TrigramQuery.and(required));
+        }
+
+        private static Set<String> trim(Set<String> strings, boolean keepStart) {
+            if (strings == null) {
+                return null;
+            }
+            Set<String> trimmed = new LinkedHashSet<>();
+            for (String string : strings) {
+                int length = Math.min(2, string.length());
+                trimmed.add(keepStart ? string.substring(0, length) : string.substring(string.length() - length));
+            }
+            return trimmed.size() <= MAX_EXACT ? trimmed : null;
+        }
+
+        TrigramQuery query() {
+            return match;
+        }
+    }
+
+    private static final class UnsupportedPatternException extends RuntimeException {
+        UnsupportedPatternException() {
+            super(null, null, false, false);
+        }
+    }
+}
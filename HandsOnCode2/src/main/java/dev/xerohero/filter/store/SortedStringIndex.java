@@ -0,0 +1,331 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.bitmap.RowBitmap;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Sorted index over the string values of one key, answering prefix and lexicographic range
+ * lookups with two binary searches.
+ * <p>
+ * Values are kept in two sorted arrays: one ordered by the case-folded value, which matches the
+ * order of {@link String#compareToIgnoreCase(String)} used by {@code >} and {@code <} and is a
+ * safe superset for case-insensitive prefix patterns, and one ordered by the raw value, which
+ * matches the case-sensitive fallback of {@code >=} and {@code <=}. Both are appended to and sorted
+ * lazily on the first lookup after a change, like a {@link RangeIndex}.
+ * </p>
+ * <p>
+ * Values that the comparison filters do not compare as plain strings (numbers, values wrapped in
+ * slashes and values with surrogate pairs) are returned by every case-insensitive range lookup.
+ * </p>
+ */
+final class SortedStringIndex {
+    private final String key;
+    private final SortedColumn folded = new SortedColumn();
+    private final SortedColumn raw = new SortedColumn();
+    /** Rows compared to strings by other means than {@link String#compareToIgnoreCase(String)}. */
+    private final RowBitmap unorderedRows = new RowBitmap();
+
+    SortedStringIndex(String key) {
+        this.key = key;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    void add(int rowId, Map<String, String> resource) {
+        String value = resource.get(key);
+        if (value == null) {
+            return;
+        }
+        folded.add(fold(value), rowId);
+        raw.add(value, rowId);
+        if (!isPlainString(value)) {
+            unorderedRows.add(rowId);
+        }
+    }
+
+    /**
+     * Finds the candidate rows whose value starts with the prefix, ignoring case.
+     *
+     * @param prefix the prefix
+     * @return the candidate rows
+     */
+    RowBitmap startingWith(String prefix) {
+        String foldedPrefix = fold(prefix);
+        return folded.between(foldedPrefix, true, successor(foldedPrefix), false);
+    }
+
+    /**
+     * Finds the candidate rows for a case-insensitive equality with a plain string.
+     *
+     * @param value the value (see {@link #isPlainString(String)})
+     * @return the candidate rows
+     */
+    RowBitmap equalIgnoreCase(String value) {
+        String foldedValue = fold(value);
+        RowBitmap rows = folded.between(foldedValue, true, foldedValue, true);
+        return unorderedRows.isEmpty() ? rows : RowBitmap.or(rows, unorderedRows);
+    }
+
+    /**
+     * Finds the candidate rows for a case-insensitive comparison with a plain string.
+     *
+     * @param bound the bound (see {@link #isPlainString(String)})
+     * @param greater whether to find values greater than the bound rather than less
+     * @return the candidate rows
+     */
+    RowBitmap compareIgnoreCase(String bound, boolean greater) {
+        String foldedBound = fold(bound);
+        RowBitmap rows = greater ? folded.between(foldedBound, false, null, false)
+                : folded.between(null, false, foldedBound, false);
+        return unorderedRows.isEmpty() ? rows : RowBitmap.or(rows, unorderedRows);
+    }
+
+    /**
+     * Finds the rows for a case-sensitive comparison, inclusive of the bound.
+     *
+     * @param bound the bound
+     * @param atLeast whether to find values greater than or equal to the bound rather than less
+     *                than or equal to it
+     * @return the matching rows
+     */
+    RowBitmap compareExact(String bound, boolean atLeast) {
+        return atLeast ? raw.between(bound, true, null, false) : raw.between(null, false, bound, true);
+    }
+
+    /**
+     * Counts the candidate rows {@link #startingWith(String)} returns.
+     */
+    int countStartingWith(String prefix) {
+        String foldedPrefix = fold(prefix);
+        return folded.count(foldedPrefix, true, successor(foldedPrefix), false);
+    }
+
+    /**
+     * Counts the candidate rows {@link #equalIgnoreCase(String)} returns.
+     */
+    int countEqualIgnoreCase(String value) {
+        String foldedValue = fold(value);
+        return folded.count(foldedValue, true, foldedValue, true) + unorderedRows.cardinality();
+    }
+
+    /**
+     * Counts the candidate rows {@link #compareIgnoreCase(String, boolean)} returns.
+     */
+    int countCompareIgnoreCase(String bound, boolean greater) {
+        String foldedBound = fold(bound);
+        int count = greater ? folded.count(foldedBound, false, null, false)
+                : folded.count(null, false, foldedBound, false);
+        return count + unorderedRows.cardinality();
+    }
+
+    /**
+     * Counts the rows {@link #compareExact(String, boolean)} returns.
+     */
+    int countCompareExact(String bound, boolean atLeast) {
+        return atLeast ? raw.count(bound, true, null, false) : raw.count(null, false, bound, true);
+    }
+
+    /**
+     * Computes the smallest string greater than every string starting with the prefix, or null if
+     * there is none.
+     */
+    private static String successor(String prefix) {
+        int end = prefix.length();
+        while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) {
+            end--;
+        }
+        if (end == 0) {
+            return null;
+        }
+        return prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+    }
+
+    /**
+     * Checks whether {@code >} and {@code <} compare the value with a plain string constant via
+     * {@link String#compareToIgnoreCase(String)}, which the folded order reproduces.
+     */
+    static boolean isPlainString(String value) {
+        if (ValueComparator.isNumeric(value) || value.startsWith("/") || value.endsWith("/")) {
+            return false;
+        }
+        try {
+            new java.math.BigDecimal(value);
+            return false;
+        } catch (NumberFormatException e) {
+            // Not a number
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isSurrogate(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Folds every character the way {@link String#compareToIgnoreCase(String)} compares them.
+     */
+    static String fold(String value) {
+        StringBuilder folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            folded.append(Character.toLowerCase(Character.toUpperCase(value.charAt(i))));
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Extracts the literal prefix every string fully matching the pattern starts with.
+     *
+     * @param regex the pattern
+     * @return the prefix, or null if the pattern has no literal prefix or contains a top-level
+     *         alternation
+     */
+    static String literalPrefix(String regex) {
+        StringBuilder prefix = new StringBuilder();
+        int pos = regex.startsWith("^") ? 1 : 0;
+        while (pos < regex.length()) {
+            char c = regex.charAt(pos);
+            String literal;
+            if (c == '\\' && pos + 1 < regex.length() && !Character.isLetterOrDigit(regex.charAt(pos + 1))) {
+                literal = String.valueOf(regex.charAt(pos + 1));
+                pos += 2;
+            } else if ("\\^$.|?*+()[]{}".indexOf(c) < 0 && !Character.isSurrogate(c)) {
+                literal = String.valueOf(c);
+                pos++;
+            } else {
+                break;
+            }
+            if (pos < regex.length() && "?*{".indexOf(regex.charAt(pos)) >= 0) {
+                // The quantifier makes the last literal optional
+                break;
+            }
+            prefix.append(literal);
+        }
+        if (prefix.length() == 0 || hasTopLevelAlternation(regex, pos)) {
+            return null;
+        }
+        return prefix.toString();
+    }
+
+    private static boolean hasTopLevelAlternation(String regex, int from) {
+        int depth = 0;
+        boolean inClass = false;
+        for (int i = from; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == 'Q') {
+                    // Quoted sections may contain anything; give up rather than track them
+                    return true;
+                }
+                i++;
+            } else if (inClass) {
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Append-only column of string keys and row ids, sorted by key on demand.
+     */
+    private static final class SortedColumn {
+        private String[] keys = new String[16];
+        private int[] rows = new int[16];
+        private int size;
+        private boolean sorted = true;
+
+        void add(String key, int rowId) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            if (size > 0 && key.compareTo(keys[size - 1]) < 0) {
+                sorted = false;
+            }
+            keys[size] = key;
+            rows[size] = rowId;
+            size++;
+        }
+
+        /**
+         * Finds the rows with a key between the bounds; a null bound is unbounded.
+         */
+        RowBitmap between(String lower, boolean lowerInclusive, String upper, boolean upperInclusive) {
+            int count = count(lower, lowerInclusive, upper, upperInclusive);
+            if (count == 0) {
+                return new RowBitmap();
+            }
+            int from = lower == null ? 0 : search(lower, !lowerInclusive);
+            int to = from + count;
+            int[] rowIds = Arrays.copyOfRange(rows, from, to);
+            Arrays.sort(rowIds);
+            return RowBitmap.of(rowIds);
+        }
+
+        /**
+         * Counts the rows with a key between the bounds; a null bound is unbounded.
+         */
+        int count(String lower, boolean lowerInclusive, String upper, boolean upperInclusive) {
+            ensureSorted();
+            if (upper != null && lower != null && upper.compareTo(lower) < 0) {
+                return 0;
+            }
+            int from = lower == null ? 0 : search(lower, !lowerInclusive);
+            int to = upper == null ? size : search(upper, upperInclusive);
+            return Math.max(0, to - from);
+        }
+
+        /**
+         * Finds the first position whose key is greater than the bound, or greater than or equal
+         * to it if {@code skipEqual} is false.
+         */
+        private int search(String bound, boolean skipEqual) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int comparison = keys[mid].compareTo(bound);
+                if (comparison < 0 || (skipEqual && comparison == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void ensureSorted() {
+            if (sorted) {
+                return;
+            }
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            String[] source = keys;
+            Arrays.sort(order, (a, b) -> source[a].compareTo(source[b]));
+            String[] sortedKeys = new String[keys.length];
+            int[] sortedRows = new int[rows.length];
+            for (int i = 0; i < size; i++) {
+                sortedKeys[i] = keys[order[i]];
+                sortedRows[i] = rows[order[i]];
+            }
+            keys = sortedKeys;
+            rows = sortedRows;
+            sorted = true;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.GeoDistance;
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.bitmap.RowBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grid index over the coordinates held by a latitude and a longitude key.
+ * <p>
+ * The world is divided into a grid of {@code 2^bits} by {@code 2^bits} cells, and every row is
+ * filed under the geohash of its cell: the interleaved bits of the cell's longitude and latitude
+ * index. Cells sharing a geohash prefix form a coarser cell that occupies a contiguous range of
+ * geohashes, so a region is looked up by covering it with a bounded number of cells at the finest
+ * level that keeps the cover small, and binary searching the sorted entries for each cell's range.
+ * </p>
+ * <p>
+ * Lookups cover the bounding box of a region inclusively, so they return a superset of the rows
+ * inside it. Rows whose coordinates are not plain numbers, or lie outside the valid range, are
+ * returned by every lookup; rows missing either key are never returned.
+ * </p>
+ */
+final class SpatialIndex {
+    /** Default number of bits per dimension, giving cells of about 0.6 by 1.1 km at the equator. */
+    static final int DEFAULT_BITS = 15;
+    /** Largest number of bits per dimension; an entry packs the geohash above a 32-bit row id. */
+    static final int MAX_BITS = 15;
+    /** Largest number of cells a lookup covers its region with. */
+    static final int MAX_COVER_CELLS = 64;
+
+    private final String latitudeKey;
+    private final String longitudeKey;
+    private final int bits;
+    /** Geohash in the high and row id in the low 32 bits of every entry. */
+    private long[] entries = new long[16];
+    private int size;
+    private boolean sorted = true;
+    private final RowBitmap unorderedRows = new RowBitmap();
+
+    SpatialIndex(String latitudeKey, String longitudeKey, int bits) {
+        if (bits < 1 || bits > MAX_BITS) {
+            throw new IllegalArgumentException("Bits must be between 1 and " + MAX_BITS);
+        }
+        this.latitudeKey = latitudeKey;
+        this.longitudeKey = longitudeKey;
+        this.bits = bits;
+    }
+
+    String getLatitudeKey() {
+        return latitudeKey;
+    }
+
+    String getLongitudeKey() {
+        return longitudeKey;
+    }
+
+    void add(int rowId, Map<String, String> resource) {
+        String latitudeValue = resource.get(latitudeKey);
+        String longitudeValue = resource.get(longitudeKey);
+        if (latitudeValue == null || longitudeValue == null) {
+            return;
+        }
+        double latitude = ValueComparator.numericValue(latitudeValue);
+        double longitude = ValueComparator.numericValue(longitudeValue);
+        if (!(Math.abs(latitude) <= 90) || !(Math.abs(longitude) <= 180)) {
+            unorderedRows.add(rowId);
+            return;
+        }
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        long entry = geohash(cell(latitude, 90), cell(longitude, 180)) << 32 | rowId;
+        if (size > 0 && entry < entries[size - 1]) {
+            sorted = false;
+        }
+        entries[size++] = entry;
+    }
+
+    /**
+     * Finds the candidate rows within a bounding box, bounds inclusive. The box does not wrap
+     * around the antimeridian; bounds outside the valid range are clamped.
+     */
+    RowBitmap inBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        return collect(cover(minLatitude, maxLatitude, minLongitude, maxLongitude));
+    }
+
+    /**
+     * Counts the candidate rows {@link #inBox} returns.
+     */
+    int countInBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        return count(cover(minLatitude, maxLatitude, minLongitude, maxLongitude));
+    }
+
+    /**
+     * Finds the candidate rows within a distance of a point, from the bounding box of the circle.
+     */
+    RowBitmap within(double latitude, double longitude, double radiusMeters) {
+        return collect(circleCover(latitude, longitude, radiusMeters));
+    }
+
+    /**
+     * Counts the candidate rows {@link #within} returns.
+     */
+    int countWithin(double latitude, double longitude, double radiusMeters) {
+        return count(circleCover(latitude, longitude, radiusMeters));
+    }
+
+    /**
+     * Gets the number of rows with valid coordinates.
+     */
+    int cellRows() {
+        return size;
+    }
+
+    /**
+     * Covers the bounding box of a circle, split in two where it crosses the antimeridian.
+     */
+    private long[] circleCover(double latitude, double longitude, double radiusMeters) {
+        double latitudeDelta = GeoDistance.latitudeDelta(radiusMeters);
+        double longitudeDelta = GeoDistance.longitudeDelta(latitude, radiusMeters);
+        double minLatitude = latitude - latitudeDelta;
+        double maxLatitude = latitude + latitudeDelta;
+        if (longitudeDelta >= 180) {
+            return cover(minLatitude, maxLatitude, -180, 180);
+        }
+        // Normalise the center to [-180, 180) so that at most one side wraps
+        double center = longitude - 360 * Math.floor((longitude + 180) / 360);
+        double west = center - longitudeDelta;
+        double east = center + longitudeDelta;
+        if (west < -180) {
+            return concat(cover(minLatitude, maxLatitude, -180, east), cover(minLatitude, maxLatitude, west + 360, 180));
+        }
+        if (east > 180) {
+            return concat(cover(minLatitude, maxLatitude, west, 180), cover(minLatitude, maxLatitude, -180, east - 360));
+        }
+        return cover(minLatitude, maxLatitude, west, east);
+    }
+
+    /**
+     * Covers a box with at most {@link #MAX_COVER_CELLS} cells of one level.
+     *
+     * @return the disjoint geohash ranges of the cells, as pairs of inclusive start and exclusive
+     *         end
+     */
+    private long[] cover(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            return new long[0];
+        }
+        int latitudeLow = cell(minLatitude, 90);
+        int latitudeHigh = cell(maxLatitude, 90);
+        int longitudeLow = cell(minLongitude, 180);
+        int longitudeHigh = cell(maxLongitude, 180);
+        // Coarsen until the cover is small enough; a coarse cell spans 2^shift fine cells per side
+        int shift = 0;
+        while ((long) ((latitudeHigh >> shift) - (latitudeLow >> shift) + 1)
+                * ((longitudeHigh >> shift) - (longitudeLow >> shift) + 1) > MAX_COVER_CELLS) {
+            shift++;
+        }
+        List<long[]> ranges = new ArrayList<>();
+        for (int y = latitudeLow >> shift; y <= latitudeHigh >> shift; y++) {
+            for (int x = longitudeLow >> shift; x <= longitudeHigh >> shift; x++) {
+                long start = geohash(y, x) << 2 * shift;
+                ranges.add(new long[]{start, start + (1L << 2 * shift)});
+            }
+        }
+        ranges.sort((a, b) -> Long.compare(a[0], b[0]));
+        List<Long> merged = new ArrayList<>();
+        for (long[] range : ranges) {
+            if (!merged.isEmpty() && merged.get(merged.size() - 1) == range[0]) {
+                merged.set(merged.size() - 1, range[1]);
+            } else {
+                merged.add(range[0]);
+                merged.add(range[1]);
+            }
+        }
+        return merged.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long[] concat(long[] ranges, long[] otherRanges) {
+        // The two covers lie on opposite sides of the grid, so their ranges are disjoint
+        long[] all = Arrays.copyOf(ranges, ranges.length + otherRanges.length);
+        System.arraycopy(otherRanges, 0, all, ranges.length, otherRanges.length);
+        return all;
+    }
+
+    private int count(long[] ranges) {
+        ensureSorted();
+        int count = unorderedRows.cardinality();
+        for (int i = 0; i < ranges.length; i += 2) {
+            count += position(ranges[i + 1]) - position(ranges[i]);
+        }
+        return count;
+    }
+
+    private RowBitmap collect(long[] ranges) {
+        ensureSorted();
+        RowBitmap result = new RowBitmap();
+        for (int i = 0; i < ranges.length; i += 2) {
+            int from = position(ranges[i]);
+            int to = position(ranges[i + 1]);
+            int[] rowIds = new int[to - from];
+            for (int j = from; j < to; j++) {
+                rowIds[j - from] = (int) entries[j];
+            }
+            Arrays.sort(rowIds);
+            result = RowBitmap.or(result, RowBitmap.of(rowIds));
+        }
+        return unorderedRows.isEmpty() ? result : RowBitmap.or(result, unorderedRows);
+    }
+
+    /** First position whose geohash is >= the given one. */
+    private int position(long geohash) {
+        int index = Arrays.binarySearch(entries, 0, size, geohash << 32);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Gets the index of the fine cell holding a coordinate, clamping it to the valid range.
+     */
+    private int cell(double degrees, double limit) {
+        int cells = 1 << bits;
+        int cell = (int) Math.floor((degrees + limit) / (2 * limit) * cells);
+        return Math.max(0, Math.min(cells - 1, cell));
+    }
+
+    /**
+     * Interleaves the bits of a latitude and a longitude cell index, longitude first as in a
+     * geohash.
+     */
+    private static long geohash(int latitudeCell, int longitudeCell) {
+        return spread(longitudeCell) << 1 | spread(latitudeCell);
+    }
+
+    /** Spreads the low 16 bits of a value to the even bit positions. */
+    private static long spread(int value) {
+        long x = value & 0xFFFFL;
+        x = (x | x << 8) & 0x00FF00FFL;
+        x = (x | x << 4) & 0x0F0F0F0FL;
+        x = (x | x << 2) & 0x33333333L;
+        x = (x | x << 1) & 0x55555555L;
+        return x;
+    }
+
+    private void ensureSorted() {
+        if (!sorted) {
+            Arrays.sort(entries, 0, size);
+            sorted = true;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.bitmap.RowBitmap;
+import dev.xerohero.filter.operators.text.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index from every word of the values of one key to the rows containing it.
+ * <p>
+ * Values are split and folded by the {@link Tokenizer}, as
+ * {@link dev.xerohero.filter.operators.text.ContainsTermsFilter} splits them, so a lookup
+ * returns exactly the rows containing the words: the posting lists are intersected for all of
+ * them, smallest first, and unioned for any of them.
+ * </p>
+ */
+final class TermIndex {
+    private final String key;
+    private final Map<String, RowBitmap> postings = new HashMap<>();
+
+    TermIndex(String key) {
+        this.key = key;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    void add(int rowId, Map<String, String> resource) {
+        String value = resource.get(key);
+        if (value == null) {
+            return;
+        }
+        for (String word : Tokenizer.words(value)) {
+            postings.computeIfAbsent(word, w -> new RowBitmap()).add(rowId);
+        }
+    }
+
+    /**
+     * Finds the rows containing every word.
+     *
+     * @param words the folded words
+     * @return the rows
+     */
+    RowBitmap containingAll(Collection<String> words) {
+        List<RowBitmap> lists = new ArrayList<>();
+        for (String word : words) {
+            RowBitmap rows = postings.get(word);
+            if (rows == null) {
+                return new RowBitmap();
+            }
+            lists.add(rows);
+        }
+        // Intersect the shortest posting lists first so the working set shrinks quickly
+        lists.sort(Comparator.comparingInt(RowBitmap::cardinality));
+        RowBitmap result = lists.get(0).copy();
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result = RowBitmap.and(result, lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the rows containing any of the words.
+     *
+     * @param words the folded words
+     * @return the rows
+     */
+    RowBitmap containingAny(Collection<String> words) {
+        RowBitmap result = new RowBitmap();
+        for (String word : words) {
+            RowBitmap rows = postings.get(word);
+            if (rows != null) {
+                result = RowBitmap.or(result, rows);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of rows containing a word.
+     *
+     * @param word the folded word
+     * @return the length of the word's posting list
+     */
+    int postingCount(String word) {
+        RowBitmap rows = postings.get(word);
+        return rows == null ? 0 : rows.cardinality();
+    }
+
+    /**
+     * Gets the number of distinct words.
+     */
+    int termCount() {
+        return postings.size();
+    }
+}
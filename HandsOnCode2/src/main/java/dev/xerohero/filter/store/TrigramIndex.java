@@ -0,0 +1,165 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.bitmap.RowBitmap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index from every three-character substring of the values of one key to the rows containing it.
+ * <p>
+ * Values are folded the way {@link dev.xerohero.filter.operators.comparison.RegexFilter} compares
+ * them (ASCII letters are case-insensitive, everything else is compared exactly), and every
+ * trigram is packed into a long. A {@link TrigramQuery} derived from a pattern by
+ * {@link RegexTrigramAnalyzer} then selects the rows that contain the required trigrams.
+ * </p>
+ */
+final class TrigramIndex {
+    private final String key;
+    private final Map<Long, RowBitmap> postings = new HashMap<>();
+
+    TrigramIndex(String key) {
+        this.key = key;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    void add(int rowId, Map<String, String> resource) {
+        String value = resource.get(key);
+        if (value == null) {
+            return;
+        }
+        String folded = fold(value);
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            postings.computeIfAbsent(trigramAt(folded, i), t -> new RowBitmap()).add(rowId);
+        }
+    }
+
+    /**
+     * Finds the candidate rows for a trigram query.
+     *
+     * @param query the query to evaluate
+     * @return the candidate rows, or null if the query does not restrict them
+     */
+    RowBitmap lookup(TrigramQuery query) {
+        switch (query.getOp()) {
+            case ALL:
+                return null;
+            case TRIGRAM:
+                RowBitmap rows = postings.get(query.getTrigram());
+                return rows == null ? new RowBitmap() : rows.copy();
+            case AND:
+                // Intersect the most selective trigrams first so the working set shrinks quickly
+                List<TrigramQuery> operands = new ArrayList<>(query.getOperands());
+                operands.sort(Comparator.comparingInt(this::estimate));
+                RowBitmap result = null;
+                for (TrigramQuery operand : operands) {
+                    RowBitmap operandRows = lookup(operand);
+                    if (operandRows != null) {
+                        result = result == null ? operandRows : RowBitmap.and(result, operandRows);
+                        if (result.isEmpty()) {
+                            break;
+                        }
+                    }
+                }
+                return result;
+            default:
+                RowBitmap union = new RowBitmap();
+                for (TrigramQuery operand : query.getOperands()) {
+                    RowBitmap operandRows = lookup(operand);
+                    if (operandRows == null) {
+                        return null;
+                    }
+                    union = RowBitmap.or(union, operandRows);
+                }
+                return union;
+        }
+    }
+
+    /**
+     * Gets the number of distinct trigrams.
+     */
+    int trigramCount() {
+        return postings.size();
+    }
+
+    /**
+     * Estimates the number of candidate rows {@link #lookup(TrigramQuery)} returns: the smallest
+     * posting list of a conjunction and the sum of those of a disjunction.
+     *
+     * @param query the query to estimate
+     * @return the estimated number of candidate rows, or {@link Integer#MAX_VALUE} if the query
+     *         does not restrict them
+     */
+    int estimate(TrigramQuery query) {
+        switch (query.getOp()) {
+            case ALL:
+                return Integer.MAX_VALUE;
+            case TRIGRAM:
+                RowBitmap rows = postings.get(query.getTrigram());
+                return rows == null ? 0 : rows.cardinality();
+            case AND:
+                int smallest = Integer.MAX_VALUE;
+                for (TrigramQuery operand : query.getOperands()) {
+                    smallest = Math.min(smallest, estimate(operand));
+                }
+                return smallest;
+            default:
+                long sum = 0;
+                for (TrigramQuery operand : query.getOperands()) {
+                    sum += estimate(operand);
+                }
+                return (int) Math.min(Integer.MAX_VALUE, sum);
+        }
+    }
+
+    /**
+     * Counts the posting entries {@link #lookup(TrigramQuery)} reads, as a measure of its cost.
+     */
+    long postingEntries(TrigramQuery query) {
+        if (query.getOp() == TrigramQuery.Op.TRIGRAM) {
+            RowBitmap rows = postings.get(query.getTrigram());
+            return rows == null ? 0 : rows.cardinality();
+        }
+        long sum = 0;
+        for (TrigramQuery operand : query.getOperands()) {
+            sum += postingEntries(operand);
+        }
+        return sum;
+    }
+
+    /**
+     * Folds ASCII letters to lower case, matching {@link java.util.regex.Pattern#CASE_INSENSITIVE}
+     * without {@link java.util.regex.Pattern#UNICODE_CASE}.
+     */
+    static String fold(String value) {
+        StringBuilder folded = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                if (folded == null) {
+                    folded = new StringBuilder(value);
+                }
+                folded.setCharAt(i, fold(c));
+            }
+        }
+        return folded == null ? value : folded.toString();
+    }
+
+    static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    static long trigramAt(String folded, int index) {
+        return ((long) folded.charAt(index) << 32) | ((long) folded.charAt(index + 1) << 16) | folded.charAt(index + 2);
+    }
+
+    static String trigramText(long trigram) {
+        return new String(new char[]{(char) (trigram >>> 32), (char) (trigram >>> 16), (char) trigram});
+    }
+}
@@ -0,0 +1,133 @@
+package dev.xerohero.filter.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Boolean query over the trigrams a value must contain to possibly match a pattern.
+ * <p>
+ * {@link #ALL} imposes no restriction; a trigram leaf requires the folded value to contain that
+ * trigram; AND and OR combine their operands as usual. Queries are simplified on construction:
+ * {@code ALL} operands are dropped from an AND and make an OR unrestricted.
+ * </p>
+ */
+final class TrigramQuery {
+    enum Op { ALL, TRIGRAM, AND, OR }
+
+    static final TrigramQuery ALL = new TrigramQuery(Op.ALL, 0, List.of());
+
+    private final Op op;
+    private final long trigram;
+    private final List<TrigramQuery> operands;
+
+    private TrigramQuery(Op op, long trigram, List<TrigramQuery> operands) {
+        this.op = op;
+        this.trigram = trigram;
+        this.operands = operands;
+    }
+
+    static TrigramQuery trigram(long trigram) {
+        return new TrigramQuery(Op.TRIGRAM, trigram, List.of());
+    }
+
+    /**
+     * Requires every trigram of an already folded string; strings shorter than three characters
+     * impose no restriction.
+     */
+    static TrigramQuery containing(String folded) {
+        List<TrigramQuery> trigrams = new ArrayList<>();
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            trigrams.add(trigram(TrigramIndex.trigramAt(folded, i)));
+        }
+        return and(trigrams);
+    }
+
+    /**
+     * Requires the value to contain one of the given folded strings.
+     */
+    static TrigramQuery containingAny(Collection<String> folded) {
+        List<TrigramQuery> alternatives = new ArrayList<>();
+        for (String string : folded) {
+            alternatives.add(containing(string));
+        }
+        return or(alternatives);
+    }
+
+    static TrigramQuery and(List<TrigramQuery> queries) {
+        List<TrigramQuery> operands = new ArrayList<>();
+        for (TrigramQuery query : queries) {
+            if (query.op == Op.AND) {
+                operands.addAll(query.operands);
+            } else if (query.op != Op.ALL && !operands.contains(query)) {
+                operands.add(query);
+            }
+        }
+        if (operands.isEmpty()) {
+            return ALL;
+        }
+        return operands.size() == 1 ? operands.get(0) : new TrigramQuery(Op.AND, 0, List.copyOf(operands));
+    }
+
+    static TrigramQuery or(List<TrigramQuery> queries) {
+        List<TrigramQuery> operands = new ArrayList<>();
+        for (TrigramQuery query : queries) {
+            if (query.op == Op.ALL) {
+                return ALL;
+            }
+            if (query.op == Op.OR) {
+                operands.addAll(query.operands);
+            } else if (!operands.contains(query)) {
+                operands.add(query);
+            }
+        }
+        if (operands.isEmpty()) {
+            return ALL;
+        }
+        return operands.size() == 1 ? operands.get(0) : new TrigramQuery(Op.OR, 0, List.copyOf(operands));
+    }
+
+    Op getOp() {
+        return op;
+    }
+
+    long getTrigram() {
+        return trigram;
+    }
+
+    List<TrigramQuery> getOperands() {
+        return operands;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TrigramQuery)) return false;
+        TrigramQuery other = (TrigramQuery) o;
+        return op == other.op && trigram == other.trigram && operands.equals(other.operands);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * op.hashCode() + Long.hashCode(trigram)) + operands.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        switch (op) {
+            case ALL:
+                return "ALL";
+            case TRIGRAM:
+                return "'" + TrigramIndex.trigramText(trigram) + "'";
+            default:
+                StringBuilder sb = new StringBuilder("(");
+                for (int i = 0; i < operands.size(); i++) {
+                    if (i > 0) {
+                        sb.append(' ').append(op).append(' ');
+                    }
+                    sb.append(operands.get(i));
+                }
+                return sb.append(')').toString();
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.operators.*;
+import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.geo.*;
+import dev.xerohero.filter.operators.network.IpInRangeFilter;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.time.*;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
+import dev.xerohero.filter.visitor.FilterVisitor;
+
+import java.util.*;
+
+/**
+ * Tallies the leaf predicates of executed filters, as input for an {@link IndexAdvisor}.
+ * <p>
+ * Only predicates an index could answer are tallied: equality with a plain value, numeric or
+ * string comparisons, and regular expressions, reached from the root through AND nodes only.
+ * An index on one child of an OR or below a NOT cannot narrow down the candidates by itself, so
+ * those predicates are left out. Predicates are grouped by key and {@link Operator}; every group
+ * counts its executions and the rows the residual filter was evaluated on in them, and keeps the
+ * first few distinct predicates as examples for estimating their selectivity later.
+ * </p>
+ * <p>
+ * Attach a recorder with {@link IndexedResourceStore#setWorkloadRecorder(WorkloadRecorder)} to
+ * record every query of a store. The recorder is not thread-safe.
+ * </p>
+ */
+public class WorkloadRecorder {
+    /** Maximum number of distinct example predicates kept per group. */
+    static final int MAX_EXAMPLES = 16;
+
+    /**
+     * The kinds of predicates, by the index that answers them.
+     */
+    public enum Operator {
+        /** Equality with a plain value, answered by hash indexes. */
+        EQUALITY,
+        /** Comparisons, answered by range indexes. */
+        RANGE,
+        /** Regular expressions, answered by trigram indexes. */
+        PATTERN
+    }
+
+    private final Map<String, PredicateWorkload> predicates = new LinkedHashMap<>();
+    private long queryCount;
+
+    /**
+     * Records one execution of a filter.
+     *
+     * @param filter the executed filter (must not be null)
+     * @param evaluatedRows the number of rows the residual filter was evaluated on
+     * @throws NullPointerException if the filter is null
+     */
+    public void record(Filter filter, int evaluatedRows) {
+        Objects.requireNonNull(filter, "Filter cannot be null");
+        queryCount++;
+        // A predicate repeated within one filter is counted once
+        Set<PredicateWorkload> seen = new HashSet<>();
+        filter.accept(new LeafCollector((operator, leaf) -> {
+            PredicateWorkload workload = predicates.computeIfAbsent(operator + ":" + leaf.getKey(),
+                    k -> new PredicateWorkload(leaf.getKey(), operator));
+            if (seen.add(workload)) {
+                workload.record(leaf, evaluatedRows);
+            }
+        }));
+    }
+
+    /**
+     * Gets the number of filters recorded.
+     *
+     * @return the number of queries
+     */
+    public long getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * Gets the tallies of all predicate groups, in order of first appearance.
+     *
+     * @return the predicate groups
+     */
+    public List<PredicateWorkload> predicates() {
+        return List.copyOf(predicates.values());
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    public void clear() {
+        predicates.clear();
+        queryCount = 0;
+    }
+
+    /**
+     * Tally of the predicates on one key with one operator.
+     */
+    public static final class PredicateWorkload {
+        private final String key;
+        private final Operator operator;
+        /** Maps the class and value of every example predicate to it. */
+        private final Map<String, BaseComparisonFilter> examples = new LinkedHashMap<>();
+        private long executions;
+        private long evaluatedRows;
+
+        private PredicateWorkload(String key, Operator operator) {
+            this.key = key;
+            this.operator = operator;
+        }
+
+        private void record(BaseComparisonFilter leaf, int rows) {
+            executions++;
+            evaluatedRows += rows;
+            if (examples.size() < MAX_EXAMPLES) {
+                examples.putIfAbsent(leaf.getClass().getName() + ":" + leaf.getValue(), leaf);
+            }
+        }
+
+        /**
+         * Gets the key the predicates test.
+         *
+         * @return the key
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Gets the kind of the predicates.
+         *
+         * @return the operator
+         */
+        public Operator getOperator() {
+            return operator;
+        }
+
+        /**
+         * Gets the number of recorded filters containing such a predicate.
+         *
+         * @return the number of executions
+         */
+        public long getExecutions() {
+            return executions;
+        }
+
+        /**
+         * Gets the total number of rows the residual filter was evaluated on in those executions.
+         *
+         * @return the evaluated rows
+         */
+        public long getEvaluatedRows() {
+            return evaluatedRows;
+        }
+
+        /**
+         * Gets the first distinct predicates recorded, at most {@value #MAX_EXAMPLES}.
+         *
+         * @return the example predicates
+         */
+        public List<BaseComparisonFilter> getExamples() {
+            return List.copyOf(examples.values());
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s %s (executions=%d, evaluatedRows=%d)",
+                    operator, key, executions, evaluatedRows);
+        }
+    }
+
+    @FunctionalInterface
+    private interface LeafConsumer {
+        void accept(Operator operator, BaseComparisonFilter leaf);
+    }
+
+    /**
+     * Finds the indexable predicates of a filter that are reached through AND nodes only.
+     */
+    private static final class LeafCollector implements FilterVisitor<Void> {
+        private final LeafConsumer consumer;
+
+        LeafCollector(LeafConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public Void visit(AndFilter filter) {
+            for (Filter child : filter.filters()) {
+                child.accept(this);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(OrFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(NotFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(TrueFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(FalseFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(HasPropertyFiltre filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(EqualsFilter filter) {
+            // Values in slashes match as patterns, which no hash index answers
+            if (filter.getValue() != null && ValueComparator.equalityKey(filter.getValue()) != null) {
+                consumer.accept(Operator.EQUALITY, filter);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(NotEqualsFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(LessThanFilter filter) {
+            return range(filter);
+        }
+
+        @Override
+        public Void visit(LessThanOrEqualFilter filter) {
+            return range(filter);
+        }
+
+        @Override
+        public Void visit(GreaterThanFilter filter) {
+            return range(filter);
+        }
+
+        @Override
+        public Void visit(GreaterThanOrEqualFilter filter) {
+            return range(filter);
+        }
+
+        @Override
+        public Void visit(RegexFilter filter) {
+            consumer.accept(Operator.PATTERN, filter);
+            return null;
+        }
+
+        @Override
+        public Void visit(GeoWithinFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(GeoBoundingBoxFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(IpInRangeFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(BeforeFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(AfterFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(WithinLastFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(VersionCompareFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(FuzzyMatchFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(PrefixSetFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(ContainsTermsFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(IntervalSetFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(FieldComparisonFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(MultiValueFilter filter) {
+            return null;
+        }
+
+        @Override
+        public Void visit(ArithmeticFilter filter) {
+            return null;
+        }
+
+        private Void range(BaseComparisonFilter filter) {
+            if (filter.getValue() != null) {
+                consumer.accept(Operator.RANGE, filter);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * In-memory resource collections with secondary indexes and index-aware query execution.
+ *
+ * <p>Without an index, the only way to run a filter over a dataset is to call
+ * {@link dev.xerohero.filter.Filter#matches(java.util.Map)} on every resource. This package
+ * keeps resources in an {@link dev.xerohero.filter.store.IndexedResourceStore} with optional
+ * indexes per key, and evaluates filters only on the rows the indexes select.</p>
+ *
+ * <h2>Main Components</h2>
+ * <ul>
+ *   <li>{@link dev.xerohero.filter.store.IndexedResourceStore} - Resource collection with hash, range, bit-sliced, adaptive, trigram, sorted string, term and spatial indexes</li>
+ *   <li>{@link dev.xerohero.filter.store.QueryPlanner} - Estimates the rows and cost of every access path and picks a {@link dev.xerohero.filter.store.QueryPlan}</li>
+ *   <li>{@link dev.xerohero.filter.store.QueryExecutor} - Computes the candidate rows of the plan and evaluates the residual filter</li>
+ *   <li>{@link dev.xerohero.filter.store.ExplainVisitor} - Renders a plan tree as text or JSON</li>
+ *   <li>{@link dev.xerohero.filter.store.WorkloadRecorder} - Tallies the indexable predicates of executed filters</li>
+ *   <li>{@link dev.xerohero.filter.store.IndexAdvisor} - Recommends and builds indexes for the recorded workload within a memory budget</li>
+ * </ul>
+ *
+ * <h2>Index Semantics</h2>
+ * <p>Index lookups always return a superset of the rows that satisfy a predicate (for example,
+ * range bounds are matched inclusively, and rows whose value is not a plain number are returned
+ * by every range lookup, since the comparison filters fall back to string comparison for them).
+ * The full filter is always evaluated on the candidates, so query results are identical to a
+ * full scan. Candidate and result row sets are {@link dev.xerohero.filter.bitmap.RowBitmap}s.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>
+ * IndexedResourceStore store = new IndexedResourceStore();
+ * store.createHashIndex("status");
+ * store.createRangeIndex("age");
+ * resources.forEach(store::add);
+ *
+ * Filter filter = FilterParser.parse("status = active AND age > 30");
+ * List&lt;Map&lt;String, String&gt;&gt; result = store.query(filter);
+ * String plan = ExplainVisitor.json().visit(store.explain(filter));
+ * </pre>
+ *
+ * @see dev.xerohero.filter.Filter The base Filter interface
+ */
+package dev.xerohero.filter.store;
@@ -2,6 +2,16 @@ package dev.xerohero.filter.visitor;
 
 import dev.xerohero.filter.operators.*;
 import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.geo.*;
+import dev.xerohero.filter.operators.network.IpInRangeFilter;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.time.*;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
 
 /**
  * Visitor interface for type-safe operations on filters.
@@ -34,4 +44,32 @@ public interface FilterVisitor<T> {
     T visit(GreaterThanOrEqualFilter filter);
     
     T visit(LessThanOrEqualFilter filter);
+
+    T visit(GeoWithinFilter filter);
+
+    T visit(GeoBoundingBoxFilter filter);
+
+    T visit(IpInRangeFilter filter);
+
+    T visit(BeforeFilter filter);
+
+    T visit(AfterFilter filter);
+
+    T visit(WithinLastFilter filter);
+
+    T visit(VersionCompareFilter filter);
+
+    T visit(FuzzyMatchFilter filter);
+
+    T visit(PrefixSetFilter filter);
+
+    T visit(ContainsTermsFilter filter);
+
+    T visit(IntervalSetFilter filter);
+
+    T visit(FieldComparisonFilter filter);
+
+    T visit(MultiValueFilter filter);
+
+    T visit(ArithmeticFilter filter);
 }
\ No newline at end of file
@@ -0,0 +1,322 @@
+package dev.xerohero.filter.visitor;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.operators.*;
+import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.geo.*;
+import dev.xerohero.filter.operators.network.IpInRangeFilter;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.time.*;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
+
+import java.util.*;
+
+/**
+ * Visitor that computes which resource keys a filter depends on.
+ * <p>
+ * The result tells a decoder exactly which keys it has to materialise before calling
+ * {@link Filter#matches(Map)}, and which keys are mandatory: if one of them is absent the
+ * filter cannot match, so the resource can be rejected without evaluating the tree.
+ * </p>
+ * <pre>
+ * RequiredKeys keys = RequiredKeysVisitor.analyze(filter);
+ * Map&lt;String, String&gt; resource = decoder.decode(json, keys.allKeys());
+ * if (keys.isSatisfiedBy(resource) &amp;&amp; filter.matches(resource)) { ... }
+ * </pre>
+ */
+public class RequiredKeysVisitor implements FilterVisitor<RequiredKeysVisitor.RequiredKeys> {
+
+    /**
+     * Analyzes a single filter.
+     *
+     * @param filter the filter to analyze (must not be null)
+     * @return the keys the filter depends on
+     */
+    public static RequiredKeys analyze(Filter filter) {
+        Objects.requireNonNull(filter, "Filter cannot be null");
+        return filter.accept(new RequiredKeysVisitor());
+    }
+
+    /**
+     * Analyzes a set of independently evaluated filters, e.g. all subscriptions of a topic.
+     * The read keys are the union over all filters; a key is only mandatory if it is
+     * mandatory for every filter, since a resource must still be decoded when any filter
+     * could match it.
+     *
+     * @param filters the filters to analyze (must not be null or empty)
+     * @return the combined key requirements
+     */
+    public static RequiredKeys analyze(Collection<? extends Filter> filters) {
+        if (filters == null || filters.isEmpty()) {
+            throw new IllegalArgumentException("At least one filter is required");
+        }
+        RequiredKeysVisitor visitor = new RequiredKeysVisitor();
+        RequiredKeys combined = null;
+        for (Filter filter : filters) {
+            RequiredKeys keys = Objects.requireNonNull(filter, "Filter cannot be null").accept(visitor);
+            combined = combined == null ? keys : combined.anyOf(keys);
+        }
+        return combined;
+    }
+
+    @Override
+    public RequiredKeys visit(AndFilter filter) {
+        RequiredKeys result = null;
+        for (Filter child : filter.filters()) {
+            RequiredKeys keys = child.accept(this);
+            result = result == null ? keys : result.allOf(keys);
+        }
+        return result;
+    }
+
+    @Override
+    public RequiredKeys visit(OrFilter filter) {
+        RequiredKeys result = null;
+        for (Filter child : filter.filters()) {
+            RequiredKeys keys = child.accept(this);
+            result = result == null ? keys : result.anyOf(keys);
+        }
+        return result;
+    }
+
+    @Override
+    public RequiredKeys visit(NotFilter filter) {
+        return filter.filter().accept(this).negate();
+    }
+
+    @Override
+    public RequiredKeys visit(TrueFilter filter) {
+        return RequiredKeys.NONE;
+    }
+
+    @Override
+    public RequiredKeys visit(FalseFilter filter) {
+        return RequiredKeys.NONE;
+    }
+
+    @Override
+    public RequiredKeys visit(HasPropertyFiltre filter) {
+        return RequiredKeys.presence(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(EqualsFilter filter) {
+        // "key is null" matches exactly when the key is absent
+        return filter.getValue() == null
+                ? RequiredKeys.optional(filter.getKey())
+                : RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(LessThanFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(GreaterThanFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(RegexFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(NotEqualsFilter filter) {
+        // A missing key is "not equal" to anything
+        return RequiredKeys.optional(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(GreaterThanOrEqualFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(LessThanOrEqualFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(GeoWithinFilter filter) {
+        return geo(filter);
+    }
+
+    @Override
+    public RequiredKeys visit(GeoBoundingBoxFilter filter) {
+        return geo(filter);
+    }
+
+    @Override
+    public RequiredKeys visit(IpInRangeFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(BeforeFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(AfterFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(WithinLastFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(VersionCompareFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(FuzzyMatchFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(PrefixSetFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(ContainsTermsFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(IntervalSetFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(FieldComparisonFilter filter) {
+        return RequiredKeys.mandatory(filter.getLeftKey()).allOf(RequiredKeys.mandatory(filter.getRightKey()));
+    }
+
+    @Override
+    public RequiredKeys visit(MultiValueFilter filter) {
+        return RequiredKeys.mandatory(filter.getKey());
+    }
+
+    @Override
+    public RequiredKeys visit(ArithmeticFilter filter) {
+        RequiredKeys result = RequiredKeys.NONE;
+        for (String key : filter.getLeft().getKeys()) {
+            result = result.allOf(RequiredKeys.mandatory(key));
+        }
+        for (String key : filter.getRight().getKeys()) {
+            result = result.allOf(RequiredKeys.mandatory(key));
+        }
+        return result;
+    }
+
+    private static RequiredKeys geo(BaseGeoFilter filter) {
+        return RequiredKeys.mandatory(filter.getLatitudeKey()).allOf(RequiredKeys.mandatory(filter.getLongitudeKey()));
+    }
+
+    /**
+     * The keys a filter depends on.
+     * <p>
+     * Mandatory keys and absence-matching keys are sound under-approximations: every key
+     * listed is guaranteed to behave as described, but not every such key is necessarily listed.
+     * </p>
+     *
+     * @param valueKeys     keys whose values are read during evaluation
+     * @param presenceKeys  keys only checked for existence ({@link HasPropertyFiltre})
+     * @param mandatoryKeys keys whose absence alone makes the filter evaluate to false
+     * @param absenceKeys   keys whose absence alone makes the filter evaluate to true
+     */
+    public record RequiredKeys(Set<String> valueKeys, Set<String> presenceKeys,
+                               Set<String> mandatoryKeys, Set<String> absenceKeys) {
+
+        /**
+         * Requirements of a filter that does not look at the resource at all.
+         */
+        public static final RequiredKeys NONE = new RequiredKeys(Set.of(), Set.of(), Set.of(), Set.of());
+
+        public RequiredKeys {
+            valueKeys = Set.copyOf(valueKeys);
+            presenceKeys = Set.copyOf(presenceKeys);
+            mandatoryKeys = Set.copyOf(mandatoryKeys);
+            absenceKeys = Set.copyOf(absenceKeys);
+        }
+
+        static RequiredKeys mandatory(String key) {
+            return new RequiredKeys(Set.of(key), Set.of(), Set.of(key), Set.of());
+        }
+
+        static RequiredKeys optional(String key) {
+            return new RequiredKeys(Set.of(key), Set.of(), Set.of(), Set.of(key));
+        }
+
+        static RequiredKeys presence(String key) {
+            return new RequiredKeys(Set.of(), Set.of(key), Set.of(key), Set.of());
+        }
+
+        /**
+         * Gets every key a decoder has to materialise for the filter to evaluate correctly.
+         * Keys that are only checked for presence may be decoded with a placeholder value.
+         *
+         * @return the union of value keys and presence keys
+         */
+        public Set<String> allKeys() {
+            return union(valueKeys, presenceKeys);
+        }
+
+        /**
+         * Checks that the resource contains every mandatory key.
+         * A {@code false} result means the filter cannot match the resource.
+         *
+         * @param resource the resource to check (must not be null)
+         * @return false if any mandatory key is missing, true otherwise
+         */
+        public boolean isSatisfiedBy(Map<String, String> resource) {
+            Objects.requireNonNull(resource, "Resource map cannot be null");
+            for (String key : mandatoryKeys) {
+                if (!resource.containsKey(key)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        RequiredKeys allOf(RequiredKeys other) {
+            return new RequiredKeys(union(valueKeys, other.valueKeys), union(presenceKeys, other.presenceKeys),
+                    union(mandatoryKeys, other.mandatoryKeys), intersection(absenceKeys, other.absenceKeys));
+        }
+
+        RequiredKeys anyOf(RequiredKeys other) {
+            return new RequiredKeys(union(valueKeys, other.valueKeys), union(presenceKeys, other.presenceKeys),
+                    intersection(mandatoryKeys, other.mandatoryKeys), union(absenceKeys, other.absenceKeys));
+        }
+
+        RequiredKeys negate() {
+            return new RequiredKeys(valueKeys, presenceKeys, absenceKeys, mandatoryKeys);
+        }
+
+        private static Set<String> union(Set<String> a, Set<String> b) {
+            if (a.isEmpty()) return b;
+            if (b.isEmpty()) return a;
+            Set<String> result = new HashSet<>(a);
+            result.addAll(b);
+            return result;
+        }
+
+        private static Set<String> intersection(Set<String> a, Set<String> b) {
+            if (a.isEmpty() || b.isEmpty()) return Set.of();
+            Set<String> result = new HashSet<>(a);
+            result.retainAll(b);
+            return result;
+        }
+    }
+}
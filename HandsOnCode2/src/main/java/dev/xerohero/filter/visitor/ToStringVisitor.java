@@ -1,7 +1,19 @@
 package dev.xerohero.filter.visitor;
 
+import dev.xerohero.filter.Filter;
 import dev.xerohero.filter.operators.*;
 import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.geo.*;
+import dev.xerohero.filter.operators.network.IpInRangeFilter;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.time.*;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
+import dev.xerohero.filter.optimizer.FilterOptimizer;
 
 import java.util.Arrays;
 import java.util.stream.Collectors;
@@ -76,4 +88,104 @@ public class ToStringVisitor implements FilterVisitor<String> {
     public String visit(LessThanOrEqualFilter filter) {
         return filter.getKey() + " <= " + filter.getValue();
     }
+
+    @Override
+    public String visit(GeoWithinFilter filter) {
+        return "within(" + filter.getLatitudeKey() + ", " + filter.getLongitudeKey() + ", " + filter.getLatitude()
+                + ", " + filter.getLongitude() + ", " + filter.getRadiusMeters() + ")";
+    }
+
+    @Override
+    public String visit(GeoBoundingBoxFilter filter) {
+        return "inBox(" + filter.getLatitudeKey() + ", " + filter.getLongitudeKey() + ", " + filter.getMinLatitude()
+                + ", " + filter.getMinLongitude() + ", " + filter.getMaxLatitude() + ", " + filter.getMaxLongitude() + ")";
+    }
+
+    @Override
+    public String visit(IpInRangeFilter filter) {
+        return "ipInRange(" + filter.getKey() + ", " + String.join(", ", filter.getRanges()) + ")";
+    }
+
+    @Override
+    public String visit(BeforeFilter filter) {
+        return "before(" + filter.getKey() + ", " + filter.getInstant() + ")";
+    }
+
+    @Override
+    public String visit(AfterFilter filter) {
+        return "after(" + filter.getKey() + ", " + filter.getInstant() + ")";
+    }
+
+    @Override
+    public String visit(WithinLastFilter filter) {
+        return "withinLast(" + filter.getKey() + ", " + filter.getDuration() + ")";
+    }
+
+    @Override
+    public String visit(VersionCompareFilter filter) {
+        return "version(" + filter.getKey() + " " + filter.getOperator().getSymbol() + " " + filter.getVersion() + ")";
+    }
+
+    @Override
+    public String visit(FuzzyMatchFilter filter) {
+        return "fuzzy(" + filter.getKey() + ", " + argument(filter.getTarget()) + ", " + filter.getMaxEdits() + ")";
+    }
+
+    @Override
+    public String visit(PrefixSetFilter filter) {
+        Filter original = FilterOptimizer.original(filter);
+        if (original != filter) {
+            return original.accept(this);
+        }
+        return "startsWith(" + filter.getKey() + ", " + filter.getPrefixes().stream().map(ToStringVisitor::argument)
+                .collect(Collectors.joining(", ")) + ")";
+    }
+
+    @Override
+    public String visit(ContainsTermsFilter filter) {
+        String name = filter.getMode() == ContainsTermsFilter.Mode.ALL ? "containsAll(" : "containsAny(";
+        return name + filter.getKey() + ", " + String.join(", ", filter.getTerms()) + ")";
+    }
+
+    @Override
+    public String visit(IntervalSetFilter filter) {
+        Filter original = FilterOptimizer.original(filter);
+        if (original != filter) {
+            return original.accept(this);
+        }
+        return "inIntervals(" + filter.getKey() + ", " + filter.getIntervals().stream().map(ToStringVisitor::argument)
+                .collect(Collectors.joining(", ")) + ")";
+    }
+
+    @Override
+    public String visit(FieldComparisonFilter filter) {
+        return "fields(" + filter.getLeftKey() + " " + filter.getOperator().getSymbol() + " " + filter.getRightKey() + ")";
+    }
+
+    @Override
+    public String visit(MultiValueFilter filter) {
+        // Lists separated by another delimiter name it as the second argument
+        boolean delimited = !filter.getDelimiter().equals(MultiValueFilter.DEFAULT_DELIMITER);
+        String name = (filter.getMode() == MultiValueFilter.Mode.ALL ? "allOf" : "anyOf") + (delimited ? "Delimited(" : "(");
+        return name + filter.getKey() + ", " + (delimited ? argument(filter.getDelimiter()) + ", " : "")
+                + filter.getValues().stream().map(ToStringVisitor::argument).collect(Collectors.joining(", ")) + ")";
+    }
+
+    @Override
+    public String visit(ArithmeticFilter filter) {
+        // A lone key on the left is parenthesized, or the text would parse as a plain comparison
+        String left = filter.getLeft().isKey() ? "(" + filter.getLeft() + ")" : filter.getLeft().toString();
+        return left + " " + filter.getOperator().getSymbol() + " " + filter.getRight();
+    }
+
+    /**
+     * Quotes a function argument that would otherwise not parse back as one argument.
+     */
+    private static String argument(String value) {
+        if (!value.isEmpty() && value.chars().allMatch(c -> Character.isLetterOrDigit(c) || "_-./:".indexOf(c) >= 0)) {
+            return value;
+        }
+        char quote = value.indexOf('"') < 0 ? '"' : '\'';
+        return quote + value + quote;
+    }
 }
\ No newline at end of file
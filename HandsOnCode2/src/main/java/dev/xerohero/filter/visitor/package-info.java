@@ -19,6 +19,10 @@
  *
  *   <dt>{@link dev.xerohero.filter.visitor.ToStringVisitor}</dt>
  *   <dd>Example implementation that converts filters to a human-readable string representation.</dd>
+ *
+ *   <dt>{@link dev.xerohero.filter.visitor.RequiredKeysVisitor}</dt>
+ *   <dd>Computes the keys a filter reads and the keys a resource must contain for it to match,
+ *   so decoders can skip unused fields and reject resources early.</dd>
  * </dl>
  *
  * <h2>Supported Filter Types</h2>
@@ -123,4 +123,18 @@ class ValueComparatorTest {
         assertTrue(ValueComparator.compare("false", "true") < 0);
         assertTrue(ValueComparator.compare("true", "true") == 0);
     }
+
+    @Test
+    void testCompareValuesNeverTreatsValuesAsPatterns() {
+        assertTrue(ValueComparator.compareValues("9", "10") < 0);
+        assertEquals(0, ValueComparator.compareValues("1.50", "1.5"));
+        assertEquals(0, ValueComparator.compareValues("+7", "7"));
+        assertTrue(ValueComparator.compareValues("-123456789012345678", "-123456789012345677") < 0);
+        assertTrue(ValueComparator.compareValues("99999999999999999999", "1e19") > 0);
+        assertTrue(ValueComparator.compareValues("100", "abc") < 0);
+        assertEquals(0, ValueComparator.compareValues("Hello", "hELLO"));
+        assertTrue(ValueComparator.compareValues("/a/", "/b/") < 0);
+        assertTrue(ValueComparator.compareValues("/api", "x") < 0);
+        assertThrows(NullPointerException.class, () -> ValueComparator.compareValues(null, "1"));
+    }
 }
@@ -0,0 +1,185 @@
+package dev.xerohero.filter.bitmap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Row Bitmap Tests")
+class RowBitmapTest {
+
+    private static TreeSet<Integer> toSet(RowBitmap bitmap) {
+        return bitmap.stream().boxed().collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * Builds a bitmap mixing sparse chunks, dense chunks and long runs.
+     */
+    private static RowBitmap randomBitmap(Random random, TreeSet<Integer> expected) {
+        RowBitmap bitmap = new RowBitmap();
+        for (int chunk = 0; chunk < 6; chunk++) {
+            int base = chunk << 16;
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    for (int i = 0; i < 100; i++) {
+                        int rowId = base + random.nextInt(1 << 16);
+                        bitmap.add(rowId);
+                        expected.add(rowId);
+                    }
+                }
+                case 1 -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        int rowId = base + random.nextInt(1 << 16);
+                        bitmap.add(rowId);
+                        expected.add(rowId);
+                    }
+                }
+                case 2 -> {
+                    int from = base + random.nextInt(1 << 15);
+                    int to = from + random.nextInt(1 << 15);
+                    bitmap.addRange(from, to);
+                    for (int rowId = from; rowId < to; rowId++) {
+                        expected.add(rowId);
+                    }
+                }
+                default -> {
+                    // leave the chunk empty
+                }
+            }
+        }
+        if (random.nextBoolean()) {
+            bitmap.runOptimize();
+        }
+        return bitmap;
+    }
+
+    @Nested
+    @DisplayName("Single bitmap operations")
+    class SingleBitmapTests {
+        @Test
+        @DisplayName("Should add, remove and look up row ids")
+        void testAddRemoveContains() {
+            RowBitmap bitmap = RowBitmap.of(5, 1, 70_000, 5);
+            assertEquals(3, bitmap.cardinality());
+            assertTrue(bitmap.contains(70_000));
+            assertFalse(bitmap.contains(2));
+            assertFalse(bitmap.contains(-1));
+            assertArrayEquals(new int[]{1, 5, 70_000}, bitmap.toArray());
+
+            assertTrue(bitmap.remove(70_000));
+            assertFalse(bitmap.remove(70_000));
+            assertEquals("{1, 5}", bitmap.toString());
+            assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+        }
+
+        @Test
+        @DisplayName("Should switch between container representations as chunks fill and drain")
+        void testContainerTransitions() {
+            RowBitmap bitmap = new RowBitmap();
+            for (int rowId = 0; rowId < 10_000; rowId += 2) {
+                bitmap.add(rowId);
+            }
+            assertEquals(5_000, bitmap.cardinality());
+            for (int rowId = 0; rowId < 10_000; rowId += 4) {
+                assertTrue(bitmap.remove(rowId));
+            }
+            assertEquals(2_500, bitmap.cardinality());
+            assertTrue(bitmap.contains(2));
+            assertFalse(bitmap.contains(4));
+        }
+
+        @Test
+        @DisplayName("Should store ranges compactly")
+        void testRanges() {
+            RowBitmap bitmap = RowBitmap.range(10, 50_000_000);
+            assertEquals(50_000_000 - 10, bitmap.cardinality());
+            assertTrue(bitmap.sizeInBytes() < 10_000, "Range took " + bitmap.sizeInBytes() + " bytes");
+            assertFalse(bitmap.contains(9));
+            assertTrue(bitmap.contains(49_999_999));
+
+            bitmap.remove(1_000_000);
+            bitmap.add(9);
+            assertFalse(bitmap.contains(1_000_000));
+            assertEquals(50_000_000 - 10, bitmap.cardinality());
+
+            RowBitmap dense = new RowBitmap();
+            for (int rowId = 0; rowId < 200_000; rowId++) {
+                dense.add(rowId);
+            }
+            long before = dense.sizeInBytes();
+            dense.runOptimize();
+            assertTrue(dense.sizeInBytes() < before);
+            assertEquals(RowBitmap.range(0, 200_000), dense);
+        }
+
+        @Test
+        @DisplayName("Should iterate in ascending order")
+        void testIteration() {
+            RowBitmap bitmap = RowBitmap.of(200_000, 3, 65_536, 65_535);
+            PrimitiveIterator.OfInt iterator = bitmap.iterator();
+            List<Integer> seen = new ArrayList<>();
+            while (iterator.hasNext()) {
+                seen.add(iterator.nextInt());
+            }
+            assertEquals(List.of(3, 65_535, 65_536, 200_000), seen);
+            assertThrows(NoSuchElementException.class, iterator::nextInt);
+            assertTrue(new RowBitmap().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Set operations")
+    class SetOperationTests {
+        @Test
+        @DisplayName("Should agree with a reference set implementation")
+        void testAgainstReference() {
+            Random random = new Random(11);
+            for (int round = 0; round < 30; round++) {
+                TreeSet<Integer> leftSet = new TreeSet<>();
+                TreeSet<Integer> rightSet = new TreeSet<>();
+                RowBitmap left = randomBitmap(random, leftSet);
+                RowBitmap right = randomBitmap(random, rightSet);
+                assertEquals(leftSet, toSet(left));
+
+                TreeSet<Integer> and = new TreeSet<>(leftSet);
+                and.retainAll(rightSet);
+                TreeSet<Integer> or = new TreeSet<>(leftSet);
+                or.addAll(rightSet);
+                TreeSet<Integer> andNot = new TreeSet<>(leftSet);
+                andNot.removeAll(rightSet);
+
+                assertEquals(and, toSet(RowBitmap.and(left, right)), "and, round " + round);
+                assertEquals(and.size(), RowBitmap.andCardinality(left, right));
+                assertEquals(or, toSet(RowBitmap.or(left, right)), "or, round " + round);
+                assertEquals(or.size(), RowBitmap.or(left, right).cardinality());
+                assertEquals(andNot, toSet(RowBitmap.andNot(left, right)), "andNot, round " + round);
+                // Arguments are left unchanged
+                assertEquals(leftSet, toSet(left));
+                assertEquals(rightSet, toSet(right));
+            }
+        }
+
+        @Test
+        @DisplayName("Should compare by content regardless of representation")
+        void testEquality() {
+            RowBitmap runs = RowBitmap.range(0, 5_000);
+            RowBitmap added = new RowBitmap();
+            for (int rowId = 0; rowId < 5_000; rowId++) {
+                added.add(rowId);
+            }
+            assertEquals(runs, added);
+            assertEquals(runs.hashCode(), added.hashCode());
+            assertEquals(runs, runs.copy());
+
+            RowBitmap copy = runs.copy();
+            copy.remove(0);
+            assertNotEquals(runs, copy);
+            assertTrue(runs.contains(0));
+            assertTrue(RowBitmap.andNot(runs, added).isEmpty());
+        }
+    }
+}
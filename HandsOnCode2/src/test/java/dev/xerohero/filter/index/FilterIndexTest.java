@@ -0,0 +1,134 @@
+package dev.xerohero.filter.index;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.FluentFilterBuilder;
+import dev.xerohero.filter.operators.*;
+import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.parser.FilterParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Filter Index Tests")
+class FilterIndexTest {
+
+    private FilterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FilterIndex();
+        index.add("orders-large", FilterParser.parse("topic = orders AND amount > 100"));
+        index.add("orders-small", FilterParser.parse("topic = orders AND amount <= 100"));
+        index.add("refunds", new EqualsFilter("topic", "refunds"));
+        index.add("eu-or-us", FluentFilterBuilder.where("region").in("eu", "us").build());
+        index.add("mid-range", FluentFilterBuilder.where("amount").between(50, 150).build());
+        index.add("vip-regex", new RegexFilter("customer", "vip-.*"));
+    }
+
+    private static List<String> sorted(Collection<String> ids) {
+        List<String> result = new ArrayList<>(ids);
+        Collections.sort(result);
+        return result;
+    }
+
+    @Test
+    @DisplayName("Should return exactly the filters that match")
+    void testMatch() {
+        Map<String, String> event = Map.of("topic", "orders", "amount", "120", "region", "eu");
+        assertEquals(List.of("eu-or-us", "mid-range", "orders-large"), sorted(index.match(event)));
+
+        Map<String, String> refund = Map.of("topic", "REFUNDS", "customer", "vip-7");
+        assertEquals(List.of("refunds", "vip-regex"), sorted(index.match(refund)));
+    }
+
+    @Test
+    @DisplayName("Should only evaluate filters with a satisfied conjunction")
+    void testCandidatesArePruned() {
+        Set<String> candidates = index.candidates(Map.of("topic", "orders", "amount", "20"));
+        assertEquals(Set.of("orders-small", "vip-regex"), candidates);
+
+        // between() needs both of its bounds to be hit
+        assertFalse(index.candidates(Map.of("amount", "200")).contains("mid-range"));
+        assertTrue(index.candidates(Map.of("amount", "100")).contains("mid-range"));
+    }
+
+    @Test
+    @DisplayName("Should normalise values like EqualsFilter does")
+    void testEqualityNormalisation() {
+        index.add("version", new EqualsFilter("version", "2"));
+        assertEquals(List.of("version"), index.match(Map.of("version", "2.0")));
+        assertEquals(List.of("refunds"), index.match(Map.of("topic", "Refunds")));
+    }
+
+    @Test
+    @DisplayName("Should support incremental add and remove")
+    void testIncrementalUpdates() {
+        Map<String, String> event = Map.of("topic", "refunds");
+        assertEquals(List.of("refunds"), index.match(event));
+        assertEquals(6, index.size());
+
+        assertTrue(index.remove("refunds"));
+        assertFalse(index.remove("refunds"));
+        assertTrue(index.match(event).isEmpty());
+
+        index.add("refunds", new EqualsFilter("topic", "refunds"));
+        index.add("refunds", new EqualsFilter("topic", "chargebacks"));
+        assertTrue(index.match(event).isEmpty());
+        assertEquals(List.of("refunds"), index.match(Map.of("topic", "chargebacks")));
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    @DisplayName("Should agree with brute-force evaluation")
+    void testAgreesWithLinearScan() {
+        index = new FilterIndex();
+        Random random = new Random(42);
+        String[] topics = {"orders", "refunds", "ORDERS", "shipments"};
+        String[] regions = {"eu", "us", "apac", "/e.*/"};
+        Map<String, Filter> filters = new LinkedHashMap<>();
+        filters.put("not-eu", new NotFilter(new EqualsFilter("region", "eu")));
+        filters.put("has-coupon", new HasPropertyFiltre("coupon"));
+        filters.put("impossible", FalseFilter.INSTANCE);
+        filters.put("gte", new GreaterThanOrEqualFilter("amount", "75.5"));
+        filters.put("lt-text", new LessThanFilter("amount", "abc"));
+        for (int i = 0; i < 200; i++) {
+            String topic = topics[random.nextInt(topics.length)];
+            String bound = String.valueOf(random.nextInt(200));
+            Filter filter = random.nextBoolean()
+                    ? new AndFilter(new EqualsFilter("topic", topic), new GreaterThanFilter("amount", bound))
+                    : new OrFilter(new EqualsFilter("region", regions[random.nextInt(3)]), new LessThanFilter("amount", bound));
+            filters.put("f" + i, filter);
+        }
+        filters.forEach(index::add);
+
+        for (int i = 0; i < 300; i++) {
+            Map<String, String> event = new HashMap<>();
+            event.put("topic", topics[random.nextInt(topics.length)]);
+            event.put("region", regions[random.nextInt(regions.length)]);
+            event.put("amount", random.nextInt(10) == 0 ? "n/a" : String.valueOf(random.nextInt(220) - 10));
+            if (random.nextBoolean()) {
+                event.put("coupon", "x");
+            }
+
+            List<String> expected = new ArrayList<>();
+            filters.forEach((id, filter) -> {
+                if (filter.matches(event)) {
+                    expected.add(id);
+                }
+            });
+            assertEquals(sorted(expected), sorted(index.match(event)), "Mismatch for " + event);
+        }
+    }
+
+    @Test
+    @DisplayName("Should validate arguments")
+    void testInvalidArguments() {
+        assertThrows(NullPointerException.class, () -> index.add(null, TrueFilter.INSTANCE));
+        assertThrows(NullPointerException.class, () -> index.add("x", null));
+        assertThrows(NullPointerException.class, () -> index.match(null));
+    }
+}
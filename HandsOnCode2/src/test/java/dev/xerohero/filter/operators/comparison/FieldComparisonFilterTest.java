@@ -0,0 +1,100 @@
+package dev.xerohero.filter.operators.comparison;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.FilterBuilder;
+import dev.xerohero.filter.FluentFilterBuilder;
+import dev.xerohero.filter.parser.FilterParseException;
+import dev.xerohero.filter.parser.FilterParser;
+import dev.xerohero.filter.visitor.RequiredKeysVisitor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Field Comparison Filter Tests")
+class FieldComparisonFilterTest {
+
+    @Nested
+    @DisplayName("Matching")
+    class MatchingTests {
+
+        @ParameterizedTest
+        @CsvSource({
+                "9, <, 10, true", "10, <, 9, false", "10, <=, 10.0, true", "1.5, =, 1.50, true",
+                "abc, =, ABC, true", "abc, !=, abd, true", "100, >, abc, false", "b, >=, a, true",
+                "2024-03-02T10:00:00Z, >, 2024-03-01T23:59:59Z, true"})
+        void testComparesValuesOfTwoKeys(String left, String operator, String right, boolean expected) {
+            Filter filter = new FieldComparisonFilter("left", ComparisonOperator.fromSymbol(operator), "right");
+
+            assertEquals(expected, filter.matches(Map.of("left", left, "right", right)));
+        }
+
+        @Test
+        void testNeverMatchesMissingKeys() {
+            Filter filter = new FieldComparisonFilter("used", ComparisonOperator.NOT_EQUAL, "quota");
+
+            assertFalse(filter.matches(Map.of("used", "5")));
+            assertFalse(filter.matches(Map.of("quota", "5")));
+            assertTrue(filter.matches(Map.of("used", "5", "quota", "6")));
+        }
+
+        @Test
+        void testTreatsSlashesAsData() {
+            Filter filter = new FieldComparisonFilter("path", ComparisonOperator.EQUAL, "route");
+
+            assertTrue(filter.matches(Map.of("path", "/api/", "route", "/API/")));
+            assertFalse(filter.matches(Map.of("path", "/.*/", "route", "anything")));
+        }
+
+        @Test
+        void testRequiresBothKeys() {
+            Filter filter = new FieldComparisonFilter("used", ComparisonOperator.LESS_THAN, "quota");
+
+            assertEquals(Set.of("used", "quota"), RequiredKeysVisitor.analyze(filter).mandatoryKeys());
+        }
+
+        @Test
+        void testRejectsInvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> new FieldComparisonFilter("", ComparisonOperator.EQUAL, "b"));
+            assertThrows(IllegalArgumentException.class, () -> new FieldComparisonFilter("a", ComparisonOperator.EQUAL, null));
+            assertThrows(NullPointerException.class, () -> new FieldComparisonFilter("a", null, "b"));
+            assertThrows(IllegalArgumentException.class, () -> ComparisonOperator.fromSymbol("=="));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing, Building and Serialization")
+    class SyntaxTests {
+
+        @Test
+        void testParsesFunctionCall() {
+            Filter filter = FilterParser.parse("fields(updated_at > created_at) AND fields(used < quota)");
+
+            assertTrue(filter.matches(Map.of("updated_at", "2024-05-02", "created_at", "2024-05-01", "used", "7", "quota", "10")));
+            assertFalse(filter.matches(Map.of("updated_at", "2024-05-02", "created_at", "2024-05-01", "used", "70", "quota", "10")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"fields(used <)", "fields(used << quota)", "fields(used < 1quota)", "fields(used < quota, x)"})
+        void testRejectsInvalidCalls(String expression) {
+            assertThrows(FilterParseException.class, () -> FilterParser.parse(expression));
+        }
+
+        @Test
+        void testBuildsFilters() {
+            Filter built = FilterBuilder.and().withCompareFields("used", "<", "quota").build();
+            Filter fluent = FluentFilterBuilder.where("used").comparedTo(">=", "quota").build();
+            Map<String, String> resource = Map.of("used", "7", "quota", "10");
+
+            assertTrue(built.matches(resource));
+            assertFalse(fluent.matches(resource));
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package dev.xerohero.filter.operators.geo;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.GeoDistance;
+import dev.xerohero.filter.index.FilterIndex;
+import dev.xerohero.filter.operators.AndFilter;
+import dev.xerohero.filter.parser.FilterParseException;
+import dev.xerohero.filter.parser.FilterParser;
+import dev.xerohero.filter.serialization.FilterSerialization;
+import dev.xerohero.filter.store.IndexedResourceStore;
+import dev.xerohero.filter.store.QueryPlan.AccessPath;
+import dev.xerohero.filter.visitor.RequiredKeysVisitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Geo Filter Tests")
+class GeoFilterTest {
+
+    private List<Map<String, String>> resources;
+
+    @BeforeEach
+    void setUp() {
+        resources = new ArrayList<>();
+        Random random = new Random(23);
+        for (int i = 0; i < 3_000; i++) {
+            double lat;
+            double lon;
+            if (i % 3 == 0) {
+                // Around Berlin
+                lat = 52.5 + random.nextGaussian() * 0.3;
+                lon = 13.4 + random.nextGaussian() * 0.3;
+            } else if (i % 3 == 1) {
+                // Around Fiji, on both sides of the antimeridian
+                lat = -17.8 + random.nextGaussian() * 0.3;
+                lon = 179.9 + random.nextGaussian() * 0.3;
+                lon = lon > 180 ? lon - 360 : lon;
+            } else {
+                lat = random.nextDouble() * 180 - 90;
+                lon = random.nextDouble() * 360 - 180;
+            }
+            resources.add(point(i, String.valueOf(lat), String.valueOf(lon)));
+        }
+    }
+
+    private static Map<String, String> point(int id, String lat, String lon) {
+        Map<String, String> resource = new HashMap<>();
+        resource.put("id", String.valueOf(id));
+        if (lat != null) {
+            resource.put("lat", lat);
+        }
+        if (lon != null) {
+            resource.put("lon", lon);
+        }
+        return resource;
+    }
+
+    private List<Map<String, String>> scan(Filter filter) {
+        return resources.stream().filter(filter::matches).collect(Collectors.toList());
+    }
+
+    @Nested
+    @DisplayName("Within")
+    class WithinTests {
+
+        @ParameterizedTest
+        @CsvSource({
+                "52.5, 13.4, 25000",
+                "52.5, 13.4, 0",
+                "-17.8, 179.9, 40000",
+                "-17.8, -179.95, 40000",
+                "89.9, 0, 500000",
+                "-89.5, 120, 100000",
+                "0, 0, 20100000"
+        })
+        void testMatchesHaversineDistance(double latitude, double longitude, double radiusMeters) {
+            Filter filter = new GeoWithinFilter("lat", "lon", latitude, longitude, radiusMeters);
+
+            for (Map<String, String> resource : resources) {
+                double distance = GeoDistance.haversineMeters(latitude, longitude,
+                        Double.parseDouble(resource.get("lat")), Double.parseDouble(resource.get("lon")));
+                // Points within a rounding error of the circle may go either way
+                if (Math.abs(distance - radiusMeters) > 1e-3) {
+                    assertEquals(distance <= radiusMeters, filter.matches(resource), resource.toString());
+                }
+            }
+        }
+
+        @Test
+        void testCenterMatchesWithZeroRadius() {
+            Filter filter = new GeoWithinFilter("lat", "lon", 52.5, 13.4, 0);
+
+            assertTrue(filter.matches(point(0, "52.5", "13.4")));
+            assertFalse(filter.matches(point(0, "52.5", "13.40001")));
+        }
+
+        @Test
+        void testRejectsMissingAndInvalidCoordinates() {
+            Filter filter = new GeoWithinFilter("lat", "lon", 0, 0, 20_100_000);
+
+            assertTrue(filter.matches(point(0, "1e1", "-20")));
+            assertFalse(filter.matches(point(0, null, "0")));
+            assertFalse(filter.matches(point(0, "0", null)));
+            assertFalse(filter.matches(point(0, "unknown", "0")));
+            assertFalse(filter.matches(point(0, "NaN", "0")));
+            assertFalse(filter.matches(point(0, "0", "0x10")));
+            assertFalse(filter.matches(point(0, "90.5", "0")));
+            assertFalse(filter.matches(point(0, "0", "180.5")));
+        }
+
+        @Test
+        void testRejectsInvalidConstants() {
+            assertThrows(IllegalArgumentException.class, () -> new GeoWithinFilter("lat", "lon", 91, 0, 1));
+            assertThrows(IllegalArgumentException.class, () -> new GeoWithinFilter("lat", "lon", 0, -181, 1));
+            assertThrows(IllegalArgumentException.class, () -> new GeoWithinFilter("lat", "lon", 0, 0, -1));
+            assertThrows(IllegalArgumentException.class, () -> new GeoWithinFilter("lat", "lon", 0, 0, Double.NaN));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new GeoWithinFilter("lat", "lon", 0, 0, Double.POSITIVE_INFINITY));
+            assertThrows(IllegalArgumentException.class, () -> new GeoWithinFilter("", "lon", 0, 0, 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bounding Box")
+    class BoundingBoxTests {
+
+        @Test
+        void testMatchesInclusiveBounds() {
+            Filter filter = new GeoBoundingBoxFilter("lat", "lon", 52.3, 13.1, 52.7, 13.7);
+
+            assertTrue(filter.matches(point(0, "52.3", "13.7")));
+            assertTrue(filter.matches(point(0, "52.5", "13.4")));
+            assertFalse(filter.matches(point(0, "52.29", "13.4")));
+            assertFalse(filter.matches(point(0, "52.5", "13.71")));
+        }
+
+        @Test
+        void testMatchesAcrossAntimeridian() {
+            GeoBoundingBoxFilter filter = new GeoBoundingBoxFilter("lat", "lon", -18.5, 179.5, -17, -179.5);
+
+            assertTrue(filter.crossesAntimeridian());
+            for (Map<String, String> resource : resources) {
+                double lat = Double.parseDouble(resource.get("lat"));
+                double lon = Double.parseDouble(resource.get("lon"));
+                boolean expected = lat >= -18.5 && lat <= -17 && (lon >= 179.5 || lon <= -179.5);
+                assertEquals(expected, filter.matches(resource), resource.toString());
+            }
+        }
+
+        @Test
+        void testRejectsInvalidConstants() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new GeoBoundingBoxFilter("lat", "lon", 10, 0, 5, 1));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new GeoBoundingBoxFilter("lat", "lon", -91, 0, 5, 1));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new GeoBoundingBoxFilter("lat", "lon", 0, 0, 5, 181));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing and Serialization")
+    class SyntaxTests {
+
+        @Test
+        void testParsesFunctionCalls() {
+            Filter within = FilterParser.parse("within(lat, lon, 52.52, 13.405, 25000)");
+            Filter box = FilterParser.parse("inBox('lat', \"lon\", 52.3, 13.1, 52.7, 13.7)");
+
+            GeoWithinFilter geoWithin = assertInstanceOf(GeoWithinFilter.class, within);
+            assertEquals("lat", geoWithin.getLatitudeKey());
+            assertEquals(13.405, geoWithin.getLongitude());
+            assertEquals(25_000, geoWithin.getRadiusMeters());
+            GeoBoundingBoxFilter geoBox = assertInstanceOf(GeoBoundingBoxFilter.class, box);
+            assertEquals("lon", geoBox.getLongitudeKey());
+            assertEquals(52.7, geoBox.getMaxLatitude());
+            assertEquals(13.1, geoBox.getMinLongitude());
+        }
+
+        @Test
+        void testParsesFunctionCallsInsideLogicalOperators() {
+            Filter filter = FilterParser.parse("within(lat, lon, 52.52, 13.405, 25000) AND (status = open OR NOT inBox(lat, lon, 0, 0, 1, 1))");
+
+            AndFilter and = assertInstanceOf(AndFilter.class, filter);
+            assertInstanceOf(GeoWithinFilter.class, and.filters()[0]);
+            assertTrue(filter.matches(Map.of("lat", "52.52", "lon", "13.4", "status", "closed")));
+            assertFalse(filter.matches(Map.of("lat", "48.1", "lon", "11.6", "status", "open")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "within(lat, lon, 52.52, 13.405)",
+                "within(lat, lon, 52.52, 13.405, far)",
+                "within(lat, lon, 95, 13.405, 1000)",
+                "within(lat, lon, 52.52, 13.405, -1)",
+                "within(1lat, lon, 52.52, 13.405, 1000)",
+                "inBox(lat, lon, 52.7, 13.1, 52.3, 13.7)",
+                "inBox(lat, lon, 52.3, 13.1, 52.7, , 13.7)"
+        })
+        void testRejectsInvalidCalls(String expression) {
+            assertThrows(FilterParseException.class, () -> FilterParser.parse(expression));
+        }
+
+        @Test
+        void testJsonRequiresAllFields() {
+            assertThrows(Exception.class, () -> FilterSerialization.fromJson(
+                    "{\"type\":\"geo_within\",\"latitudeKey\":\"lat\",\"longitudeKey\":\"lon\",\"latitude\":1,\"longitude\":2}"));
+        }
+
+        @Test
+        void testRequiresBothKeys() {
+            var keys = new GeoWithinFilter("lat", "lon", 0, 0, 1).accept(new RequiredKeysVisitor());
+
+            assertEquals(Set.of("lat", "lon"), keys.mandatoryKeys());
+        }
+    }
+
+    @Nested
+    @DisplayName("Indexes")
+    class IndexTests {
+
+        @Test
+        void testStoreUsesSpatialIndex() {
+            IndexedResourceStore store = new IndexedResourceStore();
+            resources.forEach(store::add);
+            store.createSpatialIndex("lat", "lon");
+            List<Filter> filters = List.of(
+                    new GeoWithinFilter("lat", "lon", 52.5, 13.4, 25_000),
+                    new GeoWithinFilter("lat", "lon", -17.8, 179.9, 40_000),
+                    new GeoBoundingBoxFilter("lat", "lon", 52.3, 13.1, 52.7, 13.7),
+                    new GeoBoundingBoxFilter("lat", "lon", -18.5, 179.5, -17, -179.5));
+
+            for (Filter filter : filters) {
+                assertEquals(AccessPath.SPATIAL_INDEX, store.explain(filter).getAccessPath(), filter.toString());
+                assertEquals(scan(filter), store.query(filter), filter.toString());
+            }
+        }
+
+        @Test
+        void testStoreScansWithoutSpatialIndex() {
+            IndexedResourceStore store = new IndexedResourceStore();
+            resources.forEach(store::add);
+            Filter filter = new GeoWithinFilter("lat", "lon", 52.5, 13.4, 25_000);
+
+            assertEquals(AccessPath.FULL_SCAN, store.explain(filter).getAccessPath());
+            assertEquals(scan(filter), store.query(filter));
+        }
+
+        @Test
+        void testFilterIndexMatchesLikeFilters() {
+            FilterIndex index = new FilterIndex();
+            Map<String, Filter> filters = new LinkedHashMap<>();
+            filters.put("berlin", new GeoWithinFilter("lat", "lon", 52.5, 13.4, 25_000));
+            filters.put("fiji", new GeoWithinFilter("lat", "lon", -17.8, 179.9, 40_000));
+            filters.put("pole", new GeoWithinFilter("lat", "lon", 89.9, 0, 500_000));
+            filters.put("box", new GeoBoundingBoxFilter("lat", "lon", 52.3, 13.1, 52.7, 13.7));
+            filters.put("wrapping", new GeoBoundingBoxFilter("lat", "lon", -18.5, 179.5, -17, -179.5));
+            filters.forEach(index::add);
+
+            for (Map<String, String> resource : resources) {
+                Set<String> expected = filters.entrySet().stream()
+                        .filter(entry -> entry.getValue().matches(resource))
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toSet());
+                assertEquals(expected, new HashSet<>(index.match(resource)), resource.toString());
+            }
+        }
+    }
+}
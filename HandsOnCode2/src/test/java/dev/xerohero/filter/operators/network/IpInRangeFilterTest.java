@@ -0,0 +1,177 @@
+package dev.xerohero.filter.operators.network;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.parser.FilterParseException;
+import dev.xerohero.filter.parser.FilterParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IP Range Filter Tests")
+class IpInRangeFilterTest {
+
+    @Nested
+    @DisplayName("Address Parsing")
+    class ParsingTests {
+
+        @ParameterizedTest
+        @CsvSource({
+                "0.0.0.0, 0, 0x0000ffff00000000",
+                "192.168.1.10, 0, 0x0000ffffc0a8010a",
+                "255.255.255.255, 0, 0x0000ffffffffffff",
+                "::, 0, 0",
+                "::1, 0, 1",
+                "::ffff:192.168.1.10, 0, 0x0000ffffc0a8010a",
+                "2001:db8::8a2e:370:7334, 0x20010db800000000, 0x00008a2e03707334",
+                "2001:DB8:0:0:0:0:0:1, 0x20010db800000000, 1",
+                "fe80::, 0xfe80000000000000, 0",
+                "1:2:3:4:5:6:7::, 0x0001000200030004, 0x0005000600070000"
+        })
+        void testParsesLiterals(String text, String high, String low) {
+            IpAddress address = IpAddress.parse(text);
+
+            assertNotNull(address, text);
+            assertEquals(Long.parseUnsignedLong(high.replace("0x", ""), 16), address.high());
+            assertEquals(Long.parseUnsignedLong(low.replace("0x", ""), 16), address.low());
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "1.2.3", "1.2.3.4.5", "256.1.1.1", "01.2.3.4", "1.2.3.4 ", "1..2.3",
+                "localhost", "1.2.3.-4", ":", ":::", "1:::2", "1::2::3", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7",
+                "12345::", "g::1", "::1%eth0", "1:", ":1", "::1.2.3", "1:2:3:4:5:6:7:1.2.3.4", "::256.1.1.1"})
+        void testRejectsInvalidLiterals(String text) {
+            assertNull(IpAddress.parse(text), text);
+        }
+
+        @Test
+        void testFormatsAddresses() {
+            assertEquals("10.1.2.3", IpAddress.parse("10.1.2.3").toString());
+            assertTrue(IpAddress.parse("::ffff:10.1.2.3").isIpv4());
+            assertEquals("2001:db8:0:0:0:0:0:1", IpAddress.parse("2001:db8::1").toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Matching")
+    class MatchingTests {
+
+        @Test
+        void testMatchesIpv4AndIpv6Ranges() {
+            Filter filter = new IpInRangeFilter("client_ip", "10.0.0.0/8", "192.168.1.0/24", "203.0.113.7",
+                    "2001:db8::/32");
+
+            assertTrue(filter.matches(Map.of("client_ip", "10.255.0.1")));
+            assertTrue(filter.matches(Map.of("client_ip", "192.168.1.255")));
+            assertTrue(filter.matches(Map.of("client_ip", "203.0.113.7")));
+            assertTrue(filter.matches(Map.of("client_ip", "::ffff:10.0.0.1")));
+            assertTrue(filter.matches(Map.of("client_ip", "2001:db8:ffff::1")));
+            assertFalse(filter.matches(Map.of("client_ip", "11.0.0.0")));
+            assertFalse(filter.matches(Map.of("client_ip", "192.168.2.1")));
+            assertFalse(filter.matches(Map.of("client_ip", "203.0.113.8")));
+            assertFalse(filter.matches(Map.of("client_ip", "2001:db9::1")));
+            assertFalse(filter.matches(Map.of("client_ip", "not an address")));
+            assertFalse(filter.matches(Map.of()));
+        }
+
+        @Test
+        void testMatchesEverythingWithZeroLengthPrefix() {
+            Filter ipv4 = new IpInRangeFilter("client_ip", "0.0.0.0/0");
+            Filter all = new IpInRangeFilter("client_ip", "::/0");
+
+            assertTrue(ipv4.matches(Map.of("client_ip", "1.2.3.4")));
+            assertFalse(ipv4.matches(Map.of("client_ip", "2001:db8::1")));
+            assertTrue(all.matches(Map.of("client_ip", "2001:db8::1")));
+            assertTrue(all.matches(Map.of("client_ip", "1.2.3.4")));
+        }
+
+        @Test
+        void testIgnoresHostBitsAndCoveredRanges() {
+            IpInRangeFilter filter = new IpInRangeFilter("client_ip", "10.1.2.3/16", "10.1.5.0/24", "10.1.0.0/16",
+                    "10.2.0.0/24", "10.0.0.0/8");
+
+            assertEquals(1, filter.getPrefixCount());
+            assertEquals(5, filter.getRanges().size());
+            assertTrue(filter.matches(Map.of("client_ip", "10.200.0.1")));
+        }
+
+        @Test
+        void testMatchesLikeLinearScanOverManyRanges() {
+            Random random = new Random(41);
+            List<long[]> ipv4Ranges = new ArrayList<>();
+            List<String> ranges = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                int length = 8 + random.nextInt(25);
+                long network = random.nextInt() & 0xffffffffL & (0xffffffffL << (32 - length));
+                ipv4Ranges.add(new long[]{network, length});
+                ranges.add(format(network) + "/" + length);
+            }
+            IpInRangeFilter filter = new IpInRangeFilter("client_ip", ranges);
+
+            for (int i = 0; i < 5_000; i++) {
+                long address;
+                if (i % 2 == 0) {
+                    // Inside or next to a random range
+                    long[] range = ipv4Ranges.get(random.nextInt(ipv4Ranges.size()));
+                    address = (range[0] + random.nextInt(3) - 1 + (random.nextBoolean() ? 0 : 1L << (32 - range[1])))
+                            & 0xffffffffL;
+                } else {
+                    address = random.nextInt() & 0xffffffffL;
+                }
+                boolean expected = false;
+                for (long[] range : ipv4Ranges) {
+                    if ((address ^ range[0]) >>> (32 - range[1]) == 0) {
+                        expected = true;
+                        break;
+                    }
+                }
+                assertEquals(expected, filter.matches(Map.of("client_ip", format(address))), format(address));
+            }
+        }
+
+        private String format(long address) {
+            return (address >>> 24 & 0xff) + "." + (address >>> 16 & 0xff) + "." + (address >>> 8 & 0xff) + "." + (address & 0xff);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"10.0.0.0/33", "2001:db8::/129", "10.0.0.0/", "10.0.0.0/-1", "10.0.0.0/8/8",
+                "10.0.0/8", "host.example/24"})
+        void testRejectsInvalidRanges(String range) {
+            assertThrows(IllegalArgumentException.class, () -> new IpInRangeFilter("client_ip", range));
+        }
+
+        @Test
+        void testRejectsMissingKeyOrRanges() {
+            assertThrows(IllegalArgumentException.class, () -> new IpInRangeFilter("", "10.0.0.0/8"));
+            assertThrows(IllegalArgumentException.class, () -> new IpInRangeFilter("client_ip"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing and Serialization")
+    class SyntaxTests {
+
+        @Test
+        void testParsesFunctionCall() {
+            Filter filter = FilterParser.parse("ipInRange(client_ip, 10.0.0.0/8, '2001:db8::/32') AND status = active");
+
+            assertTrue(filter.matches(Map.of("client_ip", "2001:db8::1", "status", "active")));
+            assertFalse(filter.matches(Map.of("client_ip", "11.0.0.1", "status", "active")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"ipInRange(client_ip)", "ipInRange(client_ip, 10.0.0.0/33)", "ipInRange(1ip, 10.0.0.0/8)"})
+        void testRejectsInvalidCalls(String expression) {
+            assertThrows(FilterParseException.class, () -> FilterParser.parse(expression));
+        }
+    }
+}
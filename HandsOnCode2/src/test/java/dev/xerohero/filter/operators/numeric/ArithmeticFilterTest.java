@@ -0,0 +1,169 @@
+package dev.xerohero.filter.operators.numeric;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.FilterBuilder;
+import dev.xerohero.filter.operators.FalseFilter;
+import dev.xerohero.filter.operators.TrueFilter;
+import dev.xerohero.filter.operators.comparison.ComparisonOperator;
+import dev.xerohero.filter.optimizer.FilterOptimizer;
+import dev.xerohero.filter.parser.FilterParseException;
+import dev.xerohero.filter.parser.FilterParser;
+import dev.xerohero.filter.visitor.RequiredKeysVisitor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Arithmetic Filter Tests")
+class ArithmeticFilterTest {
+
+    @Nested
+    @DisplayName("Expressions")
+    class ExpressionTests {
+
+        @ParameterizedTest
+        @CsvSource(delimiter = '|', value = {
+                "1 + 2 * 3 | 7", "(1 + 2) * 3 | 9", "7 / 2 | 3.5", "-7 % 3 | -1", "10 - 4 - 3 | 3",
+                "2 * -3 | -6", "--4 | 4", "1.5e3 / 10 | 150", "a * b - c | 13", "(a + c) / a | 1.5"})
+        void testEvaluates(String expression, double expected) {
+            assertEquals(expected, ArithmeticExpression.parse(expression).evaluate(Map.of("a", "2", "b", "7", "c", "1")));
+        }
+
+        @ParameterizedTest
+        @CsvSource(delimiter = '|', value = {
+                "1 + 2 * 3 | 7", "2 * (3 + x) / 4 | 2 * (3 + x) / 4", "x - (y - z) | x - (y - z)", "(x - y) - z | x - y - z",
+                "-(x + 1) | -(x + 1)", "x * (2 + 0.5) | x * 2.5", "x / (6 / 4) | x / 1.5", "(1 - 3) * x | -2 * x",
+                "x - -2 | x - -2", "items.0.qty*2 | items.0.qty * 2"})
+        void testFoldsConstantsAndFormats(String expression, String formatted) {
+            ArithmeticExpression parsed = ArithmeticExpression.parse(expression);
+
+            assertEquals(formatted, parsed.toString());
+            assertEquals(parsed, ArithmeticExpression.parse(formatted));
+        }
+
+        @Test
+        void testFoldsConstantExpressions() {
+            assertTrue(ArithmeticExpression.parse("(2 + 3) * 1000 / 8").isConstant());
+            assertFalse(ArithmeticExpression.parse("1 / 0").isConstant());
+            assertTrue(ArithmeticExpression.parse("total").isKey());
+            assertEquals(Set.of("end", "start"), ArithmeticExpression.parse("(end - start) / 1000").getKeys());
+        }
+
+        @Test
+        void testComputesExactlyInIntegers() {
+            ArithmeticExpression expression = ArithmeticExpression.parse("a + 1 - a");
+            Map<String, String> resource = Map.of("a", "9007199254740993");
+
+            assertEquals(1, expression.evaluate(resource));
+            assertEquals(ArithmeticExpression.NOT_INTEGER, ArithmeticExpression.apply('*', Long.MAX_VALUE, 2L));
+            assertEquals(ArithmeticExpression.NOT_INTEGER, ArithmeticExpression.apply('+', Long.MAX_VALUE, 1L));
+            assertEquals(ArithmeticExpression.NOT_INTEGER, ArithmeticExpression.apply('-', -Long.MAX_VALUE, 2L));
+            assertEquals(-6, ArithmeticExpression.apply('*', -3L, 2L));
+        }
+
+        @Test
+        void testHasNoValueForMissingOrInvalidNumbers() {
+            ArithmeticExpression expression = ArithmeticExpression.parse("a / b");
+
+            assertTrue(Double.isNaN(expression.evaluate(Map.of("a", "1"))));
+            assertTrue(Double.isNaN(expression.evaluate(Map.of("a", "1", "b", "0"))));
+            assertTrue(Double.isNaN(expression.evaluate(Map.of("a", "1", "b", "two"))));
+            assertTrue(Double.isNaN(expression.evaluate(Map.of("a", "NaN", "b", "1"))));
+            assertEquals(0.25, expression.evaluate(Map.of("a", "0.5", "b", "2")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "a +", "(a + b", "a b", "end-start", "1..2", "a.", "'a' + 1", "1e999", "a ** 2"})
+        void testRejectsMalformedExpressions(String expression) {
+            assertThrows(IllegalArgumentException.class, () -> ArithmeticExpression.parse(expression));
+        }
+    }
+
+    @Nested
+    @DisplayName("Matching")
+    class MatchingTests {
+
+        @Test
+        void testComparesExpressions() {
+            Filter filter = new ArithmeticFilter("price * qty", ">", "1000");
+
+            assertTrue(filter.matches(Map.of("price", "250.5", "qty", "4")));
+            assertFalse(filter.matches(Map.of("price", "250", "qty", "4")));
+            assertFalse(filter.matches(Map.of("price", "250")));
+            assertFalse(filter.matches(Map.of("price", "cheap", "qty", "4")));
+        }
+
+        @Test
+        void testNeverMatchesWithoutValue() {
+            Filter filter = new ArithmeticFilter("a / b", "!=", "1");
+
+            assertFalse(filter.matches(Map.of("a", "1", "b", "0")));
+            assertTrue(filter.matches(Map.of("a", "3", "b", "2")));
+        }
+
+        @Test
+        void testComparesZerosAsEqual() {
+            assertTrue(new ArithmeticFilter("a * -1", "=", "0").matches(Map.of("a", "0.0")));
+        }
+
+        @Test
+        void testRejectsInvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> new ArithmeticFilter("a", "=>", "1"));
+            assertThrows(IllegalArgumentException.class, () -> new ArithmeticFilter("a +", ">", "1"));
+            assertThrows(NullPointerException.class,
+                    () -> new ArithmeticFilter(null, ComparisonOperator.EQUAL, ArithmeticExpression.parse("1")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing, Building and Serialization")
+    class SyntaxTests {
+
+        @Test
+        void testParsesComparisons() {
+            Filter filter = FilterParser.parse("price * qty > 1000 AND (end - start) / 1000 < 30 AND status = active");
+
+            assertTrue(filter.matches(Map.of("price", "500", "qty", "3", "start", "1700000000000",
+                    "end", "1700000029000", "status", "active")));
+            assertFalse(filter.matches(Map.of("price", "500", "qty", "3", "start", "1700000000000",
+                    "end", "1700000030000", "status", "active")));
+        }
+
+        @Test
+        void testParsesParenthesizedSides() {
+            Filter filter = FilterParser.parse("(used) >= (quota * 0.9)");
+
+            assertTrue(filter.matches(Map.of("used", "90", "quota", "100")));
+            assertFalse(filter.matches(Map.of("used", "89.9", "quota", "100")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"a + b ~ 1", "a + b > 'x'", "a + > 1", "invalid-field = 'value'", "(a + b > 1"})
+        void testRejectsInvalidComparisons(String expression) {
+            assertThrows(FilterParseException.class, () -> FilterParser.parse(expression));
+        }
+
+        @Test
+        void testBuildsFilters() {
+            Filter filter = FilterBuilder.and().withArithmetic("price * qty", ">", "1000").withEqualTo("status", "active").build();
+
+            assertTrue(filter.matches(Map.of("price", "500", "qty", "3", "status", "active")));
+            assertFalse(FilterBuilder.arithmetic("price * qty", ">", "1000").matches(Map.of("price", "5", "qty", "3")));
+        }
+
+        @Test
+        void testReportsKeysAndFoldsConstantComparisons() {
+            assertEquals(Set.of("end", "start", "limit"),
+                    RequiredKeysVisitor.analyze(new ArithmeticFilter("end - start", "<", "limit")).mandatoryKeys());
+            assertSame(TrueFilter.INSTANCE, FilterOptimizer.optimize(new ArithmeticFilter("2 * 3", "=", "6")));
+            assertSame(FalseFilter.INSTANCE, FilterOptimizer.optimize(new ArithmeticFilter("1 + 1", ">", "2.5")));
+        }
+    }
+}
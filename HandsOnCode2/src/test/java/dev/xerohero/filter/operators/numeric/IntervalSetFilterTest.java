@@ -0,0 +1,168 @@
+package dev.xerohero.filter.operators.numeric;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.FilterBuilder;
+import dev.xerohero.filter.FluentFilterBuilder;
+import dev.xerohero.filter.parser.FilterParseException;
+import dev.xerohero.filter.parser.FilterParser;
+import dev.xerohero.filter.store.IndexedResourceStore;
+import dev.xerohero.filter.store.QueryPlan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Interval Set Filter Tests")
+class IntervalSetFilterTest {
+
+    @Nested
+    @DisplayName("Intervals")
+    class IntervalTests {
+
+        @ParameterizedTest
+        @CsvSource({"10..20, 10, true, 20, true", "10..<20, 10, true, 20, false", "10<..20, 10, false, 20, true",
+                "' -1.5 <..< 2e3 ', -1.5, false, 2000, false", "-Infinity..0, -Infinity, true, 0, true"})
+        void testParsesNotation(String text, double lower, boolean lowerInclusive, double upper, boolean upperInclusive) {
+            assertEquals(new NumericInterval(lower, lowerInclusive, upper, upperInclusive), NumericInterval.parse(text));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"10", "10-20", "..20", "10..", "a..b", "NaN..1", "10<<..20"})
+        void testRejectsInvalidNotation(String text) {
+            assertThrows(IllegalArgumentException.class, () -> NumericInterval.parse(text));
+        }
+
+        @Test
+        void testFormatsBoundsCompactly() {
+            assertEquals("0..<10", new NumericInterval(-0.0, true, 10, false).toString());
+            assertEquals("10.99<..1.0E20", new NumericInterval(10.99, false, 1e20, true).toString());
+            assertEquals("-Infinity..0", NumericInterval.closed(Double.NEGATIVE_INFINITY, 0).toString());
+        }
+
+        @Test
+        void testDetectsEmptyIntervals() {
+            assertTrue(NumericInterval.parse("5..<5").isEmpty());
+            assertTrue(NumericInterval.parse("6..5").isEmpty());
+            assertFalse(NumericInterval.parse("5..5").isEmpty());
+            assertTrue(NumericInterval.parse("5..5").contains(5));
+        }
+    }
+
+    @Nested
+    @DisplayName("Matching")
+    class MatchingTests {
+
+        @Test
+        void testMatchesAnyInterval() {
+            Filter filter = new IntervalSetFilter("price", "0..<10", "100<..500", "1000..Infinity");
+
+            assertTrue(filter.matches(Map.of("price", "0")));
+            assertTrue(filter.matches(Map.of("price", "9.99")));
+            assertFalse(filter.matches(Map.of("price", "10")));
+            assertFalse(filter.matches(Map.of("price", "100")));
+            assertTrue(filter.matches(Map.of("price", "1e2000")));
+            assertTrue(filter.matches(Map.of("price", "500.0")));
+            assertFalse(filter.matches(Map.of("price", "-1")));
+            assertFalse(filter.matches(Map.of("price", "cheap")));
+            assertFalse(filter.matches(Map.of("price", "NaN")));
+            assertFalse(filter.matches(Map.of()));
+        }
+
+        @Test
+        void testMergesOverlappingAndAdjacentIntervals() {
+            IntervalSetFilter filter = new IntervalSetFilter("price", "20..30", "0..<10", "10..15", "25..40", "50<..<50", "60..50");
+
+            assertEquals(List.of(NumericInterval.closed(0, 15), NumericInterval.closed(20, 40)), filter.getMergedIntervals());
+            assertEquals(2, filter.getIntervalCount());
+            assertEquals(6, filter.getIntervals().size());
+            assertFalse(filter.matches(Map.of("price", "15.5")));
+        }
+
+        @Test
+        void testMatchesLikeLinearScanOverManyIntervals() {
+            Random random = new Random(46);
+            List<String> intervals = new ArrayList<>();
+            List<NumericInterval> parsed = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                int lower = random.nextInt(100_000);
+                NumericInterval interval = new NumericInterval(lower, random.nextBoolean(),
+                        lower + random.nextInt(50), random.nextBoolean());
+                intervals.add(interval.toString());
+                parsed.add(interval);
+            }
+            IntervalSetFilter filter = new IntervalSetFilter("price", intervals);
+
+            for (int i = 0; i < 20_000; i++) {
+                double value = random.nextBoolean() ? random.nextInt(100_100) : random.nextInt(200_200) / 2.0;
+                boolean expected = parsed.stream().anyMatch(interval -> interval.contains(value));
+                assertEquals(expected, filter.matches(Map.of("price", String.valueOf(value))), String.valueOf(value));
+            }
+        }
+
+        @Test
+        void testRejectsInvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> new IntervalSetFilter("price"));
+            assertThrows(IllegalArgumentException.class, () -> new IntervalSetFilter("", "0..1"));
+            assertThrows(IllegalArgumentException.class, () -> new IntervalSetFilter("price", "0..1", null));
+            assertThrows(IllegalArgumentException.class, () -> new IntervalSetFilter("price", "0-1"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing, Building and Storage")
+    class SyntaxTests {
+
+        @Test
+        void testParsesFunctionCall() {
+            Filter filter = FilterParser.parse("inIntervals(price, 0..10, '100..<500') AND status = active");
+
+            assertTrue(filter.matches(Map.of("price", "250", "status", "active")));
+            assertFalse(filter.matches(Map.of("price", "500", "status", "active")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"inIntervals(price)", "inIntervals(1price, 0..1)", "inIntervals(price, 0to1)"})
+        void testRejectsInvalidCalls(String expression) {
+            assertThrows(FilterParseException.class, () -> FilterParser.parse(expression));
+        }
+
+        @Test
+        void testBuildsFilters() {
+            Filter built = FilterBuilder.and().withInIntervals("price", "0..10", "20..30").build();
+            Filter fluent = FluentFilterBuilder.where("price").inIntervals("0..10", "20..30").build();
+
+            assertTrue(built.matches(Map.of("price", "25")));
+            assertFalse(built.matches(Map.of("price", "15")));
+            assertTrue(fluent.matches(Map.of("price", "5")));
+        }
+
+        @Test
+        void testQueriesStoreThroughRangeIndex() {
+            IndexedResourceStore store = new IndexedResourceStore();
+            List<Map<String, String>> resources = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                Map<String, String> resource = Map.of("price", i % 97 == 0 ? "n/a" : String.valueOf(i * 1.5));
+                resources.add(resource);
+                store.add(resource);
+            }
+            store.createRangeIndex("price");
+            Filter filter = new IntervalSetFilter("price", "0..<30", "300..450", "1200<..1260");
+            QueryPlan plan = store.explain(filter);
+
+            assertEquals(resources.stream().filter(filter::matches).collect(Collectors.toList()), store.query(filter));
+            assertEquals(QueryPlan.AccessPath.RANGE_INDEX, plan.getAccessPath());
+            assertTrue(plan.getEstimatedRows() < resources.size());
+            assertEquals(QueryPlan.AccessPath.EMPTY, store.explain(new IntervalSetFilter("price", "5..<5")).getAccessPath());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package dev.xerohero.filter.operators.text;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.FilterBuilder;
+import dev.xerohero.filter.FluentFilterBuilder;
+import dev.xerohero.filter.parser.FilterParseException;
+import dev.xerohero.filter.parser.FilterParser;
+import dev.xerohero.filter.store.IndexedResourceStore;
+import dev.xerohero.filter.store.QueryPlan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Contains Terms Filter Tests")
+class ContainsTermsFilterTest {
+
+    @Nested
+    @DisplayName("Matching")
+    class MatchingTests {
+
+        @Test
+        void testMatchesAnyTerm() {
+            Filter filter = new ContainsTermsFilter("description", ContainsTermsFilter.Mode.ANY, "refund", "chargeback");
+
+            assertTrue(filter.matches(Map.of("description", "Customer asked for a refund.")));
+            assertTrue(filter.matches(Map.of("description", "CHARGEBACK received")));
+            assertFalse(filter.matches(Map.of("description", "refunds were processed")));
+            assertFalse(filter.matches(Map.of("description", "prerefund")));
+            assertFalse(filter.matches(Map.of("description", "")));
+            assertFalse(filter.matches(Map.of()));
+        }
+
+        @Test
+        void testMatchesAllTerms() {
+            Filter filter = new ContainsTermsFilter("description", ContainsTermsFilter.Mode.ALL, "refund", "Urgent", "urgent");
+
+            assertTrue(filter.matches(Map.of("description", "URGENT: refund now")));
+            assertTrue(filter.matches(Map.of("description", "refund,urgent")));
+            assertFalse(filter.matches(Map.of("description", "urgent refunds")));
+            assertFalse(filter.matches(Map.of("description", "refund")));
+        }
+
+        @Test
+        void testFoldsCaseBeyondAscii() {
+            Filter filter = new ContainsTermsFilter("description", ContainsTermsFilter.Mode.ANY, "Straße", "über");
+
+            assertTrue(filter.matches(Map.of("description", "STRAẞE gesperrt")));
+            assertTrue(filter.matches(Map.of("description", "Blick ÜBER die Stadt")));
+            assertFalse(filter.matches(Map.of("description", "Überblick")));
+        }
+
+        @Test
+        void testMatchesAllOfMoreThan64Terms() {
+            List<String> terms = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                terms.add("term" + i);
+            }
+            Filter filter = new ContainsTermsFilter("description", ContainsTermsFilter.Mode.ALL, terms);
+            String all = String.join(" ", terms);
+
+            assertTrue(filter.matches(Map.of("description", all)));
+            assertTrue(filter.matches(Map.of("description", all + " " + all)));
+            assertFalse(filter.matches(Map.of("description", all.replace("term99", "term100"))));
+        }
+
+        @Test
+        void testKeepsTermsAndFoldsDuplicates() {
+            ContainsTermsFilter filter = new ContainsTermsFilter("description", ContainsTermsFilter.Mode.ANY, "Refund", "REFUND", "urgent");
+
+            assertEquals(List.of("Refund", "REFUND", "urgent"), filter.getTerms());
+            assertEquals(List.of("refund", "urgent"), filter.getFoldedTerms());
+        }
+
+        @Test
+        void testRejectsInvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> new ContainsTermsFilter("description", ContainsTermsFilter.Mode.ANY));
+            assertThrows(IllegalArgumentException.class, () -> new ContainsTermsFilter("", ContainsTermsFilter.Mode.ANY, "refund"));
+            assertThrows(IllegalArgumentException.class, () -> new ContainsTermsFilter("description", ContainsTermsFilter.Mode.ANY, "refund now"));
+            assertThrows(IllegalArgumentException.class, () -> new ContainsTermsFilter("description", ContainsTermsFilter.Mode.ANY, "refund!"));
+            assertThrows(IllegalArgumentException.class, () -> new ContainsTermsFilter("description", ContainsTermsFilter.Mode.ANY, ""));
+            assertThrows(NullPointerException.class, () -> new ContainsTermsFilter("description", null, "refund"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing, Building and Storage")
+    class SyntaxTests {
+
+        @Test
+        void testParsesFunctionCalls() {
+            Filter filter = FilterParser.parse("containsAll(description, refund, urgent) OR containsAny(title, escalation)");
+
+            assertTrue(filter.matches(Map.of("description", "urgent refund", "title", "")));
+            assertTrue(filter.matches(Map.of("description", "", "title", "Escalation")));
+            assertFalse(filter.matches(Map.of("description", "refund", "title", "note")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"containsAny(description)", "containsAll(1description, refund)", "containsAny(description, 'two words')"})
+        void testRejectsInvalidCalls(String expression) {
+            assertThrows(FilterParseException.class, () -> FilterParser.parse(expression));
+        }
+
+        @Test
+        void testBuildsFilters() {
+            Filter built = FilterBuilder.and().withContainsAllTerms("description", "refund", "urgent").build();
+            Filter fluent = FluentFilterBuilder.where("description").containsAnyTerm("refund", "urgent").build();
+
+            assertTrue(built.matches(Map.of("description", "urgent refund")));
+            assertFalse(built.matches(Map.of("description", "refund")));
+            assertTrue(fluent.matches(Map.of("description", "refund")));
+        }
+
+        @Test
+        void testQueriesStoreThroughTermIndex() {
+            IndexedResourceStore store = new IndexedResourceStore();
+            List<Map<String, String>> resources = new ArrayList<>();
+            String[] words = {"refund", "urgent", "shipping", "invoice", "Refund", "delay"};
+            for (int i = 0; i < 600; i++) {
+                Map<String, String> resource = Map.of("description", words[i % words.length] + " " + words[i % 5] + " #" + i);
+                resources.add(resource);
+                store.add(resource);
+            }
+            store.createTermIndex("description");
+
+            for (ContainsTermsFilter.Mode mode : ContainsTermsFilter.Mode.values()) {
+                Filter filter = new ContainsTermsFilter("description", mode, "refund", "urgent");
+                QueryPlan plan = store.explain(filter);
+
+                assertEquals(resources.stream().filter(filter::matches).collect(Collectors.toList()), store.query(filter));
+                assertEquals(QueryPlan.AccessPath.TERM_INDEX, plan.getAccessPath());
+                assertTrue(plan.getEstimatedRows() < resources.size());
+            }
+        }
+    }
+}
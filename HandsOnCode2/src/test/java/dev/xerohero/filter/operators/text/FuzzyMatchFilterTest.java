@@ -0,0 +1,158 @@
+package dev.xerohero.filter.operators.text;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.FilterBuilder;
+import dev.xerohero.filter.FluentFilterBuilder;
+import dev.xerohero.filter.parser.FilterParseException;
+import dev.xerohero.filter.parser.FilterParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Fuzzy Match Filter Tests")
+class FuzzyMatchFilterTest {
+
+    /**
+     * Computes the edit distance with the textbook dynamic program.
+     */
+    private static int distance(String a, String b) {
+        int[][] table = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    table[i][j] = i + j;
+                } else {
+                    int substitution = table[i - 1][j - 1]
+                            + (LevenshteinAutomaton.fold(a.charAt(i - 1)) == LevenshteinAutomaton.fold(b.charAt(j - 1)) ? 0 : 1);
+                    table[i][j] = Math.min(substitution, Math.min(table[i - 1][j], table[i][j - 1]) + 1);
+                }
+            }
+        }
+        return table[a.length()][b.length()];
+    }
+
+    private static String randomString(Random random, int length, String alphabet) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    @Nested
+    @DisplayName("Matching")
+    class MatchingTests {
+
+        @ParameterizedTest
+        @CsvSource({
+                "jonathon, jonathon, 0, true",
+                "jonathon, jonathan, 1, true",
+                "jonathon, Johnathan, 2, true",
+                "jonathon, Johnathan, 1, false",
+                "jonathon, jon, 4, false",
+                "jonathon, jon, 5, true",
+                "kitten, sitting, 3, true",
+                "kitten, sitting, 2, false",
+                "ab, ba, 1, false",
+                "ab, ba, 2, true",
+                "straße, STRASSE, 2, true"
+        })
+        void testMatchesWithinEdits(String target, String value, int maxEdits, boolean expected) {
+            assertEquals(expected, new FuzzyMatchFilter("name", target, maxEdits).matches(Map.of("name", value)));
+        }
+
+        @Test
+        void testMatchesLikeDynamicProgram() {
+            Random random = new Random(43);
+            for (int i = 0; i < 20_000; i++) {
+                // Short alphabets make near matches common; lengths cross the one-word boundary
+                String alphabet = i % 2 == 0 ? "abc" : "aAbBcdé";
+                int length = i % 10 == 0 ? 60 + random.nextInt(100) : random.nextInt(12);
+                String target = randomString(random, length, alphabet);
+                String value = random.nextBoolean() ? randomString(random, Math.max(0, length + random.nextInt(7) - 3), alphabet)
+                        : mutate(random, target, alphabet);
+                int maxEdits = random.nextInt(5);
+                boolean expected = distance(target, value) <= maxEdits;
+
+                assertEquals(expected, new FuzzyMatchFilter("name", target, maxEdits).matches(Map.of("name", value)),
+                        target + " vs " + value + " within " + maxEdits);
+            }
+        }
+
+        private String mutate(Random random, String text, String alphabet) {
+            StringBuilder builder = new StringBuilder(text);
+            for (int edits = random.nextInt(5); edits > 0; edits--) {
+                int position = random.nextInt(builder.length() + 1);
+                char c = alphabet.charAt(random.nextInt(alphabet.length()));
+                switch (random.nextInt(3)) {
+                    case 0 -> builder.insert(position, c);
+                    case 1 -> {
+                        if (position < builder.length()) {
+                            builder.deleteCharAt(position);
+                        }
+                    }
+                    default -> {
+                        if (position < builder.length()) {
+                            builder.setCharAt(position, c);
+                        }
+                    }
+                }
+            }
+            return builder.toString();
+        }
+
+        @Test
+        void testHandlesEmptyTargetAndMissingValues() {
+            Filter empty = new FuzzyMatchFilter("name", "", 2);
+
+            assertTrue(empty.matches(Map.of("name", "ab")));
+            assertFalse(empty.matches(Map.of("name", "abc")));
+            assertFalse(empty.matches(Map.of()));
+        }
+
+        @Test
+        void testRejectsInvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> new FuzzyMatchFilter("name", "jonathon", -1));
+            assertThrows(IllegalArgumentException.class, () -> new FuzzyMatchFilter(" ", "jonathon", 1));
+            assertThrows(NullPointerException.class, () -> new FuzzyMatchFilter("name", null, 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing, Building and Serialization")
+    class SyntaxTests {
+
+        @Test
+        void testParsesFunctionCall() {
+            Filter filter = FilterParser.parse("fuzzy(name, jonathon, 2) AND status = active");
+
+            assertTrue(filter.matches(Map.of("name", "Jonathan", "status", "active")));
+            assertFalse(filter.matches(Map.of("name", "Jon", "status", "active")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"fuzzy(name, jonathon)", "fuzzy(name, jonathon, two)", "fuzzy(name, jonathon, -1)",
+                "fuzzy(1name, jonathon, 1)"})
+        void testRejectsInvalidCalls(String expression) {
+            assertThrows(FilterParseException.class, () -> FilterParser.parse(expression));
+        }
+
+        @Test
+        void testBuildsFilters() {
+            Filter built = FilterBuilder.and().withFuzzyMatch("name", "jonathon", 1).build();
+            Filter fluent = FluentFilterBuilder.where("name").fuzzyMatches("jonathon", 1).build();
+
+            assertTrue(built.matches(Map.of("name", "jonathan")));
+            assertTrue(fluent.matches(Map.of("name", "jonathan")));
+            assertFalse(fluent.matches(Map.of("name", "johnathan")));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package dev.xerohero.filter.operators.text;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.FilterBuilder;
+import dev.xerohero.filter.FluentFilterBuilder;
+import dev.xerohero.filter.parser.FilterParseException;
+import dev.xerohero.filter.parser.FilterParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Multi-Value Filter Tests")
+class MultiValueFilterTest {
+
+    @Nested
+    @DisplayName("Matching")
+    class MatchingTests {
+
+        @Test
+        void testMatchesAnyValue() {
+            Filter filter = new MultiValueFilter("tags", MultiValueFilter.Mode.ANY, "urgent", "vip");
+
+            assertTrue(filter.matches(Map.of("tags", "billing, VIP")));
+            assertTrue(filter.matches(Map.of("tags", "urgent")));
+            assertFalse(filter.matches(Map.of("tags", "billing, urgently, vipp")));
+            assertFalse(filter.matches(Map.of("tags", "")));
+            assertFalse(filter.matches(Map.of()));
+        }
+
+        @Test
+        void testMatchesAllValues() {
+            Filter filter = new MultiValueFilter("tags", MultiValueFilter.Mode.ALL, "urgent", " vip ");
+
+            assertTrue(filter.matches(Map.of("tags", " Vip ,billing,, urgent ")));
+            assertFalse(filter.matches(Map.of("tags", "urgent, billing, urgent")));
+            assertFalse(filter.matches(Map.of("tags", "urgent vip")));
+        }
+
+        @Test
+        void testSplitsOnCustomDelimiter() {
+            Filter filter = new MultiValueFilter("tags", MultiValueFilter.Mode.ALL, " | ", List.of("a,b", "c"));
+
+            assertTrue(filter.matches(Map.of("tags", "C | a,b")));
+            assertFalse(filter.matches(Map.of("tags", "c|a,b")));
+        }
+
+        @Test
+        void testMatchesAllOfManyValues() {
+            List<String> values = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                values.add("tag" + i);
+            }
+            Filter filter = new MultiValueFilter("tags", MultiValueFilter.Mode.ALL, ",", values);
+            List<String> reversed = new ArrayList<>(values);
+            Collections.reverse(reversed);
+
+            assertTrue(filter.matches(Map.of("tags", String.join(",", reversed))));
+            assertFalse(filter.matches(Map.of("tags", String.join(",", values.subList(1, 100)) + ",tag1")));
+        }
+
+        @Test
+        void testRejectsInvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> new MultiValueFilter("tags", MultiValueFilter.Mode.ANY));
+            assertThrows(IllegalArgumentException.class, () -> new MultiValueFilter(" ", MultiValueFilter.Mode.ANY, "a"));
+            assertThrows(IllegalArgumentException.class, () -> new MultiValueFilter("tags", MultiValueFilter.Mode.ANY, " "));
+            assertThrows(IllegalArgumentException.class, () -> new MultiValueFilter("tags", MultiValueFilter.Mode.ANY, "a,b"));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new MultiValueFilter("tags", MultiValueFilter.Mode.ANY, "", List.of("a")));
+            assertThrows(NullPointerException.class, () -> new MultiValueFilter("tags", null, "a"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing, Building and Serialization")
+    class SyntaxTests {
+
+        @Test
+        void testParsesFunctionCalls() {
+            Filter filter = FilterParser.parse("anyOf(tags, urgent, vip) AND allOfDelimited(roles, '|', admin, billing)");
+
+            assertTrue(filter.matches(Map.of("tags", "vip", "roles", "billing|ADMIN")));
+            assertFalse(filter.matches(Map.of("tags", "vip", "roles", "billing,admin")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"anyOf(tags)", "allOf(1tags, a)", "anyOfDelimited(tags, '|')", "allOf(tags, ' ')"})
+        void testRejectsInvalidCalls(String expression) {
+            assertThrows(FilterParseException.class, () -> FilterParser.parse(expression));
+        }
+
+        @Test
+        void testBuildsFilters() {
+            Filter built = FilterBuilder.and().withAnyOf("tags", "urgent", "vip").withAllOf("tags", "billing").build();
+            Filter fluent = FluentFilterBuilder.where("tags").includesAllOf("urgent", "billing").build();
+
+            assertTrue(built.matches(Map.of("tags", "billing, vip")));
+            assertFalse(built.matches(Map.of("tags", "vip")));
+            assertTrue(fluent.matches(Map.of("tags", "billing,urgent")));
+            assertTrue(FilterBuilder.anyOf("tags", "vip").matches(Map.of("tags", "vip")));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package dev.xerohero.filter.operators.text;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.FilterBuilder;
+import dev.xerohero.filter.FluentFilterBuilder;
+import dev.xerohero.filter.parser.FilterParseException;
+import dev.xerohero.filter.parser.FilterParser;
+import dev.xerohero.filter.store.IndexedResourceStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Prefix Set Filter Tests")
+class PrefixSetFilterTest {
+
+    @Nested
+    @DisplayName("Matching")
+    class MatchingTests {
+
+        @Test
+        void testMatchesAnyPrefix() {
+            Filter filter = new PrefixSetFilter("path", "/api/", "/admin/", "/api/v2/", "/static");
+
+            assertTrue(filter.matches(Map.of("path", "/api/users")));
+            assertTrue(filter.matches(Map.of("path", "/API/users")));
+            assertTrue(filter.matches(Map.of("path", "/admin/")));
+            assertTrue(filter.matches(Map.of("path", "/statics/logo.png")));
+            assertFalse(filter.matches(Map.of("path", "/api")));
+            assertFalse(filter.matches(Map.of("path", "/ap")));
+            assertFalse(filter.matches(Map.of("path", "/blog/api/")));
+            assertFalse(filter.matches(Map.of()));
+        }
+
+        @Test
+        void testIgnoresCaseOfAsciiLettersOnly() {
+            Filter filter = new PrefixSetFilter("path", "Über", "k");
+
+            assertTrue(filter.matches(Map.of("path", "Überblick")));
+            assertFalse(filter.matches(Map.of("path", "überblick")));
+            assertTrue(filter.matches(Map.of("path", "Key")));
+            // The Kelvin sign folds to k in Unicode, but not in RegexFilter
+            assertFalse(filter.matches(Map.of("path", "\u212Aey")));
+        }
+
+        @Test
+        void testDropsCoveredPrefixes() {
+            PrefixSetFilter filter = new PrefixSetFilter("path", "/api/v1", "/API/", "/api/v2", "/docs", "/docs");
+
+            assertEquals(2, filter.getPrefixCount());
+            assertEquals(5, filter.getPrefixes().size());
+        }
+
+        @Test
+        void testEmptyPrefixMatchesEveryValue() {
+            Filter filter = new PrefixSetFilter("path", "/api/", "");
+
+            assertTrue(filter.matches(Map.of("path", "")));
+            assertTrue(filter.matches(Map.of("path", "anything")));
+            assertFalse(filter.matches(Map.of()));
+        }
+
+        @Test
+        void testMatchesLikeLinearScanOverManyPrefixes() {
+            Random random = new Random(44);
+            List<String> prefixes = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                prefixes.add(randomPath(random, 1 + random.nextInt(4)));
+            }
+            PrefixSetFilter filter = new PrefixSetFilter("path", prefixes);
+
+            for (int i = 0; i < 5_000; i++) {
+                String value = i % 2 == 0 ? prefixes.get(random.nextInt(prefixes.size())) + randomPath(random, random.nextInt(2))
+                        : randomPath(random, 1 + random.nextInt(5));
+                if (i % 3 == 0 && !value.isEmpty()) {
+                    value = value.substring(0, random.nextInt(value.length()));
+                }
+                String candidate = value;
+                boolean expected = prefixes.stream().anyMatch(p -> candidate.toLowerCase().startsWith(p.toLowerCase()));
+                assertEquals(expected, filter.matches(Map.of("path", value)), value);
+            }
+        }
+
+        private String randomPath(Random random, int segments) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < segments; i++) {
+                builder.append('/').append("aAbBc".charAt(random.nextInt(5)));
+                if (random.nextBoolean()) {
+                    builder.append("xyz", 0, random.nextInt(4));
+                }
+            }
+            return builder.toString();
+        }
+
+        @Test
+        void testRejectsInvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> new PrefixSetFilter("path"));
+            assertThrows(IllegalArgumentException.class, () -> new PrefixSetFilter("", "/api/"));
+            assertThrows(NullPointerException.class, () -> new PrefixSetFilter("path", "/api/", null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing, Building and Storage")
+    class SyntaxTests {
+
+        @Test
+        void testParsesFunctionCall() {
+            Filter filter = FilterParser.parse("startsWith(path, /api/, '/admin/') AND method = GET");
+
+            assertTrue(filter.matches(Map.of("path", "/admin/users", "method", "GET")));
+            assertFalse(filter.matches(Map.of("path", "/blog", "method", "GET")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"startsWith(path)", "startsWith(1path, /api/)"})
+        void testRejectsInvalidCalls(String expression) {
+            assertThrows(FilterParseException.class, () -> FilterParser.parse(expression));
+        }
+
+        @Test
+        void testBuildsFilters() {
+            Filter built = FilterBuilder.and().withStartsWithAny("path", "/api/", "/admin/").build();
+            Filter fluent = FluentFilterBuilder.where("path").startsWithAny("/api/", "/admin/").build();
+
+            assertTrue(built.matches(Map.of("path", "/api/x")));
+            assertTrue(fluent.matches(Map.of("path", "/admin/x")));
+            assertFalse(fluent.matches(Map.of("path", "/blog")));
+        }
+
+        @Test
+        void testQueriesStoreThroughSortedIndex() {
+            IndexedResourceStore store = new IndexedResourceStore();
+            List<Map<String, String>> resources = new ArrayList<>();
+            String[] paths = {"/api/users", "/API/orders", "/admin", "/admin/settings", "/blog/post", "/static/app.js"};
+            for (int i = 0; i < 600; i++) {
+                Map<String, String> resource = Map.of("path", paths[i % paths.length] + "/" + i);
+                resources.add(resource);
+                store.add(resource);
+            }
+            store.createSortedIndex("path");
+            Filter filter = new PrefixSetFilter("path", "/api/", "/admin/");
+
+            assertEquals(resources.stream().filter(filter::matches).collect(Collectors.toList()), store.query(filter));
+            assertTrue(store.explain(filter).getEstimatedRows() < resources.size());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package dev.xerohero.filter.operators.time;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.parser.FilterParseException;
+import dev.xerohero.filter.parser.FilterParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Time Filter Tests")
+class TimeFilterTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T12:00:00Z");
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    @Nested
+    @DisplayName("Timestamp Parsing")
+    class ParsingTests {
+
+        @ParameterizedTest
+        @CsvSource({
+                "2024-03-01, 2024-03-01T00:00:00Z",
+                "2024-03-01T12:30, 2024-03-01T12:30:00Z",
+                "2024-03-01t12:30:15z, 2024-03-01T12:30:15Z",
+                "2024-03-01 12:30:15, 2024-03-01T12:30:15Z",
+                "2024-03-01T12:30:15.5Z, 2024-03-01T12:30:15.500Z",
+                "'2024-03-01T12:30:15,123456789Z', 2024-03-01T12:30:15.123456789Z",
+                "2024-03-01T12:30:15+02:00, 2024-03-01T10:30:15Z",
+                "2024-03-01T00:30:15-0130, 2024-03-01T02:00:15Z",
+                "2024-03-01T00:30:15+01, 2024-02-29T23:30:15Z",
+                "1970-01-01T00:00:00Z, 1970-01-01T00:00:00Z",
+                "1709296215, 2024-03-01T12:30:15Z",
+                "1709296215.25, 2024-03-01T12:30:15.250Z",
+                "-1.5, 1969-12-31T23:59:58.500Z",
+                "1677-09-21T00:12:44Z, 1677-09-21T00:12:44Z",
+                "2262-04-11T23:47:15Z, 2262-04-11T23:47:15Z"
+        })
+        void testParsesTimestamps(String text, String expected) {
+            assertEquals(nanos(Instant.parse(expected)), Timestamps.parseEpochNanos(text), text);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "now", "2024-3-01", "2024-02-30", "2023-02-29", "2024-13-01", "2024-03-01T24:00",
+                "2024-03-01T12", "2024-03-01T12:60", "2024-03-01T12:30:61", "2024-03-01T12:30:15.", "2024-03-01X12:30",
+                "2024-03-01T12:30:15+19:00", "2024-03-01T12:30:15+2", "2024-03-01T12:30:15 Z", "2024-03-01T12:30:15.1234567891Z",
+                "1e9", "12.", "1709296215s", "1500-01-01", "2263-01-01", "999999999999"})
+        void testRejectsInvalidTimestamps(String text) {
+            assertEquals(Timestamps.INVALID, Timestamps.parseEpochNanos(text), text);
+        }
+
+        @Test
+        void testMatchesJavaTimeForRandomInstants() {
+            Random random = new Random(5);
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSSxxx");
+            for (int i = 0; i < 10_000; i++) {
+                Instant instant = Instant.ofEpochSecond(random.nextLong() % 9_000_000_000L, random.nextInt(1_000_000_000));
+                ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(36 * 4) - 18 * 4) * 900);
+                String text = formatter.format(instant.atOffset(offset));
+                if (instant.atOffset(offset).getYear() < 0 || instant.atOffset(offset).getYear() > 9999) {
+                    continue;
+                }
+                assertEquals(nanos(instant), Timestamps.parseEpochNanos(text), text);
+            }
+        }
+
+        @ParameterizedTest
+        @CsvSource({"PT15M, 900", "p7d, 604800", "90s, 90", "15m, 900", "2h, 7200", "7d, 604800", "1500ms, 1.5"})
+        void testParsesDurations(String text, double seconds) {
+            assertEquals(Duration.ofMillis((long) (seconds * 1000)), Timestamps.parseDuration(text));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "15", "m", "15w", "-PT1H", "PT", "1.5h"})
+        void testRejectsInvalidDurations(String text) {
+            assertThrows(IllegalArgumentException.class, () -> Timestamps.parseDuration(text));
+        }
+    }
+
+    @Nested
+    @DisplayName("Matching")
+    class MatchingTests {
+
+        @Test
+        void testComparesInstantsAcrossOffsets() {
+            Filter before = new BeforeFilter("created", "2024-03-01T12:00:00+01:00");
+            Filter after = new AfterFilter("created", Instant.parse("2024-03-01T11:00:00Z"));
+
+            // Text order and instant order disagree for these values
+            assertTrue(before.matches(Map.of("created", "2024-03-01T12:30:00+02:00")));
+            assertFalse(before.matches(Map.of("created", "2024-03-01T10:30:00-01:00")));
+            assertFalse(before.matches(Map.of("created", "2024-03-01T11:00:00Z")));
+            assertFalse(after.matches(Map.of("created", "2024-03-01T11:00:00Z")));
+            assertTrue(after.matches(Map.of("created", "2024-03-01T11:00:00.000000001Z")));
+            assertTrue(after.matches(Map.of("created", "1709294460")));
+        }
+
+        @Test
+        void testRejectsMissingAndInvalidValues() {
+            Filter after = new AfterFilter("created", "1970-01-01");
+
+            assertFalse(after.matches(Map.of()));
+            assertFalse(after.matches(Map.of("created", "yesterday")));
+            assertThrows(IllegalArgumentException.class, () -> new AfterFilter("created", "yesterday"));
+            assertThrows(IllegalArgumentException.class, () -> new BeforeFilter("", "2024-03-01"));
+        }
+
+        @Test
+        void testWithinLastUsesClock() {
+            Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+            Filter filter = new WithinLastFilter("created", Duration.ofHours(1), clock);
+
+            assertTrue(filter.matches(Map.of("created", "2024-03-01T11:00:00Z")));
+            assertTrue(filter.matches(Map.of("created", "2024-03-01T13:30:00+02:00")));
+            assertTrue(filter.matches(Map.of("created", "2024-03-01T12:00:00Z")));
+            assertFalse(filter.matches(Map.of("created", "2024-03-01T10:59:59.999Z")));
+            assertFalse(filter.matches(Map.of("created", "2024-03-01T12:00:00.001Z")));
+        }
+
+        @Test
+        void testWithinLastHandlesHugeDurations() {
+            Filter filter = new WithinLastFilter("created", Duration.ofDays(365L * 1000), Clock.fixed(NOW, ZoneOffset.UTC));
+
+            assertTrue(filter.matches(Map.of("created", "1677-09-21T00:12:44Z")));
+            assertFalse(filter.matches(Map.of("created", "2262-01-01")));
+            assertThrows(IllegalArgumentException.class, () -> new WithinLastFilter("created", Duration.ofHours(-1)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing and Serialization")
+    class SyntaxTests {
+
+        @Test
+        void testParsesFunctionCalls() {
+            Filter filter = FilterParser.parse("after(created, 2024-03-01T00:00:00+01:00) AND before(created, '2024-04-01 00:00:00')");
+
+            assertTrue(filter.matches(Map.of("created", "2024-03-15")));
+            assertFalse(filter.matches(Map.of("created", "2024-02-29T22:30:00Z")));
+            assertInstanceOf(WithinLastFilter.class, FilterParser.parse("withinLast(updated, 15m)"));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"before(created)", "after(created, tomorrow)", "withinLast(updated, soon)"})
+        void testRejectsInvalidCalls(String expression) {
+            assertThrows(FilterParseException.class, () -> FilterParser.parse(expression));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package dev.xerohero.filter.operators.version;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.FilterBuilder;
+import dev.xerohero.filter.FluentFilterBuilder;
+import dev.xerohero.filter.operators.comparison.ComparisonOperator;
+import dev.xerohero.filter.parser.FilterParseException;
+import dev.xerohero.filter.parser.FilterParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Version Compare Filter Tests")
+class VersionCompareFilterTest {
+
+    @Nested
+    @DisplayName("Version Precedence")
+    class PrecedenceTests {
+
+        @Test
+        void testOrdersSemanticVersions() {
+            String[] ordered = {"1.0.0-alpha", "1.0.0-alpha.1", "1.0.0-alpha.beta", "1.0.0-beta", "1.0.0-beta.2",
+                    "1.0.0-beta.11", "1.0.0-rc.1", "1.0.0", "1.0.1", "1.2", "1.10.0", "2.0.0-0", "2.0.0", "10.0.0"};
+
+            for (int i = 0; i < ordered.length; i++) {
+                SemanticVersion version = SemanticVersion.parse(ordered[i]);
+                for (int j = 0; j < ordered.length; j++) {
+                    assertEquals(Integer.signum(j - i), version.compareTo(ordered[j]), ordered[i] + " vs " + ordered[j]);
+                }
+            }
+        }
+
+        @ParameterizedTest
+        @CsvSource({"4.12, 4.12.0", "4.12.0, 4.12", "v4.12.3, 4.12.3", "4.12.3+build.7, V4.12.3", "04.012.3, 4.12.3",
+                "1.0.0-rc.01, 1.0.0-rc.1", "4, 4.0.0+linux"})
+        void testTreatsVersionsAsEqual(String constant, String other) {
+            assertEquals(0, SemanticVersion.parse(constant).compareTo(other));
+        }
+
+        @Test
+        void testComparesSegmentsLargerThanAnInt() {
+            SemanticVersion version = SemanticVersion.parse("4.12.3");
+
+            assertEquals(1, version.compareTo("4.99999999999999999999"));
+            assertEquals(-1, version.compareTo("3.99999999999999999999"));
+            assertEquals(1, SemanticVersion.parse("1.0.0-rc.9").compareTo("1.0.0-rc.99999999999999999999"));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "v", "4.", ".4", "4..12", "4.x", "4.12-", "4.12-rc..1", "4.12+", "4.12-rc_1",
+                "4.12 ", "vv4", "4.12.3+build+7"})
+        void testRejectsInvalidVersions(String text) {
+            assertFalse(SemanticVersion.isValid(text), text);
+            assertEquals(SemanticVersion.INVALID, SemanticVersion.parse("1.0").compareTo(text), text);
+            assertThrows(IllegalArgumentException.class, () -> SemanticVersion.parse(text));
+        }
+    }
+
+    @Nested
+    @DisplayName("Matching")
+    class MatchingTests {
+
+        @ParameterizedTest
+        @CsvSource({
+                "=, 4.12.3, true", "=, 4.12.4, false",
+                "!=, 4.12.3, false", "!=, 4.9.0, true",
+                "<, 4.9.10, true", "<, 4.12.3, false",
+                "<=, 4.12.3, true", "<=, 4.12.3-rc.1, true", "<=, 4.13, false",
+                ">, 4.12.3, false", ">, 5.0.0-alpha, true",
+                ">=, 4.12.3, true", ">=, 4.12.3-rc.1, false", ">=, 4.100, true"
+        })
+        void testAppliesOperators(String symbol, String value, boolean expected) {
+            Filter filter = new VersionCompareFilter("app_version", ComparisonOperator.fromSymbol(symbol), "4.12.3");
+
+            assertEquals(expected, filter.matches(Map.of("app_version", value)), symbol + " " + value);
+        }
+
+        @Test
+        void testNeverMatchesMissingOrInvalidValues() {
+            Filter notEqual = new VersionCompareFilter("app_version", ComparisonOperator.NOT_EQUAL, "4.12.3");
+
+            assertFalse(notEqual.matches(Map.of()));
+            assertFalse(notEqual.matches(Map.of("app_version", "latest")));
+        }
+
+        @Test
+        void testRejectsInvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> new VersionCompareFilter("app_version", ComparisonOperator.EQUAL, "latest"));
+            assertThrows(IllegalArgumentException.class, () -> new VersionCompareFilter("app_version", ComparisonOperator.EQUAL, "99999999999.0"));
+            assertThrows(IllegalArgumentException.class, () -> new VersionCompareFilter("", ComparisonOperator.EQUAL, "1.0"));
+            assertThrows(NullPointerException.class, () -> new VersionCompareFilter("app_version", null, "1.0"));
+            assertThrows(IllegalArgumentException.class, () -> ComparisonOperator.fromSymbol("=="));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing, Building and Serialization")
+    class SyntaxTests {
+
+        @Test
+        void testParsesFunctionCall() {
+            Filter filter = FilterParser.parse("version(app_version >= 4.12.3) AND version(app_version < '5.0.0-beta.1')");
+
+            assertTrue(filter.matches(Map.of("app_version", "4.12.10")));
+            assertTrue(filter.matches(Map.of("app_version", "5.0.0-alpha")));
+            assertFalse(filter.matches(Map.of("app_version", "4.9.0")));
+            assertFalse(filter.matches(Map.of("app_version", "5.0.0")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"version(app_version >= )", "version(app_version => 1.0)", "version(app_version >= latest)",
+                "version(app_version >= 1.0 2.0)", "version(app_version, 1.0)"})
+        void testRejectsInvalidCalls(String expression) {
+            assertThrows(FilterParseException.class, () -> FilterParser.parse(expression));
+        }
+
+        @Test
+        void testBuildsFilters() {
+            Filter built = FilterBuilder.and().withVersionCompare("app_version", ">=", "4.12").build();
+            Filter fluent = FluentFilterBuilder.where("app_version").version("<", "5").build();
+
+            assertTrue(built.matches(Map.of("app_version", "4.12.0")));
+            assertFalse(built.matches(Map.of("app_version", "4.9")));
+            assertTrue(fluent.matches(Map.of("app_version", "4.99")));
+            assertFalse(fluent.matches(Map.of("app_version", "5.0.0")));
+        }
+    }
+}
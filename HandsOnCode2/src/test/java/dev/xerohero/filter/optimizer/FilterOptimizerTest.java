@@ -0,0 +1,214 @@
+package dev.xerohero.filter.optimizer;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.operators.AndFilter;
+import dev.xerohero.filter.operators.NotFilter;
+import dev.xerohero.filter.operators.OrFilter;
+import dev.xerohero.filter.operators.comparison.EqualsFilter;
+import dev.xerohero.filter.operators.comparison.GreaterThanFilter;
+import dev.xerohero.filter.operators.comparison.GreaterThanOrEqualFilter;
+import dev.xerohero.filter.operators.comparison.LessThanFilter;
+import dev.xerohero.filter.operators.comparison.LessThanOrEqualFilter;
+import dev.xerohero.filter.operators.comparison.RegexFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.parser.FilterParser;
+import dev.xerohero.filter.visitor.ToStringVisitor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Filter Optimizer Tests")
+class FilterOptimizerTest {
+
+    @Nested
+    @DisplayName("Tree Rewriting")
+    class RewritingTests {
+
+        @Test
+        void testReturnsUnchangedTreesAsTheyAre() {
+            Filter filter = FilterParser.parse("(status = active OR path ~ ^/api/.*) AND NOT role = guest");
+
+            assertSame(filter, FilterOptimizer.optimize(filter));
+        }
+
+        @Test
+        void testFlattensNestedConnectives() {
+            Filter filter = new AndFilter(new EqualsFilter("a", "1"),
+                    new AndFilter(new EqualsFilter("b", "2"), new EqualsFilter("c", "3")));
+
+            Filter optimized = FilterOptimizer.optimize(filter);
+
+            assertEquals(3, ((AndFilter) optimized).filters().length);
+        }
+    }
+
+    @Nested
+    @DisplayName("Prefix Set Rule")
+    class PrefixSetRuleTests {
+
+        @Test
+        void testCollapsesPrefixPredicatesOnOneKey() {
+            Filter filter = FilterParser.parse(
+                    "path ~ ^/api/.* OR (method = GET OR path ~ ^/admin/.*) OR startsWith(path, /static/) OR host ~ ^www\\..*");
+
+            Filter optimized = FilterOptimizer.optimize(filter);
+
+            Filter[] disjuncts = ((OrFilter) optimized).filters();
+            assertEquals(3, disjuncts.length);
+            PrefixSetFilter prefixes = (PrefixSetFilter) disjuncts[0];
+            assertEquals(List.of("/api/", "/admin/", "/static/"), prefixes.getPrefixes());
+            assertInstanceOf(EqualsFilter.class, disjuncts[1]);
+            assertInstanceOf(RegexFilter.class, disjuncts[2]);
+        }
+
+        @Test
+        void testRewritesInsideOtherConnectives() {
+            Filter filter = new NotFilter(new OrFilter(new RegexFilter("path", "^/a.*"), new RegexFilter("path", "^/b.*")));
+
+            Filter optimized = FilterOptimizer.optimize(filter);
+
+            assertInstanceOf(PrefixSetFilter.class, ((NotFilter) optimized).filter());
+        }
+
+        @ParameterizedTest
+        @CsvSource({"^/api/.*, /api/", "/api/.*, /api/", "^a\\.b\\+.*, a.b+", "'^a b,c.*', 'a b,c'"})
+        void testExtractsLiteralPrefixes(String regex, String prefix) {
+            assertEquals(prefix, PrefixSetRule.literalPrefix(regex));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"^/api/", ".*", "^.*", "^a.b.*", "^a\\.*", "^a|b.*", "^a+.*", "^\\d.*", "^[ab].*", "^a.*$"})
+        void testIgnoresOtherPatterns(String regex) {
+            assertNull(PrefixSetRule.literalPrefix(regex));
+        }
+
+        @Test
+        void testPreservesMatchesOnRandomValues() {
+            Filter filter = new OrFilter(new RegexFilter("path", "^/Api/.*"), new RegexFilter("path", "a.*"),
+                    new RegexFilter("path", "^/b\\?.*"), new EqualsFilter("path", "c"), new RegexFilter("path", "^/c.d.*"));
+            Filter optimized = FilterOptimizer.optimize(filter);
+            assertNotSame(filter, optimized);
+
+            Random random = new Random(44);
+            String alphabet = "/aAbBcd?.pi";
+            for (int i = 0; i < 10_000; i++) {
+                StringBuilder value = new StringBuilder();
+                for (int length = random.nextInt(8); length > 0; length--) {
+                    value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                Map<String, String> resource = Map.of("path", value.toString());
+                assertEquals(filter.matches(resource), optimized.matches(resource), value.toString());
+            }
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"/api/\n", "/API/x\ny", "/admin/\r", "/api/\u2028", "/api/x", "/ADMIN/", "/api", "\n/api/"})
+        void testPreservesMatchesOnValuesWithLineBreaks(String value) {
+            Filter filter = FilterParser.parse("path ~ ^/api/.* OR path ~ ^/admin/.* OR startsWith(path, /static/)");
+            Filter optimized = FilterOptimizer.optimize(filter);
+            Map<String, String> resource = Map.of("path", value);
+
+            assertInstanceOf(PrefixSetFilter.class, optimized);
+            assertEquals(filter.matches(resource), optimized.matches(resource));
+            assertEquals(filter.accept(new ToStringVisitor()), optimized.accept(new ToStringVisitor()));
+        }
+
+        @Test
+        void testRejectsLineBreaksAfterRegexPrefixesOnly() {
+            Filter optimized = FilterOptimizer.optimize(FilterParser.parse("path ~ ^/api/.* OR startsWith(path, /static/)"));
+
+            assertFalse(optimized.matches(Map.of("path", "/api/\n")));
+            assertTrue(optimized.matches(Map.of("path", "/static/\n")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Interval Set Rule")
+    class IntervalSetRuleTests {
+
+        @Test
+        void testCollapsesRangesOnOneKey() {
+            Filter filter = FilterParser.parse("(price >= 0 AND price < 10) OR status = sale"
+                    + " OR (price > 100 AND price <= 500 AND price <= 400) OR inIntervals(price, 1000..2000)");
+
+            Filter optimized = FilterOptimizer.optimize(filter);
+
+            Filter[] disjuncts = ((OrFilter) optimized).filters();
+            assertEquals(2, disjuncts.length);
+            IntervalSetFilter intervals = (IntervalSetFilter) disjuncts[0];
+            assertEquals(List.of("0..<10", "100<..400", "1000..2000"), intervals.getIntervals());
+            assertInstanceOf(EqualsFilter.class, disjuncts[1]);
+        }
+
+        @Test
+        void testIgnoresOtherConjunctions() {
+            Filter filter = FilterParser.parse("(price >= 0 AND price < 10) OR (price >= 20 AND stock > 0)"
+                    + " OR (price >= 30 AND price <= abc) OR price >= 40 OR (weight >= 1 AND weight <= 2)");
+
+            Filter[] disjuncts = ((OrFilter) FilterOptimizer.optimize(filter)).filters();
+            assertEquals(5, disjuncts.length);
+            assertTrue(Arrays.stream(disjuncts).noneMatch(IntervalSetFilter.class::isInstance));
+        }
+
+        @Test
+        void testPreservesMatchesOnRandomNumbers() {
+            Random random = new Random(46);
+            List<Filter> ranges = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int lower = random.nextInt(2_000);
+                int upper = lower + random.nextInt(20);
+                ranges.add(new AndFilter(
+                        random.nextBoolean() ? new GreaterThanFilter("price", String.valueOf(lower))
+                                : new GreaterThanOrEqualFilter("price", String.valueOf(lower)),
+                        random.nextBoolean() ? new LessThanFilter("price", String.valueOf(upper))
+                                : new LessThanOrEqualFilter("price", upper + ".5")));
+            }
+            Filter filter = new OrFilter(ranges.toArray(new Filter[0]));
+            Filter optimized = FilterOptimizer.optimize(filter);
+            assertInstanceOf(IntervalSetFilter.class, optimized);
+
+            for (int i = 0; i < 20_000; i++) {
+                String value = random.nextBoolean() ? String.valueOf(random.nextInt(2_100) - 50)
+                        : String.valueOf(random.nextInt(4_200) / 2.0 - 25);
+                Map<String, String> resource = Map.of("price", value);
+                assertEquals(filter.matches(resource), optimized.matches(resource), value);
+            }
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"(a >= 1 AND a <= 5) OR (a >= 10 AND a <= 20)",
+                "(a > 1 AND a < 5) OR (a > 10 AND a <= 20) OR (a >= -0 AND a < 0.5)",
+                "(a > 1 AND a < 5) OR inIntervals(a, 5<..<10, 20..30)"})
+        void testPreservesMatchesOnMixedValues(String expression) {
+            Filter filter = FilterParser.parse(expression);
+            Filter optimized = FilterOptimizer.optimize(filter);
+            assertInstanceOf(IntervalSetFilter.class, optimized);
+            List<String> values = new ArrayList<>(List.of("3abc", "2x", "100a", "1,5", "1.00000000000000001",
+                    "4.99999999999999999999", "10.000000000000000001", "5", "5.0", "1", "-0", "0", "-0.0", " 3", "3 ",
+                    "1e1", "1E1", "+3", ".5", "5.", "0x3", "3d", "NaN", "Infinity", "-Infinity", "1e400", "", "abc",
+                    "/3/", "20", "20.0000000000000000001", "9.99999999999999999999", "1e-400", "-1e-400", "0.5"));
+            Random random = new Random(46);
+            for (int i = 0; i < 2_000; i++) {
+                values.add(String.valueOf(random.nextInt(700) / 20.0 - 2));
+            }
+
+            for (String value : values) {
+                Map<String, String> resource = Map.of("a", value);
+                assertEquals(filter.matches(resource), optimized.matches(resource), value);
+            }
+            assertEquals(filter.accept(new ToStringVisitor()), optimized.accept(new ToStringVisitor()));
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package dev.xerohero.filter.resource;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.operators.AndFilter;
+import dev.xerohero.filter.operators.comparison.EqualsFilter;
+import dev.xerohero.filter.operators.comparison.GreaterThanFilter;
+import dev.xerohero.filter.operators.comparison.HasPropertyFiltre;
+import dev.xerohero.filter.visitor.RequiredKeysVisitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Lazy Resource Tests")
+class LazyResourceTest {
+
+    /**
+     * In-memory stand-in for a slow attribute store.
+     */
+    static class SlowStore implements AttributeLoader {
+        private final Map<AttributeRef, String> data = new ConcurrentHashMap<>();
+        private final List<Set<AttributeRef>> calls = Collections.synchronizedList(new ArrayList<>());
+        private final long latencyMillis;
+        private final AtomicBoolean failing = new AtomicBoolean();
+
+        SlowStore(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        void put(String id, String key, String value) {
+            data.put(new AttributeRef(id, key), value);
+        }
+
+        @Override
+        public Map<AttributeRef, String> loadAll(Set<AttributeRef> refs) {
+            calls.add(refs);
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing.get()) {
+                throw new AttributeLoadException("Store unavailable");
+            }
+            Map<AttributeRef, String> result = new HashMap<>();
+            for (AttributeRef ref : refs) {
+                if (data.containsKey(ref)) {
+                    result.put(ref, data.get(ref));
+                }
+            }
+            return result;
+        }
+    }
+
+    private SlowStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new SlowStore(20);
+        for (int i = 0; i < 16; i++) {
+            store.put("acc-" + i, "risk_score", String.valueOf(i * 10));
+            store.put("acc-" + i, "entitlements", "read");
+        }
+    }
+
+    private LazyResource account(int i, AttributeLoader loader) {
+        return new LazyResource("acc-" + i, Map.of("status", i % 2 == 0 ? "active" : "closed"),
+                Set.of("risk_score", "entitlements", "region"), loader);
+    }
+
+    @Nested
+    @DisplayName("On-demand resolution")
+    class ResolutionTests {
+        @Test
+        @DisplayName("Should only load lazy keys that the filter reads")
+        void testShortCircuitSkipsLoading() {
+            Filter filter = new AndFilter(new EqualsFilter("status", "active"), new GreaterThanFilter("risk_score", "50"));
+
+            LazyResource closed = account(1, store);
+            assertFalse(filter.matches(closed));
+            assertTrue(store.calls.isEmpty());
+            assertFalse(closed.isResolved("risk_score"));
+
+            LazyResource risky = account(8, store);
+            assertTrue(filter.matches(risky));
+            assertEquals(1, store.calls.size());
+            assertTrue(risky.isResolved("risk_score"));
+            assertFalse(risky.isResolved("entitlements"));
+        }
+
+        @Test
+        @DisplayName("Should cache resolved values and treat missing ones as absent")
+        void testCachingAndAbsentKeys() {
+            LazyResource resource = account(3, store);
+
+            assertEquals("30", resource.get("risk_score"));
+            assertEquals("30", resource.get("risk_score"));
+            assertNull(resource.get("region"));
+            assertFalse(resource.containsKey("region"));
+            assertFalse(new HasPropertyFiltre("region").matches(resource));
+            assertEquals(2, store.calls.size());
+
+            assertNull(resource.get("unknown"));
+            assertEquals(2, store.calls.size());
+        }
+
+        @Test
+        @DisplayName("Should prefetch the keys required by a filter in one call")
+        void testPrefetchRequiredKeys() {
+            Filter filter = new AndFilter(new GreaterThanFilter("risk_score", "10"), new EqualsFilter("entitlements", "read"));
+            LazyResource resource = account(4, store);
+
+            resource.prefetch(RequiredKeysVisitor.analyze(filter).allKeys());
+            assertEquals(1, store.calls.size());
+            assertEquals(2, store.calls.get(0).size());
+
+            assertTrue(filter.matches(resource));
+            assertEquals(1, store.calls.size());
+        }
+
+        @Test
+        @DisplayName("Should expose all present entries when iterated")
+        void testEntrySet() {
+            LazyResource resource = account(2, store);
+            assertEquals(Map.of("status", "active", "risk_score", "20", "entitlements", "read"), new HashMap<>(resource));
+        }
+    }
+
+    @Nested
+    @DisplayName("Batching")
+    class BatchingTests {
+        @Test
+        @DisplayName("Should coalesce concurrent evaluations into one bulk fetch")
+        void testConcurrentRequestsAreCoalesced() throws Exception {
+            BatchingAttributeLoader loader = new BatchingAttributeLoader(store, Duration.ofMillis(200), 1000);
+            Filter filter = new GreaterThanFilter("risk_score", "70");
+            int threads = 16;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            try {
+                for (int i = 0; i < threads; i++) {
+                    LazyResource resource = account(i, loader);
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return filter.matches(resource);
+                    }));
+                }
+                start.countDown();
+                for (int i = 0; i < threads; i++) {
+                    assertEquals(i * 10 > 70, results.get(i).get(5, TimeUnit.SECONDS));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertTrue(store.calls.size() < threads, "Expected batched fetches but got " + store.calls.size());
+            assertEquals(threads, store.calls.stream().mapToInt(Set::size).sum());
+        }
+
+        @Test
+        @DisplayName("Should split batches larger than the maximum size")
+        void testMaxBatchSize() {
+            BatchingAttributeLoader loader = new BatchingAttributeLoader(store, Duration.ZERO, 2);
+            Set<AttributeRef> refs = new LinkedHashSet<>();
+            for (int i = 0; i < 5; i++) {
+                refs.add(new AttributeRef("acc-" + i, "risk_score"));
+            }
+
+            Map<AttributeRef, String> values = loader.loadAll(refs);
+            assertEquals(5, values.size());
+            assertEquals(3, store.calls.size());
+
+            loader.loadAll(refs);
+            assertEquals(3, store.calls.size(), "Values should be memoized");
+            loader.clearCache();
+            loader.loadAll(refs);
+            assertEquals(6, store.calls.size());
+        }
+
+        @Test
+        @DisplayName("Should propagate failures and allow retries")
+        void testFailureIsNotCached() throws Exception {
+            BatchingAttributeLoader loader = new BatchingAttributeLoader(store, Duration.ZERO, 10);
+            AttributeRef ref = new AttributeRef("acc-1", "risk_score");
+
+            store.failing.set(true);
+            assertThrows(AttributeLoadException.class, () -> account(1, loader).get("risk_score"));
+            assertTrue(loader.load(ref).isCompletedExceptionally());
+
+            store.failing.set(false);
+            assertEquals("10", loader.load(ref).get());
+        }
+
+        @Test
+        @DisplayName("Should fail the whole batch when the loader throws an error")
+        void testErrorFailsRemainingRequests() throws Exception {
+            AtomicBoolean broken = new AtomicBoolean(true);
+            BatchingAttributeLoader loader = new BatchingAttributeLoader(refs -> {
+                if (broken.get()) {
+                    throw new StackOverflowError();
+                }
+                return store.loadAll(refs);
+            }, Duration.ZERO, 1);
+            AttributeRef first = new AttributeRef("acc-1", "risk_score");
+            AttributeRef second = new AttributeRef("acc-2", "risk_score");
+
+            assertThrows(StackOverflowError.class, () -> loader.loadAll(new LinkedHashSet<>(List.of(first, second))));
+
+            broken.set(false);
+            assertEquals("10", loader.load(first).get(1, TimeUnit.SECONDS));
+            assertEquals("20", loader.load(second).get(1, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("Should validate constructor arguments")
+        void testInvalidArguments() {
+            assertThrows(NullPointerException.class, () -> new BatchingAttributeLoader(null, Duration.ZERO, 1));
+            assertThrows(IllegalArgumentException.class, () -> new BatchingAttributeLoader(store, Duration.ofMillis(-1), 1));
+            assertThrows(IllegalArgumentException.class, () -> new BatchingAttributeLoader(store, Duration.ZERO, 0));
+        }
+    }
+}
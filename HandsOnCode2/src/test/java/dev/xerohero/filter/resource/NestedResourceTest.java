@@ -0,0 +1,135 @@
+package dev.xerohero.filter.resource;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.parser.FilterParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Nested Resource Tests")
+class NestedResourceTest {
+
+    private static final String ORDER = """
+            {"id": "o-1", "total": 129.5, "paid": true,
+             "customer": {"name": "Ada", "address": {"city": "Berlin", "zip": "10115"}},
+             "items": [{"sku": "A-1", "qty": 2}, {"sku": "B-7", "qty": 1}],
+             "notes": null}
+            """;
+
+    private NestedResource order;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        order = new NestedResource(new ObjectMapper().readValue(ORDER, new TypeReference<Map<String, Object>>() {}));
+    }
+
+    @Test
+    void testResolvesDottedKeys() {
+        assertEquals("o-1", order.get("id"));
+        assertEquals("Berlin", order.get("customer.address.city"));
+        assertEquals("B-7", order.get("items.1.sku"));
+        assertEquals("2", order.get("items.0.qty"));
+        assertEquals("129.5", order.get("total"));
+        assertEquals("true", order.get("paid"));
+        assertTrue(order.containsKey("customer.name"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"customer", "items", "items.2.sku", "items.sku", "id.length", "notes", "customer..name",
+            ".id", "id.", "", "missing.key", "items.-1.sku"})
+    void testTreatsOtherKeysAsAbsent(String key) {
+        assertNull(order.get(key));
+        assertFalse(order.containsKey(key));
+    }
+
+    @Test
+    void testFormatsNumbersPlainly() {
+        NestedResource resource = new NestedResource(Map.of("big", new BigDecimal("1E+3"), "count", 7L));
+
+        assertEquals("1000", resource.get("big"));
+        assertEquals("7", resource.get("count"));
+    }
+
+    @Test
+    void testFiltersWithoutFlattening() {
+        Filter filter = FilterParser.parse("customer.address.city = berlin AND items.0.qty > 1 AND total < 200");
+
+        assertTrue(filter.matches(order));
+        assertFalse(FilterParser.parse("items.1.qty > 1").matches(order));
+    }
+
+    @Test
+    void testFlattensOnIteration() {
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("id", "o-1");
+        expected.put("total", "129.5");
+        expected.put("paid", "true");
+        expected.put("customer.name", "Ada");
+        expected.put("customer.address.city", "Berlin");
+        expected.put("customer.address.zip", "10115");
+        expected.put("items.0.sku", "A-1");
+        expected.put("items.0.qty", "2");
+        expected.put("items.1.sku", "B-7");
+        expected.put("items.1.qty", "1");
+
+        assertEquals(expected, order);
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(order.keySet()));
+    }
+
+    @Test
+    void testReadsThroughPrecompiledPaths() {
+        Filter filter = FilterParser.parse("customer.address.city = berlin AND items.0.qty > 1");
+        Map<String, ResourcePath> paths = NestedResource.compile(List.of("customer.address.city", "items.0.qty", "a..b"));
+        NestedResource resource = new NestedResource(order.getDocument(), paths);
+
+        assertEquals(Set.of("customer.address.city", "items.0.qty"), paths.keySet());
+        assertTrue(filter.matches(resource));
+        assertEquals("o-1", resource.get("id"));
+        assertEquals(order, resource);
+    }
+
+    @Test
+    void testReadsDocumentsForAFilter() {
+        Filter filter = FilterParser.parse("customer.address.city = berlin AND total < 200");
+        Function<Map<String, ?>, NestedResource> reader = NestedResource.readerFor(filter);
+
+        assertTrue(filter.matches(reader.apply(order.getDocument())));
+        assertFalse(filter.matches(reader.apply(Map.of("customer", Map.of("address", Map.of("city", "Paris")),
+                "total", 10))));
+        assertEquals("o-1", reader.apply(order.getDocument()).get("id"));
+    }
+
+    @Test
+    void testLeavesOutKeysThatCannotBeRead() {
+        Map<Object, Object> inner = new LinkedHashMap<>();
+        inner.put("b.c", "dotted");
+        inner.put("", "empty");
+        inner.put(1, "number");
+        inner.put("d", "plain");
+        NestedResource resource = new NestedResource(Map.of("a", inner));
+
+        assertNull(resource.get("a.b.c"));
+        assertEquals(Map.of("a.d", "plain"), resource);
+    }
+
+    @Test
+    void testCompilesPaths() {
+        ResourcePath path = ResourcePath.of("items.0.sku");
+
+        assertEquals(List.of("items", "0", "sku"), path.getSegments());
+        assertEquals("A-1", path.resolve(order.getDocument()));
+        assertEquals(path, ResourcePath.of("items.0.sku"));
+        assertThrows(IllegalArgumentException.class, () -> ResourcePath.of("items..sku"));
+        assertThrows(IllegalArgumentException.class, () -> ResourcePath.of(" "));
+    }
+}
@@ -1,17 +1,36 @@
 package dev.xerohero.filter.serialization;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.xerohero.filter.Filter;
 import dev.xerohero.filter.FilterBuilder;
 import dev.xerohero.filter.operators.AndFilter;
 import dev.xerohero.filter.operators.NotFilter;
 import dev.xerohero.filter.operators.OrFilter;
 import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.geo.GeoBoundingBoxFilter;
+import dev.xerohero.filter.operators.geo.GeoWithinFilter;
+import dev.xerohero.filter.operators.network.IpInRangeFilter;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.time.AfterFilter;
+import dev.xerohero.filter.operators.time.BeforeFilter;
+import dev.xerohero.filter.operators.time.WithinLastFilter;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
+import dev.xerohero.filter.visitor.ToStringVisitor;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -311,6 +330,50 @@ class FilterSerializationTest {
         });
     }
 
+    @Test
+    void testSerializeDeserialize_FuzzyMatchFilter() throws Exception {
+        String json = FilterSerialization.toJson(new FuzzyMatchFilter("name", "jonathan", 2));
+
+        assertEquals(2, new ObjectMapper().readTree(json).get("maxEdits").asInt(), json);
+        FuzzyMatchFilter deserialized = (FuzzyMatchFilter) FilterSerialization.fromJson(json);
+        assertEquals(2, deserialized.getMaxEdits());
+        assertThrows(FilterSerializationException.class,
+                () -> FilterSerialization.fromJson("{\"type\":\"fuzzy_match\",\"key\":\"name\",\"target\":\"jo\",\"max_edits\":1}"));
+    }
+
+    private static Stream<Filter> provideExtensionFilters() {
+        return Stream.of(
+            new GeoWithinFilter("lat", "lon", 52.52, 13.405, 25_000),
+            new GeoBoundingBoxFilter("lat", "lon", -18.5, 179.5, -17, -179.5),
+            new IpInRangeFilter("client_ip", "10.0.0.0/8", "::1", "2001:db8::/32"),
+            new BeforeFilter("created", "2024-03-01T12:00:00+01:00"),
+            new AfterFilter("created", "1709296215"),
+            new WithinLastFilter("updated", Duration.ofMinutes(90)),
+            new VersionCompareFilter("app_version", ComparisonOperator.LESS_THAN_OR_EQUAL, "v1.0.0-rc.1+build.5"),
+            new FuzzyMatchFilter("name", "jonathon", 2),
+            new FuzzyMatchFilter("name", "van der Berg", 2),
+            new FuzzyMatchFilter("name", "O'Brien, Jr.", 2),
+            new FuzzyMatchFilter("name", "say \"hi\"", 2),
+            new PrefixSetFilter("path", "/api/", "a, b", ""),
+            new ContainsTermsFilter("description", ContainsTermsFilter.Mode.ALL, "refund", "Urgent"),
+            new IntervalSetFilter("price", "0..10", "100..<500"),
+            new FieldComparisonFilter("updated_at", ComparisonOperator.GREATER_THAN_OR_EQUAL, "created_at"),
+            new MultiValueFilter("tags", MultiValueFilter.Mode.ANY, "urgent", "on hold"),
+            new MultiValueFilter("roles", MultiValueFilter.Mode.ALL, "|", List.of("admin", "billing")),
+            new ArithmeticFilter("(end - start) / 1000", "<", "30"),
+            new ArithmeticFilter("used", ">", "quota * 0.9")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideExtensionFilters")
+    void testSerializeDeserialize_ExtensionFilter(Filter original) throws Exception {
+        Filter deserialized = FilterSerialization.fromJson(FilterSerialization.toJson(original));
+
+        assertEquals(original.getClass(), deserialized.getClass());
+        assertEquals(original.accept(new ToStringVisitor()), deserialized.accept(new ToStringVisitor()));
+    }
+
     @Test
     void testToJson_NullFilter_ThrowsException() {
         assertThrows(IllegalArgumentException.class, () -> {
@@ -0,0 +1,158 @@
+package dev.xerohero.filter.stats;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.operators.FalseFilter;
+import dev.xerohero.filter.operators.NotFilter;
+import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.parser.FilterParser;
+import dev.xerohero.filter.store.IndexedResourceStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Statistics Collector Tests")
+class StatisticsCollectorTest {
+
+    private StatisticsCollector statistics;
+    private List<Map<String, String>> resources;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new StatisticsCollector(2_000);
+        resources = new ArrayList<>();
+        Random random = new Random(13);
+        for (int i = 0; i < 20_000; i++) {
+            Map<String, String> resource = new HashMap<>();
+            resource.put("id", String.valueOf(i));
+            // Skewed: half the rows are "active", the rest spread over 50 statuses
+            resource.put("status", random.nextBoolean() ? (random.nextBoolean() ? "active" : "ACTIVE")
+                    : "status" + random.nextInt(50));
+            if (random.nextInt(4) != 0) {
+                resource.put("age", String.valueOf((int) Math.abs(random.nextGaussian() * 20 + 40)));
+            }
+            resource.put("name", (char) ('a' + random.nextInt(26)) + "name" + random.nextInt(100));
+            resources.add(resource);
+            statistics.add(resource);
+        }
+    }
+
+    private double actual(Filter filter) {
+        return (double) resources.stream().filter(filter::matches).count() / resources.size();
+    }
+
+    private void assertEstimate(Filter filter, double tolerance) {
+        assertEquals(actual(filter), statistics.selectivity(filter), tolerance, "Estimate for " + filter);
+    }
+
+    @Nested
+    @DisplayName("Key statistics")
+    class KeyStatisticsTests {
+        @Test
+        @DisplayName("Should compute null fractions and distinct counts")
+        void testCountsAndDistinct() {
+            assertEquals(0.25, statistics.statistics("age").getNullFraction(), 0.01);
+            assertEquals(0.0, statistics.statistics("id").getNullFraction());
+            assertEquals(1.0, statistics.statistics("missing").getNullFraction());
+            assertEquals(20_000, statistics.statistics("id").getDistinctCount(), 20_000 * 0.05);
+            // "active" and "ACTIVE" are one value, as for the equality filters
+            assertEquals(51, statistics.statistics("status").getDistinctCount(), 2);
+            assertEquals(20_000, statistics.getRowCount());
+            assertEquals(Set.of("id", "status", "age", "name"), statistics.keys());
+        }
+
+        @Test
+        @DisplayName("Should find the most common values")
+        void testMostCommonValues() {
+            Map<String, Double> common = statistics.statistics("status").getMostCommonValues();
+            assertEquals("active", common.keySet().iterator().next());
+            assertEquals(0.5, common.get("active"), 0.03);
+            assertTrue(statistics.statistics("id").getMostCommonValues().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should build equi-depth histograms")
+        void testHistograms() {
+            KeyStatistics age = statistics.statistics("age");
+            List<Double> bounds = age.getNumericHistogram();
+            assertEquals(KeyStatistics.MAX_BUCKETS + 1, bounds.size());
+            for (int i = 1; i < bounds.size(); i++) {
+                assertTrue(bounds.get(i - 1) <= bounds.get(i));
+            }
+            assertTrue(age.getStringHistogram().isEmpty());
+            assertFalse(statistics.statistics("name").getStringHistogram().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should refresh statistics as the collection grows")
+        void testIncrementalRefresh() {
+            KeyStatistics before = statistics.statistics("status");
+            assertSame(before, statistics.statistics("status"));
+            for (int i = 0; i < 20_000; i++) {
+                statistics.add(Map.of("status", "archived"));
+            }
+            KeyStatistics after = statistics.statistics("status");
+            assertNotSame(before, after);
+            assertEquals(40_000, after.getRowCount());
+            assertEquals(0.5, after.getMostCommonValues().get("archived"), 0.05);
+        }
+    }
+
+    @Nested
+    @DisplayName("Selectivity")
+    class SelectivityTests {
+        @Test
+        @DisplayName("Should estimate leaf predicates")
+        void testLeaves() {
+            assertEstimate(new EqualsFilter("status", "Active"), 0.03);
+            assertEstimate(new EqualsFilter("status", "status7"), 0.005);
+            assertEstimate(new EqualsFilter("id", "42"), 0.001);
+            assertEstimate(new NotEqualsFilter("status", "active"), 0.03);
+            assertEstimate(new LessThanFilter("age", "30"), 0.03);
+            assertEstimate(new GreaterThanOrEqualFilter("age", "60"), 0.03);
+            assertEstimate(new GreaterThanFilter("name", "m"), 0.03);
+            assertEstimate(new LessThanOrEqualFilter("id", "5000"), 0.03);
+            assertEstimate(new RegexFilter("name", "[a-c].*"), 0.03);
+            assertEstimate(new HasPropertyFiltre("age"), 0.01);
+        }
+
+        @Test
+        @DisplayName("Should combine selectivities of independent predicates")
+        void testCombinators() {
+            assertEstimate(FilterParser.parse("status = active AND age > 50"), 0.03);
+            assertEstimate(FilterParser.parse("status = status3 OR age < 20"), 0.03);
+            assertEstimate(new NotFilter(new EqualsFilter("status", "active")), 0.03);
+            assertEquals(0.0, statistics.selectivity(FalseFilter.INSTANCE));
+        }
+
+        @Test
+        @DisplayName("Should keep store statistics in sync with removals")
+        void testStoreStatistics() {
+            IndexedResourceStore store = new IndexedResourceStore();
+            resources.forEach(store::add);
+            Filter filter = new EqualsFilter("status", "active");
+            assertEquals(actual(filter), store.selectivity(filter), 0.03);
+
+            for (int rowId = 0; rowId < resources.size(); rowId++) {
+                if (filter.matches(store.get(rowId))) {
+                    store.remove(rowId);
+                }
+            }
+            // No longer a common value, so it is estimated like any other remaining status
+            assertEquals(1.0 / 50, store.selectivity(filter), 0.005);
+            assertEquals(0.0, store.statistics("status").getMostCommonValues().getOrDefault("active", 0.0));
+        }
+
+        @Test
+        @DisplayName("Should validate arguments")
+        void testInvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> new StatisticsCollector(0));
+            assertThrows(NullPointerException.class, () -> statistics.add(null));
+            assertThrows(NullPointerException.class, () -> statistics.selectivity(null));
+        }
+    }
+}
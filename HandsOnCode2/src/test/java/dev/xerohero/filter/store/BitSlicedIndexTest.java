@@ -0,0 +1,154 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.bitmap.RowBitmap;
+import dev.xerohero.filter.operators.AndFilter;
+import dev.xerohero.filter.operators.OrFilter;
+import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.parser.FilterParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bit-Sliced Index Tests")
+class BitSlicedIndexTest {
+
+    private IndexedResourceStore store;
+    private List<Map<String, String>> resources;
+
+    @BeforeEach
+    void setUp() {
+        store = new IndexedResourceStore();
+        resources = new ArrayList<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 2_000; i++) {
+            Map<String, String> resource = new HashMap<>();
+            resource.put("latency_ms", String.valueOf(random.nextInt(1_000)));
+            resource.put("balance", (random.nextInt(20_000) - 10_000) / 100 + "." + String.format("%02d", random.nextInt(100)));
+            resource.put("region", random.nextBoolean() ? "eu" : "us");
+            resources.add(resource);
+            store.add(resource);
+        }
+        store.createBitSlicedIndex("latency_ms", 0);
+        store.createBitSlicedIndex("balance", 2);
+        store.createHashIndex("region");
+    }
+
+    private List<Map<String, String>> scan(Filter filter) {
+        return resources.stream().filter(filter::matches).collect(Collectors.toList());
+    }
+
+    @Nested
+    @DisplayName("Range lookups")
+    class RangeLookupTests {
+        @Test
+        @DisplayName("Should return exactly the matching rows for integer keys")
+        void testExactIntegerRanges() {
+            QueryExecutor executor = new QueryExecutor(store);
+            List<Filter> filters = List.of(
+                new GreaterThanOrEqualFilter("latency_ms", "250"),
+                new GreaterThanFilter("latency_ms", "250"),
+                new LessThanFilter("latency_ms", "17"),
+                new LessThanOrEqualFilter("latency_ms", "0"),
+                new GreaterThanFilter("latency_ms", "249.5"),
+                new LessThanFilter("latency_ms", "-3"),
+                new GreaterThanFilter("latency_ms", "5000"),
+                new EqualsFilter("latency_ms", "512.000")
+            );
+            for (Filter filter : filters) {
+                List<Map<String, String>> expected = scan(filter);
+                assertEquals(expected.size(), executor.candidates(filter).cardinality(), "Candidates for " + filter);
+                assertEquals(expected, store.query(filter), "Results for " + filter);
+            }
+        }
+
+        @Test
+        @DisplayName("Should handle negative and scaled decimal values")
+        void testScaledDecimals() {
+            List<Filter> filters = List.of(
+                new GreaterThanFilter("balance", "-12.345"),
+                new LessThanOrEqualFilter("balance", "-50.5"),
+                new GreaterThanOrEqualFilter("balance", "0"),
+                new LessThanFilter("balance", "0.01"),
+                new EqualsFilter("balance", "-7.10"),
+                FilterParser.parse("balance > 20 AND balance <= 40.25")
+            );
+            for (Filter filter : filters) {
+                assertEquals(scan(filter), store.query(filter), "Mismatch for " + filter);
+            }
+        }
+
+        @Test
+        @DisplayName("Should compose with other index results")
+        void testComposition() {
+            QueryExecutor executor = new QueryExecutor(store);
+            Filter filter = new AndFilter(new EqualsFilter("region", "eu"),
+                    new OrFilter(new LessThanFilter("latency_ms", "10"), new GreaterThanFilter("latency_ms", "990")));
+            RowBitmap candidates = executor.candidates(filter);
+            assertEquals(scan(filter).size(), candidates.cardinality());
+            assertEquals(scan(filter), store.query(filter));
+        }
+    }
+
+    @Nested
+    @DisplayName("Unsliced values")
+    class UnslicedValueTests {
+        @Test
+        @DisplayName("Should return values that cannot be sliced from every lookup")
+        void testUnslicedValuesAreCandidates() {
+            int text = store.add(Map.of("latency_ms", "timeout"));
+            int fraction = store.add(Map.of("latency_ms", "12.5"));
+            int huge = store.add(Map.of("latency_ms", "99999999999999999999999"));
+
+            QueryExecutor executor = new QueryExecutor(store);
+            RowBitmap candidates = executor.candidates(new LessThanFilter("latency_ms", "5"));
+            assertTrue(candidates.contains(text));
+            assertTrue(candidates.contains(fraction));
+            assertTrue(candidates.contains(huge));
+
+            Filter filter = new GreaterThanFilter("latency_ms", "12");
+            List<Map<String, String>> results = store.query(filter);
+            assertTrue(results.contains(Map.of("latency_ms", "12.5")));
+            assertTrue(results.contains(Map.of("latency_ms", "timeout")));
+            assertEquals(scan(filter).size() + 3, results.size());
+        }
+
+        @Test
+        @DisplayName("Should widen inclusive bounds that compare as doubles")
+        void testDoubleRoundingIsCovered() {
+            BitSlicedIndex index = new BitSlicedIndex("x", 18);
+            index.add(0, Map.of("x", "1"));
+            index.add(1, Map.of("x", "1.000000000000000001"));
+
+            // 1 >= 1.000000000000000001 holds in double precision
+            Filter filter = new GreaterThanOrEqualFilter("x", "1.000000000000000001");
+            assertTrue(filter.matches(Map.of("x", "1")));
+
+            IndexedResourceStore precise = new IndexedResourceStore();
+            precise.add(Map.of("x", "1"));
+            precise.add(Map.of("x", "1.000000000000000001"));
+            precise.createBitSlicedIndex("x", 18);
+            assertEquals(2, precise.query(filter).size());
+
+            assertEquals(RowBitmap.of(1), index.atLeast(new BigDecimal("1"), false));
+            assertEquals(RowBitmap.of(0), index.atMost(new BigDecimal("1"), true));
+        }
+
+        @Test
+        @DisplayName("Should validate arguments")
+        void testInvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> store.createBitSlicedIndex("x", -1));
+            assertThrows(IllegalArgumentException.class, () -> store.createBitSlicedIndex("x", 19));
+            assertThrows(IllegalArgumentException.class, () -> store.createBitSlicedIndex("", 0));
+            assertTrue(store.hasBitSlicedIndex("latency_ms"));
+            assertFalse(store.hasBitSlicedIndex("region"));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.bitmap.RowBitmap;
+import dev.xerohero.filter.operators.AndFilter;
+import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.store.QueryPlan.AccessPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cracking Index Tests")
+class CrackingIndexTest {
+
+    private IndexedResourceStore store;
+    private List<Map<String, String>> resources;
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        store = new IndexedResourceStore();
+        resources = new ArrayList<>();
+        random = new Random(17);
+        for (int i = 0; i < 2_000; i++) {
+            add(randomPrice());
+        }
+        store.createAdaptiveIndex("price");
+    }
+
+    private String randomPrice() {
+        int kind = random.nextInt(50);
+        if (kind == 0) {
+            return "n/a";
+        }
+        return kind == 1 ? String.valueOf(random.nextInt(1000)) : random.nextInt(100_000) / 100.0 + "";
+    }
+
+    private void add(String price) {
+        Map<String, String> resource = Map.of("price", price);
+        resources.add(resource);
+        store.add(resource);
+    }
+
+    private List<Map<String, String>> scan(Filter filter) {
+        List<Map<String, String>> live = new ArrayList<>();
+        for (int rowId = 0; rowId < resources.size(); rowId++) {
+            if (store.get(rowId) != null && filter.matches(store.get(rowId))) {
+                live.add(store.get(rowId));
+            }
+        }
+        return live;
+    }
+
+    private Filter randomRange() {
+        String bound = String.valueOf(random.nextInt(1_000));
+        switch (random.nextInt(6)) {
+            case 0: return new GreaterThanFilter("price", bound);
+            case 1: return new LessThanFilter("price", bound);
+            case 2: return new GreaterThanOrEqualFilter("price", bound);
+            case 3: return new LessThanOrEqualFilter("price", bound);
+            case 4: return new EqualsFilter("price", bound);
+            default:
+                return new AndFilter(new GreaterThanOrEqualFilter("price", bound),
+                        new LessThanFilter("price", String.valueOf(Integer.parseInt(bound) + random.nextInt(50))));
+        }
+    }
+
+    @Nested
+    @DisplayName("Query results")
+    class QueryTests {
+        @Test
+        @DisplayName("Should return the same rows as a full scan while cracking")
+        void testAgreesWithFullScan() {
+            for (int i = 0; i < 150; i++) {
+                Filter filter = randomRange();
+                assertEquals(scan(filter), store.query(filter), "Mismatch for " + filter);
+                if (i % 10 == 0) {
+                    // Rows added after cracking are rippled into their pieces
+                    add(randomPrice());
+                    store.remove(random.nextInt(resources.size()));
+                }
+            }
+            assertTrue(store.adaptiveIndex("price").crackCount() > 50);
+        }
+
+        @Test
+        @DisplayName("Should return exactly the numeric rows within the bounds")
+        void testExactLookups() {
+            CrackingIndex index = new CrackingIndex("v");
+            double[] values = {5, 3, 9, 1, 7, 3, -2, 8, 0, 3};
+            for (int rowId = 0; rowId < values.length; rowId++) {
+                index.add(rowId, Map.of("v", String.valueOf(values[rowId])));
+            }
+            assertEquals(RowBitmap.of(0, 2, 4, 7), index.atLeast(4));
+            assertEquals(RowBitmap.of(1, 3, 5, 6, 8, 9), index.atMost(3));
+            index.add(10, Map.of("v", "3.5"));
+            index.add(11, Map.of("v", "-5"));
+            index.add(12, Map.of("v", "12"));
+            assertEquals(RowBitmap.of(1, 5, 9, 10), index.between(3, 4));
+            assertEquals(RowBitmap.of(0, 2, 4, 7, 12), index.atLeast(4));
+            assertEquals(RowBitmap.of(3, 6, 8, 11), index.atMost(2.5));
+            // 4, 3, and the next doubles above 3, 4 and 2.5
+            assertEquals(5, index.crackCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Adaptivity")
+    class AdaptivityTests {
+        @Test
+        @DisplayName("Should shrink the pieces later queries partition")
+        void testConvergence() {
+            CrackingIndex index = store.adaptiveIndex("price");
+            assertEquals(0, index.crackCount());
+            assertEquals(index.numericRows(), index.pieceSize(500));
+
+            for (int i = 0; i < 100; i++) {
+                store.query(randomRange());
+            }
+            assertTrue(index.pieceSize(500.5) < index.numericRows() / 20,
+                    "Expected a small piece but got " + index.pieceSize(500.5));
+            store.query(new GreaterThanOrEqualFilter("price", "500"));
+            assertEquals(0, index.pieceSize(500));
+        }
+
+        @Test
+        @DisplayName("Should be chosen by the planner and estimated from the cracks")
+        void testPlanning() {
+            Filter filter = new LessThanFilter("price", "100");
+            QueryPlan plan = store.explain(filter);
+            assertEquals(AccessPath.CRACKING_INDEX, plan.getAccessPath());
+            assertEquals(scan(filter).size(), plan.getEstimatedRows(), scan(filter).size() * 0.25);
+
+            double firstCost = plan.getCost();
+            store.query(filter);
+            QueryPlan repeated = store.explain(filter);
+            assertTrue(repeated.getCost() < firstCost);
+            assertEquals(scan(filter).size(), repeated.getEstimatedRows(), 110);
+
+            assertTrue(store.hasAdaptiveIndex("price"));
+            assertFalse(store.hasAdaptiveIndex("id"));
+            assertThrows(IllegalArgumentException.class, () -> store.createAdaptiveIndex(""));
+        }
+    }
+}
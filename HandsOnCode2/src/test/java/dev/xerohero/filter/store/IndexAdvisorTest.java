@@ -0,0 +1,194 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.operators.comparison.RegexFilter;
+import dev.xerohero.filter.parser.FilterParser;
+import dev.xerohero.filter.store.QueryPlan.AccessPath;
+import dev.xerohero.filter.store.WorkloadRecorder.Operator;
+import dev.xerohero.filter.store.WorkloadRecorder.PredicateWorkload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Index Advisor Tests")
+class IndexAdvisorTest {
+
+    private IndexedResourceStore store;
+    private WorkloadRecorder workload;
+
+    @BeforeEach
+    void setUp() {
+        store = new IndexedResourceStore();
+        Random random = new Random(5);
+        for (int i = 0; i < 2_000; i++) {
+            Map<String, String> resource = new HashMap<>();
+            resource.put("id", String.valueOf(i));
+            resource.put("status", random.nextBoolean() ? "active" : "inactive");
+            resource.put("age", String.valueOf(random.nextInt(100)));
+            resource.put("score", String.valueOf(random.nextInt(10)));
+            resource.put("email", "user" + i + "@example.com");
+            store.add(resource);
+        }
+        workload = new WorkloadRecorder();
+        store.setWorkloadRecorder(workload);
+    }
+
+    private void runWorkload() {
+        for (int i = 0; i < 20; i++) {
+            store.query(FilterParser.parse("id = " + (i * 97)));
+        }
+        for (int i = 0; i < 10; i++) {
+            store.query(FilterParser.parse("age > 95 AND status = active"));
+        }
+        for (int i = 0; i < 5; i++) {
+            store.query(new RegexFilter("email", "^user12\\d@"));
+            store.query(FilterParser.parse("score >= 0"));
+        }
+    }
+
+    private Map<String, PredicateWorkload> tallies() {
+        return workload.predicates().stream()
+                .collect(Collectors.toMap(p -> p.getOperator() + " " + p.getKey(), p -> p));
+    }
+
+    private Map<String, IndexRecommendation> byIndex(List<IndexRecommendation> recommendations) {
+        return recommendations.stream()
+                .collect(Collectors.toMap(r -> r.getIndexType() + " " + r.getKey(), r -> r));
+    }
+
+    @Nested
+    @DisplayName("Workload recording")
+    class RecordingTests {
+        @Test
+        @DisplayName("Should tally indexable predicates with their executions and evaluated rows")
+        void testTalliesPredicates() {
+            runWorkload();
+            assertEquals(40, workload.getQueryCount());
+            Map<String, PredicateWorkload> tallies = tallies();
+            assertEquals(Set.of("EQUALITY id", "RANGE age", "EQUALITY status", "PATTERN email", "RANGE score"),
+                    tallies.keySet());
+            PredicateWorkload id = tallies.get("EQUALITY id");
+            assertEquals(20, id.getExecutions());
+            assertEquals(20 * 2_000, id.getEvaluatedRows());
+            assertEquals(WorkloadRecorder.MAX_EXAMPLES, id.getExamples().size());
+            assertEquals(1, tallies.get("RANGE age").getExamples().size());
+            assertEquals(Operator.PATTERN, tallies.get("PATTERN email").getOperator());
+        }
+
+        @Test
+        @DisplayName("Should skip predicates below OR and NOT")
+        void testSkipsPredicatesOutsideConjunctions() {
+            store.query(FilterParser.parse("status = active OR age < 5"));
+            store.query(FilterParser.parse("NOT id = 3 AND score = 1"));
+            assertEquals(2, workload.getQueryCount());
+            assertEquals(Set.of("EQUALITY score"), tallies().keySet());
+        }
+
+        @Test
+        @DisplayName("Should record the rows left after index lookups")
+        void testRecordsCandidateRows() {
+            store.createHashIndex("id");
+            store.query(FilterParser.parse("id = 7 AND age < 50"));
+            assertEquals(1, tallies().get("RANGE age").getEvaluatedRows());
+        }
+
+        @Test
+        @DisplayName("Should stop recording when the recorder is removed")
+        void testDetachesRecorder() {
+            store.setWorkloadRecorder(null);
+            store.query(FilterParser.parse("id = 1"));
+            assertEquals(0, workload.getQueryCount());
+            assertTrue(workload.predicates().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Recommendations")
+    class RecommendationTests {
+        @Test
+        @DisplayName("Should recommend an index per selective predicate, highest savings first")
+        void testRecommendsSelectiveIndexes() {
+            runWorkload();
+            List<IndexRecommendation> recommendations = new IndexAdvisor(store, workload).recommend();
+            Map<String, IndexRecommendation> byIndex = byIndex(recommendations);
+            assertEquals(Set.of("HASH id", "RANGE age", "HASH status", "TRIGRAM email"), byIndex.keySet());
+            assertEquals("HASH id", recommendations.get(0).getIndexType() + " " + recommendations.get(0).getKey());
+            IndexRecommendation id = byIndex.get("HASH id");
+            assertEquals(20, id.getQueryCount());
+            assertTrue(id.getEstimatedSavings() > 0.9 * 20 * 2_000);
+            assertTrue(byIndex.get("RANGE age").getEstimatedSavings() > byIndex.get("HASH status").getEstimatedSavings());
+            for (IndexRecommendation recommendation : recommendations) {
+                assertTrue(recommendation.getEstimatedBytes() > 0);
+            }
+        }
+
+        @Test
+        @DisplayName("Should not recommend indexes that already exist")
+        void testSkipsExistingIndexes() {
+            store.createHashIndex("id");
+            store.createBitSlicedIndex("age", 0);
+            runWorkload();
+            Map<String, IndexRecommendation> byIndex = byIndex(new IndexAdvisor(store, workload).recommend());
+            assertEquals(Set.of("HASH status", "TRIGRAM email"), byIndex.keySet());
+        }
+
+        @Test
+        @DisplayName("Should not recommend range indexes for string bounds")
+        void testSkipsStringBounds() {
+            for (int i = 0; i < 10; i++) {
+                store.query(FilterParser.parse("status > m"));
+            }
+            assertTrue(new IndexAdvisor(store, workload).recommend().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Applying recommendations")
+    class ApplyTests {
+        @Test
+        @DisplayName("Should build the best indexes that fit into the budget")
+        void testAppliesWithinBudget() {
+            runWorkload();
+            IndexAdvisor advisor = new IndexAdvisor(store, workload);
+            Map<String, IndexRecommendation> byIndex = byIndex(advisor.recommend());
+            long budget = byIndex.get("HASH status").getEstimatedBytes() + byIndex.get("RANGE age").getEstimatedBytes();
+            List<IndexRecommendation> applied = advisor.apply(budget);
+            // The small status index saves the most per byte, despite saving less in total
+            assertEquals(List.of("HASH status", "RANGE age"), applied.stream()
+                    .map(r -> r.getIndexType() + " " + r.getKey()).collect(Collectors.toList()));
+            assertTrue(store.hasRangeIndex("age"));
+            assertFalse(store.hasHashIndex("id"));
+
+            Filter filter = FilterParser.parse("age > 95");
+            assertEquals(AccessPath.RANGE_INDEX, store.explain(filter).getAccessPath());
+        }
+
+        @Test
+        @DisplayName("Should build every recommendation given enough memory")
+        void testAppliesAll() {
+            runWorkload();
+            IndexAdvisor advisor = new IndexAdvisor(store, workload);
+            assertEquals(4, advisor.apply(Long.MAX_VALUE).size());
+            assertTrue(store.hasHashIndex("id"));
+            assertTrue(store.hasHashIndex("status"));
+            assertTrue(store.hasRangeIndex("age"));
+            assertTrue(store.hasTrigramIndex("email"));
+            assertTrue(advisor.recommend().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should build nothing without a budget and reject negative budgets")
+        void testRejectsEmptyBudget() {
+            runWorkload();
+            IndexAdvisor advisor = new IndexAdvisor(store, workload);
+            assertTrue(advisor.apply(0).isEmpty());
+            assertThrows(IllegalArgumentException.class, () -> advisor.apply(-1));
+        }
+    }
+}
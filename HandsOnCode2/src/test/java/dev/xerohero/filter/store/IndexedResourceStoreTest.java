@@ -0,0 +1,138 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.FluentFilterBuilder;
+import dev.xerohero.filter.bitmap.RowBitmap;
+import dev.xerohero.filter.operators.*;
+import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.parser.FilterParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Indexed Resource Store Tests")
+class IndexedResourceStoreTest {
+
+    private static final String[] STATUSES = {"active", "ACTIVE", "inactive", "pending", "/act.*/"};
+
+    private IndexedResourceStore store;
+    private List<Map<String, String>> resources;
+
+    @BeforeEach
+    void setUp() {
+        store = new IndexedResourceStore();
+        resources = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            Map<String, String> resource = new HashMap<>();
+            resource.put("id", String.valueOf(i));
+            resource.put("status", STATUSES[random.nextInt(STATUSES.length)]);
+            if (random.nextInt(20) != 0) {
+                resource.put("age", random.nextInt(30) == 0 ? "unknown" : String.valueOf(random.nextInt(80)));
+            }
+            resource.put("score", random.nextInt(10) + "." + random.nextInt(100));
+            resources.add(resource);
+            store.add(resource);
+        }
+        store.createHashIndex("status");
+        store.createRangeIndex("age");
+        store.createRangeIndex("score");
+    }
+
+    private List<Map<String, String>> scan(Filter filter) {
+        return resources.stream().filter(filter::matches).collect(Collectors.toList());
+    }
+
+    @Nested
+    @DisplayName("Query results")
+    class QueryTests {
+        @Test
+        @DisplayName("Should return the same rows as a full scan")
+        void testAgreesWithFullScan() {
+            List<Filter> filters = List.of(
+                new EqualsFilter("status", "active"),
+                new EqualsFilter("age", "42.0"),
+                new GreaterThanFilter("age", "60"),
+                new LessThanFilter("score", "1.5"),
+                new GreaterThanOrEqualFilter("age", "79"),
+                new LessThanOrEqualFilter("age", "0"),
+                FilterParser.parse("status = pending AND age > 30"),
+                FilterParser.parse("status = inactive OR age < 5"),
+                FilterParser.parse("status = inactive OR id = 3"),
+                FluentFilterBuilder.where("age").between(20, 25).and("status").is("active").build(),
+                new AndFilter(new NotFilter(new EqualsFilter("status", "active")), new GreaterThanFilter("score", "9")),
+                new AndFilter(new EqualsFilter("status", "pending"), FalseFilter.INSTANCE),
+                new RegexFilter("status", "^p.*")
+            );
+            for (Filter filter : filters) {
+                assertEquals(scan(filter), store.query(filter), "Mismatch for " + filter);
+            }
+        }
+
+        @Test
+        @DisplayName("Should use indexes to narrow down candidates")
+        void testCandidatesAreNarrowed() {
+            QueryExecutor executor = new QueryExecutor(store);
+            Filter filter = FilterParser.parse("status = pending AND age > 70");
+
+            RowBitmap candidates = executor.candidates(filter);
+            assertTrue(candidates.cardinality() < store.size() / 4,
+                    "Expected a narrow candidate set but got " + candidates.cardinality());
+            assertEquals(scan(filter).size(), executor.executeRowIds(filter).cardinality());
+
+            // Unindexed leaves inside an OR force a full scan
+            assertEquals(store.size(), executor.candidates(FilterParser.parse("status = pending OR id = 7")).cardinality());
+        }
+    }
+
+    @Nested
+    @DisplayName("Store maintenance")
+    class MaintenanceTests {
+        @Test
+        @DisplayName("Should keep indexes up to date on add and remove")
+        void testAddAndRemove() {
+            Filter filter = new EqualsFilter("status", "archived");
+            assertTrue(store.query(filter).isEmpty());
+
+            int rowId = store.add(Map.of("status", "Archived", "age", "101"));
+            assertEquals(List.of(Map.of("status", "Archived", "age", "101")), store.query(filter));
+            // Non-numeric ages compare greater than any number, so they match as well
+            Filter older = new GreaterThanFilter("age", "100");
+            assertEquals(scan(older).size() + 1, store.query(older).size());
+
+            assertTrue(store.remove(rowId));
+            assertFalse(store.remove(rowId));
+            assertNull(store.get(rowId));
+            assertTrue(store.query(filter).isEmpty());
+            assertEquals(500, store.size());
+        }
+
+        @Test
+        @DisplayName("Should back-fill indexes created after loading")
+        void testLateIndexCreation() {
+            assertFalse(store.hasHashIndex("id"));
+            store.createHashIndex("id");
+            assertTrue(store.hasHashIndex("id"));
+            assertTrue(store.hasRangeIndex("age"));
+
+            QueryExecutor executor = new QueryExecutor(store);
+            assertEquals(1, executor.candidates(new EqualsFilter("id", "123")).cardinality());
+            assertEquals(List.of(resources.get(123)), store.query(new EqualsFilter("id", "123")));
+        }
+
+        @Test
+        @DisplayName("Should validate arguments")
+        void testInvalidArguments() {
+            assertThrows(NullPointerException.class, () -> store.add(null));
+            assertThrows(IllegalArgumentException.class, () -> store.createHashIndex(" "));
+            assertThrows(IllegalArgumentException.class, () -> store.createRangeIndex(null));
+            assertThrows(NullPointerException.class, () -> store.query(null));
+        }
+    }
+}
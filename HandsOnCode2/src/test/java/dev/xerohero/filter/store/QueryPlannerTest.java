@@ -0,0 +1,148 @@
+package dev.xerohero.filter.store;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.operators.AndFilter;
+import dev.xerohero.filter.operators.FalseFilter;
+import dev.xerohero.filter.operators.NotFilter;
+import dev.xerohero.filter.operators.OrFilter;
+import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.parser.FilterParser;
+import dev.xerohero.filter.store.QueryPlan.AccessPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Query Planner Tests")
+class QueryPlannerTest {
+
+    private IndexedResourceStore store;
+    private List<Map<String, String>> resources;
+
+    @BeforeEach
+    void setUp() {
+        store = new IndexedResourceStore();
+        resources = new ArrayList<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 2_000; i++) {
+            Map<String, String> resource = new HashMap<>();
+            resource.put("id", String.valueOf(i));
+            resource.put("country", i % 100 == 0 ? "IS" : random.nextBoolean() ? "DE" : "FR");
+            resource.put("age", String.valueOf(random.nextInt(100)));
+            resource.put("name", "user" + random.nextInt(500));
+            resources.add(resource);
+            store.add(resource);
+        }
+        store.createHashIndex("id");
+        store.createHashIndex("country");
+        store.createRangeIndex("age");
+        store.createBitSlicedIndex("age", 0);
+        store.createSortedIndex("name");
+    }
+
+    private List<Map<String, String>> scan(Filter filter) {
+        return resources.stream().filter(filter::matches).collect(Collectors.toList());
+    }
+
+    @Nested
+    @DisplayName("Access path choice")
+    class AccessPathTests {
+        @Test
+        @DisplayName("Should pick the most selective predicate and skip lookups that do not pay off")
+        void testSkipsUnselectiveLookups() {
+            Filter filter = FilterParser.parse("country = IS AND age >= 1");
+            QueryPlan plan = store.explain(filter);
+            assertEquals(AccessPath.HASH_INDEX, plan.getAccessPath());
+            assertEquals(20, Math.round(plan.getEstimatedRows()));
+            assertEquals(scan(filter), store.query(filter));
+        }
+
+        @Test
+        @DisplayName("Should intersect predicates that are selective together")
+        void testIntersectsSelectivePredicates() {
+            Filter filter = FilterParser.parse("country = DE AND age < 10");
+            QueryPlan plan = store.explain(filter);
+            assertEquals(AccessPath.INTERSECTION, plan.getAccessPath());
+            assertEquals(List.of(AccessPath.RANGE_INDEX, AccessPath.HASH_INDEX),
+                    plan.getChildren().stream().map(QueryPlan::getAccessPath).collect(Collectors.toList()));
+            assertTrue(plan.getCost() < plan.getChildren().get(0).getCost());
+            assertEquals(scan(filter), store.query(filter));
+        }
+
+        @Test
+        @DisplayName("Should pick the cheaper of two indexes on the same key")
+        void testPicksCheaperIndex() {
+            // Narrow ranges copy few rows out of the range index, wide ones favour the fixed cost of the slices
+            assertEquals(AccessPath.RANGE_INDEX, store.explain(new LessThanFilter("age", "10")).getAccessPath());
+            assertEquals(AccessPath.BIT_SLICED_INDEX, store.explain(new GreaterThanFilter("age", "30")).getAccessPath());
+            Filter filter = new GreaterThanFilter("age", "30");
+            assertEquals(scan(filter), store.query(filter));
+        }
+
+        @Test
+        @DisplayName("Should fall back to a full scan when no index beats it")
+        void testFullScan() {
+            assertEquals(AccessPath.FULL_SCAN, store.explain(new NotFilter(new EqualsFilter("id", "1"))).getAccessPath());
+            assertEquals(AccessPath.FULL_SCAN, store.explain(FilterParser.parse("country = DE OR age > 5")).getAccessPath());
+            assertEquals(AccessPath.FULL_SCAN, store.explain(new GreaterThanOrEqualFilter("age", "0")).getAccessPath());
+            assertEquals(AccessPath.EMPTY, store.explain(new AndFilter(new EqualsFilter("id", "1"), FalseFilter.INSTANCE)).getAccessPath());
+        }
+
+        @Test
+        @DisplayName("Should union selective alternatives")
+        void testUnion() {
+            Filter filter = new OrFilter(new EqualsFilter("id", "5"), new EqualsFilter("id", "7"),
+                    new GreaterThanFilter("name", "user98"));
+            QueryPlan plan = store.explain(filter);
+            assertEquals(AccessPath.UNION, plan.getAccessPath());
+            assertEquals(3, plan.getChildren().size());
+            assertEquals(AccessPath.SORTED_INDEX, plan.getChildren().get(2).getAccessPath());
+            assertEquals(scan(filter), store.query(filter));
+        }
+
+        @Test
+        @DisplayName("Should estimate rows from index statistics")
+        void testEstimates() {
+            assertEquals(1, store.explain(new EqualsFilter("id", "42")).getEstimatedRows());
+            double estimate = store.explain(new LessThanFilter("age", "20")).getEstimatedRows();
+            double actual = scan(new LessThanFilter("age", "20")).size();
+            assertEquals(actual, estimate, actual * 0.15);
+        }
+    }
+
+    @Nested
+    @DisplayName("Explain output")
+    class ExplainTests {
+        @Test
+        @DisplayName("Should render the plan tree as text")
+        void testText() {
+            QueryPlan plan = store.explain(FilterParser.parse("country = DE AND age < 10"));
+            String[] lines = plan.toString().split("\n");
+            assertEquals(3, lines.length);
+            assertTrue(lines[0].matches("INTERSECTION \\(rows=\\d+, cost=\\d+\\.\\d\\)"), lines[0]);
+            assertTrue(lines[1].matches("  RANGE_INDEX age < 10 \\(rows=\\d+, cost=\\d+\\.\\d\\)"), lines[1]);
+            assertTrue(lines[2].startsWith("  HASH_INDEX country == DE (rows="), lines[2]);
+            assertEquals(plan.toString(), ExplainVisitor.text().visit(plan));
+        }
+
+        @Test
+        @DisplayName("Should render the plan tree as JSON")
+        void testJson() throws Exception {
+            QueryPlan plan = store.explain(FilterParser.parse("country = DE AND age < 10"));
+            JsonNode json = new ObjectMapper().readTree(ExplainVisitor.json().visit(plan));
+            assertEquals("INTERSECTION", json.get("accessPath").asText());
+            assertFalse(json.has("filter"));
+            assertEquals(Math.round(plan.getEstimatedRows()), json.get("estimatedRows").asLong());
+            assertEquals(2, json.get("children").size());
+            assertEquals("age < 10", json.get("children").get(0).get("filter").asText());
+            assertEquals(0, json.get("children").get(0).get("children").size());
+        }
+    }
+}
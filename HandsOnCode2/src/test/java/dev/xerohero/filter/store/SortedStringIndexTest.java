@@ -0,0 +1,144 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.FluentFilterBuilder;
+import dev.xerohero.filter.operators.comparison.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sorted String Index Tests")
+class SortedStringIndexTest {
+
+    private static final String[] SEGMENTS = {"api", "API", "v1", "v2", "users", "orders", "health", "Ünïcode", "42"};
+
+    private IndexedResourceStore store;
+    private List<Map<String, String>> resources;
+
+    @BeforeEach
+    void setUp() {
+        store = new IndexedResourceStore();
+        resources = new ArrayList<>();
+        Random random = new Random(9);
+        for (int i = 0; i < 1_500; i++) {
+            StringBuilder path = new StringBuilder();
+            int segments = 1 + random.nextInt(4);
+            for (int s = 0; s < segments; s++) {
+                if (s > 0) {
+                    path.append('/');
+                }
+                path.append(SEGMENTS[random.nextInt(SEGMENTS.length)]);
+            }
+            if (random.nextInt(3) == 0) {
+                path.append(".json");
+            }
+            Map<String, String> resource = new HashMap<>();
+            resource.put("path", path.toString());
+            resource.put("name", random.nextInt(10) == 0 ? String.valueOf(random.nextInt(100))
+                    : SEGMENTS[random.nextInt(SEGMENTS.length)] + random.nextInt(10));
+            resources.add(resource);
+            store.add(resource);
+        }
+        store.createSortedIndex("path");
+        store.createSortedIndex("name");
+    }
+
+    private List<Map<String, String>> scan(Filter filter) {
+        return resources.stream().filter(filter::matches).collect(Collectors.toList());
+    }
+
+    @Nested
+    @DisplayName("Prefix lookups")
+    class PrefixTests {
+        @Test
+        @DisplayName("Should answer startsWith patterns with the same rows as a full scan")
+        void testStartsWith() {
+            QueryExecutor executor = new QueryExecutor(store);
+            Filter filter = FluentFilterBuilder.where("path").startsWith("api/v2/").build();
+            assertEquals(scan(filter), store.query(filter));
+            assertEquals(scan(filter).size(), executor.candidates(filter).cardinality());
+
+            for (String regex : List.of("^API/V1.*", "api/v2/users", "api/v2?.*", "health/.*|api.*",
+                    "users(/orders)+(\\.json)?", "Ü.*", "api\\/v1\\/.*", "42/.*")) {
+                Filter regexFilter = new RegexFilter("path", regex);
+                assertEquals(scan(regexFilter), store.query(regexFilter), "Mismatch for " + regex);
+            }
+        }
+
+        @Test
+        @DisplayName("Should combine with trigram lookups")
+        void testCombinedWithTrigrams() {
+            store.createTrigramIndex("path");
+            QueryExecutor executor = new QueryExecutor(store);
+            Filter filter = new RegexFilter("path", "api/.*orders.*");
+            int candidates = executor.candidates(filter).cardinality();
+            assertEquals(scan(filter), store.query(filter));
+            assertTrue(candidates < executor.candidates(new RegexFilter("path", "api/.*")).cardinality());
+        }
+
+        @Test
+        @DisplayName("Should extract literal prefixes from patterns")
+        void testLiteralPrefix() {
+            assertEquals("/api/v2/", SortedStringIndex.literalPrefix("^/api/v2/.*"));
+            assertEquals("/api/v", SortedStringIndex.literalPrefix("/api/v2?.*"));
+            assertEquals("a.b", SortedStringIndex.literalPrefix("a\\.b[0-9]+"));
+            assertEquals("abc", SortedStringIndex.literalPrefix("abc+"));
+            assertEquals("ab", SortedStringIndex.literalPrefix("ab(c|d)"));
+            assertNull(SortedStringIndex.literalPrefix("abc|def"));
+            assertNull(SortedStringIndex.literalPrefix(".*abc"));
+            assertNull(SortedStringIndex.literalPrefix("(?i)abc"));
+            assertNull(SortedStringIndex.literalPrefix("\\d+"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Range lookups")
+    class RangeTests {
+        @Test
+        @DisplayName("Should answer string comparisons with the same rows as a full scan")
+        void testComparisons() {
+            List<Filter> filters = List.of(
+                new GreaterThanFilter("name", "orders"),
+                new LessThanFilter("name", "API5"),
+                new GreaterThanOrEqualFilter("name", "health3"),
+                new LessThanOrEqualFilter("name", "Users"),
+                new GreaterThanFilter("path", "api/v2"),
+                new LessThanOrEqualFilter("path", "api/v2/users.json"),
+                new EqualsFilter("name", "USERS4"),
+                new GreaterThanFilter("name", "ünïcode")
+            );
+            for (Filter filter : filters) {
+                assertEquals(scan(filter), store.query(filter), "Mismatch for " + filter);
+            }
+        }
+
+        @Test
+        @DisplayName("Should narrow candidates for plain string bounds")
+        void testCandidatesAreNarrowed() {
+            QueryExecutor executor = new QueryExecutor(store);
+            Filter filter = new GreaterThanFilter("name", "v2");
+            int candidates = executor.candidates(filter).cardinality();
+            assertTrue(candidates < store.size() / 2, "Expected a narrow candidate set but got " + candidates);
+
+            Filter inclusive = new LessThanOrEqualFilter("name", "API");
+            assertEquals(scan(inclusive).size(), executor.candidates(inclusive).cardinality());
+
+            // Numeric bounds are left to numeric indexes
+            assertEquals(store.size(), executor.candidates(new LessThanFilter("name", "50")).cardinality());
+        }
+
+        @Test
+        @DisplayName("Should validate arguments")
+        void testInvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> store.createSortedIndex(null));
+            assertTrue(store.hasSortedIndex("path"));
+            assertFalse(store.hasSortedIndex("id"));
+        }
+    }
+}
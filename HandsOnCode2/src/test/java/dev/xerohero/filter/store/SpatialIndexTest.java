@@ -0,0 +1,187 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.GeoDistance;
+import dev.xerohero.filter.ValueComparator;
+import dev.xerohero.filter.bitmap.RowBitmap;
+import dev.xerohero.filter.parser.FilterParser;
+import dev.xerohero.filter.store.QueryPlan.AccessPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Spatial Index Tests")
+class SpatialIndexTest {
+
+    private IndexedResourceStore store;
+    private List<Map<String, String>> resources;
+
+    @BeforeEach
+    void setUp() {
+        store = new IndexedResourceStore();
+        resources = new ArrayList<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 2_000; i++) {
+            if (i == 1_000) {
+                // Back-fills the first half and indexes the second half as it is added
+                store.createSpatialIndex("lat", "lon");
+            }
+            Map<String, String> resource = new HashMap<>();
+            resource.put("id", String.valueOf(i));
+            if (i % 4 == 0) {
+                // Around Berlin
+                resource.put("lat", String.valueOf(52.5 + random.nextGaussian() * 0.3));
+                resource.put("lon", String.valueOf(13.4 + random.nextGaussian() * 0.3));
+            } else if (i % 4 == 1) {
+                // Around Fiji, on both sides of the antimeridian
+                resource.put("lat", String.valueOf(-17.8 + random.nextGaussian() * 0.3));
+                double lon = 179.9 + random.nextGaussian() * 0.3;
+                resource.put("lon", String.valueOf(lon > 180 ? lon - 360 : lon));
+            } else if (i % 100 == 2) {
+                resource.put("lat", "unknown");
+                resource.put("lon", "13.4");
+            } else if (i % 100 == 6) {
+                resource.put("lat", "52.5");
+            } else {
+                resource.put("lat", String.valueOf(random.nextDouble() * 180 - 90));
+                resource.put("lon", String.valueOf(random.nextDouble() * 360 - 180));
+            }
+            resources.add(resource);
+            store.add(resource);
+        }
+    }
+
+    private List<Map<String, String>> scanWithin(double latitude, double longitude, double radiusMeters) {
+        return resources.stream().filter(resource -> {
+            if (resource.get("lat") == null || resource.get("lon") == null) {
+                return false;
+            }
+            double pointLatitude = ValueComparator.numericValue(resource.get("lat"));
+            double pointLongitude = ValueComparator.numericValue(resource.get("lon"));
+            return GeoDistance.haversineMeters(latitude, longitude, pointLatitude, pointLongitude) <= radiusMeters;
+        }).collect(Collectors.toList());
+    }
+
+    private List<Map<String, String>> scan(Filter filter) {
+        return resources.stream().filter(filter::matches).collect(Collectors.toList());
+    }
+
+    private Set<Integer> rowIds(List<Map<String, String>> matches) {
+        return matches.stream().map(resource -> Integer.parseInt(resource.get("id"))).collect(Collectors.toSet());
+    }
+
+    private Set<Integer> rowIds(RowBitmap bitmap) {
+        Set<Integer> ids = new HashSet<>();
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+
+    @Nested
+    @DisplayName("Radius queries")
+    class WithinTests {
+        @ParameterizedTest
+        @CsvSource({
+                "52.5, 13.4, 10000",
+                "52.5, 13.4, 50000",
+                "-17.8, 179.95, 30000",
+                "-17.8, -179.95, 30000",
+                "-17.8, 539.9, 30000",
+                "89.9, 0, 500000",
+                "0, 0, 3000000",
+                "52.5, 13.4, 0"
+        })
+        @DisplayName("Should find the same resources as a scan")
+        void testMatchesScan(double latitude, double longitude, double radiusMeters) {
+            assertEquals(scanWithin(latitude, longitude, radiusMeters),
+                    store.queryWithin("lat", "lon", latitude, longitude, radiusMeters));
+        }
+
+        @Test
+        @DisplayName("Should only compute distances for candidates near the circle")
+        void testCandidatesCoverCircle() {
+            SpatialIndex index = store.spatialIndexes().iterator().next();
+            RowBitmap candidates = index.within(52.5, 13.4, 20_000);
+            Set<Integer> matches = rowIds(scanWithin(52.5, 13.4, 20_000));
+            assertTrue(rowIds(candidates).containsAll(matches));
+            assertTrue(candidates.cardinality() < 3 * matches.size(), "candidates: " + candidates.cardinality());
+            assertEquals(candidates.cardinality(), index.countWithin(52.5, 13.4, 20_000));
+        }
+
+        @Test
+        @DisplayName("Should cover circles crossing the antimeridian on both sides")
+        void testCoversAntimeridian() {
+            SpatialIndex index = store.spatialIndexes().iterator().next();
+            Set<Integer> matches = rowIds(scanWithin(-17.8, 180, 20_000));
+            assertTrue(matches.stream().anyMatch(id -> resources.get(id).get("lon").startsWith("-")));
+            assertTrue(matches.stream().anyMatch(id -> !resources.get(id).get("lon").startsWith("-")));
+            assertTrue(rowIds(index.within(-17.8, 180, 20_000)).containsAll(matches));
+        }
+
+        @Test
+        @DisplayName("Should return rows with unusable coordinates as candidates but not as matches")
+        void testUnusableCoordinates() {
+            SpatialIndex index = store.spatialIndexes().iterator().next();
+            assertTrue(index.within(52.5, 13.4, 1_000).contains(2));
+            assertFalse(index.within(52.5, 13.4, 1_000).contains(6));
+            assertFalse(rowIds(store.queryWithin("lat", "lon", 52.5, 13.4, 1_000)).contains(2));
+        }
+
+        @Test
+        @DisplayName("Should reject negative radii")
+        void testRejectsNegativeRadius() {
+            assertThrows(IllegalArgumentException.class, () -> store.queryWithin("lat", "lon", 0, 0, -1));
+            assertThrows(IllegalArgumentException.class, () -> store.queryWithin("", "lon", 0, 0, 1));
+            assertThrows(IllegalArgumentException.class, () -> new SpatialIndex("lat", "lon", SpatialIndex.MAX_BITS + 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Planning")
+    class PlanningTests {
+        @Test
+        @DisplayName("Should look up a bounding box over both keys")
+        void testPlansBoundingBox() {
+            Filter filter = FilterParser.parse("lat >= 52.4 AND lat <= 52.6 AND lon > 13.2 AND lon < 13.6 AND id != 8");
+            QueryPlan plan = store.explain(filter);
+            assertEquals(AccessPath.SPATIAL_INDEX, plan.getAccessPath());
+            List<Map<String, String>> matches = scan(filter);
+            assertTrue(plan.getEstimatedRows() >= matches.size());
+            assertTrue(plan.getEstimatedRows() < 4 * matches.size() + 20, "estimate: " + plan.getEstimatedRows());
+            assertEquals(matches, store.query(filter));
+            assertTrue(plan.toString().contains("lat >= 52.4"));
+        }
+
+        @Test
+        @DisplayName("Should intersect the box with other index lookups")
+        void testIntersectsWithOtherIndexes() {
+            store.createHashIndex("id");
+            Filter filter = FilterParser.parse("id = 4 AND lat >= 52 AND lat <= 53 AND lon >= 13 AND lon <= 14");
+            QueryPlan plan = store.explain(filter);
+            assertEquals(AccessPath.HASH_INDEX, plan.getAccessPath());
+            assertEquals(scan(filter), store.query(filter));
+        }
+
+        @Test
+        @DisplayName("Should not use the index unless both keys are bounded")
+        void testRequiresBothKeys() {
+            Filter filter = FilterParser.parse("lat >= 52.4 AND lat <= 52.6");
+            assertEquals(AccessPath.FULL_SCAN, store.explain(filter).getAccessPath());
+            assertEquals(scan(filter), store.query(filter));
+        }
+
+        @Test
+        @DisplayName("Should not use the index for boxes that cover everything")
+        void testSkipsUnselectiveBoxes() {
+            Filter filter = FilterParser.parse("lat >= -90 AND lon <= 180");
+            assertEquals(AccessPath.FULL_SCAN, store.explain(filter).getAccessPath());
+        }
+    }
+}
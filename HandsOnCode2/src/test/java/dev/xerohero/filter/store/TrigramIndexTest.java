@@ -0,0 +1,118 @@
+package dev.xerohero.filter.store;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.operators.AndFilter;
+import dev.xerohero.filter.operators.comparison.EqualsFilter;
+import dev.xerohero.filter.operators.comparison.RegexFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Trigram Index Tests")
+class TrigramIndexTest {
+
+    private static final String[] WORDS = {"error", "Timeout", "connection", "refused", "colour", "color",
+            "a.b", "warn", "disk", "full", "ERROR", "retry", "x😀y", "xy", "aab", "aaab"};
+
+    private IndexedResourceStore store;
+    private List<Map<String, String>> resources;
+
+    @BeforeEach
+    void setUp() {
+        store = new IndexedResourceStore();
+        resources = new ArrayList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 1_000; i++) {
+            StringBuilder message = new StringBuilder();
+            int words = random.nextInt(4);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    message.append(' ');
+                }
+                message.append(WORDS[random.nextInt(WORDS.length)]);
+                if (random.nextInt(4) == 0) {
+                    message.append(random.nextInt(1000));
+                }
+            }
+            Map<String, String> resource = new HashMap<>();
+            resource.put("message", message.toString());
+            resource.put("level", random.nextBoolean() ? "info" : "warn");
+            resources.add(resource);
+            store.add(resource);
+        }
+        store.createTrigramIndex("message");
+    }
+
+    private List<Map<String, String>> scan(Filter filter) {
+        return resources.stream().filter(filter::matches).collect(Collectors.toList());
+    }
+
+    @Nested
+    @DisplayName("Query results")
+    class QueryTests {
+        @ParameterizedTest
+        @ValueSource(strings = {
+            ".*error.*", ".*ERROR \\d+.*", "timeout", ".*colou?r.*", ".*(refused|timeout).*",
+            "[Ee]rror.*", ".*\\Qa.b\\E.*", "x😀*y.*", "x😀+y.*", "a{2,3}b.*", ".*(?i)disk.*",
+            "(?<word>retry)\\d*", ".*\\bfull$", "[^a]+", "(disk|full) (disk|full)", ".*d(?:is)k f.*",
+            "\\Qa.\\E*b", "co[lL]ou?r\\d{1,3}", "warn.*|.*warn", "aa*b", "a\\.b.*"
+        })
+        @DisplayName("Should return the same rows as a full scan")
+        void testAgreesWithFullScan(String regex) {
+            Filter filter = new RegexFilter("message", regex);
+            assertEquals(scan(filter), store.query(filter), "Mismatch for " + regex);
+        }
+
+        @Test
+        @DisplayName("Should narrow candidates using required trigrams")
+        void testCandidatesAreNarrowed() {
+            QueryExecutor executor = new QueryExecutor(store);
+            Filter filter = new RegexFilter("message", ".*connection refused.*");
+            int candidates = executor.candidates(filter).cardinality();
+            assertTrue(candidates < store.size() / 5, "Expected a narrow candidate set but got " + candidates);
+            assertTrue(candidates >= scan(filter).size());
+
+            Filter combined = new AndFilter(new EqualsFilter("level", "warn"), new RegexFilter("message", ".*timeout.*"));
+            assertEquals(scan(combined), store.query(combined));
+        }
+
+        @Test
+        @DisplayName("Should fall back to a scan when no trigrams are required")
+        void testFallback() {
+            QueryExecutor executor = new QueryExecutor(store);
+            assertEquals(store.size(), executor.candidates(new RegexFilter("message", "a.*b")).cardinality());
+            assertEquals(store.size(), executor.candidates(new RegexFilter("message", "(e)rror\\1")).cardinality());
+        }
+    }
+
+    @Nested
+    @DisplayName("Pattern analysis")
+    class AnalyzerTests {
+        @Test
+        @DisplayName("Should derive required trigrams from literals")
+        void testLiterals() {
+            assertEquals("('abc' AND 'bcd')", RegexTrigramAnalyzer.analyze(".*ABcd.*").toString());
+            assertEquals("'abc'", RegexTrigramAnalyzer.analyze("^abc$").toString());
+            assertEquals("(('col' AND 'olo' AND 'lou' AND 'our') OR ('col' AND 'olo' AND 'lor'))",
+                    RegexTrigramAnalyzer.analyze("colou?r").toString());
+            assertEquals("('abc' AND 'def')", RegexTrigramAnalyzer.analyze("abc.*def").toString());
+            assertEquals("('a.b' AND '.b\\')", RegexTrigramAnalyzer.analyze("\\Qa.b\\\\E").toString());
+        }
+
+        @Test
+        @DisplayName("Should give up on unbounded or unsupported constructs")
+        void testUnrestricted() {
+            for (String regex : List.of("a.*b", "ab?", "(?=abc)abc", "\\p{L}+abc", "(abc)\\1", "(abc)*", "[a-z]{3}")) {
+                assertEquals(TrigramQuery.ALL, RegexTrigramAnalyzer.analyze(regex), regex);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package dev.xerohero.filter.visitor;
+
+import dev.xerohero.filter.Filter;
+import dev.xerohero.filter.operators.*;
+import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.visitor.RequiredKeysVisitor.RequiredKeys;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequiredKeysVisitorTest {
+
+    @Test
+    void testComparisonLeavesAreMandatory() {
+        RequiredKeys keys = RequiredKeysVisitor.analyze(new AndFilter(new Filter[] {
+            new EqualsFilter("status", "active"),
+            new GreaterThanFilter("age", "18"),
+            new RegexFilter("email", ".*@example\\.com")
+        }));
+
+        assertEquals(Set.of("status", "age", "email"), keys.valueKeys());
+        assertEquals(Set.of("status", "age", "email"), keys.mandatoryKeys());
+        assertTrue(keys.presenceKeys().isEmpty());
+    }
+
+    @Test
+    void testHasPropertyIsPresenceOnly() {
+        RequiredKeys keys = RequiredKeysVisitor.analyze(new AndFilter(new Filter[] {
+            new HasPropertyFiltre("token"),
+            new EqualsFilter("role", "admin")
+        }));
+
+        assertEquals(Set.of("role"), keys.valueKeys());
+        assertEquals(Set.of("token"), keys.presenceKeys());
+        assertEquals(Set.of("token", "role"), keys.allKeys());
+        assertEquals(Set.of("token", "role"), keys.mandatoryKeys());
+    }
+
+    @Test
+    void testOrOnlyKeepsKeysMandatoryInEveryBranch() {
+        RequiredKeys keys = RequiredKeysVisitor.analyze(new OrFilter(new Filter[] {
+            new AndFilter(new Filter[] { new EqualsFilter("type", "user"), new EqualsFilter("role", "admin") }),
+            new AndFilter(new Filter[] { new EqualsFilter("type", "group"), new LessThanFilter("size", "10") })
+        }));
+
+        assertEquals(Set.of("type", "role", "size"), keys.valueKeys());
+        assertEquals(Set.of("type"), keys.mandatoryKeys());
+    }
+
+    @Test
+    void testNegationSwapsMandatoryAndAbsenceKeys() {
+        RequiredKeys notEquals = RequiredKeysVisitor.analyze(new NotEqualsFilter("status", "banned"));
+        assertTrue(notEquals.mandatoryKeys().isEmpty());
+        assertEquals(Set.of("status"), notEquals.absenceKeys());
+
+        RequiredKeys negated = RequiredKeysVisitor.analyze(new NotFilter(new NotEqualsFilter("status", "banned")));
+        assertEquals(Set.of("status"), negated.mandatoryKeys());
+
+        RequiredKeys isNotNull = RequiredKeysVisitor.analyze(new NotFilter(new EqualsFilter("email", null)));
+        assertEquals(Set.of("email"), isNotNull.mandatoryKeys());
+
+        RequiredKeys notGreater = RequiredKeysVisitor.analyze(new NotFilter(new GreaterThanFilter("age", "18")));
+        assertTrue(notGreater.mandatoryKeys().isEmpty());
+    }
+
+    @Test
+    void testConstantsRequireNothing() {
+        assertEquals(RequiredKeys.NONE, RequiredKeysVisitor.analyze(TrueFilter.INSTANCE));
+        assertEquals(RequiredKeys.NONE, RequiredKeysVisitor.analyze(FalseFilter.INSTANCE));
+    }
+
+    @Test
+    void testFilterSetIntersectsMandatoryKeys() {
+        RequiredKeys keys = RequiredKeysVisitor.analyze(List.of(
+            new AndFilter(new Filter[] { new EqualsFilter("topic", "orders"), new GreaterThanFilter("amount", "100") }),
+            new AndFilter(new Filter[] { new EqualsFilter("topic", "refunds"), new HasPropertyFiltre("reason") })
+        ));
+
+        assertEquals(Set.of("topic", "amount"), keys.valueKeys());
+        assertEquals(Set.of("reason"), keys.presenceKeys());
+        assertEquals(Set.of("topic"), keys.mandatoryKeys());
+    }
+
+    @Test
+    void testIsSatisfiedByRejectsResourcesMissingMandatoryKeys() {
+        Filter filter = new AndFilter(new Filter[] {
+            new EqualsFilter("status", "active"),
+            new OrFilter(new Filter[] { new GreaterThanFilter("age", "18"), new EqualsFilter("guardian", "yes") })
+        });
+        RequiredKeys keys = RequiredKeysVisitor.analyze(filter);
+
+        Map<String, String> missingStatus = Map.of("age", "30");
+        assertFalse(keys.isSatisfiedBy(missingStatus));
+        assertFalse(filter.matches(missingStatus));
+
+        Map<String, String> complete = Map.of("status", "active", "age", "30");
+        assertTrue(keys.isSatisfiedBy(complete));
+        assertTrue(filter.matches(complete));
+    }
+
+    @Test
+    void testAnalyzeRejectsInvalidInput() {
+        assertThrows(NullPointerException.class, () -> RequiredKeysVisitor.analyze((Filter) null));
+        assertThrows(IllegalArgumentException.class, () -> RequiredKeysVisitor.analyze(List.of()));
+    }
+}
@@ -3,12 +3,28 @@ package dev.xerohero.filter.visitor;
 import dev.xerohero.filter.Filter;
 import dev.xerohero.filter.operators.*;
 import dev.xerohero.filter.operators.comparison.*;
+import dev.xerohero.filter.operators.geo.GeoBoundingBoxFilter;
+import dev.xerohero.filter.operators.geo.GeoWithinFilter;
+import dev.xerohero.filter.operators.network.IpInRangeFilter;
+import dev.xerohero.filter.operators.numeric.ArithmeticFilter;
+import dev.xerohero.filter.operators.numeric.IntervalSetFilter;
+import dev.xerohero.filter.operators.text.ContainsTermsFilter;
+import dev.xerohero.filter.operators.text.FuzzyMatchFilter;
+import dev.xerohero.filter.operators.text.MultiValueFilter;
+import dev.xerohero.filter.operators.text.PrefixSetFilter;
+import dev.xerohero.filter.operators.time.AfterFilter;
+import dev.xerohero.filter.operators.time.BeforeFilter;
+import dev.xerohero.filter.operators.time.WithinLastFilter;
+import dev.xerohero.filter.operators.version.VersionCompareFilter;
+import dev.xerohero.filter.parser.FilterParser;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -27,6 +43,49 @@ class ToStringVisitorTest {
         );
     }
 
+    private static Stream<Arguments> provideExtensionFilterCases() {
+        return Stream.of(
+            Arguments.of(new GeoWithinFilter("lat", "lon", 52.52, 13.405, 25_000),
+                "within(lat, lon, 52.52, 13.405, 25000.0)"),
+            Arguments.of(new GeoBoundingBoxFilter("lat", "lon", -18.5, 179.5, -17, -179.5),
+                "inBox(lat, lon, -18.5, 179.5, -17.0, -179.5)"),
+            Arguments.of(new IpInRangeFilter("client_ip", "10.0.0.0/8", "::1", "2001:db8::/32"),
+                "ipInRange(client_ip, 10.0.0.0/8, ::1, 2001:db8::/32)"),
+            Arguments.of(new BeforeFilter("created", "2024-03-01T12:00:00+01:00"),
+                "before(created, 2024-03-01T12:00:00+01:00)"),
+            Arguments.of(new AfterFilter("created", "1709296215"),
+                "after(created, 1709296215)"),
+            Arguments.of(new WithinLastFilter("updated", Duration.ofMinutes(90)),
+                "withinLast(updated, PT1H30M)"),
+            Arguments.of(new VersionCompareFilter("app_version", ComparisonOperator.LESS_THAN_OR_EQUAL, "v1.0.0-rc.1+build.5"),
+                "version(app_version <= v1.0.0-rc.1+build.5)"),
+            Arguments.of(new FuzzyMatchFilter("name", "jonathon", 2),
+                "fuzzy(name, jonathon, 2)"),
+            Arguments.of(new FuzzyMatchFilter("name", "van der Berg", 2),
+                "fuzzy(name, \"van der Berg\", 2)"),
+            Arguments.of(new FuzzyMatchFilter("name", "O'Brien, Jr.", 2),
+                "fuzzy(name, \"O'Brien, Jr.\", 2)"),
+            Arguments.of(new FuzzyMatchFilter("name", "say \"hi\"", 2),
+                "fuzzy(name, 'say \"hi\"', 2)"),
+            Arguments.of(new PrefixSetFilter("path", "/api/", "a, b", ""),
+                "startsWith(path, /api/, \"a, b\", \"\")"),
+            Arguments.of(new ContainsTermsFilter("description", ContainsTermsFilter.Mode.ALL, "refund", "Urgent"),
+                "containsAll(description, refund, Urgent)"),
+            Arguments.of(new IntervalSetFilter("price", "0..10", "100..<500"),
+                "inIntervals(price, 0..10, \"100..<500\")"),
+            Arguments.of(new FieldComparisonFilter("updated_at", ComparisonOperator.GREATER_THAN_OR_EQUAL, "created_at"),
+                "fields(updated_at >= created_at)"),
+            Arguments.of(new MultiValueFilter("tags", MultiValueFilter.Mode.ANY, "urgent", "on hold"),
+                "anyOf(tags, urgent, \"on hold\")"),
+            Arguments.of(new MultiValueFilter("roles", MultiValueFilter.Mode.ALL, "|", List.of("admin", "billing")),
+                "allOfDelimited(roles, \"|\", admin, billing)"),
+            Arguments.of(new ArithmeticFilter("(end - start) / 1000", "<", "30"),
+                "(end - start) / 1000 < 30"),
+            Arguments.of(new ArithmeticFilter("used", ">", "quota * 0.9"),
+                "(used) > quota * 0.9")
+        );
+    }
+
     @Test
     void testVisitTrueFilter() {
         String result = TrueFilter.INSTANCE.accept(visitor);
@@ -134,6 +193,14 @@ class ToStringVisitorTest {
         assertEquals("email matches " + pattern, result);
     }
 
+    @ParameterizedTest
+    @MethodSource("provideExtensionFilterCases")
+    void testVisitExtensionFilterParsesBack(Filter filter, String expected) {
+        String result = filter.accept(visitor);
+        assertEquals(expected, result);
+        assertEquals(expected, FilterParser.parse(result).accept(visitor));
+    }
+
     @Test
     void testComplexNestedExpression() {
         // Test a complex expression with multiple nested operations